@@ -0,0 +1,92 @@
+package com.fridgemate.api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 읽기 복제본 라우팅 설정 (datasource.replica.urls 가 있을 때만)
+ *
+ * spring.datasource 는 그대로 primary 풀이 되고, 복제본 URL 마다 같은 계정의 읽기 전용 풀을 만든다.
+ * 애플리케이션이 쓰는 DataSource 는 ReplicaRoutingDataSource 를 LazyConnectionDataSourceProxy 로 감싼 것이다.
+ */
+@Configuration
+@ConditionalOnExpression("'${datasource.replica.urls:}' != ''")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             DataSourceProperties properties,
+                                                             MeterRegistry meterRegistry,
+                                                             @Value("${datasource.replica.urls}") String urls,
+                                                             @Value("${datasource.replica.pool-size:5}") int poolSize,
+                                                             @Value("${datasource.replica.max-lag-ms:1000}") long maxLagMs) {
+        List<DataSource> replicas = new ArrayList<>();
+        List<String> replicaUrls = Arrays.stream(urls.split(",")).filter(StringUtils::hasText).map(String::trim).toList();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(replicaUrls.get(i))
+                    .build();
+            replica.setPoolName("replica-" + (i + 1));
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            // 복제본이 내려가 있어도 애플리케이션은 primary 로 떠야 한다
+            replica.setInitializationFailTimeout(-1);
+            replicas.add(replica);
+        }
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaryDataSource, replicas, maxLagMs);
+        for (String name : routing.replicaNames()) {
+            Gauge.builder("datasource.replica.lag.ms", routing, dataSource -> dataSource.lagMillis(name))
+                    .description("마지막으로 잰 복제 지연 (점검 실패 시 -1)")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.healthy", routing, dataSource -> dataSource.isHealthy(name) ? 1 : 0)
+                    .description("읽기 라우팅 대상 여부")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+        }
+        return routing;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy();
+        // 기본값을 알아내려고 기동 시 연결을 열지 않도록 직접 지정한다
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        proxy.setTargetDataSource(replicaRoutingDataSource);
+        return proxy;
+    }
+
+    @Bean
+    public ReadYourWritesInterceptor readYourWritesInterceptor(
+            @Value("${datasource.replica.read-your-writes-ms:5000}") long windowMs) {
+        return new ReadYourWritesInterceptor(windowMs);
+    }
+}
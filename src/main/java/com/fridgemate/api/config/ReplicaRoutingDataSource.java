@@ -0,0 +1,197 @@
+package com.fridgemate.api.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 읽기 전용 트랜잭션을 복제본 풀로 보내는 라우팅 DataSource
+ *
+ * 읽기 전용 트랜잭션이면 건강한 복제본 중 하나를 라운드로빈으로 고르고, 쓰기 트랜잭션이나 트랜잭션 밖,
+ * 또는 primary 에 고정된 스레드(방금 쓴 클라이언트, 최신 상태가 필요한 백그라운드 작업)는 primary 로 보낸다.
+ * 복제 지연이 max-lag-ms 를 넘거나, 연결이 안 되거나, primary 에서 WAL 을 받고 있지 않은 복제본은 다음 점검에서 회복될 때까지 빠진다.
+ * 트랜잭션 시작 시점에는 읽기 전용 여부가 아직 표시되지 않으므로 LazyConnectionDataSourceProxy 로 감싸서 써야 한다.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    /**
+     * 복제 지연(초): 복제본이 아니면 0, WAL 수신기가 스트리밍 중이 아니면 NULL(지연을 알 수 없음),
+     * 받은 WAL 을 모두 반영했으면 0, 아니면 마지막 반영 이후 경과 시간
+     * (수신이 끊기면 받은 위치와 반영 위치가 같아져 지연 0 으로 보이므로 수신 상태를 먼저 본다)
+     */
+    private static final String LAG_SQL = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+            END
+            """;
+
+    private static final ThreadLocal<Boolean> pinnedToPrimary = ThreadLocal.withInitial(() -> false);
+
+    private final List<Replica> replicas;
+    private final long maxLagMs;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources, long maxLagMs) {
+        this.maxLagMs = maxLagMs;
+        this.replicas = new ArrayList<>(replicaDataSources.size());
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicaDataSources.size(); i++) {
+            Replica replica = new Replica("replica-" + (i + 1), replicaDataSources.get(i));
+            replicas.add(replica);
+            targets.put(replica.name, replica.dataSource);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    /**
+     * 현재 스레드를 primary 로 고정 (읽기 전용 트랜잭션도 primary 에서 읽는다)
+     */
+    public static void pinToPrimary() {
+        pinnedToPrimary.set(true);
+    }
+
+    public static void unpin() {
+        pinnedToPrimary.remove();
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return pinnedToPrimary.get();
+    }
+
+    /**
+     * 작업 하나만 primary 에서 읽는다 (캐시 적재처럼 복제 지연만큼 놓치면 안 되는 읽기, 끝나면 이전 고정 상태로 복원)
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        boolean previous = isPinnedToPrimary();
+        pinToPrimary();
+        try {
+            return work.get();
+        } finally {
+            if (!previous) {
+                unpin();
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || isPinnedToPrimary()) {
+            return PRIMARY;
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica.name;
+            }
+        }
+        // 쓸 수 있는 복제본이 없으면 primary 에서 읽는다
+        return PRIMARY;
+    }
+
+    /**
+     * 복제본마다 지연을 재서 건강 상태를 갱신한다
+     */
+    @Scheduled(fixedDelayString = "${datasource.replica.check-interval-ms:1000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean wasHealthy = replica.healthy;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(LAG_SQL)) {
+                resultSet.next();
+                double lagSeconds = resultSet.getDouble(1);
+                if (resultSet.wasNull()) {
+                    // primary 와의 복제가 끊겨 얼마나 뒤처졌는지 알 수 없다
+                    replica.lagMs = -1;
+                    replica.healthy = false;
+                } else {
+                    replica.lagMs = (long) (lagSeconds * 1000);
+                    replica.healthy = replica.lagMs <= maxLagMs;
+                }
+            } catch (SQLException e) {
+                replica.lagMs = -1;
+                replica.healthy = false;
+                if (wasHealthy) {
+                    log.warn("복제본 점검 실패 - {}: {}", replica.name, e.getMessage());
+                }
+            }
+            if (wasHealthy != replica.healthy) {
+                log.info("복제본 상태 변경 - {}: {} (지연: {} ms)", replica.name,
+                        replica.healthy ? "사용" : "제외", replica.lagMs);
+            }
+        }
+    }
+
+    /**
+     * 복제본 이름 목록 (설정 순서)
+     */
+    public List<String> replicaNames() {
+        return replicas.stream().map(replica -> replica.name).toList();
+    }
+
+    /**
+     * 마지막으로 잰 복제 지연 (ms, 점검 실패 시 -1)
+     */
+    public long lagMillis(String name) {
+        return replica(name).lagMs;
+    }
+
+    public boolean isHealthy(String name) {
+        return replica(name).healthy;
+    }
+
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("복제본 풀 종료 실패 - {}", replica.name, e);
+                }
+            }
+        }
+    }
+
+    private Replica replica(String name) {
+        return replicas.stream()
+                .filter(replica -> replica.name.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("없는 복제본입니다: " + name));
+    }
+
+    private static class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy;
+        private volatile long lagMs = -1;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
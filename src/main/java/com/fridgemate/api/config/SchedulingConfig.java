@@ -0,0 +1,12 @@
+package com.fridgemate.api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 스케줄 작업 활성화 (유통기한 스위퍼 등)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,8 +1,10 @@
 package com.fridgemate.api.config;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
@@ -11,6 +13,10 @@ public class WebConfig implements WebMvcConfigurer {
     @Value("${cors.allowed-origins}")
     private String allowedOrigins;
 
+    /** 읽기 복제본을 쓸 때만 있다 (ReadReplicaConfig) */
+    @Autowired(required = false)
+    private ReadYourWritesInterceptor readYourWritesInterceptor;
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/api/**")
@@ -20,4 +26,11 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowCredentials(true)
                 .maxAge(3600);
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (readYourWritesInterceptor != null) {
+            registry.addInterceptor(readYourWritesInterceptor).addPathPatterns("/api/**");
+        }
+    }
 }
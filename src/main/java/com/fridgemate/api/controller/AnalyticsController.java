@@ -0,0 +1,41 @@
+package com.fridgemate.api.controller;
+
+import com.fridgemate.api.dto.analytics.WasteBucket;
+import com.fridgemate.api.service.WasteAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@Tag(name = "분석", description = "재고 사용 분석 API")
+public class AnalyticsController {
+
+    private final WasteAnalyticsService wasteAnalyticsService;
+
+    @Operation(
+            summary = "음식물 낭비 분석",
+            description = "최근 1년간 소비되지 못하고 유통기한이 지난 양을 카테고리별로 주 또는 월 단위로 집계합니다. " +
+                    "일별 집계에서 읽으므로 아이템 수와 관계없이 응답 시간이 일정합니다."
+    )
+    @ApiResponse(responseCode = "200", description = "낭비 집계 조회 성공")
+    @ApiResponse(responseCode = "400", description = "지원하지 않는 집계 단위")
+    @GetMapping("/waste")
+    public ResponseEntity<List<WasteBucket>> getWaste(
+            @Parameter(description = "집계 단위 (week, month)")
+            @RequestParam(defaultValue = "week") String period
+    ) {
+        List<WasteBucket> buckets = wasteAnalyticsService.getWaste(WasteAnalyticsService.Period.from(period));
+        return ResponseEntity.ok(buckets);
+    }
+}
@@ -1,6 +1,8 @@
 package com.fridgemate.api.controller;
 
 import com.fridgemate.api.dto.*;
+import com.fridgemate.api.service.ConsumeWriteBehind;
+import com.fridgemate.api.service.ItemNameSuggester;
 import com.fridgemate.api.service.ItemService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -8,9 +10,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -23,12 +27,16 @@ import java.util.List;
 public class ItemController {
 
     private final ItemService itemService;
+    private final ObjectProvider<ConsumeWriteBehind> consumeWriteBehind;
+    private final ItemNameSuggester itemNameSuggester;
 
     @Operation(
             summary = "아이템 목록 조회",
-            description = "카테고리, 위치, 정렬 조건으로 아이템 목록을 조회합니다."
+            description = "카테고리, 위치, 정렬 조건으로 아이템 목록을 조회합니다. "
+                    + "fields 를 주면 해당 필드의 컬럼만 읽고 응답에도 그 필드만 담습니다 (id 는 항상 포함)."
     )
     @ApiResponse(responseCode = "200", description = "아이템 목록 조회 성공")
+    @ApiResponse(responseCode = "400", description = "선택할 수 없는 필드")
     @GetMapping
     public ResponseEntity<Page<ItemResp>> getItems(
             @Parameter(description = "카테고리")
@@ -47,13 +55,59 @@ public class ItemController {
             @RequestParam(required = false, defaultValue = "0") int page,
 
             @Parameter(description = "페이지 크기")
-            @RequestParam(required = false, defaultValue = "20") int size
+            @RequestParam(required = false, defaultValue = "20") int size,
+
+            @Parameter(description = "응답에 담을 필드 (예: name,quantity, 생략하면 전체)")
+            @RequestParam(required = false) String fields
     ) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<ItemResp> items = itemService.getItems(category, location, sortBy, sortDir, pageable);
+        Page<ItemResp> items = itemService.getItems(category, location, sortBy, sortDir, ItemField.parse(fields), pageable);
         return ResponseEntity.ok(items);
     }
 
+    @Operation(
+            summary = "아이템 패싯 검색",
+            description = "조건에 맞는 아이템 한 페이지와 카테고리/위치 필터 칩별 결과 수를 한 번에 조회합니다. "
+                    + "카테고리 칩 수는 위치 필터만, 위치 칩 수는 카테고리 필터만 적용한 수입니다. "
+                    + "fields 를 주면 아이템에는 해당 필드만 담습니다."
+    )
+    @ApiResponse(responseCode = "200", description = "검색 성공")
+    @ApiResponse(responseCode = "400", description = "잘못된 정렬 조건 또는 선택할 수 없는 필드")
+    @GetMapping("/search")
+    public ResponseEntity<ItemSearchResp> searchItems(
+            @Parameter(description = "상품명 검색어 (부분 일치)")
+            @RequestParam(required = false) String keyword,
+
+            @Parameter(description = "카테고리")
+            @RequestParam(required = false) String category,
+
+            @Parameter(description = "보관 위치")
+            @RequestParam(required = false) String location,
+
+            @Parameter(description = "이 일수 안에 유통기한이 끝나는 아이템만")
+            @RequestParam(required = false) Integer expiringDays,
+
+            @Parameter(description = "정렬 기준 (name, category, quantity, expiry, location, created, updated)")
+            @RequestParam(required = false, defaultValue = "created") String sortBy,
+
+            @Parameter(description = "정렬 방향 (asc, desc)")
+            @RequestParam(required = false, defaultValue = "desc") String sortDir,
+
+            @Parameter(description = "페이지 번호 (0부터 시작)")
+            @RequestParam(required = false, defaultValue = "0") int page,
+
+            @Parameter(description = "페이지 크기")
+            @RequestParam(required = false, defaultValue = "20") int size,
+
+            @Parameter(description = "응답에 담을 필드 (예: name,quantity, 생략하면 전체)")
+            @RequestParam(required = false) String fields
+    ) {
+        Pageable pageable = PageRequest.of(page, size);
+        ItemSearchResp result = itemService.searchItems(keyword, category, location, expiringDays, sortBy, sortDir,
+                ItemField.parse(fields), pageable);
+        return ResponseEntity.ok(result);
+    }
+
     @Operation(summary = "아이템 상세 조회")
     @ApiResponse(responseCode = "200", description = "아이템 상세 조회 성공")
     @ApiResponse(responseCode = "404", description = "아이템을 찾을 수 없음")
@@ -73,7 +127,7 @@ public class ItemController {
             @Valid @RequestBody ItemCreateReq request
     ) {
         ItemResp createdItem = itemService.createItem(request);
-        return ResponseEntity.ok(createdItem);
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdItem);
     }
 
     @Operation(summary = "아이템 수정")
@@ -98,7 +152,8 @@ public class ItemController {
         return ResponseEntity.noContent().build();
     }
 
-    @Operation(summary = "아이템 소비")
+    @Operation(summary = "아이템 소비", description = "유통기한이 가장 빠른 로트부터 차감합니다. "
+            + "write-behind 모드에서는 반영 예정 수량으로 바로 응답하고 DB 에는 짧은 주기로 합쳐서 반영합니다.")
     @ApiResponse(responseCode = "200", description = "아이템 소비 성공")
     @ApiResponse(responseCode = "400", description = "재고 부족 또는 잘못된 요청")
     @ApiResponse(responseCode = "404", description = "아이템을 찾을 수 없음")
@@ -107,10 +162,36 @@ public class ItemController {
             @PathVariable Long id,
             @Valid @RequestBody ConsumeReq request
     ) {
-        ItemResp updatedItem = itemService.consumeItem(id, request);
+        // write-behind 모드면 검증 후 바로 응답하고 DB 반영은 주기적으로 합쳐서 한다
+        ConsumeWriteBehind writeBehind = consumeWriteBehind.getIfAvailable();
+        ItemResp updatedItem = writeBehind != null
+                ? writeBehind.consume(id, request.getAmount())
+                : itemService.consumeItem(id, request);
+        return ResponseEntity.ok(updatedItem);
+    }
+
+    @Operation(summary = "로트 입고", description = "같은 아이템을 새로 구매했을 때 수량/유통기한/구매일을 별도 로트로 추가합니다.")
+    @ApiResponse(responseCode = "200", description = "로트 입고 성공")
+    @ApiResponse(responseCode = "400", description = "잘못된 요청 데이터")
+    @ApiResponse(responseCode = "404", description = "아이템을 찾을 수 없음")
+    @PostMapping("/{id}/lots")
+    public ResponseEntity<ItemResp> receiveLot(
+            @PathVariable Long id,
+            @Valid @RequestBody ItemLotCreateReq request
+    ) {
+        ItemResp updatedItem = itemService.receiveLot(id, request);
         return ResponseEntity.ok(updatedItem);
     }
 
+    @Operation(summary = "로트 목록 조회", description = "남은 로트를 유통기한이 빠른 순으로 조회합니다.")
+    @ApiResponse(responseCode = "200", description = "로트 목록 조회 성공")
+    @ApiResponse(responseCode = "404", description = "아이템을 찾을 수 없음")
+    @GetMapping("/{id}/lots")
+    public ResponseEntity<List<ItemLotResp>> getLots(@PathVariable Long id) {
+        List<ItemLotResp> lots = itemService.getLots(id);
+        return ResponseEntity.ok(lots);
+    }
+
     @Operation(summary = "카테고리 목록 조회")
     @ApiResponse(responseCode = "200", description = "카테고리 목록 조회 성공")
     @GetMapping("/categories")
@@ -127,6 +208,23 @@ public class ItemController {
         return ResponseEntity.ok(locations);
     }
 
+    @Operation(
+            summary = "아이템 이름 자동완성",
+            description = "입력 중인 접두어로 시작하는 아이템 이름과 레시피 재료명을 자주 쓰는 순으로 조회합니다. "
+                    + "자모 단위로 비교하므로 입력 중인 음절(예: \"달\" → 닭가슴살)로도 찾습니다."
+    )
+    @ApiResponse(responseCode = "200", description = "자동완성 조회 성공")
+    @GetMapping("/suggest-names")
+    public ResponseEntity<List<String>> suggestNames(
+            @Parameter(description = "입력 중인 이름 접두어")
+            @RequestParam String prefix,
+            @Parameter(description = "최대 개수 (최대 10)")
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        List<String> names = itemNameSuggester.suggest(prefix, limit);
+        return ResponseEntity.ok(names);
+    }
+
     @Operation(summary = "곧 만료될 아이템 조회")
     @ApiResponse(responseCode = "200", description = "곧 만료될 아이템 목록 조회 성공")
     @GetMapping("/expiring")
@@ -1,18 +1,28 @@
 package com.fridgemate.api.controller;
 
+import com.fridgemate.api.dto.recipe.IngredientUnlock;
+import com.fridgemate.api.dto.recipe.MealPlanReq;
+import com.fridgemate.api.dto.recipe.MealPlanResp;
+import com.fridgemate.api.dto.recipe.RecipeJobReq;
+import com.fridgemate.api.dto.recipe.RecipeJobResp;
 import com.fridgemate.api.dto.recipe.RecipeSuggestionReq;
 import com.fridgemate.api.dto.recipe.RecipeSuggestionResp;
+import com.fridgemate.api.service.RecipeJobService;
 import com.fridgemate.api.service.RecipeService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/recipes")
@@ -22,6 +32,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class RecipeController {
 
     private final RecipeService recipeService;
+    private final RecipeJobService recipeJobService;
 
     @PostMapping("/suggest")
     @Operation(summary = "레시피 추천", description = "현재 보유 재료를 기반으로 레시피를 추천합니다")
@@ -31,4 +42,72 @@ public class RecipeController {
         RecipeSuggestionResp response = recipeService.suggestRecipes(request);
         return ResponseEntity.ok(response);
     }
+
+    @GetMapping(value = "/suggest/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "레시피 추천 스트리밍",
+            description = "규칙 기반 추천(rule 이벤트)을 즉시 보내고, LLM 추천이 켜져 있으면 완성되는 대로 llm 이벤트로 이어서 보냅니다")
+    @ApiResponse(responseCode = "200", description = "스트림 시작")
+    public SseEmitter streamSuggestions(
+            @Parameter(description = "인분 수")
+            @RequestParam(required = false) Integer servings,
+
+            @Parameter(description = "식단 타입")
+            @RequestParam(required = false) String diet
+    ) {
+        RecipeSuggestionReq request = new RecipeSuggestionReq();
+        request.setServings(servings);
+        request.setDiet(diet);
+        return recipeService.streamSuggestions(request);
+    }
+
+    @PostMapping("/plan")
+    @Operation(summary = "식단 계획", description = "유통기한이 임박한 재고를 최대한 소진하도록 재고 안에서 만들 수 있는 레시피 N개를 고릅니다")
+    @ApiResponse(responseCode = "200", description = "계획 성공")
+    @ApiResponse(responseCode = "400", description = "입력값 검증 실패")
+    public ResponseEntity<MealPlanResp> planMeals(@Valid @RequestBody MealPlanReq request) {
+        MealPlanResp response = recipeService.planMeals(request);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/jobs")
+    @Operation(summary = "비동기 추천 작업 접수", description = "추천/식단 계획을 백그라운드에서 실행하고 작업 ID 를 즉시 반환합니다")
+    @ApiResponse(responseCode = "202", description = "접수 성공")
+    @ApiResponse(responseCode = "400", description = "입력값 검증 실패")
+    @ApiResponse(responseCode = "503", description = "작업 대기열이 가득 참")
+    public ResponseEntity<RecipeJobResp> submitJob(@Valid @RequestBody RecipeJobReq request) {
+        RecipeJobResp response = recipeJobService.submit(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    @GetMapping("/jobs/{id}")
+    @Operation(summary = "비동기 추천 작업 조회", description = "작업 상태와 완료된 경우 결과를 조회합니다")
+    @ApiResponse(responseCode = "200", description = "조회 성공")
+    @ApiResponse(responseCode = "404", description = "작업을 찾을 수 없음")
+    public ResponseEntity<RecipeJobResp> getJob(
+            @Parameter(description = "작업 ID", required = true)
+            @PathVariable String id
+    ) {
+        RecipeJobResp response = recipeJobService.get(id);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/unlock")
+    @Operation(summary = "추가 구매 추천", description = "하나만 더 사면 만들 수 있는 레시피가 가장 많이 늘어나는 재료를 추천합니다")
+    @ApiResponse(responseCode = "200", description = "추천 성공")
+    public ResponseEntity<List<IngredientUnlock>> suggestUnlocks(
+            @Parameter(description = "일치율 기준 (0 ~ 1)")
+            @RequestParam(defaultValue = "0.7") double threshold,
+
+            @Parameter(description = "추천 재료 수")
+            @RequestParam(defaultValue = "5") int limit,
+
+            @Parameter(description = "식단 타입")
+            @RequestParam(required = false) String diet
+    ) {
+        if (threshold <= 0 || threshold > 1) {
+            throw new IllegalArgumentException("일치율 기준은 0보다 크고 1 이하여야 합니다.");
+        }
+        List<IngredientUnlock> unlocks = recipeService.suggestUnlocks(threshold, Math.max(1, limit), diet);
+        return ResponseEntity.ok(unlocks);
+    }
 }
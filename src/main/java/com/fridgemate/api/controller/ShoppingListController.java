@@ -0,0 +1,63 @@
+package com.fridgemate.api.controller;
+
+import com.fridgemate.api.dto.shopping.RecipeBookmarkReq;
+import com.fridgemate.api.dto.shopping.RecipeBookmarkResp;
+import com.fridgemate.api.dto.shopping.ShoppingListItem;
+import com.fridgemate.api.service.ShoppingListService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/shopping-list")
+@RequiredArgsConstructor
+@Tag(name = "장보기 목록", description = "재고 부족 아이템과 즐겨찾기 레시피 부족 재료 API")
+public class ShoppingListController {
+
+    private final ShoppingListService shoppingListService;
+
+    @Operation(
+            summary = "장보기 목록 조회",
+            description = "재고 부족 아이템과 즐겨찾기한 레시피에 부족한 재료를 단위를 맞춰 한 목록으로 합쳐 조회합니다."
+    )
+    @ApiResponse(responseCode = "200", description = "장보기 목록 조회 성공")
+    @GetMapping
+    public ResponseEntity<List<ShoppingListItem>> getShoppingList() {
+        List<ShoppingListItem> items = shoppingListService.getShoppingList();
+        return ResponseEntity.ok(items);
+    }
+
+    @Operation(summary = "즐겨찾기 레시피 목록 조회")
+    @ApiResponse(responseCode = "200", description = "즐겨찾기 목록 조회 성공")
+    @GetMapping("/bookmarks")
+    public ResponseEntity<List<RecipeBookmarkResp>> getBookmarks() {
+        List<RecipeBookmarkResp> bookmarks = shoppingListService.getBookmarks();
+        return ResponseEntity.ok(bookmarks);
+    }
+
+    @Operation(summary = "레시피 즐겨찾기")
+    @ApiResponse(responseCode = "201", description = "즐겨찾기 성공")
+    @ApiResponse(responseCode = "400", description = "카탈로그에 없는 레시피")
+    @PostMapping("/bookmarks")
+    public ResponseEntity<RecipeBookmarkResp> addBookmark(
+            @Valid @RequestBody RecipeBookmarkReq request
+    ) {
+        RecipeBookmarkResp bookmark = shoppingListService.addBookmark(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(bookmark);
+    }
+
+    @Operation(summary = "레시피 즐겨찾기 삭제")
+    @ApiResponse(responseCode = "204", description = "즐겨찾기 삭제 성공")
+    @DeleteMapping("/bookmarks/{id}")
+    public ResponseEntity<Void> removeBookmark(@PathVariable Long id) {
+        shoppingListService.removeBookmark(id);
+        return ResponseEntity.noContent().build();
+    }
+}
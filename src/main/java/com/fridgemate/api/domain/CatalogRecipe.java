@@ -0,0 +1,112 @@
+package com.fridgemate.api.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * DB 레시피 카탈로그의 레시피
+ */
+@Entity
+@Table(name = "recipes")
+@Getter
+@Setter
+@NoArgsConstructor
+public class CatalogRecipe {
+
+    public static final String DEFAULT_REGION = "default";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 20)
+    private String region = DEFAULT_REGION;
+
+    @Column(nullable = false, length = 200)
+    private String title;
+
+    @Column(length = 30)
+    private String category;
+
+    @Column(length = 30)
+    private String diet;
+
+    @Column(name = "estimated_time_min")
+    private Integer estimatedTimeMin;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(nullable = false, columnDefinition = "text[]")
+    private String[] steps = new String[0];
+
+    /**
+     * 재료 ID 목록 (GIN 인덱스 조회용, 재료 목록을 바꿀 때마다 ingredients 로부터 다시 채운다)
+     * 컬렉션만 바뀐 변경에는 @PreUpdate 가 불리지 않으므로 저장 콜백에만 맡기지 않는다
+     */
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "ingredient_ids", nullable = false, columnDefinition = "bigint[]")
+    @Setter(AccessLevel.NONE)
+    private Long[] ingredientIds = new Long[0];
+
+    /**
+     * 재료 목록 (ingredient_ids 와 어긋나지 않도록 addIngredient/removeIngredient 로만 바꾼다)
+     */
+    @OneToMany(mappedBy = "recipe", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("position ASC")
+    @Setter(AccessLevel.NONE)
+    private List<CatalogRecipeIngredient> ingredients = new ArrayList<>();
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public List<CatalogRecipeIngredient> getIngredients() {
+        return Collections.unmodifiableList(ingredients);
+    }
+
+    public void addIngredient(CatalogRecipeIngredient ingredient) {
+        ingredient.setRecipe(this);
+        ingredient.setPosition(ingredients.size());
+        ingredients.add(ingredient);
+        syncIngredientIds();
+    }
+
+    public void removeIngredient(CatalogRecipeIngredient ingredient) {
+        if (ingredients.remove(ingredient)) {
+            ingredient.setRecipe(null);
+            for (int i = 0; i < ingredients.size(); i++) {
+                ingredients.get(i).setPosition(i);
+            }
+            syncIngredientIds();
+        }
+    }
+
+    /**
+     * 재료 엔티티 ID 가 저장 시점에야 정해진 경우를 위해 저장 직전에도 한 번 더 맞춘다
+     */
+    @PrePersist
+    @PreUpdate
+    void syncIngredientIds() {
+        this.ingredientIds = ingredients.stream()
+                .map(ingredient -> ingredient.getIngredient().getId())
+                .filter(Objects::nonNull)
+                .distinct()
+                .toArray(Long[]::new);
+    }
+}
@@ -0,0 +1,50 @@
+package com.fridgemate.api.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * DB 레시피 카탈로그의 레시피 재료
+ */
+@Entity
+@Table(name = "recipe_ingredients")
+@Getter
+@Setter
+@NoArgsConstructor
+public class CatalogRecipeIngredient {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "recipe_id", nullable = false)
+    private CatalogRecipe recipe;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "ingredient_id", nullable = false)
+    private Ingredient ingredient;
+
+    @Column(nullable = false)
+    private int position;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @Column(precision = 15, scale = 3)
+    private BigDecimal amount;
+
+    @Column(length = 20)
+    private String unit;
+
+    public CatalogRecipeIngredient(Ingredient ingredient, String name, BigDecimal amount, String unit) {
+        this.ingredient = ingredient;
+        this.name = name;
+        this.amount = amount;
+        this.unit = unit;
+    }
+}
@@ -0,0 +1,41 @@
+package com.fridgemate.api.domain;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * 소비 write-behind WAL 의 아이템별 반영 완료 순번 (last_seq 까지 DB 에 반영됨)
+ */
+@Entity
+@Table(name = "consume_wal_checkpoints")
+@Getter
+@NoArgsConstructor
+public class ConsumeWalCheckpoint {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "last_seq", nullable = false)
+    private Long lastSeq;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @Embeddable
+    @Getter
+    @NoArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        @Column(name = "wal_id", length = 100)
+        private String walId;
+
+        @Column(name = "item_id")
+        private Long itemId;
+    }
+}
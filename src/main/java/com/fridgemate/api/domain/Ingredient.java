@@ -0,0 +1,26 @@
+package com.fridgemate.api.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 재료 사전 항목 (name 은 정규화된 재료 키)
+ */
+@Entity
+@Table(name = "ingredients")
+@Getter
+@NoArgsConstructor
+public class Ingredient {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 100)
+    private String name;
+
+    public Ingredient(String name) {
+        this.name = name;
+    }
+}
@@ -11,6 +11,8 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
 @Table(name = "items")
@@ -55,6 +57,12 @@ public class Item {
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
 
+    /**
+     * 로트 목록 (quantity 는 로트 수량 합, expiryDate 는 남은 로트 중 가장 이른 유통기한)
+     */
+    @OneToMany(mappedBy = "item", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<ItemLot> lots = new ArrayList<>();
+
     @Builder
     public Item(String name, BigDecimal quantity, String unit, LocalDate expiryDate, 
                 String category, String location, LocalDate purchaseDate, String memo) {
@@ -81,6 +89,32 @@ public class Item {
         if (location != null) this.location = location;
     }
 
+    /**
+     * 현재 수량/유통기한으로 로트를 하나로 다시 만든다 (생성 시, 수량이나 유통기한을 직접 고쳤을 때)
+     */
+    public void resetLots() {
+        lots.clear();
+        if (quantity.signum() > 0) {
+            lots.add(new ItemLot(this, quantity, expiryDate, purchaseDate));
+        }
+    }
+
+    /**
+     * 새 로트 입고 (수량 합과 가장 이른 유통기한을 함께 갱신)
+     */
+    public ItemLot receive(BigDecimal amount, LocalDate lotExpiryDate, LocalDate lotPurchaseDate) {
+        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("입고량은 0보다 커야 합니다.");
+        }
+        ItemLot lot = new ItemLot(this, amount, lotExpiryDate, lotPurchaseDate);
+        lots.add(lot);
+        if (this.quantity.signum() == 0 || (lotExpiryDate != null && (expiryDate == null || lotExpiryDate.isBefore(expiryDate)))) {
+            this.expiryDate = lotExpiryDate;
+        }
+        this.quantity = this.quantity.add(amount);
+        return lot;
+    }
+
     /**
      * 재고 소비 (수량 감소)
      */
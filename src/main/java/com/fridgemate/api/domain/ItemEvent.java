@@ -0,0 +1,46 @@
+package com.fridgemate.api.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * 재고 변경 이벤트 아웃박스 행 (ItemEventRepository.append 로만 기록)
+ */
+@Entity
+@Table(name = "item_events")
+@Getter
+@NoArgsConstructor
+public class ItemEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Column(nullable = false, length = 20)
+    private String type;
+
+    @Column(nullable = false, columnDefinition = "jsonb")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false, insertable = false, updatable = false)
+    private Instant createdAt;
+
+    /** 기록한 트랜잭션 id (발송 순서와 커서에 쓴다) */
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Long txid;
+
+    public ItemEvent(Long id, Long txid, Long itemId, String type, String payload, Instant createdAt) {
+        this.id = id;
+        this.txid = txid;
+        this.itemId = itemId;
+        this.type = type;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+}
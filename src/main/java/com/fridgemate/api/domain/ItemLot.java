@@ -0,0 +1,48 @@
+package com.fridgemate.api.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * 재고 로트 (한 번에 들여온 수량과 그 유통기한/구매일)
+ */
+@Entity
+@Table(name = "item_lots")
+@Getter
+@NoArgsConstructor
+public class ItemLot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "item_id", nullable = false)
+    private Item item;
+
+    @Column(nullable = false, precision = 15, scale = 3)
+    private BigDecimal quantity;
+
+    @Column(name = "expiry_date")
+    private LocalDate expiryDate;
+
+    @Column(name = "purchase_date", nullable = false)
+    private LocalDate purchaseDate;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    public ItemLot(Item item, BigDecimal quantity, LocalDate expiryDate, LocalDate purchaseDate) {
+        this.item = item;
+        this.quantity = quantity;
+        this.expiryDate = expiryDate;
+        this.purchaseDate = purchaseDate != null ? purchaseDate : LocalDate.now();
+    }
+}
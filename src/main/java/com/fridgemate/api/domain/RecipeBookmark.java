@@ -0,0 +1,33 @@
+package com.fridgemate.api.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+/**
+ * 즐겨찾기한 레시피 (카탈로그 레시피 이름으로 참조)
+ */
+@Entity
+@Table(name = "recipe_bookmarks")
+@Getter
+@NoArgsConstructor
+public class RecipeBookmark {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 200)
+    private String title;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    public RecipeBookmark(String title) {
+        this.title = title;
+    }
+}
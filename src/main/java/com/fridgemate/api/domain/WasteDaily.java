@@ -0,0 +1,42 @@
+package com.fridgemate.api.domain;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 날짜/카테고리별 소비량과 소비되지 못하고 만료된 양 (음식물 낭비 분석용 집계)
+ */
+@Entity
+@Table(name = "waste_daily")
+@Getter
+@NoArgsConstructor
+public class WasteDaily {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "consumed_quantity", nullable = false, precision = 15, scale = 3)
+    private BigDecimal consumedQuantity;
+
+    @Column(name = "expired_quantity", nullable = false, precision = 15, scale = 3)
+    private BigDecimal expiredQuantity;
+
+    @Embeddable
+    @Getter
+    @NoArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        @Column(name = "day")
+        private LocalDate day;
+
+        @Column(name = "category", length = 30)
+        private String category;
+    }
+}
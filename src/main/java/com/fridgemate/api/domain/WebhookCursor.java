@@ -0,0 +1,30 @@
+package com.fridgemate.api.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * 웹훅 엔드포인트별 전달 커서 ((last_txid, last_event_id) 까지 전달 완료)
+ */
+@Entity
+@Table(name = "webhook_cursors")
+@Getter
+@NoArgsConstructor
+public class WebhookCursor {
+
+    @Id
+    @Column(length = 500)
+    private String endpoint;
+
+    @Column(name = "last_txid", nullable = false)
+    private Long lastTxid;
+
+    @Column(name = "last_event_id", nullable = false)
+    private Long lastEventId;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
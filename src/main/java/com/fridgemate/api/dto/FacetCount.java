@@ -0,0 +1,19 @@
+package com.fridgemate.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "필터 칩 값과 해당 결과 수")
+public class FacetCount {
+
+    @Schema(description = "값 (없으면 null)", example = "냉장")
+    private String value;
+
+    @Schema(description = "이 값을 골랐을 때의 결과 수", example = "12")
+    private long count;
+}
@@ -0,0 +1,65 @@
+package com.fridgemate.api.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 아이템 목록 응답에서 고를 수 있는 필드 (fields= 파라미터)
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ItemField {
+
+    ID("id", "id"),
+    NAME("name", "name"),
+    QUANTITY("quantity", "quantity"),
+    UNIT("unit", "unit"),
+    EXPIRY_DATE("expiryDate", "expiry_date"),
+    CATEGORY("category", "category"),
+    LOCATION("location", "location"),
+    MEMO("memo", "memo"),
+    CREATED_AT("createdAt", "created_at"),
+    UPDATED_AT("updatedAt", "updated_at"),
+    /** 계산 필드 (expiry_date 로 계산) */
+    DAYS_UNTIL_EXPIRY("daysUntilExpiry", "expiry_date");
+
+    /** 전체 필드 (fields 를 안 주면) */
+    public static final Set<ItemField> ALL = Collections.unmodifiableSet(EnumSet.allOf(ItemField.class));
+
+    /** 응답 JSON 속성 이름 */
+    private final String property;
+
+    /** 값을 읽는 items 컬럼 */
+    private final String column;
+
+    /**
+     * "name,quantity" 형태의 필드 목록 (비어 있으면 전체, id 는 항상 포함)
+     */
+    public static Set<ItemField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        EnumSet<ItemField> selected = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String property = name.strip();
+            if (property.isEmpty()) {
+                continue;
+            }
+            selected.add(fromProperty(property));
+        }
+        return selected.size() == ALL.size() ? ALL : Collections.unmodifiableSet(selected);
+    }
+
+    private static ItemField fromProperty(String property) {
+        for (ItemField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("선택할 수 없는 필드입니다: " + property);
+    }
+}
@@ -0,0 +1,25 @@
+package com.fridgemate.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Schema(description = "재고 로트 입고 요청")
+public class ItemLotCreateReq {
+
+    @NotNull(message = "수량은 필수입니다")
+    @Positive(message = "수량은 0보다 커야 합니다")
+    @Schema(description = "입고 수량", example = "1")
+    private BigDecimal quantity;
+
+    @Schema(description = "유통기한", example = "2024-12-31")
+    private LocalDate expiryDate;
+
+    @Schema(description = "구매일 (없으면 오늘)", example = "2024-12-20")
+    private LocalDate purchaseDate;
+}
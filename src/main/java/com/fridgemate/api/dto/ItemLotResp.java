@@ -0,0 +1,34 @@
+package com.fridgemate.api.dto;
+
+import com.fridgemate.api.domain.ItemLot;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Schema(description = "재고 로트 응답")
+public class ItemLotResp {
+
+    @Schema(description = "로트 ID", example = "1")
+    private Long id;
+
+    @Schema(description = "남은 수량", example = "1")
+    private BigDecimal quantity;
+
+    @Schema(description = "유통기한", example = "2024-12-31")
+    private LocalDate expiryDate;
+
+    @Schema(description = "구매일", example = "2024-12-20")
+    private LocalDate purchaseDate;
+
+    public static ItemLotResp from(ItemLot lot) {
+        ItemLotResp resp = new ItemLotResp();
+        resp.id = lot.getId();
+        resp.quantity = lot.getQuantity();
+        resp.expiryDate = lot.getExpiryDate();
+        resp.purchaseDate = lot.getPurchaseDate();
+        return resp;
+    }
+}
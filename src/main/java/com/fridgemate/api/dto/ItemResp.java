@@ -1,5 +1,6 @@
 package com.fridgemate.api.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fridgemate.api.domain.Item;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
@@ -7,6 +8,7 @@ import lombok.Data;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Set;
 
 @Data
 @Schema(description = "재고 아이템 응답")
@@ -60,4 +62,52 @@ public class ItemResp {
         resp.daysUntilExpiry = item.getDaysUntilExpiry();
         return resp;
     }
+
+    /**
+     * 수량만 바꾼 복사본 (write-behind 소비 응답용)
+     */
+    public ItemResp withQuantity(BigDecimal quantity) {
+        ItemResp copy = new ItemResp();
+        copy.id = id;
+        copy.name = name;
+        copy.quantity = quantity;
+        copy.unit = unit;
+        copy.expiryDate = expiryDate;
+        copy.category = category;
+        copy.location = location;
+        copy.memo = memo;
+        copy.createdAt = createdAt;
+        copy.updatedAt = updatedAt;
+        copy.daysUntilExpiry = daysUntilExpiry;
+        return copy;
+    }
+
+    /**
+     * 고른 필드만 담은 복사본 (fields 가 전체면 그대로)
+     */
+    public ItemResp select(Set<ItemField> fields) {
+        if (fields.containsAll(ItemField.ALL)) {
+            return this;
+        }
+        ItemResp copy = new Sparse();
+        copy.id = id;
+        copy.name = fields.contains(ItemField.NAME) ? name : null;
+        copy.quantity = fields.contains(ItemField.QUANTITY) ? quantity : null;
+        copy.unit = fields.contains(ItemField.UNIT) ? unit : null;
+        copy.expiryDate = fields.contains(ItemField.EXPIRY_DATE) ? expiryDate : null;
+        copy.category = fields.contains(ItemField.CATEGORY) ? category : null;
+        copy.location = fields.contains(ItemField.LOCATION) ? location : null;
+        copy.memo = fields.contains(ItemField.MEMO) ? memo : null;
+        copy.createdAt = fields.contains(ItemField.CREATED_AT) ? createdAt : null;
+        copy.updatedAt = fields.contains(ItemField.UPDATED_AT) ? updatedAt : null;
+        copy.daysUntilExpiry = fields.contains(ItemField.DAYS_UNTIL_EXPIRY) ? daysUntilExpiry : null;
+        return copy;
+    }
+
+    /**
+     * 필드를 골라 받은 응답 (고르지 않은 필드는 JSON 에서 빠진다)
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Sparse extends ItemResp {
+    }
 }
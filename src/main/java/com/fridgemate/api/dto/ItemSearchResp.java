@@ -0,0 +1,34 @@
+package com.fridgemate.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+@Schema(description = "아이템 패싯 검색 응답")
+public class ItemSearchResp {
+
+    @Schema(description = "현재 페이지 아이템")
+    private List<ItemResp> content;
+
+    @Schema(description = "페이지 번호 (0부터 시작)", example = "0")
+    private int page;
+
+    @Schema(description = "페이지 크기", example = "20")
+    private int size;
+
+    @Schema(description = "조건에 맞는 전체 아이템 수", example = "42")
+    private long totalElements;
+
+    @Schema(description = "전체 페이지 수", example = "3")
+    private int totalPages;
+
+    @Schema(description = "카테고리별 결과 수 (위치 필터만 적용, 카테고리 이름 순)")
+    private List<FacetCount> categories;
+
+    @Schema(description = "위치별 결과 수 (카테고리 필터만 적용, 위치 이름 순)")
+    private List<FacetCount> locations;
+}
@@ -0,0 +1,29 @@
+package com.fridgemate.api.dto.analytics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@Schema(description = "기간/카테고리별 음식물 낭비 집계")
+public class WasteBucket {
+
+    @Schema(description = "구간 시작일 (주 단위면 월요일, 월 단위면 1일)", example = "2024-12-02")
+    private LocalDate periodStart;
+
+    @Schema(description = "카테고리 (없으면 null)", example = "유제품")
+    private String category;
+
+    @Schema(description = "소비되지 못하고 유통기한이 지난 양 (단위 구분 없이 합산)", example = "1.5")
+    private BigDecimal expiredQuantity;
+
+    @Schema(description = "소비한 양 (단위 구분 없이 합산)", example = "8")
+    private BigDecimal consumedQuantity;
+
+    @Schema(description = "낭비율 = 만료량 / (만료량 + 소비량), 둘 다 0 이면 null", example = "0.158")
+    private BigDecimal wasteRate;
+}
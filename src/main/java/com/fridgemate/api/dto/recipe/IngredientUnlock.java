@@ -0,0 +1,29 @@
+package com.fridgemate.api.dto.recipe;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@Schema(description = "구매 시 새로 만들 수 있게 되는 레시피가 많은 재료")
+public class IngredientUnlock {
+
+    @Schema(description = "재료명", example = "대파")
+    private String name;
+
+    @Schema(description = "구매하면 모든 재료를 갖추게 되는 레시피 수", example = "2")
+    private int completedRecipes;
+
+    @Schema(description = "구매하면 일치율 기준을 넘게 되는 레시피 수", example = "3")
+    private int thresholdRecipes;
+
+    @Schema(description = "영향받는 레시피 점수 합 (정렬 기준)", example = "1.68")
+    private BigDecimal gain;
+
+    @Schema(description = "완성되는 레시피 이름 (최대 3개)")
+    private List<String> recipes;
+}
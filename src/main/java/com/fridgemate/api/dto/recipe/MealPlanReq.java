@@ -0,0 +1,24 @@
+package com.fridgemate.api.dto.recipe;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+
+@Data
+@Schema(description = "식단 계획 요청")
+public class MealPlanReq {
+
+    @Min(value = 1, message = "끼니 수는 1 이상이어야 합니다")
+    @Max(value = 21, message = "끼니 수는 21 이하여야 합니다")
+    @Schema(description = "계획할 끼니(레시피) 수", example = "7")
+    private Integer meals = 7;
+
+    @Min(value = 1, message = "인분 수는 1 이상이어야 합니다")
+    @Max(value = 100, message = "인분 수는 100 이하여야 합니다")
+    @Schema(description = "인분 수", example = "2")
+    private Integer servings;
+
+    @Schema(description = "식단 타입", example = "vegetarian")
+    private String diet;
+}
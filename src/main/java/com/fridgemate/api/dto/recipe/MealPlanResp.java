@@ -0,0 +1,26 @@
+package com.fridgemate.api.dto.recipe;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@Schema(description = "식단 계획 응답")
+public class MealPlanResp {
+
+    @Schema(description = "계획된 끼니 목록")
+    private List<PlannedMeal> meals;
+
+    @Schema(description = "소진되는 임박 재고 가치 합 (클수록 좋음)", example = "2.40")
+    private BigDecimal totalExpiringValue;
+
+    @Schema(description = "계획 후에도 남는 임박 재고 이름")
+    private List<String> leftoverExpiringItems;
+
+    @Schema(description = "후보 레시피 수", example = "120")
+    private int candidateRecipes;
+}
@@ -0,0 +1,26 @@
+package com.fridgemate.api.dto.recipe;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@Schema(description = "계획된 끼니")
+public class PlannedMeal {
+
+    @Schema(description = "순서 (유통기한이 급한 재료를 쓰는 레시피가 앞)", example = "1")
+    private int order;
+
+    @Schema(description = "레시피")
+    private Recipe recipe;
+
+    @Schema(description = "이 레시피로 소진되는 임박 재고 가치", example = "0.85")
+    private BigDecimal expiringValue;
+
+    @Schema(description = "이 레시피가 쓰는 임박 재고 이름")
+    private List<String> expiringItems;
+}
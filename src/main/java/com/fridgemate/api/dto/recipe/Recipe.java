@@ -5,12 +5,12 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.aspectj.util.PartialOrder;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Schema(description = "레시피 정보")
@@ -40,8 +40,6 @@ public class Recipe {
     @Schema(description = "조리 과정")
     private List<String> instructions;
 
-    public PartialOrder.PartialComparable getScore() {
-
-        return null;
-    }
+    @Schema(description = "추천 점수 (0 ~ 1)", example = "0.85")
+    private BigDecimal score;
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.fridgemate.api.dto.recipe;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+@Schema(description = "비동기 추천 작업 요청")
+public class RecipeJobReq {
+
+    public enum Type { SUGGEST, PLAN }
+
+    @NotNull(message = "작업 종류는 필수입니다")
+    @Schema(description = "작업 종류 (SUGGEST: 레시피 추천, PLAN: 식단 계획)", example = "PLAN")
+    private Type type;
+
+    @Min(value = 1, message = "인분 수는 1 이상이어야 합니다")
+    @Max(value = 100, message = "인분 수는 100 이하여야 합니다")
+    @Schema(description = "인분 수", example = "2")
+    private Integer servings;
+
+    @Schema(description = "식단 타입", example = "vegetarian")
+    private String diet;
+
+    @Min(value = 1, message = "끼니 수는 1 이상이어야 합니다")
+    @Max(value = 21, message = "끼니 수는 21 이하여야 합니다")
+    @Schema(description = "계획할 끼니 수 (PLAN)", example = "7")
+    private Integer meals;
+
+    @Schema(description = "완료 시 결과를 POST 할 로컬 URL (localhost / 루프백 주소만 허용)", example = "http://localhost:8081/hooks/recipes")
+    private String callbackUrl;
+}
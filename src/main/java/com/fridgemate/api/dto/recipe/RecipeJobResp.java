@@ -0,0 +1,39 @@
+package com.fridgemate.api.dto.recipe;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@Schema(description = "비동기 추천 작업 상태")
+public class RecipeJobResp {
+
+    public enum Status { QUEUED, RUNNING, SUCCEEDED, FAILED }
+
+    @Schema(description = "작업 ID", example = "3f2b8c1e-6d0a-4c1e-9f57-2a1d5e7b9c40")
+    private String id;
+
+    @Schema(description = "작업 종류", example = "PLAN")
+    private RecipeJobReq.Type type;
+
+    @Schema(description = "상태", example = "SUCCEEDED")
+    private Status status;
+
+    @Schema(description = "접수 시각")
+    private Instant submittedAt;
+
+    @Schema(description = "실행 시작 시각")
+    private Instant startedAt;
+
+    @Schema(description = "완료 시각")
+    private Instant finishedAt;
+
+    @Schema(description = "결과 (SUGGEST: RecipeSuggestionResp, PLAN: MealPlanResp)")
+    private Object result;
+
+    @Schema(description = "실패 사유")
+    private String error;
+}
@@ -14,6 +14,9 @@ public class RecipeSuggestionResp {
     @Schema(description = "사용 가능한 재료 수", example = "8")
     private int availableIngredients;
 
+    @Schema(description = "모든 재료를 갖춘 레시피 수", example = "2")
+    private int cookableRecipes;
+
     @Schema(description = "추천 레시피 목록")
     private List<Recipe> suggestedRecipes;
 }
\ No newline at end of file
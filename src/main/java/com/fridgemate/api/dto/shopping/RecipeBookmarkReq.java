@@ -0,0 +1,14 @@
+package com.fridgemate.api.dto.shopping;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+@Schema(description = "레시피 즐겨찾기 요청")
+public class RecipeBookmarkReq {
+
+    @NotBlank(message = "레시피 이름은 필수입니다")
+    @Schema(description = "카탈로그 레시피 이름", example = "계란말이")
+    private String title;
+}
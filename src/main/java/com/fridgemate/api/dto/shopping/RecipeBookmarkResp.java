@@ -0,0 +1,31 @@
+package com.fridgemate.api.dto.shopping;
+
+import com.fridgemate.api.domain.RecipeBookmark;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@Schema(description = "즐겨찾기한 레시피")
+public class RecipeBookmarkResp {
+
+    @Schema(description = "즐겨찾기 ID", example = "1")
+    private Long id;
+
+    @Schema(description = "레시피 이름", example = "계란말이")
+    private String title;
+
+    @Schema(description = "등록 시각")
+    private Instant createdAt;
+
+    public static RecipeBookmarkResp from(RecipeBookmark bookmark) {
+        return RecipeBookmarkResp.builder()
+                .id(bookmark.getId())
+                .title(bookmark.getTitle())
+                .createdAt(bookmark.getCreatedAt())
+                .build();
+    }
+}
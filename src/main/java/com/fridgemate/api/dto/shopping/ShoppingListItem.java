@@ -0,0 +1,32 @@
+package com.fridgemate.api.dto.shopping;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@Schema(description = "장보기 목록 항목")
+public class ShoppingListItem {
+
+    @Schema(description = "재료명", example = "대파")
+    private String name;
+
+    @Schema(description = "즐겨찾기 레시피에 부족한 양 (기준 단위, 알 수 없으면 null)", example = "1.5")
+    private BigDecimal missingAmount;
+
+    @Schema(description = "단위 (재료 기준 단위)", example = "줄기")
+    private String unit;
+
+    @Schema(description = "재고 부족 아이템에 해당하는지 여부", example = "true")
+    private boolean lowStock;
+
+    @Schema(description = "현재 보유량 (재고 부족 아이템 합계, 기준 단위로 환산할 수 없으면 null)", example = "0.5")
+    private BigDecimal currentQuantity;
+
+    @Schema(description = "이 재료가 부족한 즐겨찾기 레시피 이름")
+    private List<String> recipes;
+}
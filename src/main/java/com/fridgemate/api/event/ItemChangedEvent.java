@@ -0,0 +1,26 @@
+package com.fridgemate.api.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 재고 아이템 변경 이벤트
+ * ItemService 의 생성/수정/소비/입고/삭제마다 발행된다
+ */
+@Getter
+@RequiredArgsConstructor
+public class ItemChangedEvent {
+
+    public enum Type {
+        CREATED, UPDATED, CONSUMED, RESTOCKED, DELETED
+    }
+
+    private final Type type;
+    private final Long itemId;
+
+    /** 변경 전 상태 (생성 시 null) */
+    private final ItemSnapshot before;
+
+    /** 변경 후 상태 (삭제 시 null) */
+    private final ItemSnapshot after;
+}
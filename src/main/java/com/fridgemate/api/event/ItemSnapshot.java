@@ -0,0 +1,42 @@
+package com.fridgemate.api.event;
+
+import com.fridgemate.api.domain.Item;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 변경 시점의 아이템 상태 (불변)
+ * 트랜잭션 밖의 리스너가 엔티티를 다시 조회하지 않고 쓸 수 있도록 값만 복사해 둔다
+ */
+@Value
+public class ItemSnapshot {
+
+    Long id;
+    String name;
+    BigDecimal quantity;
+    String unit;
+    LocalDate expiryDate;
+    String category;
+    String location;
+
+    public static ItemSnapshot of(Item item) {
+        return new ItemSnapshot(
+                item.getId(),
+                item.getName(),
+                item.getQuantity(),
+                item.getUnit(),
+                item.getExpiryDate(),
+                item.getCategory(),
+                item.getLocation()
+        );
+    }
+
+    /**
+     * 레시피 추천에 사용할 수 있는 재고인지 여부 (findAvailableItems 와 같은 기준)
+     */
+    public boolean isAvailable() {
+        return quantity != null && quantity.signum() > 0;
+    }
+}
@@ -0,0 +1,7 @@
+package com.fridgemate.api.exception;
+
+public class JobQueueFullException extends RuntimeException {
+    public JobQueueFullException(String message) {
+        super(message);
+    }
+}
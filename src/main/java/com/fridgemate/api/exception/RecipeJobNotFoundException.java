@@ -0,0 +1,7 @@
+package com.fridgemate.api.exception;
+
+public class RecipeJobNotFoundException extends RuntimeException {
+    public RecipeJobNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,48 @@
+package com.fridgemate.api.repository;
+
+import com.fridgemate.api.domain.CatalogRecipe;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CatalogRecipeRepository extends JpaRepository<CatalogRecipe, Long> {
+
+    /**
+     * 보유 재료와 하나라도 겹치는 레시피 ID (GIN 인덱스 겹침 조회, 겹치는 재료 수 내림차순)
+     *
+     * @param ingredientIds PostgreSQL 배열 리터럴 (예: "{1,2,3}")
+     */
+    @Query(value = "SELECT r.id FROM recipes r " +
+            "WHERE r.region = :region AND r.ingredient_ids && CAST(:ingredientIds AS bigint[]) " +
+            "ORDER BY cardinality(ARRAY(SELECT unnest(r.ingredient_ids) " +
+            "INTERSECT SELECT unnest(CAST(:ingredientIds AS bigint[])))) DESC, r.id " +
+            "LIMIT :limit", nativeQuery = true)
+    List<Long> findCandidateIds(@Param("region") String region,
+                                @Param("ingredientIds") String ingredientIds,
+                                @Param("limit") int limit);
+
+    /**
+     * 레시피와 재료를 한 번에 조회
+     */
+    @Query("SELECT DISTINCT r FROM CatalogRecipe r " +
+            "LEFT JOIN FETCH r.ingredients ri LEFT JOIN FETCH ri.ingredient " +
+            "WHERE r.id IN :ids")
+    List<CatalogRecipe> findWithIngredientsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 재료 키별 레시피에서 쓰는 단위 (단위 환산표 구성용)
+     */
+    @Query("SELECT DISTINCT ri.ingredient.name, ri.unit FROM CatalogRecipeIngredient ri WHERE ri.unit IS NOT NULL")
+    List<Object[]> findIngredientUnits();
+
+    /**
+     * 레시피 재료명(원문)별 사용 레시피 수 (이름 자동완성 점수용)
+     */
+    @Query("SELECT ri.name, COUNT(DISTINCT ri.recipe.id) FROM CatalogRecipeIngredient ri GROUP BY ri.name")
+    List<Object[]> countIngredientNames();
+}
@@ -0,0 +1,31 @@
+package com.fridgemate.api.repository;
+
+import com.fridgemate.api.domain.ConsumeWalCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface ConsumeWalCheckpointRepository extends JpaRepository<ConsumeWalCheckpoint, ConsumeWalCheckpoint.Key> {
+
+    List<ConsumeWalCheckpoint> findByIdWalId(String walId);
+
+    /**
+     * 체크포인트 전진 (소비 반영과 같은 트랜잭션 안에서만 호출)
+     */
+    @Modifying
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = """
+            INSERT INTO consume_wal_checkpoints (wal_id, item_id, last_seq) VALUES (:walId, :itemId, :lastSeq)
+            ON CONFLICT (wal_id, item_id) DO UPDATE
+            SET last_seq = GREATEST(consume_wal_checkpoints.last_seq, EXCLUDED.last_seq),
+                updated_at = NOW()
+            """, nativeQuery = true)
+    void advance(@Param("walId") String walId, @Param("itemId") Long itemId, @Param("lastSeq") long lastSeq);
+}
@@ -0,0 +1,53 @@
+package com.fridgemate.api.repository;
+
+import com.fridgemate.api.domain.ExpiryNotification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ExpiryNotificationRepository extends JpaRepository<ExpiryNotification, Long> {
+
+    /**
+     * 알림이 아직 없는 만료 임박/만료 아이템을 id 순으로 한 청크 잠그고 알림을 기록 (한 번의 쿼리)
+     *
+     * 다른 인스턴스/작업자가 잠근 행은 SKIP LOCKED 로 건너뛰므로 서로 기다리지 않고 다음 청크로 넘어간다.
+     * 같은 행이 두 번 잡혀도 유니크 인덱스(ON CONFLICT DO NOTHING)로 알림은 한 번만 남는다.
+     * 호출하는 쪽 트랜잭션이 끝날 때 잠금이 풀린다.
+     * 결과: [청크 마지막 아이템 id (없으면 null), 잠근 아이템 수, 기록한 알림 수]
+     */
+    @Query(value = """
+            WITH claimed AS (
+                SELECT i.id, i.name, i.expiry_date,
+                       CASE WHEN i.expiry_date < :today THEN 'EXPIRED' ELSE 'EXPIRING' END AS kind
+                FROM items i
+                WHERE i.id > :afterId
+                  AND i.quantity > 0
+                  AND i.expiry_date <= :horizon
+                  AND NOT EXISTS (
+                      SELECT 1 FROM expiry_notifications n
+                      WHERE n.item_id = i.id
+                        AND n.expiry_date = i.expiry_date
+                        AND n.kind = CASE WHEN i.expiry_date < :today THEN 'EXPIRED' ELSE 'EXPIRING' END)
+                ORDER BY i.id
+                LIMIT :chunkSize
+                FOR UPDATE OF i SKIP LOCKED
+            ), inserted AS (
+                INSERT INTO expiry_notifications (item_id, item_name, kind, expiry_date)
+                SELECT id, name, kind, expiry_date FROM claimed
+                ON CONFLICT (item_id, expiry_date, kind) DO NOTHING
+                RETURNING id
+            )
+            SELECT (SELECT MAX(id) FROM claimed),
+                   (SELECT COUNT(*) FROM claimed),
+                   (SELECT COUNT(*) FROM inserted)
+            """, nativeQuery = true)
+    List<Object[]> claimAndRecord(@Param("afterId") long afterId,
+                                  @Param("today") LocalDate today,
+                                  @Param("horizon") LocalDate horizon,
+                                  @Param("chunkSize") int chunkSize);
+}
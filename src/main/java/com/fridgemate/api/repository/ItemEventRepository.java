@@ -0,0 +1,47 @@
+package com.fridgemate.api.repository;
+
+import com.fridgemate.api.domain.ItemEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ItemEventRepository extends JpaRepository<ItemEvent, Long> {
+
+    /**
+     * 이벤트 기록 (호출한 쪽 트랜잭션 안에서만, created_at 은 DB 의 트랜잭션 시작 시각)
+     */
+    @Modifying
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = "INSERT INTO item_events (item_id, type, payload) VALUES (:itemId, :type, CAST(:payload AS jsonb))",
+            nativeQuery = true)
+    void append(@Param("itemId") Long itemId, @Param("type") String type, @Param("payload") String payload);
+
+    /**
+     * 커서 (afterTxid, afterId) 이후 이벤트를 (txid, id) 순으로 (진행 중인 트랜잭션보다 앞선 것만)
+     *
+     * id 는 INSERT 시점에, 커밋은 그 뒤에 일어나므로 id 순으로는 작은 id 가 늦게 보일 수 있다.
+     * 스냅숏 xmin 보다 작은 xid 의 트랜잭션은 모두 끝났고 앞으로 커밋될 행의 xid 는 xmin 이상이므로,
+     * (txid, id) 순서에서는 이미 읽은 위치 앞에 새 행이 끼어들지 않는다 (트랜잭션이 얼마나 길든).
+     */
+    @Query(value = """
+            SELECT * FROM item_events
+            WHERE (txid, id) > (:afterTxid, :afterId)
+              AND txid < CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text) AS bigint)
+            ORDER BY txid, id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<ItemEvent> findReady(@Param("afterTxid") long afterTxid, @Param("afterId") long afterId, @Param("limit") int limit);
+
+    /**
+     * (txid, id) 순서로 가장 마지막 이벤트
+     */
+    Optional<ItemEvent> findFirstByOrderByTxidDescIdDesc();
+}
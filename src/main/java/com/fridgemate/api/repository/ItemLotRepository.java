@@ -0,0 +1,54 @@
+package com.fridgemate.api.repository;
+
+import com.fridgemate.api.domain.ItemLot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface ItemLotRepository extends JpaRepository<ItemLot, Long> {
+
+    /**
+     * 아이템의 남은 로트 (유통기한 빠른 순, 유통기한 없는 로트는 마지막)
+     */
+    @Query("SELECT l FROM ItemLot l WHERE l.item.id = :itemId AND l.quantity > 0 ORDER BY l.expiryDate ASC NULLS LAST, l.id ASC")
+    List<ItemLot> findRemainingLots(@Param("itemId") Long itemId);
+
+    /**
+     * 유통기한이 빠른 로트부터 소비 (FEFO, 한 번의 쿼리)
+     *
+     * 남은 로트를 잠그고 유통기한 순 누적 수량을 구해, 누적이 소비량에 닿을 때까지의 로트만 줄인다.
+     * 남은 수량 합이 소비량보다 적으면 아무 로트도 바꾸지 않는다.
+     * 결과: [소비 전 합계, 소비 후 합계, 남은 로트 중 가장 이른 유통기한, 줄어든 로트 수]
+     */
+    @Query(value = """
+            WITH locked AS (
+                SELECT id, quantity, expiry_date
+                FROM item_lots
+                WHERE item_id = :itemId AND quantity > 0
+                FOR UPDATE
+            ), ordered AS (
+                SELECT id, quantity, expiry_date,
+                       SUM(quantity) OVER (ORDER BY expiry_date ASC NULLS LAST, id) AS running
+                FROM locked
+            ), available AS (
+                SELECT COALESCE(SUM(quantity), 0) AS total FROM locked
+            ), drawn AS (
+                UPDATE item_lots l
+                SET quantity = GREATEST(o.running - :amount, 0)
+                FROM ordered o, available a
+                WHERE l.id = o.id AND o.running - o.quantity < :amount AND a.total >= :amount
+                RETURNING l.id
+            )
+            SELECT a.total,
+                   a.total - :amount,
+                   (SELECT MIN(o.expiry_date) FROM ordered o WHERE o.running > :amount),
+                   (SELECT COUNT(*) FROM drawn)
+            FROM available a
+            """, nativeQuery = true)
+    List<Object[]> consumeEarliestExpiring(@Param("itemId") Long itemId, @Param("amount") BigDecimal amount);
+}
@@ -13,7 +13,7 @@ import java.time.LocalDate;
 import java.util.List;
 
 @Repository
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemSearchRepository {
 
     /**
      * 키워드로 상품명 검색 (대소문자 무시) - 페이징
@@ -40,9 +40,11 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findByCategoryAndLocation(String category, String location, Sort sort);
 
     /**
-     * 유통기한 임박 상품 조회 (지정된 일수 이내)
+     * 유통기한 임박 상품 조회 (지정된 일수 이내에 유통기한이 끝나는 남은 로트가 있는 아이템)
      */
-    @Query("SELECT i FROM Item i WHERE i.expiryDate IS NOT NULL AND i.expiryDate <= :targetDate ORDER BY i.expiryDate ASC")
+    @Query("SELECT i FROM Item i WHERE EXISTS (" +
+            "SELECT 1 FROM ItemLot l WHERE l.item = i AND l.quantity > 0 AND l.expiryDate <= :targetDate) " +
+            "ORDER BY i.expiryDate ASC")
     List<Item> findExpiringItems(@Param("targetDate") LocalDate targetDate);
 
     /**
@@ -52,25 +54,15 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findLowStockItems(@Param("threshold") double threshold);
 
     /**
-     * 복합 조건 검색
+     * 모든 아이템 조회 (정렬 적용)
      */
-    @Query("SELECT i FROM Item i WHERE " +
-            "(:keyword IS NULL OR LOWER(i.name) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND " +
-            "(:category IS NULL OR i.category = :category) AND " +
-            "(:location IS NULL OR i.location = :location) AND " +
-            "(:expiring IS NULL OR (i.expiryDate IS NOT NULL AND i.expiryDate <= :expiringDate))")
-    List<Item> findBySearchCriteria(
-            @Param("keyword") String keyword,
-            @Param("category") String category,
-            @Param("location") String location,
-            @Param("expiring") Integer expiring,
-            @Param("expiringDate") LocalDate expiringDate,
-            Sort sort);
+    List<Item> findAll(Sort sort);
 
     /**
-     * 모든 아이템 조회 (정렬 적용)
+     * 이름별 아이템 수 (이름 자동완성 점수용)
      */
-    List<Item> findAll(Sort sort);
+    @Query("SELECT i.name, COUNT(i) FROM Item i GROUP BY i.name")
+    List<Object[]> countByName();
 
     /**
      * 카테고리 목록 조회
@@ -100,6 +92,11 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
      */
     long countByLocation(String location);
 
+    /**
+     * 카테고리와 위치별 아이템 수 조회
+     */
+    long countByCategoryAndLocation(String category, String location);
+
     /**
      * 카테고리별 통계 조회
      */
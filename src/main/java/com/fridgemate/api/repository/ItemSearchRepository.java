@@ -0,0 +1,45 @@
+package com.fridgemate.api.repository;
+
+import com.fridgemate.api.dto.ItemField;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 조건에 따라 SQL 모양이 달라지는 아이템 검색 (ItemRepository 에 붙는 구현 조각)
+ *
+ * null 인 조건은 SQL 에서 아예 빠지므로 "(:x IS NULL OR col = :x)" 처럼 조건 조합마다 같은 계획을 쓰지 않고,
+ * 실제로 주어진 조건의 인덱스(idx_items_category, idx_items_location, idx_items_expiry)를 탈 수 있다.
+ */
+public interface ItemSearchRepository {
+
+    /**
+     * 고른 필드의 컬럼만 읽는 목록 한 페이지 (고르지 않은 컬럼은 NULL 로 채워 memo 등을 읽지 않는다)
+     * 결과 행: [id, name, quantity, unit, expiry_date, category, location, memo, created_at, updated_at, 조건에 맞는 전체 수]
+     */
+    List<Object[]> findFields(Set<ItemField> fields,
+                              String category,
+                              String location,
+                              Pageable pageable);
+
+    /**
+     * 검색 결과 한 페이지와 카테고리/위치 패싯 수를 한 번의 쿼리로 조회
+     *
+     * 패싯 수는 자기 축의 필터만 빼고 센다 (카테고리 칩 수는 위치 필터만, 위치 칩 수는 카테고리 필터만 적용).
+     * 결과 페이지는 모든 조건을 넣은 items 스캔으로 읽으므로 주어진 조건의 인덱스를 탄다.
+     * 결과 행 (앞쪽 패싯 행, 뒤쪽 아이템 행은 정렬 순서대로, 아이템 컬럼은 고른 필드만 채운다):
+     * [종류(category/location/total/item), 패싯 값, 수, id, name, quantity, unit, expiry_date, category, location,
+     *  memo, created_at, updated_at]
+     *
+     * @param keyword 상품명 부분 일치 (대소문자 무시, null 이면 조건 없음)
+     * @param expiringDate 이 날짜까지 유통기한이 끝나는 아이템만 (null 이면 조건 없음)
+     */
+    List<Object[]> searchWithFacets(String keyword,
+                                    String category,
+                                    String location,
+                                    LocalDate expiringDate,
+                                    Set<ItemField> fields,
+                                    Pageable pageable);
+}
@@ -0,0 +1,250 @@
+package com.fridgemate.api.repository;
+
+import com.fridgemate.api.dto.ItemField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 조건 조합(모양)별 검색 SQL 구현
+ *
+ * 주어진 조건만 WHERE 에 넣고(null 파라미터 타입 추론 문제 없이 인덱스를 탈 수 있게), 정렬 컬럼은 허용 목록으로만 붙인다.
+ * 만든 SQL 은 모양별로 기억해 두므로 같은 모양의 요청은 같은 문자열을 쓰고,
+ * Hibernate 쿼리 계획 캐시와 드라이버의 서버 측 prepared statement 도 모양별로 재사용된다.
+ * 목록 행은 항상 같은 컬럼 배치로 돌려주되 고르지 않은 필드의 컬럼은 NULL 로 채워, memo(TEXT) 처럼
+ * 큰 값은 읽지도 전송하지도 않는다.
+ */
+public class ItemSearchRepositoryImpl implements ItemSearchRepository {
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "name", "name",
+            "category", "category",
+            "quantity", "quantity",
+            "expiryDate", "expiry_date",
+            "location", "location",
+            "updatedAt", "updated_at",
+            "createdAt", "created_at");
+
+    /** 목록 행의 아이템 컬럼 배치와 NULL 로 채울 때의 타입 */
+    private static final Map<String, String> ITEM_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        ITEM_COLUMNS.put("id", "BIGINT");
+        ITEM_COLUMNS.put("name", "VARCHAR");
+        ITEM_COLUMNS.put("quantity", "NUMERIC");
+        ITEM_COLUMNS.put("unit", "VARCHAR");
+        ITEM_COLUMNS.put("expiry_date", "DATE");
+        ITEM_COLUMNS.put("category", "VARCHAR");
+        ITEM_COLUMNS.put("location", "VARCHAR");
+        ITEM_COLUMNS.put("memo", "TEXT");
+        ITEM_COLUMNS.put("created_at", "TIMESTAMPTZ");
+        ITEM_COLUMNS.put("updated_at", "TIMESTAMPTZ");
+    }
+
+    /** 모양 수 상한 (조건 4개 × 정렬 조합이라 보통 수십 개, 여러 필드 정렬 조합이 쌓여도 무한히 늘지 않게) */
+    private static final int MAX_CACHED_SHAPES = 256;
+
+    private final Map<Shape, String> sqlCache = new ConcurrentHashMap<>();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    enum Kind { PAGE, FACETS }
+
+    /**
+     * 검색 종류 + 주어진 조건 + 고른 필드 + 정렬
+     */
+    record Shape(Kind kind, boolean keyword, boolean category, boolean location, boolean expiring,
+                 Set<ItemField> fields, Sort sort) {
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object[]> findFields(Set<ItemField> fields,
+                                     String category,
+                                     String location,
+                                     Pageable pageable) {
+        Shape shape = new Shape(Kind.PAGE, false, category != null, location != null, false, fields, pageable.getSort());
+        Query query = entityManager.createNativeQuery(sql(shape));
+        bind(query, null, category, location, null);
+        query.setParameter("limit", pageable.getPageSize());
+        query.setParameter("offset", pageable.getOffset());
+        return query.getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object[]> searchWithFacets(String keyword,
+                                           String category,
+                                           String location,
+                                           LocalDate expiringDate,
+                                           Set<ItemField> fields,
+                                           Pageable pageable) {
+        Shape shape = new Shape(Kind.FACETS, keyword != null, category != null, location != null, expiringDate != null,
+                fields, pageable.getSort());
+        Query query = entityManager.createNativeQuery(sql(shape));
+        bind(query, keyword, category, location, expiringDate);
+        query.setParameter("limit", pageable.getPageSize());
+        query.setParameter("offset", pageable.getOffset());
+        return query.getResultList();
+    }
+
+    /**
+     * 모양별 SQL (처음 보는 모양이면 만들어 기억한다)
+     */
+    String sql(Shape shape) {
+        String cached = sqlCache.get(shape);
+        if (cached != null) {
+            return cached;
+        }
+        String sql = switch (shape.kind()) {
+            case PAGE -> pageSql(shape.category(), shape.location(), shape.fields(), shape.sort());
+            case FACETS -> facetSql(shape.keyword(), shape.category(), shape.location(), shape.expiring(),
+                    shape.fields(), shape.sort());
+        };
+        if (sqlCache.size() < MAX_CACHED_SHAPES) {
+            sqlCache.putIfAbsent(shape, sql);
+        }
+        return sql;
+    }
+
+    int cachedShapes() {
+        return sqlCache.size();
+    }
+
+    static String pageSql(boolean category, boolean location, Set<ItemField> fields, Sort sort) {
+        StringJoiner where = new StringJoiner(" AND ", " WHERE ", "").setEmptyValue("");
+        if (category) {
+            where.add("i.category = :category");
+        }
+        if (location) {
+            where.add("i.location = :location");
+        }
+        return "SELECT " + itemColumns("i", fields) + ", COUNT(*) OVER () FROM items i" + where
+                + " ORDER BY " + orderBy("i", sort) + " LIMIT :limit OFFSET :offset";
+    }
+
+    /**
+     * 패싯 수 + 결과 페이지
+     *
+     * 패싯은 자기 축 필터를 빼고 세야 하므로 카테고리/위치 조건 없이 읽은 base 를 FILTER 로 나눠 세고,
+     * 결과 페이지는 base 를 거치지 않고 모든 조건을 WHERE 에 넣은 items 스캔으로 읽어 조건의 인덱스를 탄다.
+     */
+    static String facetSql(boolean keyword, boolean category, boolean location, boolean expiring,
+                           Set<ItemField> fields, Sort sort) {
+        // 정렬에 쓰는 작은 컬럼은 모두 두고, memo 는 고른 경우에만 페이지에 싣는다
+        String pageColumns = ITEM_COLUMNS.keySet().stream()
+                .filter(column -> !column.equals(ItemField.MEMO.getColumn()) || fields.contains(ItemField.MEMO))
+                .map(column -> "i." + column)
+                .collect(Collectors.joining(", "));
+        String categoryFilter = category ? "b.category = :category" : "TRUE";
+        String locationFilter = location ? "b.location = :location" : "TRUE";
+        String orderBy = orderBy("i", sort);
+
+        return """
+                WITH base AS (
+                    SELECT i.category, i.location FROM items i%1$s
+                ), facets AS (
+                    SELECT CASE WHEN GROUPING(b.category) = 0 THEN 'category'
+                                WHEN GROUPING(b.location) = 0 THEN 'location'
+                                ELSE 'total' END AS kind,
+                           CASE WHEN GROUPING(b.category) = 0 THEN b.category ELSE b.location END AS facet_value,
+                           CASE WHEN GROUPING(b.category) = 0 THEN COUNT(*) FILTER (WHERE %2$s)
+                                WHEN GROUPING(b.location) = 0 THEN COUNT(*) FILTER (WHERE %3$s)
+                                ELSE COUNT(*) FILTER (WHERE %3$s AND %2$s) END AS hits
+                    FROM base b
+                    GROUP BY GROUPING SETS ((b.category), (b.location), ())
+                ), page AS (
+                    SELECT %5$s, ROW_NUMBER() OVER (ORDER BY %4$s) AS position
+                    FROM items i%7$s
+                    ORDER BY %4$s
+                    LIMIT :limit OFFSET :offset
+                )
+                SELECT f.kind, f.facet_value, f.hits,
+                       CAST(NULL AS BIGINT), CAST(NULL AS VARCHAR), CAST(NULL AS NUMERIC), CAST(NULL AS VARCHAR),
+                       CAST(NULL AS DATE), CAST(NULL AS VARCHAR), CAST(NULL AS VARCHAR), CAST(NULL AS TEXT),
+                       CAST(NULL AS TIMESTAMPTZ), CAST(NULL AS TIMESTAMPTZ), CAST(0 AS BIGINT) AS position
+                FROM facets f
+                UNION ALL
+                SELECT 'item', CAST(NULL AS VARCHAR), CAST(NULL AS BIGINT), %6$s, p.position
+                FROM page p
+                ORDER BY position
+                """.formatted(commonConditions(keyword, expiring).toString(), locationFilter, categoryFilter, orderBy,
+                pageColumns, itemColumns("p", fields), allConditions(keyword, category, location, expiring).toString());
+    }
+
+    /**
+     * 목록 행의 아이템 컬럼 (고르지 않은 필드의 컬럼은 타입만 맞춘 NULL)
+     */
+    static String itemColumns(String alias, Set<ItemField> fields) {
+        Set<String> selected = fields.stream().map(ItemField::getColumn).collect(Collectors.toSet());
+        selected.add(ItemField.ID.getColumn());
+        return ITEM_COLUMNS.entrySet().stream()
+                .map(column -> selected.contains(column.getKey())
+                        ? alias + "." + column.getKey()
+                        : "CAST(NULL AS " + column.getValue() + ")")
+                .collect(Collectors.joining(", "));
+    }
+
+    private static StringJoiner allConditions(boolean keyword, boolean category, boolean location, boolean expiring) {
+        StringJoiner where = commonConditions(keyword, expiring);
+        if (category) {
+            where.add("i.category = :category");
+        }
+        if (location) {
+            where.add("i.location = :location");
+        }
+        return where;
+    }
+
+    private static StringJoiner commonConditions(boolean keyword, boolean expiring) {
+        StringJoiner where = new StringJoiner(" AND ", " WHERE ", "").setEmptyValue("");
+        if (keyword) {
+            where.add("LOWER(i.name) LIKE :keyword ESCAPE '\\'");
+        }
+        if (expiring) {
+            where.add("i.expiry_date <= :expiringDate");
+        }
+        return where;
+    }
+
+    private static String orderBy(String alias, Sort sort) {
+        StringJoiner orderBy = new StringJoiner(", ");
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new IllegalArgumentException("정렬할 수 없는 필드입니다: " + order.getProperty());
+            }
+            orderBy.add(alias + "." + column + (order.isDescending() ? " DESC" : " ASC"));
+        }
+        // 동률은 id 순으로 고정해 페이지 사이에 행이 흔들리지 않게 한다
+        orderBy.add(alias + ".id");
+        return orderBy.toString();
+    }
+
+    private static void bind(Query query, String keyword, String category, String location, LocalDate expiringDate) {
+        if (keyword != null) {
+            query.setParameter("keyword", "%" + escapeLike(keyword.toLowerCase()) + "%");
+        }
+        if (category != null) {
+            query.setParameter("category", category);
+        }
+        if (location != null) {
+            query.setParameter("location", location);
+        }
+        if (expiringDate != null) {
+            query.setParameter("expiringDate", expiringDate);
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
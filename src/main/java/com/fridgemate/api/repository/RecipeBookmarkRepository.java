@@ -0,0 +1,13 @@
+package com.fridgemate.api.repository;
+
+import com.fridgemate.api.domain.RecipeBookmark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface RecipeBookmarkRepository extends JpaRepository<RecipeBookmark, Long> {
+
+    Optional<RecipeBookmark> findByTitle(String title);
+}
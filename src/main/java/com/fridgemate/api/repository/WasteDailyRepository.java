@@ -0,0 +1,108 @@
+package com.fridgemate.api.repository;
+
+import com.fridgemate.api.domain.WasteDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface WasteDailyRepository extends JpaRepository<WasteDaily, WasteDaily.Key> {
+
+    /**
+     * 소비량 누적 (소비 반영과 같은 트랜잭션 안에서만 호출)
+     */
+    @Modifying
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = """
+            INSERT INTO waste_daily (day, category, consumed_quantity) VALUES (:day, :category, :amount)
+            ON CONFLICT (day, category) DO UPDATE
+            SET consumed_quantity = waste_daily.consumed_quantity + EXCLUDED.consumed_quantity
+            """, nativeQuery = true)
+    void addConsumed(@Param("day") LocalDate day, @Param("category") String category, @Param("amount") BigDecimal amount);
+
+    /**
+     * 롤포워드가 이미 지나간 날짜(진행 위치 이하)로 유통기한이 잡힌 로트 수량을 만료량으로 더한다 (로트를 쓰는 트랜잭션 안에서만 호출)
+     *
+     * replaced 는 같은 아이템에서 이번에 갈아엎힌 로트의 가장 이른 유통기한이며, 그것도 진행 위치 이하면
+     * 이미 만료량으로 셌으므로 더하지 않는다. 진행 위치 행을 FOR SHARE 로 잡아 동시에 도는 롤포워드와
+     * 순서를 정한다 (롤포워드가 먼저 커밋하면 옮겨진 위치를 보고 여기서 세고, 이쪽이 먼저면 롤포워드가 센다).
+     * 결과: 더한 행 수 (0 이면 롤포워드가 셀 로트)
+     */
+    @Modifying
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = """
+            WITH mark AS (
+                SELECT last_day FROM waste_rollups WHERE name = 'expiry' FOR SHARE
+            )
+            INSERT INTO waste_daily (day, category, expired_quantity)
+            SELECT :day, :category, :amount FROM mark
+            WHERE :day <= mark.last_day
+              AND (CAST(:replaced AS DATE) IS NULL OR CAST(:replaced AS DATE) > mark.last_day)
+            ON CONFLICT (day, category) DO UPDATE
+            SET expired_quantity = waste_daily.expired_quantity + EXCLUDED.expired_quantity
+            """, nativeQuery = true)
+    int addExpiredBehindMark(@Param("day") LocalDate day, @Param("category") String category,
+                             @Param("amount") BigDecimal amount, @Param("replaced") LocalDate replaced);
+
+    /**
+     * 롤포워드 진행 위치 행 잠금 (롤포워드 쿼리 직전에 같은 트랜잭션에서 호출)
+     * 롤포워드 쿼리가 잠금을 기다린 뒤 새 스냅샷으로 시작해야 기다리는 동안 커밋된 로트까지 본다
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = "SELECT 1 FROM waste_rollups WHERE name = 'expiry' FOR UPDATE", nativeQuery = true)
+    Integer lockExpiryMark();
+
+    /**
+     * 진행 위치 다음 날부터 through 까지 유통기한이 지난 남은 로트 수량을 만료량으로 더하고 진행 위치를 옮긴다 (한 번의 쿼리)
+     *
+     * 진행 위치 행을 FOR UPDATE 로 잡으므로 여러 인스턴스가 동시에 돌아도 뒤에 온 쪽은 앞선 커밋을 기다렸다가
+     * 옮겨진 위치를 보고 빈 구간만 처리한다 (같은 날이 두 번 더해지지 않는다).
+     * 결과: [처리 전 진행 위치, 더한 날짜/카테고리 행 수]
+     */
+    @Query(value = """
+            WITH mark AS (
+                SELECT last_day FROM waste_rollups WHERE name = 'expiry' FOR UPDATE
+            ), rolled AS (
+                INSERT INTO waste_daily (day, category, expired_quantity)
+                SELECT l.expiry_date, COALESCE(i.category, ''), SUM(l.quantity)
+                FROM item_lots l
+                JOIN items i ON i.id = l.item_id
+                WHERE l.quantity > 0
+                  AND l.expiry_date > (SELECT last_day FROM mark)
+                  AND l.expiry_date <= :through
+                GROUP BY l.expiry_date, COALESCE(i.category, '')
+                ON CONFLICT (day, category) DO UPDATE
+                SET expired_quantity = waste_daily.expired_quantity + EXCLUDED.expired_quantity
+                RETURNING 1
+            ), advanced AS (
+                UPDATE waste_rollups SET last_day = :through
+                WHERE name = 'expiry' AND last_day < :through
+                RETURNING last_day
+            )
+            SELECT (SELECT last_day FROM mark),
+                   (SELECT COUNT(*) FROM rolled)
+            """, nativeQuery = true)
+    List<Object[]> rollForwardExpired(@Param("through") LocalDate through);
+
+    /**
+     * from 이후 집계를 unit(week/month) 단위 구간과 카테고리로 묶어 조회 (구간, 카테고리 순)
+     * 결과: [구간 시작일, 카테고리, 소비량 합, 만료량 합]
+     */
+    @Query(value = """
+            SELECT CAST(date_trunc(:unit, w.day) AS DATE) AS bucket, w.category,
+                   SUM(w.consumed_quantity), SUM(w.expired_quantity)
+            FROM waste_daily w
+            WHERE w.day >= :from
+            GROUP BY bucket, w.category
+            ORDER BY bucket, w.category
+            """, nativeQuery = true)
+    List<Object[]> sumByBucket(@Param("unit") String unit, @Param("from") LocalDate from);
+}
@@ -0,0 +1,28 @@
+package com.fridgemate.api.repository;
+
+import com.fridgemate.api.domain.WebhookCursor;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface WebhookCursorRepository extends JpaRepository<WebhookCursor, String> {
+
+    /**
+     * 커서 전진 (완료 콜백 순서가 뒤바뀌어도 뒤로 가지 않는다)
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO webhook_cursors (endpoint, last_txid, last_event_id) VALUES (:endpoint, :lastTxid, :lastEventId)
+            ON CONFLICT (endpoint) DO UPDATE
+            SET last_txid = EXCLUDED.last_txid,
+                last_event_id = EXCLUDED.last_event_id,
+                updated_at = NOW()
+            WHERE (EXCLUDED.last_txid, EXCLUDED.last_event_id) > (webhook_cursors.last_txid, webhook_cursors.last_event_id)
+            """, nativeQuery = true)
+    void advance(@Param("endpoint") String endpoint, @Param("lastTxid") long lastTxid, @Param("lastEventId") long lastEventId);
+}
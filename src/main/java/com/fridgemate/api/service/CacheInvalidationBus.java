@@ -0,0 +1,257 @@
+package com.fridgemate.api.service;
+
+import com.fridgemate.api.config.ReplicaRoutingDataSource;
+import com.fridgemate.api.event.ItemChangedEvent;
+import com.fridgemate.api.event.ItemSnapshot;
+import com.fridgemate.api.repository.ItemRepository;
+import com.fridgemate.api.service.recipe.PantryState;
+import com.fridgemate.api.service.recipe.ShoppingList;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+/**
+ * 여러 API 인스턴스 사이의 로컬 캐시 무효화 (Postgres LISTEN/NOTIFY)
+ *
+ * 재고 변경과 즐겨찾기 변경마다 "노드|종류|값" 형태의 짧은 알림을 pg_notify 로 보낸다.
+ * 재고 변경은 ItemService 트랜잭션 안에서 보내므로 커밋될 때만 전달되고, 롤백되면 함께 버려진다.
+ * 인스턴스마다 전용 연결 하나로 LISTEN 하다가 다른 노드의 알림을 받으면 해당 아이템을 DB 에서 다시 읽어
+ * 보유 재료 상태, 장보기 목록, 컬럼 엔진에 반영한다 (추천 캐시는 보유 재료 지문이 바뀌면 알아서 비워진다).
+ * 연결이 끊겼던 동안의 알림은 되살릴 수 없으므로, LISTEN 을 (재)시작할 때마다 로컬 캐시를 통째로 버리고 다시 적재한다.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class CacheInvalidationBus {
+
+    private static final String ITEM = "item";
+    private static final String BOOKMARK_ADDED = "bookmark+";
+    private static final String BOOKMARK_REMOVED = "bookmark-";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final ItemRepository itemRepository;
+    private final PantryState pantryState;
+    private final ShoppingList shoppingList;
+    private final ObjectProvider<ItemColumnStore> columnStore;
+    private final String channel;
+    private final int heartbeatMs;
+    private final long reconnectMaxMs;
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+
+    private final Counter published;
+    private final Counter received;
+    private final Counter resyncs;
+
+    private volatile boolean running;
+    private volatile Thread listenerThread;
+    private volatile Connection listenConnection;
+
+    public CacheInvalidationBus(JdbcTemplate jdbcTemplate,
+                                DataSourceProperties dataSourceProperties,
+                                ItemRepository itemRepository,
+                                PantryState pantryState,
+                                ShoppingList shoppingList,
+                                ObjectProvider<ItemColumnStore> columnStore,
+                                MeterRegistry meterRegistry,
+                                @Value("${cache.invalidation.channel:fridgemate_cache}") String channel,
+                                @Value("${cache.invalidation.heartbeat-ms:5000}") int heartbeatMs,
+                                @Value("${cache.invalidation.reconnect-max-ms:30000}") long reconnectMaxMs) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            // LISTEN 은 식별자를 바인딩할 수 없어 문자열로 붙이므로 이름 형식을 제한한다
+            throw new IllegalArgumentException("알림 채널 이름이 올바르지 않습니다: " + channel);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.itemRepository = itemRepository;
+        this.pantryState = pantryState;
+        this.shoppingList = shoppingList;
+        this.columnStore = columnStore;
+        this.channel = channel;
+        this.heartbeatMs = Math.max(100, heartbeatMs);
+        this.reconnectMaxMs = reconnectMaxMs;
+
+        this.published = Counter.builder("cache.invalidation.published")
+                .description("이 노드가 보낸 무효화 알림 수")
+                .register(meterRegistry);
+        this.received = Counter.builder("cache.invalidation.received")
+                .description("다른 노드로부터 받아 반영한 무효화 알림 수")
+                .register(meterRegistry);
+        this.resyncs = Counter.builder("cache.invalidation.resyncs")
+                .description("LISTEN (재)연결 등으로 로컬 캐시를 통째로 다시 적재한 횟수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::listenLoop, "cache-invalidation-listener");
+        thread.setDaemon(true);
+        listenerThread = thread;
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Thread thread = listenerThread;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        closeQuietly(listenConnection);
+    }
+
+    /**
+     * 재고 변경 알림 (발행 즉시 같은 트랜잭션에서 보내므로 커밋 시점에 전달된다)
+     */
+    @EventListener
+    public void onItemChanged(ItemChangedEvent event) {
+        notify(ITEM, String.valueOf(event.getItemId()));
+    }
+
+    /**
+     * 즐겨찾기 변경 알림 (DB 반영 후 호출)
+     */
+    public void publishBookmark(String title, boolean added) {
+        notify(added ? BOOKMARK_ADDED : BOOKMARK_REMOVED, title);
+    }
+
+    private void notify(String kind, String value) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", resultSet -> null, channel, nodeId + "|" + kind + "|" + value);
+        published.increment();
+    }
+
+    /**
+     * 받은 알림 하나를 로컬 캐시에 반영한다 (자기 노드가 보낸 알림은 이미 반영돼 있으므로 건너뜀)
+     */
+    void handle(String payload) {
+        String[] parts = payload.split("\\|", 3);
+        if (parts.length < 3) {
+            log.warn("알 수 없는 무효화 알림 무시: {}", payload);
+            return;
+        }
+        if (nodeId.equals(parts[0])) {
+            return;
+        }
+        switch (parts[1]) {
+            case ITEM -> refreshItem(Long.parseLong(parts[2]));
+            case BOOKMARK_ADDED -> shoppingList.addBookmark(parts[2]);
+            case BOOKMARK_REMOVED -> shoppingList.removeBookmark(parts[2]);
+            default -> {
+                log.warn("알 수 없는 무효화 알림 무시: {}", payload);
+                return;
+            }
+        }
+        received.increment();
+    }
+
+    /**
+     * 로컬 캐시를 모두 버린다 (다음 조회 때 DB 에서 다시 적재)
+     */
+    void resync() {
+        pantryState.invalidate();
+        shoppingList.invalidate();
+        columnStore.ifAvailable(ItemColumnStore::invalidate);
+        resyncs.increment();
+    }
+
+    String nodeId() {
+        return nodeId;
+    }
+
+    private void refreshItem(Long itemId) {
+        // 알림 순서와 상관없이 지금 커밋된 상태를 읽어 덮어쓰므로 늦게 도착한 알림이 최신 상태를 되돌리지 않는다
+        ItemSnapshot after = ReplicaRoutingDataSource.onPrimary(() -> itemRepository.findById(itemId))
+                .map(ItemSnapshot::of)
+                .orElse(null);
+        ItemChangedEvent event = new ItemChangedEvent(
+                after != null ? ItemChangedEvent.Type.UPDATED : ItemChangedEvent.Type.DELETED, itemId, null, after);
+        pantryState.onItemChanged(event);
+        shoppingList.onItemEvent(event);
+        columnStore.ifAvailable(store -> store.refresh(itemId));
+    }
+
+    private void listenLoop() {
+        int failures = 0;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                listenConnection = connection;
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                // LISTEN 전에 놓친 알림이 있을 수 있으므로 먼저 통째로 다시 적재한다
+                resync();
+                failures = 0;
+                log.info("캐시 무효화 채널 수신 시작 - 채널: {}, 노드: {}", channel, nodeId);
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(heartbeatMs);
+                    if (notifications == null || notifications.length == 0) {
+                        // 조용한 동안에도 끊긴 연결을 알아챌 수 있게 한 번씩 왕복한다
+                        try (Statement statement = connection.createStatement()) {
+                            statement.execute("SELECT 1");
+                        }
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        try {
+                            handle(notification.getParameter());
+                        } catch (RuntimeException e) {
+                            log.warn("무효화 알림 반영 실패, 로컬 캐시를 다시 적재합니다 - 알림: {}",
+                                    notification.getParameter(), e);
+                            resync();
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    break;
+                }
+                failures++;
+                log.warn("캐시 무효화 채널 연결 끊김 ({}회째), 재연결합니다: {}", failures, e.getMessage());
+                sleep(Math.min(reconnectMaxMs, 500L << Math.min(failures, 10)));
+            } finally {
+                listenConnection = null;
+            }
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // 종료 중이므로 무시
+        }
+    }
+}
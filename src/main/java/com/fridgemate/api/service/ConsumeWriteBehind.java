@@ -0,0 +1,427 @@
+package com.fridgemate.api.service;
+
+import com.fridgemate.api.domain.ConsumeWalCheckpoint;
+import com.fridgemate.api.dto.ConsumeReq;
+import com.fridgemate.api.dto.ItemResp;
+import com.fridgemate.api.event.ItemChangedEvent;
+import com.fridgemate.api.exception.ItemNotFoundException;
+import com.fridgemate.api.repository.ConsumeWalCheckpointRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 잦은 소비 요청의 write-behind 합치기 (consume.write-behind.enabled=true 일 때만)
+ *
+ * 소비 요청은 메모리의 아이템별 잔량(마지막으로 아는 DB 수량 - 아직 반영 안 한 소비량)으로 검증한 뒤
+ * 로컬 WAL 파일에 한 줄 기록하고 바로 응답한다. flush-ms 마다 아이템별로 쌓인 소비량을 합쳐
+ * ItemService.consumeItem 한 번(아이템당 UPDATE 한 번)으로 반영한다.
+ *
+ * 내구성: 응답 전에 WAL 에 기록하고, fsync=true 면 디스크 동기화까지 마친 뒤 응답한다 (false 면 프로세스 장애는 견디지만
+ * OS 장애 시 마지막 몇 건을 잃을 수 있다). 합친 소비량 반영과 (WAL, 아이템) 체크포인트 전진을 한 트랜잭션으로 묶으므로,
+ * 재시작 시 체크포인트 이후 기록만 다시 반영하면 빠짐도 중복도 없다. WAL 파일이 노드 디스크에 있으므로
+ * 디스크를 잃으면 마지막 반영 이후 소비량은 사라진다.
+ * 반영 전까지 다른 조회 API 는 이전 수량을 보여 준다. 반영 시점에 다른 경로(수정, 다른 노드)로 재고가 먼저 줄어
+ * 합친 소비량을 다 뺄 수 없으면 남은 만큼만 빼고 차이를 경고로 남긴다.
+ */
+@Component
+@ConditionalOnProperty(name = "consume.write-behind.enabled", havingValue = "true")
+@Slf4j
+public class ConsumeWriteBehind {
+
+    private final ItemService itemService;
+    private final ConsumeWalCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String walId;
+    private final Path walFile;
+    private final boolean fsync;
+    private final long compactBytes;
+
+    private final Map<Long, Balance> balances = new ConcurrentHashMap<>();
+
+    // 아래는 walLock 으로 보호한다 (잠금 순서: Balance → walLock)
+    private final Object walLock = new Object();
+    private final Map<Long, ArrayDeque<WalRecord>> unflushed = new HashMap<>();
+    private FileChannel wal;
+    private long seq;
+
+    private final Counter accepted;
+    private final Counter flushedUpdates;
+
+    public ConsumeWriteBehind(ItemService itemService,
+                              ConsumeWalCheckpointRepository checkpointRepository,
+                              TransactionTemplate transactionTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${consume.write-behind.wal-id:${HOSTNAME:local}}") String walId,
+                              @Value("${consume.write-behind.wal-path:./data/consume.wal}") String walPath,
+                              @Value("${consume.write-behind.fsync:true}") boolean fsync,
+                              @Value("${consume.write-behind.compact-bytes:1048576}") long compactBytes) {
+        this.itemService = itemService;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.walId = walId;
+        this.walFile = Path.of(walPath);
+        this.fsync = fsync;
+        this.compactBytes = compactBytes;
+
+        this.accepted = Counter.builder("consume.write-behind.accepted")
+                .description("WAL 에 기록하고 바로 응답한 소비 요청 수")
+                .register(meterRegistry);
+        this.flushedUpdates = Counter.builder("consume.write-behind.flushed")
+                .description("합친 소비량을 DB 에 반영한 횟수 (아이템당 한 번)")
+                .register(meterRegistry);
+        Gauge.builder("consume.write-behind.pending.items", balances,
+                        map -> map.values().stream().filter(Balance::hasPending).count())
+                .description("아직 DB 에 반영하지 않은 소비가 있는 아이템 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 기동 시 WAL 에서 체크포인트 이후 기록을 되살린다 (다음 반영 주기에 DB 에 반영)
+     */
+    @PostConstruct
+    public void recover() {
+        Map<Long, Long> checkpoints = new HashMap<>();
+        long lastSeq = 0L;
+        for (ConsumeWalCheckpoint checkpoint : checkpointRepository.findByIdWalId(walId)) {
+            checkpoints.put(checkpoint.getId().getItemId(), checkpoint.getLastSeq());
+            lastSeq = Math.max(lastSeq, checkpoint.getLastSeq());
+        }
+
+        int recovered = 0;
+        synchronized (walLock) {
+            try {
+                if (walFile.getParent() != null) {
+                    Files.createDirectories(walFile.getParent());
+                }
+                if (Files.exists(walFile)) {
+                    for (String line : Files.readAllLines(walFile, StandardCharsets.UTF_8)) {
+                        WalRecord record = WalRecord.parse(line);
+                        if (record == null) {
+                            // 기록 도중 끊긴 마지막 줄 (응답하지 않은 요청)
+                            continue;
+                        }
+                        lastSeq = Math.max(lastSeq, record.seq);
+                        if (record.seq <= checkpoints.getOrDefault(record.itemId, 0L)) {
+                            continue;
+                        }
+                        unflushed.computeIfAbsent(record.itemId, id -> new ArrayDeque<>()).add(record);
+                        Balance balance = balances.computeIfAbsent(record.itemId, id -> new Balance());
+                        balance.pending = balance.pending.add(record.amount);
+                        balance.pendingSeq = Math.max(balance.pendingSeq, record.seq);
+                        recovered++;
+                    }
+                }
+                seq = lastSeq;
+                openWal();
+                compact();
+            } catch (IOException e) {
+                throw new UncheckedIOException("소비 WAL 복구 실패: " + walFile, e);
+            }
+        }
+        if (recovered > 0) {
+            log.info("소비 WAL 복구: {} 건 (아이템 {} 개) 을 다시 반영합니다", recovered, unflushed.size());
+        }
+    }
+
+    /**
+     * 소비 접수 (메모리 잔량으로 검증하고 WAL 기록 후 반영 예정 수량으로 응답)
+     */
+    public ItemResp consume(Long id, BigDecimal amount) {
+        while (true) {
+            Balance balance = balances.computeIfAbsent(id, key -> new Balance());
+            synchronized (balance) {
+                if (balance.retired) {
+                    // 반영 주기가 방금 정리한 항목이면 새로 만든다
+                    continue;
+                }
+                if (balance.item == null && balance.inFlight.signum() > 0) {
+                    // 기준 수량 없이 반영 중인 양만 있으면(복구 직후) 다시 읽은 수량에 그 양이 들어 있는지 알 수 없으므로 반영이 끝나길 기다린다
+                    awaitFlush(balance);
+                    continue;
+                }
+                if (balance.item == null || (balance.stale && balance.inFlight.signum() == 0)) {
+                    // 반영 중에는 다시 읽지 않는다: 커밋된 수량에서 inFlight 를 한 번 더 빼게 된다
+                    balance.item = itemService.getItem(id);
+                    balance.stale = false;
+                }
+                BigDecimal available = balance.available();
+                if (available.compareTo(amount) < 0) {
+                    throw new IllegalArgumentException("재고가 부족합니다. 현재 재고: " + available + " " + balance.item.getUnit());
+                }
+                balance.pendingSeq = append(id, amount);
+                balance.pending = balance.pending.add(amount);
+                accepted.increment();
+                return balance.item.withQuantity(available.subtract(amount));
+            }
+        }
+    }
+
+    /**
+     * 아이템별로 쌓인 소비량을 합쳐 반영한다
+     */
+    @Scheduled(fixedDelayString = "${consume.write-behind.flush-ms:1000}")
+    public synchronized void flush() {
+        for (Map.Entry<Long, Balance> entry : balances.entrySet()) {
+            Long id = entry.getKey();
+            Balance balance = entry.getValue();
+            BigDecimal amount;
+            long upToSeq;
+            synchronized (balance) {
+                if (!balance.hasPending()) {
+                    // 한 주기 동안 조용한 아이템은 정리해서 다음 소비 때 DB 에서 새로 읽는다
+                    balance.retired = true;
+                    balances.remove(id, balance);
+                    continue;
+                }
+                amount = balance.pending;
+                upToSeq = balance.pendingSeq;
+                balance.inFlight = amount;
+                balance.pending = BigDecimal.ZERO;
+            }
+            flushItem(id, balance, amount, upToSeq);
+        }
+
+        synchronized (walLock) {
+            try {
+                if (wal != null && wal.size() > compactBytes) {
+                    compact();
+                }
+            } catch (IOException e) {
+                log.warn("소비 WAL 정리 실패 (다음 주기에 다시 시도)", e);
+            }
+        }
+    }
+
+    /**
+     * 아이템 변경(수정, 입고, 삭제, 그리고 이쪽의 반영)이 커밋되면 기준 수량을 낡은 것으로 표시한다
+     * 다시 읽기는 반영 중인 양이 없을 때 다음 소비가 한다 (반영 커밋 직후 다시 읽으면 inFlight 가 두 번 빠진다)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        Balance balance = balances.get(event.getItemId());
+        if (balance != null) {
+            synchronized (balance) {
+                balance.stale = true;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        synchronized (walLock) {
+            try {
+                if (wal != null) {
+                    wal.close();
+                }
+            } catch (IOException e) {
+                log.warn("소비 WAL 닫기 실패", e);
+            }
+        }
+    }
+
+    private void flushItem(Long id, Balance balance, BigDecimal amount, long upToSeq) {
+        ItemResp result;
+        try {
+            result = apply(id, amount, upToSeq);
+        } catch (RuntimeException e) {
+            // DB 장애 등: WAL 에 남아 있으므로 다음 주기에 다시 반영한다
+            log.warn("소비 반영 실패, 다음 주기에 다시 시도 - ID: {}, 소비량: {}", id, amount, e);
+            synchronized (balance) {
+                balance.pending = balance.pending.add(amount);
+                balance.inFlight = BigDecimal.ZERO;
+                balance.notifyAll();
+            }
+            return;
+        }
+
+        synchronized (walLock) {
+            ArrayDeque<WalRecord> records = unflushed.get(id);
+            while (records != null && !records.isEmpty() && records.peekFirst().seq <= upToSeq) {
+                records.pollFirst();
+            }
+            if (records != null && records.isEmpty()) {
+                unflushed.remove(id);
+            }
+        }
+        synchronized (balance) {
+            // 반영 결과와 inFlight 해제를 한 임계 구역에서 바꿔, 그 사이의 소비가 어중간한 상태를 보지 않게 한다
+            balance.item = result;
+            balance.inFlight = BigDecimal.ZERO;
+            balance.notifyAll();
+        }
+        flushedUpdates.increment();
+    }
+
+    /**
+     * 합친 소비량 반영 + 체크포인트 전진 (한 트랜잭션)
+     */
+    private ItemResp apply(Long id, BigDecimal amount, long upToSeq) {
+        try {
+            return transactionTemplate.execute(status -> {
+                ItemResp consumed = itemService.consumeItem(id, consumeReq(amount));
+                checkpointRepository.advance(walId, id, upToSeq);
+                return consumed;
+            });
+        } catch (ItemNotFoundException e) {
+            // 그 사이 삭제된 아이템: 반영할 곳이 없으므로 버린다
+            log.warn("삭제된 아이템의 소비 {} 건 폐기 - ID: {}, 소비량: {}", countUpTo(id, upToSeq), id, amount);
+            return transactionTemplate.execute(status -> {
+                checkpointRepository.advance(walId, id, upToSeq);
+                return null;
+            });
+        } catch (IllegalArgumentException e) {
+            return transactionTemplate.execute(status -> {
+                BigDecimal current = itemService.getItem(id).getQuantity();
+                log.warn("합친 소비량이 현재 재고보다 많아 남은 만큼만 반영 - ID: {}, 소비량: {}, 현재 재고: {}", id, amount, current);
+                ItemResp consumed = current.signum() > 0 ? itemService.consumeItem(id, consumeReq(current)) : itemService.getItem(id);
+                checkpointRepository.advance(walId, id, upToSeq);
+                return consumed;
+            });
+        }
+    }
+
+    private static void awaitFlush(Balance balance) {
+        try {
+            balance.wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("소비 반영 대기 중 중단되었습니다", e);
+        }
+    }
+
+    private long append(Long itemId, BigDecimal amount) {
+        synchronized (walLock) {
+            WalRecord record = new WalRecord(seq + 1, itemId, amount);
+            try {
+                ByteBuffer line = ByteBuffer.wrap(record.format().getBytes(StandardCharsets.UTF_8));
+                while (line.hasRemaining()) {
+                    wal.write(line);
+                }
+                if (fsync) {
+                    wal.force(false);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("소비 WAL 기록 실패", e);
+            }
+            seq = record.seq;
+            unflushed.computeIfAbsent(itemId, id -> new ArrayDeque<>()).add(record);
+            return record.seq;
+        }
+    }
+
+    /**
+     * 아직 반영되지 않은 기록만 남긴 새 WAL 로 교체 (임시 파일에 쓰고 동기화한 뒤 원자적으로 바꾼다)
+     */
+    private void compact() throws IOException {
+        Path temp = walFile.resolveSibling(walFile.getFileName() + ".tmp");
+        List<WalRecord> remaining = unflushed.values().stream()
+                .flatMap(Collection::stream)
+                .sorted(Comparator.comparingLong(record -> record.seq))
+                .toList();
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            StringBuilder content = new StringBuilder();
+            remaining.forEach(record -> content.append(record.format()));
+            ByteBuffer buffer = ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        if (wal != null) {
+            wal.close();
+        }
+        Files.move(temp, walFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        openWal();
+    }
+
+    private void openWal() throws IOException {
+        wal = FileChannel.open(walFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private long countUpTo(Long itemId, long upToSeq) {
+        synchronized (walLock) {
+            return unflushed.getOrDefault(itemId, new ArrayDeque<>()).stream()
+                    .filter(record -> record.seq <= upToSeq)
+                    .count();
+        }
+    }
+
+    private static ConsumeReq consumeReq(BigDecimal amount) {
+        ConsumeReq request = new ConsumeReq();
+        request.setAmount(amount);
+        return request;
+    }
+
+    /**
+     * 아이템별 메모리 잔량 (자기 잠금으로 보호)
+     */
+    private static class Balance {
+        /** 마지막으로 아는 DB 상태 (null 이면 다음 소비 때 다시 읽는다) */
+        private ItemResp item;
+        /** WAL 에만 있는 소비량 합 */
+        private BigDecimal pending = BigDecimal.ZERO;
+        /** pending 에 포함된 마지막 WAL 순번 */
+        private long pendingSeq;
+        /** 지금 반영 중인 소비량 */
+        private BigDecimal inFlight = BigDecimal.ZERO;
+        /** 커밋된 변경이 있어 item 이 낡았는지 (반영 중인 양이 없을 때 다시 읽는다) */
+        private boolean stale;
+        /** 맵에서 빠진 항목 (더 쓰지 않는다) */
+        private boolean retired;
+
+        BigDecimal available() {
+            return item.getQuantity().subtract(pending).subtract(inFlight);
+        }
+
+        synchronized boolean hasPending() {
+            return pending.signum() > 0;
+        }
+    }
+
+    /**
+     * WAL 한 줄: "순번 아이템ID 소비량"
+     */
+    private record WalRecord(long seq, long itemId, BigDecimal amount) {
+
+        String format() {
+            return seq + " " + itemId + " " + amount.toPlainString() + "\n";
+        }
+
+        static WalRecord parse(String line) {
+            String[] parts = line.trim().split(" ");
+            if (parts.length != 3) {
+                return null;
+            }
+            try {
+                return new WalRecord(Long.parseLong(parts[0]), Long.parseLong(parts[1]), new BigDecimal(parts[2]));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
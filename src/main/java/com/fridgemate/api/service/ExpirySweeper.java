@@ -0,0 +1,162 @@
+package com.fridgemate.api.service;
+
+import com.fridgemate.api.repository.ExpiryNotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 유통기한 임박/만료 아이템을 훑어 알림 아웃박스(expiry_notifications)에 기록하는 스케줄 작업
+ *
+ * 아이템을 id 키셋 페이징으로 청크씩 FOR UPDATE SKIP LOCKED 로 잡아서 처리하므로,
+ * 여러 인스턴스나 작업자가 동시에 돌아도 리더 선출 없이 서로 다른 청크를 나눠 갖는다.
+ * 청크마다 트랜잭션을 따로 써서 잠금은 청크 처리 시간 동안만 유지된다.
+ */
+@Component
+@ConditionalOnProperty(name = "expiry.sweep.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class ExpirySweeper {
+
+    private final ExpiryNotificationRepository notificationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int horizonDays;
+    private final int chunkSize;
+    private final int concurrency;
+    private final ExecutorService workers;
+
+    private final Counter claimedItems;
+    private final Counter recordedNotifications;
+    private final Timer sweepTimer;
+    private volatile Instant lastCompletedAt;
+
+    public ExpirySweeper(ExpiryNotificationRepository notificationRepository,
+                         TransactionTemplate transactionTemplate,
+                         MeterRegistry meterRegistry,
+                         @Value("${expiry.sweep.horizon-days:3}") int horizonDays,
+                         @Value("${expiry.sweep.chunk-size:200}") int chunkSize,
+                         @Value("${expiry.sweep.concurrency:2}") int concurrency) {
+        this(notificationRepository, transactionTemplate, meterRegistry, horizonDays, chunkSize, concurrency, Clock.systemDefaultZone());
+    }
+
+    ExpirySweeper(ExpiryNotificationRepository notificationRepository,
+                  TransactionTemplate transactionTemplate,
+                  MeterRegistry meterRegistry,
+                  int horizonDays,
+                  int chunkSize,
+                  int concurrency,
+                  Clock clock) {
+        this.notificationRepository = notificationRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.clock = clock;
+        this.horizonDays = horizonDays;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.concurrency = Math.max(1, concurrency);
+        this.lastCompletedAt = clock.instant();
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(this.concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "expiry-sweep-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.claimedItems = Counter.builder("expiry.sweep.items")
+                .description("스위퍼가 잠가 처리한 아이템 수")
+                .register(meterRegistry);
+        this.recordedNotifications = Counter.builder("expiry.sweep.notifications")
+                .description("스위퍼가 아웃박스에 기록한 알림 수")
+                .register(meterRegistry);
+        this.sweepTimer = Timer.builder("expiry.sweep.duration")
+                .description("한 번의 전체 스윕 소요 시간")
+                .register(meterRegistry);
+        Gauge.builder("expiry.sweep.lag.seconds", this, sweeper -> sweeper.lag().toMillis() / 1000.0)
+                .description("마지막으로 끝난 스윕 이후 경과 시간")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 전체 스윕 (작업자 concurrency 개가 각자 키셋 커서로 청크를 잡는다)
+     */
+    @Scheduled(fixedDelayString = "${expiry.sweep.interval-ms:60000}",
+            initialDelayString = "${expiry.sweep.initial-delay-ms:30000}")
+    public void sweep() {
+        LocalDate today = LocalDate.now(clock);
+        LocalDate horizon = today.plusDays(horizonDays);
+        long started = System.nanoTime();
+
+        List<Future<Integer>> running = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            running.add(workers.submit(() -> sweepChunks(today, horizon)));
+        }
+
+        int recorded = 0;
+        boolean completed = true;
+        for (Future<Integer> future : running) {
+            try {
+                recorded += future.get();
+            } catch (ExecutionException e) {
+                completed = false;
+                log.error("유통기한 스윕 실패", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+
+        sweepTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        if (completed) {
+            lastCompletedAt = clock.instant();
+        }
+        if (recorded > 0) {
+            log.info("유통기한 알림 {} 건 기록 (기준일: {} 까지)", recorded, horizon);
+        }
+    }
+
+    /**
+     * 마지막으로 끝난 스윕 이후 경과 시간
+     */
+    Duration lag() {
+        return Duration.between(lastCompletedAt, clock.instant());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private int sweepChunks(LocalDate today, LocalDate horizon) {
+        long cursor = 0L;
+        int recorded = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            long after = cursor;
+            Object[] chunk = transactionTemplate.execute(status ->
+                    notificationRepository.claimAndRecord(after, today, horizon, chunkSize).get(0));
+            if (chunk == null || chunk[0] == null) {
+                break;
+            }
+            cursor = ((Number) chunk[0]).longValue();
+            claimedItems.increment(((Number) chunk[1]).doubleValue());
+            recordedNotifications.increment(((Number) chunk[2]).doubleValue());
+            recorded += ((Number) chunk[2]).intValue();
+        }
+        return recorded;
+    }
+}
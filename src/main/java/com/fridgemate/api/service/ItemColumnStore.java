@@ -0,0 +1,509 @@
+package com.fridgemate.api.service;
+
+import com.fridgemate.api.config.ReplicaRoutingDataSource;
+import com.fridgemate.api.domain.Item;
+import com.fridgemate.api.dto.ItemResp;
+import com.fridgemate.api.event.ItemChangedEvent;
+import com.fridgemate.api.repository.ItemRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * 아이템 전체를 기본형 컬럼 배열로 들고 있는 읽기 전용 엔진 (inventory.columnar.enabled=true 일 때만)
+ *
+ * 수량은 소수점 3자리 고정 long, 유통기한은 epoch day int, 카테고리/위치는 사전 코드 int 로 저장하고,
+ * 목록/유통기한 임박/재고 부족/통계 조회를 DB 대신 컬럼 스캔으로 처리한다. 쓰기는 그대로 Postgres 로 가고,
+ * 커밋된 ItemChangedEvent 마다 그 아이템 한 행을 DB 에서 다시 읽어 반영한다.
+ * 반영은 배열을 복사한 새 스냅숏으로 통째로 바꾸는 copy-on-write 라서, 읽기는 잠금 없이 항상 한 시점의 일관된 상태를 본다.
+ * (쓰기가 드문 가정 — 아이템 수만큼 복사하므로 쓰기 비용은 O(n), 초기 적재는 배열을 한 번에 채운다)
+ * 행 다시 읽기와 반영은 적재와 같은 잠금 안에서 해서, 적재 중의 변경이나 겹친 변경이 빠지거나 거꾸로 반영되지 않는다.
+ * 이름 정렬은 DB collation 이 아니라 Java 문자열 순서를 따른다.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.columnar.enabled", havingValue = "true")
+@Slf4j
+public class ItemColumnStore {
+
+    /** items.quantity 의 소수 자릿수 (NUMERIC(15,3)) */
+    private static final int SCALE = 3;
+    private static final int NO_EXPIRY = Integer.MAX_VALUE;
+
+    private final ItemRepository itemRepository;
+    private final Counter refreshes;
+
+    private final Object writeLock = new Object();
+    private volatile Columns columns;
+
+    public ItemColumnStore(ItemRepository itemRepository, MeterRegistry meterRegistry) {
+        this.itemRepository = itemRepository;
+        this.refreshes = Counter.builder("inventory.columnar.refreshes")
+                .description("커밋된 변경으로 다시 읽어 반영한 행 수")
+                .register(meterRegistry);
+        Gauge.builder("inventory.columnar.rows", this, store -> store.columns != null ? store.columns.size : 0)
+                .description("컬럼 엔진에 적재된 아이템 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 목록 조회 (카테고리/위치 필터 + 정렬 + 페이징)
+     */
+    public Page<ItemResp> getItems(String category, String location, Pageable pageable) {
+        Columns c = columns();
+        int categoryCode = category != null ? c.categoryDict.code(category) : -1;
+        int locationCode = location != null ? c.locationDict.code(location) : -1;
+        if ((category != null && categoryCode < 0) || (location != null && locationCode < 0)) {
+            return new PageImpl<>(List.of(), pageable, 0);
+        }
+
+        int[] rows = new int[c.size];
+        int count = 0;
+        for (int row = 0; row < c.size; row++) {
+            if ((category == null || c.categories[row] == categoryCode)
+                    && (location == null || c.locations[row] == locationCode)) {
+                rows[count++] = row;
+            }
+        }
+        List<Integer> sorted = sort(c, rows, count, pageable.getSort());
+
+        int from = (int) Math.min(pageable.getOffset(), count);
+        int to = Math.min(from + pageable.getPageSize(), count);
+        List<ItemResp> content = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            content.add(c.toResp(sorted.get(i)));
+        }
+        return new PageImpl<>(content, pageable, count);
+    }
+
+    /**
+     * 남은 재고 중 targetDate 까지 유통기한이 끝나는 아이템 (유통기한 빠른 순)
+     * 아이템 유통기한은 남은 로트 중 가장 이른 유통기한이므로 로트 EXISTS 조건과 같다
+     */
+    public List<ItemResp> getExpiringItems(LocalDate targetDate) {
+        Columns c = columns();
+        long target = targetDate.toEpochDay();
+        int[] rows = new int[c.size];
+        int count = 0;
+        for (int row = 0; row < c.size; row++) {
+            if (c.quantities[row] > 0 && c.expiryDays[row] <= target) {
+                rows[count++] = row;
+            }
+        }
+        return sort(c, rows, count, Sort.by("expiryDate")).stream().map(c::toResp).toList();
+    }
+
+    /**
+     * 수량이 threshold 이하인 아이템
+     */
+    public List<ItemResp> getLowStockItems(double threshold) {
+        return scan(quantity -> quantity <= scaledFloor(threshold));
+    }
+
+    /**
+     * 재고가 있는 아이템
+     */
+    public List<ItemResp> getAvailableItems() {
+        return scan(quantity -> quantity > 0);
+    }
+
+    public List<String> getCategories() {
+        Columns c = columns();
+        return distinct(c.categories, c.size, c.categoryDict);
+    }
+
+    public List<String> getLocations() {
+        Columns c = columns();
+        return distinct(c.locations, c.size, c.locationDict);
+    }
+
+    /**
+     * 카테고리별 [카테고리, 아이템 수, 수량 합] (카테고리 이름 순)
+     */
+    public List<Object[]> getCategoryStats() {
+        Columns c = columns();
+        return stats(c, c.categories, c.categoryDict);
+    }
+
+    /**
+     * 위치별 [위치, 아이템 수, 수량 합] (위치 이름 순)
+     */
+    public List<Object[]> getLocationStats() {
+        Columns c = columns();
+        return stats(c, c.locations, c.locationDict);
+    }
+
+    public long countByCategory(String category) {
+        Columns c = columns();
+        return count(c.categories, c.size, c.categoryDict.code(category));
+    }
+
+    public long countByLocation(String location) {
+        Columns c = columns();
+        return count(c.locations, c.size, c.locationDict.code(location));
+    }
+
+    /**
+     * 커밋된 변경을 반영한다 (적재 전이면 첫 조회 때 DB 에서 읽는다)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        refresh(event.getItemId());
+    }
+
+    /**
+     * 아이템 한 행을 DB 에서 다시 읽어 반영 (다른 노드의 변경 알림에도 쓴다)
+     */
+    public void refresh(Long itemId) {
+        // 읽기도 잠금 안에서 한다: 적재 중에 온 변경은 적재가 끝난 뒤 다시 읽고,
+        // 같은 아이템의 변경이 겹쳐도 먼저 읽은 낡은 행이 나중에 반영되지 않는다
+        synchronized (writeLock) {
+            Columns current = columns;
+            if (current == null) {
+                // 적재 전이면 첫 조회 때 DB 에서 읽는다
+                return;
+            }
+            Item item = ReplicaRoutingDataSource.onPrimary(() -> itemRepository.findById(itemId)).orElse(null);
+            Integer row = current.rows.get(itemId);
+            if (item != null) {
+                columns = current.with(row, item);
+            } else if (row != null) {
+                columns = current.without(row);
+            }
+        }
+        refreshes.increment();
+    }
+
+    /**
+     * 적재된 상태를 버린다 (다음 조회 때 DB 에서 다시 적재)
+     */
+    public void invalidate() {
+        synchronized (writeLock) {
+            columns = null;
+        }
+    }
+
+    private Columns columns() {
+        Columns current = columns;
+        if (current != null) {
+            return current;
+        }
+        synchronized (writeLock) {
+            if (columns == null) {
+                List<Item> items = ReplicaRoutingDataSource.onPrimary(itemRepository::findAll);
+                columns = Columns.of(items);
+                log.info("컬럼 엔진 적재: {} 개", items.size());
+            }
+            return columns;
+        }
+    }
+
+    private List<ItemResp> scan(java.util.function.LongPredicate quantityFilter) {
+        Columns c = columns();
+        List<ItemResp> result = new ArrayList<>();
+        for (int row = 0; row < c.size; row++) {
+            if (quantityFilter.test(c.quantities[row])) {
+                result.add(c.toResp(row));
+            }
+        }
+        return result;
+    }
+
+    private static List<String> distinct(int[] codes, int size, Dictionary dictionary) {
+        boolean[] present = new boolean[dictionary.values.length];
+        for (int row = 0; row < size; row++) {
+            if (codes[row] >= 0) {
+                present[codes[row]] = true;
+            }
+        }
+        List<String> values = new ArrayList<>();
+        for (int code = 0; code < present.length; code++) {
+            if (present[code]) {
+                values.add(dictionary.values[code]);
+            }
+        }
+        Collections.sort(values);
+        return values;
+    }
+
+    private static List<Object[]> stats(Columns c, int[] codes, Dictionary dictionary) {
+        long[] counts = new long[dictionary.values.length];
+        long[] sums = new long[dictionary.values.length];
+        for (int row = 0; row < c.size; row++) {
+            int code = codes[row];
+            if (code >= 0) {
+                counts[code]++;
+                sums[code] += c.quantities[row];
+            }
+        }
+        List<Object[]> result = new ArrayList<>();
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] > 0) {
+                result.add(new Object[]{dictionary.values[code], counts[code], BigDecimal.valueOf(sums[code], SCALE)});
+            }
+        }
+        result.sort(Comparator.comparing(row -> (String) row[0]));
+        return result;
+    }
+
+    private static long count(int[] codes, int size, int code) {
+        if (code < 0) {
+            return 0;
+        }
+        long count = 0;
+        for (int row = 0; row < size; row++) {
+            if (codes[row] == code) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * DB 정렬과 같은 순서 (오름차순은 NULL 이 뒤, 내림차순은 앞 — NULL 을 가장 큰 값으로 본다)
+     * 동률은 id 순으로 고정해 페이지 사이에 행이 흔들리지 않게 한다
+     */
+    private static List<Integer> sort(Columns c, int[] rows, int count, Sort sort) {
+        Comparator<Integer> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<Integer> next = comparator(c, order.getProperty());
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        Comparator<Integer> byId = (a, b) -> Long.compare(c.ids[a], c.ids[b]);
+        comparator = comparator == null ? byId : comparator.thenComparing(byId);
+
+        List<Integer> sorted = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            sorted.add(rows[i]);
+        }
+        sorted.sort(comparator);
+        return sorted;
+    }
+
+    private static Comparator<Integer> comparator(Columns c, String property) {
+        return switch (property) {
+            case "name" -> Comparator.comparing(row -> c.names[row]);
+            case "category" -> Comparator.comparing(row -> c.categoryDict.value(c.categories[row]),
+                    Comparator.nullsLast(Comparator.naturalOrder()));
+            case "location" -> Comparator.comparing(row -> c.locationDict.value(c.locations[row]),
+                    Comparator.nullsLast(Comparator.naturalOrder()));
+            case "quantity" -> (a, b) -> Long.compare(c.quantities[a], c.quantities[b]);
+            case "expiryDate" -> (a, b) -> Integer.compare(c.expiryDays[a], c.expiryDays[b]);
+            case "updatedAt" -> (a, b) -> Long.compare(c.updatedAt[a], c.updatedAt[b]);
+            case "createdAt" -> (a, b) -> Long.compare(c.createdAt[a], c.createdAt[b]);
+            default -> throw new IllegalArgumentException("정렬할 수 없는 필드입니다: " + property);
+        };
+    }
+
+    private static long scaled(BigDecimal quantity) {
+        return quantity.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static long scaledFloor(double value) {
+        return BigDecimal.valueOf(value).setScale(SCALE, RoundingMode.FLOOR).unscaledValue().longValueExact();
+    }
+
+    /**
+     * 카테고리/위치 사전 (코드 → 값, 새 값이 나오면 복사해서 늘린다)
+     */
+    private record Dictionary(String[] values, Map<String, Integer> codes) {
+
+        /**
+         * 값 목록으로 한 번에 만든다 (null 은 건너뛰고, 처음 나온 순서대로 코드를 매긴다)
+         */
+        static Dictionary of(List<String> values) {
+            Map<String, Integer> codes = new HashMap<>();
+            List<String> distinct = new ArrayList<>();
+            for (String value : values) {
+                if (value != null && codes.putIfAbsent(value, distinct.size()) == null) {
+                    distinct.add(value);
+                }
+            }
+            return new Dictionary(distinct.toArray(String[]::new), codes);
+        }
+
+        int code(String value) {
+            return value == null ? -1 : codes.getOrDefault(value, -1);
+        }
+
+        String value(int code) {
+            return code < 0 ? null : values[code];
+        }
+
+        Dictionary with(String value) {
+            if (value == null || codes.containsKey(value)) {
+                return this;
+            }
+            String[] nextValues = Arrays.copyOf(values, values.length + 1);
+            nextValues[values.length] = value;
+            Map<String, Integer> nextCodes = new HashMap<>(codes);
+            nextCodes.put(value, values.length);
+            return new Dictionary(nextValues, nextCodes);
+        }
+    }
+
+    /**
+     * 한 시점의 컬럼 스냅숏 (불변, 바꿀 때는 복사본을 만든다)
+     */
+    private static final class Columns {
+
+        final int size;
+        final long[] ids;
+        final String[] names;
+        final long[] quantities;
+        final String[] units;
+        final int[] expiryDays;
+        final int[] categories;
+        final int[] locations;
+        final String[] memos;
+        final long[] createdAt;
+        final long[] updatedAt;
+        final Dictionary categoryDict;
+        final Dictionary locationDict;
+        final Map<Long, Integer> rows;
+
+        Columns(int size, long[] ids, String[] names, long[] quantities, String[] units, int[] expiryDays,
+                int[] categories, int[] locations, String[] memos, long[] createdAt, long[] updatedAt,
+                Dictionary categoryDict, Dictionary locationDict, Map<Long, Integer> rows) {
+            this.size = size;
+            this.ids = ids;
+            this.names = names;
+            this.quantities = quantities;
+            this.units = units;
+            this.expiryDays = expiryDays;
+            this.categories = categories;
+            this.locations = locations;
+            this.memos = memos;
+            this.createdAt = createdAt;
+            this.updatedAt = updatedAt;
+            this.categoryDict = categoryDict;
+            this.locationDict = locationDict;
+            this.rows = rows;
+        }
+
+        /**
+         * 초기 적재 (배열과 사전을 한 번에 만들어 채운다)
+         */
+        static Columns of(List<Item> items) {
+            int size = items.size();
+            Columns loaded = new Columns(size,
+                    new long[size], new String[size], new long[size], new String[size], new int[size],
+                    new int[size], new int[size], new String[size], new long[size], new long[size],
+                    Dictionary.of(items.stream().map(Item::getCategory).toList()),
+                    Dictionary.of(items.stream().map(Item::getLocation).toList()),
+                    new HashMap<>(Math.max(16, size * 4 / 3 + 1)));
+            for (int row = 0; row < size; row++) {
+                Item item = items.get(row);
+                loaded.set(row, item);
+                loaded.rows.put(item.getId(), row);
+            }
+            return loaded;
+        }
+
+        /**
+         * row 행을 item 으로 바꾼 복사본 (row 가 null 이면 끝에 추가, 추가 시 배열은 여유 있게 늘린다)
+         */
+        Columns with(Integer row, Item item) {
+            int target = row != null ? row : size;
+            int nextSize = row != null ? size : size + 1;
+            int capacity = nextSize <= ids.length ? ids.length : Math.max(16, ids.length * 2);
+            Dictionary nextCategories = categoryDict.with(item.getCategory());
+            Dictionary nextLocations = locationDict.with(item.getLocation());
+            Map<Long, Integer> nextRows = rows;
+            if (row == null) {
+                nextRows = new HashMap<>(rows);
+                nextRows.put(item.getId(), target);
+            }
+
+            Columns next = new Columns(nextSize,
+                    Arrays.copyOf(ids, capacity), Arrays.copyOf(names, capacity), Arrays.copyOf(quantities, capacity),
+                    Arrays.copyOf(units, capacity), Arrays.copyOf(expiryDays, capacity),
+                    Arrays.copyOf(categories, capacity), Arrays.copyOf(locations, capacity),
+                    Arrays.copyOf(memos, capacity), Arrays.copyOf(createdAt, capacity), Arrays.copyOf(updatedAt, capacity),
+                    nextCategories, nextLocations, nextRows);
+            next.set(target, item);
+            return next;
+        }
+
+        /**
+         * row 행을 뺀 복사본 (마지막 행을 그 자리로 옮긴다)
+         */
+        Columns without(int row) {
+            int last = size - 1;
+            Columns next = new Columns(last,
+                    ids.clone(), names.clone(), quantities.clone(), units.clone(), expiryDays.clone(),
+                    categories.clone(), locations.clone(), memos.clone(), createdAt.clone(), updatedAt.clone(),
+                    categoryDict, locationDict, new HashMap<>(rows));
+            next.rows.remove(ids[row]);
+            if (row != last) {
+                next.ids[row] = ids[last];
+                next.names[row] = names[last];
+                next.quantities[row] = quantities[last];
+                next.units[row] = units[last];
+                next.expiryDays[row] = expiryDays[last];
+                next.categories[row] = categories[last];
+                next.locations[row] = locations[last];
+                next.memos[row] = memos[last];
+                next.createdAt[row] = createdAt[last];
+                next.updatedAt[row] = updatedAt[last];
+                next.rows.put(ids[last], row);
+            }
+            next.names[last] = null;
+            next.units[last] = null;
+            next.memos[last] = null;
+            return next;
+        }
+
+        /**
+         * row 행에 item 을 쓴다 (아직 공개하지 않은 스냅숏에만, 사전에는 item 의 값이 이미 있어야 한다)
+         */
+        private void set(int row, Item item) {
+            ids[row] = item.getId();
+            names[row] = item.getName();
+            quantities[row] = scaled(item.getQuantity());
+            units[row] = item.getUnit();
+            expiryDays[row] = item.getExpiryDate() != null ? (int) item.getExpiryDate().toEpochDay() : NO_EXPIRY;
+            categories[row] = categoryDict.code(item.getCategory());
+            locations[row] = locationDict.code(item.getLocation());
+            memos[row] = item.getMemo();
+            createdAt[row] = item.getCreatedAt() != null ? item.getCreatedAt().toEpochMilli() : 0L;
+            updatedAt[row] = item.getUpdatedAt() != null ? item.getUpdatedAt().toEpochMilli() : 0L;
+        }
+
+        ItemResp toResp(int row) {
+            ItemResp resp = new ItemResp();
+            resp.setId(ids[row]);
+            resp.setName(names[row]);
+            resp.setQuantity(BigDecimal.valueOf(quantities[row], SCALE));
+            resp.setUnit(units[row]);
+            if (expiryDays[row] != NO_EXPIRY) {
+                LocalDate expiryDate = LocalDate.ofEpochDay(expiryDays[row]);
+                resp.setExpiryDate(expiryDate);
+                // Item.getDaysUntilExpiry 와 같은 계산
+                resp.setDaysUntilExpiry(LocalDate.now().until(expiryDate).getDays());
+            }
+            resp.setCategory(categoryDict.value(categories[row]));
+            resp.setLocation(locationDict.value(locations[row]));
+            resp.setMemo(memos[row]);
+            resp.setCreatedAt(Instant.ofEpochMilli(createdAt[row]));
+            resp.setUpdatedAt(Instant.ofEpochMilli(updatedAt[row]));
+            return resp;
+        }
+    }
+}
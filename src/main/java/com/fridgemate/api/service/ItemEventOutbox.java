@@ -0,0 +1,37 @@
+package com.fridgemate.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fridgemate.api.event.ItemChangedEvent;
+import com.fridgemate.api.repository.ItemEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 재고 변경 이벤트를 item_events 아웃박스에 기록
+ *
+ * 커밋 후가 아니라 발행 즉시(같은 트랜잭션 안에서) 기록하므로, 변경이 롤백되면 이벤트도 함께 사라지고
+ * 커밋된 변경은 이벤트가 반드시 남는다. 외부 전달은 WebhookDispatcher 가 따로 한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemEventOutbox {
+
+    private final ItemEventRepository eventRepository;
+    private final ObjectMapper objectMapper;
+
+    @EventListener
+    public void onItemChanged(ItemChangedEvent event) {
+        ObjectNode payload = objectMapper.createObjectNode();
+        payload.set("before", objectMapper.valueToTree(event.getBefore()));
+        payload.set("after", objectMapper.valueToTree(event.getAfter()));
+        try {
+            eventRepository.append(event.getItemId(), event.getType().name(), objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            // 직렬화 실패는 변경 자체를 되돌린다 (이벤트 없는 커밋을 만들지 않음)
+            throw new IllegalStateException("재고 변경 이벤트 직렬화 실패 - ID: " + event.getItemId(), e);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.fridgemate.api.service;
+
+import com.fridgemate.api.config.ReplicaRoutingDataSource;
+import com.fridgemate.api.event.ItemChangedEvent;
+import com.fridgemate.api.event.ItemSnapshot;
+import com.fridgemate.api.repository.CatalogRecipeRepository;
+import com.fridgemate.api.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.*;
+
+/**
+ * 아이템 이름 자동완성 (보유 아이템 이름 + 카탈로그 레시피 재료명)
+ *
+ * 이름을 자모 단위로 풀어(닭 → ㄷㅏㄹㄱ, 과 → ㄱㅗㅏ) 트라이에 넣으므로, 입력 중인 음절("달", "ㄷ")로도 찾을 수 있다.
+ * 트라이 노드마다 그 접두어로 시작하는 이름 중 점수 상위 MAX_SUGGESTIONS 개를 들고 있어,
+ * 조회는 접두어 길이만큼 내려가 목록을 읽는 것으로 끝난다.
+ * 점수는 같은 이름의 아이템 수 × ITEM_WEIGHT + 그 재료를 쓰는 카탈로그 레시피 수이고,
+ * 아이템이 만들어질 때(이름이 바뀔 때) 해당 경로의 노드만 갱신한다. 삭제해도 점수는 줄이지 않는다 (써 본 이름은 계속 추천).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemNameSuggester {
+
+    static final int MAX_SUGGESTIONS = 10;
+
+    /** 카탈로그 레시피 한 곳에 쓰이는 것 대비 아이템 하나의 가중치 (직접 넣어 본 이름을 먼저) */
+    static final long ITEM_WEIGHT = 5;
+
+    private static final String[] CHOSEONG = {
+            "ㄱ", "ㄲ", "ㄴ", "ㄷ", "ㄸ", "ㄹ", "ㅁ", "ㅂ", "ㅃ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅉ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"};
+    // 겹모음/겹받침은 입력 순서대로 나눠 둬야 "도" 로 "돼지", "달" 로 "닭" 을 찾는다
+    private static final String[] JUNGSEONG = {
+            "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅛ", "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ",
+            "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"};
+    private static final String[] JONGSEONG = {
+            "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ",
+            "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"};
+    /** 따로 입력된 겹자모 (호환 자모) */
+    private static final Map<Character, String> COMPOUND_JAMO = Map.ofEntries(
+            Map.entry('ㄳ', "ㄱㅅ"), Map.entry('ㄵ', "ㄴㅈ"), Map.entry('ㄶ', "ㄴㅎ"), Map.entry('ㄺ', "ㄹㄱ"),
+            Map.entry('ㄻ', "ㄹㅁ"), Map.entry('ㄼ', "ㄹㅂ"), Map.entry('ㄽ', "ㄹㅅ"), Map.entry('ㄾ', "ㄹㅌ"),
+            Map.entry('ㄿ', "ㄹㅍ"), Map.entry('ㅀ', "ㄹㅎ"), Map.entry('ㅄ', "ㅂㅅ"), Map.entry('ㅘ', "ㅗㅏ"),
+            Map.entry('ㅙ', "ㅗㅐ"), Map.entry('ㅚ', "ㅗㅣ"), Map.entry('ㅝ', "ㅜㅓ"), Map.entry('ㅞ', "ㅜㅔ"),
+            Map.entry('ㅟ', "ㅜㅣ"), Map.entry('ㅢ', "ㅡㅣ"));
+    private static final char SYLLABLE_FIRST = '가';
+    private static final char SYLLABLE_LAST = '힣';
+
+    private final ItemRepository itemRepository;
+    private final CatalogRecipeRepository catalogRecipeRepository;
+
+    private final Node root = new Node();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private volatile boolean loaded;
+
+    /**
+     * 접두어로 시작하는 이름 (점수 높은 순, 같으면 이름 순)
+     */
+    public synchronized List<String> suggest(String prefix, int limit) {
+        String key = prefix != null ? jamo(prefix) : "";
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        ensureLoaded();
+
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        int count = Math.min(limit, node.topCount);
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add(node.top[i].name);
+        }
+        return names;
+    }
+
+    /**
+     * 새로 만든 아이템 이름(또는 바뀐 이름)의 점수를 올린다
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        ItemSnapshot before = event.getBefore();
+        ItemSnapshot after = event.getAfter();
+        if (after == null || (before != null && Objects.equals(before.getName(), after.getName()))) {
+            return;
+        }
+        // 적재 여부는 적재와 같은 모니터 안에서 본다 (적재 중에 커밋된 이름은 적재가 끝난 뒤 반영된다)
+        synchronized (this) {
+            if (!loaded) {
+                // 아직 적재 전이면 첫 조회 시 DB 에서 읽는다
+                return;
+            }
+            add(after.getName(), ITEM_WEIGHT);
+        }
+    }
+
+    /**
+     * 이름을 자모 키로 바꾼다 (소문자, 공백 제거, 완성형 음절과 겹자모는 입력 순서대로 분해)
+     */
+    static String jamo(String name) {
+        String normalized = Normalizer.normalize(name, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+        StringBuilder key = new StringBuilder(normalized.length() * 3);
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            if (c >= SYLLABLE_FIRST && c <= SYLLABLE_LAST) {
+                int index = c - SYLLABLE_FIRST;
+                key.append(CHOSEONG[index / (21 * 28)])
+                        .append(JUNGSEONG[index % (21 * 28) / 28])
+                        .append(JONGSEONG[index % 28]);
+            } else {
+                key.append(COMPOUND_JAMO.getOrDefault(c, String.valueOf(c)));
+            }
+        }
+        return key.toString();
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        entries.clear();
+        root.clear();
+        ReplicaRoutingDataSource.onPrimary(itemRepository::countByName)
+                .forEach(row -> add((String) row[0], ((Number) row[1]).longValue() * ITEM_WEIGHT));
+        ReplicaRoutingDataSource.onPrimary(catalogRecipeRepository::countIngredientNames)
+                .forEach(row -> add((String) row[0], ((Number) row[1]).longValue()));
+        loaded = true;
+        log.info("이름 자동완성 색인 적재: {} 개", entries.size());
+    }
+
+    private void add(String name, long score) {
+        if (name == null) {
+            return;
+        }
+        String key = jamo(name);
+        if (key.isEmpty()) {
+            return;
+        }
+        // 공백/대소문자만 다른 이름은 먼저 들어온 표기로 합친다
+        Entry entry = entries.computeIfAbsent(key, k -> new Entry(name.strip()));
+        entry.score += score;
+
+        Node node = root;
+        node.offer(entry);
+        for (int i = 0; i < key.length(); i++) {
+            node = node.childOrCreate(key.charAt(i));
+            node.offer(entry);
+        }
+    }
+
+    private static final class Entry {
+
+        final String name;
+        long score;
+
+        Entry(String name) {
+            this.name = name;
+        }
+
+        boolean ranksBefore(Entry other) {
+            return score != other.score ? score > other.score : name.compareTo(other.name) < 0;
+        }
+    }
+
+    /**
+     * 트라이 노드 (자식은 정렬된 배열 + 이진 탐색, 상위 이름 목록은 점수 내림차순)
+     */
+    private static final class Node {
+
+        private static final char[] NO_LABELS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        char[] labels = NO_LABELS;
+        Node[] children = NO_CHILDREN;
+        final Entry[] top = new Entry[MAX_SUGGESTIONS];
+        int topCount;
+
+        Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node childOrCreate(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            char[] nextLabels = new char[labels.length + 1];
+            Node[] nextChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, nextLabels, 0, insertAt);
+            System.arraycopy(children, 0, nextChildren, 0, insertAt);
+            System.arraycopy(labels, insertAt, nextLabels, insertAt + 1, labels.length - insertAt);
+            System.arraycopy(children, insertAt, nextChildren, insertAt + 1, children.length - insertAt);
+            Node child = new Node();
+            nextLabels[insertAt] = label;
+            nextChildren[insertAt] = child;
+            labels = nextLabels;
+            children = nextChildren;
+            return child;
+        }
+
+        /**
+         * 점수가 오른 이름을 상위 목록에 반영 (점수는 오르기만 하므로 앞으로만 옮기면 된다)
+         */
+        void offer(Entry entry) {
+            int index = -1;
+            for (int i = 0; i < topCount; i++) {
+                if (top[i] == entry) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                if (topCount == top.length) {
+                    if (!entry.ranksBefore(top[topCount - 1])) {
+                        return;
+                    }
+                    topCount--;
+                }
+                index = topCount++;
+                top[index] = entry;
+            }
+            while (index > 0 && entry.ranksBefore(top[index - 1])) {
+                top[index] = top[index - 1];
+                top[--index] = entry;
+            }
+        }
+
+        void clear() {
+            labels = NO_LABELS;
+            children = NO_CHILDREN;
+            Arrays.fill(top, null);
+            topCount = 0;
+        }
+    }
+}
@@ -2,20 +2,41 @@ package com.fridgemate.api.service;
 
 import com.fridgemate.api.domain.Item;
 import com.fridgemate.api.dto.ItemCreateReq;
+import com.fridgemate.api.dto.ItemLotCreateReq;
+import com.fridgemate.api.dto.ItemLotResp;
 import com.fridgemate.api.dto.ItemResp;
 import com.fridgemate.api.dto.ItemUpdateReq;
 import com.fridgemate.api.dto.ConsumeReq;
+import com.fridgemate.api.dto.FacetCount;
+import com.fridgemate.api.dto.ItemField;
+import com.fridgemate.api.dto.ItemSearchResp;
+import com.fridgemate.api.event.ItemChangedEvent;
+import com.fridgemate.api.event.ItemSnapshot;
+import com.fridgemate.api.exception.ItemNotFoundException;
+import com.fridgemate.api.repository.ItemLotRepository;
 import com.fridgemate.api.repository.ItemRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -23,15 +44,20 @@ import java.util.List;
 public class ItemService {
 
     private final ItemRepository itemRepository;
+    private final ItemLotRepository itemLotRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<ItemColumnStore> columnStore;
+    private final WasteAnalyticsService wasteAnalyticsService;
 
     /**
-     * 아이템 목록 조회 (페이징)
+     * 아이템 목록 조회 (페이징, fields 로 고른 필드만)
      */
     public Page<ItemResp> getItems(
             String category,
             String location,
             String sortBy,
             String sortDir,
+            Set<ItemField> fields,
             Pageable pageable) {
 
         // 정렬 조건이 있으면 새로운 Pageable 생성
@@ -40,6 +66,14 @@ public class ItemService {
             pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
         }
 
+        ItemColumnStore store = columnStore.getIfAvailable();
+        if (store != null) {
+            return store.getItems(category, location, pageable).map(item -> item.select(fields));
+        }
+        if (!fields.containsAll(ItemField.ALL)) {
+            return getItemFields(category, location, fields, pageable);
+        }
+
         Page<Item> items;
         if (category != null && location != null) {
             items = itemRepository.findByCategoryAndLocation(category, location, pageable);
@@ -54,12 +88,58 @@ public class ItemService {
         return items.map(this::toItemResp);
     }
 
+    /**
+     * 패싯 검색 (결과 페이지와 카테고리/위치별 수를 한 번의 쿼리로)
+     */
+    public ItemSearchResp searchItems(
+            String keyword,
+            String category,
+            String location,
+            Integer expiringDays,
+            String sortBy,
+            String sortDir,
+            Set<ItemField> fields,
+            Pageable pageable) {
+
+        pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), createSort(sortBy, sortDir));
+        LocalDate expiringDate = expiringDays != null ? LocalDate.now().plusDays(expiringDays) : null;
+        String pattern = keyword != null && !keyword.isBlank() ? keyword.strip() : null;
+
+        List<ItemResp> content = new ArrayList<>();
+        List<FacetCount> categories = new ArrayList<>();
+        List<FacetCount> locations = new ArrayList<>();
+        long total = 0L;
+        for (Object[] row : itemRepository.searchWithFacets(pattern, category, location, expiringDate, fields, pageable)) {
+            switch ((String) row[0]) {
+                case "item" -> content.add(fromItemColumns(row, 3, fields));
+                case "total" -> total = ((Number) row[2]).longValue();
+                case "category" -> addFacet(categories, row);
+                case "location" -> addFacet(locations, row);
+                default -> throw new IllegalStateException("알 수 없는 검색 결과 행: " + row[0]);
+            }
+        }
+        // 값 없음(null)은 맨 뒤로
+        Comparator<FacetCount> byValue = Comparator.comparing(FacetCount::getValue,
+                Comparator.nullsLast(Comparator.naturalOrder()));
+        categories.sort(byValue);
+        locations.sort(byValue);
+
+        return ItemSearchResp.builder()
+                .content(content)
+                .page(pageable.getPageNumber())
+                .size(pageable.getPageSize())
+                .totalElements(total)
+                .totalPages((int) ((total + pageable.getPageSize() - 1) / pageable.getPageSize()))
+                .categories(categories)
+                .locations(locations)
+                .build();
+    }
+
     /**
      * 아이템 상세 조회
      */
     public ItemResp getItem(Long id) {
-        Item item = itemRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("아이템을 찾을 수 없습니다. ID: " + id));
+        Item item = findItemById(id);
         return toItemResp(item);
     }
 
@@ -78,8 +158,11 @@ public class ItemService {
                 .purchaseDate(LocalDate.now())
                 .memo(request.getMemo())
                 .build();
+        item.resetLots();
+        wasteAnalyticsService.recordExpiredBehindMark(item.getCategory(), item.getExpiryDate(), item.getQuantity(), null);
 
         Item savedItem = itemRepository.save(item);
+        publish(ItemChangedEvent.Type.CREATED, null, savedItem);
         return toItemResp(savedItem);
     }
 
@@ -88,8 +171,8 @@ public class ItemService {
      */
     @Transactional
     public ItemResp updateItem(Long id, ItemUpdateReq request) {
-        Item item = itemRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("아이템을 찾을 수 없습니다. ID: " + id));
+        Item item = findItemById(id);
+        ItemSnapshot before = ItemSnapshot.of(item);
 
         item.updateItem(
                 request.getName(),
@@ -99,8 +182,16 @@ public class ItemService {
                 request.getExpiryDate(),
                 request.getLocation()
         );
+        // 수량이나 유통기한을 직접 고치면 로트별 내역은 맞출 수 없으므로 로트 하나로 합친다
+        if (before.getQuantity().compareTo(item.getQuantity()) != 0
+                || !Objects.equals(before.getExpiryDate(), item.getExpiryDate())) {
+            item.resetLots();
+            wasteAnalyticsService.recordExpiredBehindMark(
+                    item.getCategory(), item.getExpiryDate(), item.getQuantity(), before.getExpiryDate());
+        }
 
         Item savedItem = itemRepository.save(item);
+        publish(ItemChangedEvent.Type.UPDATED, before, savedItem);
         return toItemResp(savedItem);
     }
 
@@ -109,34 +200,72 @@ public class ItemService {
      */
     @Transactional
     public void deleteItem(Long id) {
-        if (!itemRepository.existsById(id)) {
-            throw new RuntimeException("아이템을 찾을 수 없습니다. ID: " + id);
-        }
-        itemRepository.deleteById(id);
+        Item item = findItemById(id);
+        ItemSnapshot before = ItemSnapshot.of(item);
+        itemRepository.delete(item);
+        eventPublisher.publishEvent(new ItemChangedEvent(ItemChangedEvent.Type.DELETED, id, before, null));
     }
 
     /**
-     * 아이템 소비
+     * 아이템 소비 (유통기한이 빠른 로트부터)
      */
     @Transactional
     public ItemResp consumeItem(Long id, ConsumeReq request) {
-        Item item = itemRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("아이템을 찾을 수 없습니다. ID: " + id));
+        Item item = findItemById(id);
+        ItemSnapshot before = ItemSnapshot.of(item);
 
-        if (item.getQuantity().compareTo(request.getAmount()) < 0) {
-            throw new RuntimeException("소비할 수량이 보유 수량보다 많습니다.");
+        item.consume(request.getAmount());
+        Object[] draw = itemLotRepository.consumeEarliestExpiring(id, request.getAmount()).get(0);
+        BigDecimal available = (BigDecimal) draw[0];
+        if (available.compareTo(request.getAmount()) < 0) {
+            // 동시에 다른 소비가 먼저 커밋된 경우 (로트는 잠근 뒤의 최신 수량 기준)
+            throw new IllegalArgumentException("재고가 부족합니다. 현재 재고: " + available + " " + item.getUnit());
+        }
+        item.setQuantity((BigDecimal) draw[1]);
+        if (item.getQuantity().signum() > 0) {
+            item.setExpiryDate(toLocalDate(draw[2]));
         }
+        wasteAnalyticsService.recordConsumed(item.getCategory(), request.getAmount());
+        Item savedItem = itemRepository.save(item);
+        publish(ItemChangedEvent.Type.CONSUMED, before, savedItem);
+        return toItemResp(savedItem);
+    }
 
-        item.consume(request.getAmount());
+    /**
+     * 로트 입고 (같은 아이템을 새로 사 왔을 때)
+     */
+    @Transactional
+    public ItemResp receiveLot(Long id, ItemLotCreateReq request) {
+        Item item = findItemById(id);
+        ItemSnapshot before = ItemSnapshot.of(item);
+
+        item.receive(request.getQuantity(), request.getExpiryDate(), request.getPurchaseDate());
+        wasteAnalyticsService.recordExpiredBehindMark(
+                item.getCategory(), request.getExpiryDate(), request.getQuantity(), null);
         Item savedItem = itemRepository.save(item);
+        publish(ItemChangedEvent.Type.RESTOCKED, before, savedItem);
         return toItemResp(savedItem);
     }
 
+    /**
+     * 아이템의 남은 로트 조회 (유통기한 빠른 순)
+     */
+    public List<ItemLotResp> getLots(Long id) {
+        findItemById(id);
+        return itemLotRepository.findRemainingLots(id).stream()
+                .map(ItemLotResp::from)
+                .toList();
+    }
+
     /**
      * 곧 만료될 아이템 조회
      */
     public List<ItemResp> getExpiringItems(int days) {
         LocalDate targetDate = LocalDate.now().plusDays(days);
+        ItemColumnStore store = columnStore.getIfAvailable();
+        if (store != null) {
+            return store.getExpiringItems(targetDate);
+        }
         List<Item> items = itemRepository.findExpiringItems(targetDate);
         return items.stream()
                 .map(this::toItemResp)
@@ -147,6 +276,10 @@ public class ItemService {
      * 재고 부족 아이템 조회
      */
     public List<ItemResp> getLowStockItems(double threshold) {
+        ItemColumnStore store = columnStore.getIfAvailable();
+        if (store != null) {
+            return store.getLowStockItems(threshold);
+        }
         List<Item> items = itemRepository.findLowStockItems(threshold);
         return items.stream()
                 .map(this::toItemResp)
@@ -157,6 +290,10 @@ public class ItemService {
      * 재고가 있는 아이템 조회 (레시피 추천용)
      */
     public List<ItemResp> getAvailableItems() {
+        ItemColumnStore store = columnStore.getIfAvailable();
+        if (store != null) {
+            return store.getAvailableItems();
+        }
         List<Item> items = itemRepository.findAvailableItems();
         return items.stream()
                 .map(this::toItemResp)
@@ -167,28 +304,116 @@ public class ItemService {
      * 카테고리 목록 조회
      */
     public List<String> getCategories() {
-        return itemRepository.findDistinctCategories();
+        ItemColumnStore store = columnStore.getIfAvailable();
+        return store != null ? store.getCategories() : itemRepository.findDistinctCategories();
     }
 
     /**
      * 위치 목록 조회
      */
     public List<String> getLocations() {
-        return itemRepository.findDistinctLocations();
+        ItemColumnStore store = columnStore.getIfAvailable();
+        return store != null ? store.getLocations() : itemRepository.findDistinctLocations();
     }
 
     /**
      * 카테고리별 아이템 통계
      */
     public List<Object[]> getCategoryStats() {
-        return itemRepository.getCategoryStats();
+        ItemColumnStore store = columnStore.getIfAvailable();
+        return store != null ? store.getCategoryStats() : itemRepository.getCategoryStats();
     }
 
     /**
      * 위치별 아이템 통계
      */
     public List<Object[]> getLocationStats() {
-        return itemRepository.getLocationStats();
+        ItemColumnStore store = columnStore.getIfAvailable();
+        return store != null ? store.getLocationStats() : itemRepository.getLocationStats();
+    }
+
+    private Item findItemById(Long id) {
+        return itemRepository.findById(id)
+                .orElseThrow(() -> new ItemNotFoundException("재고 아이템을 찾을 수 없습니다. ID: " + id));
+    }
+
+    /**
+     * 변경 이벤트 발행 (커밋 후 캐시/인덱스 갱신용)
+     */
+    private void publish(ItemChangedEvent.Type type, ItemSnapshot before, Item after) {
+        eventPublisher.publishEvent(new ItemChangedEvent(type, after.getId(), before, ItemSnapshot.of(after)));
+    }
+
+    /**
+     * 고른 필드의 컬럼만 읽는 목록 (전체 수는 같은 쿼리의 윈도 함수로, 빈 페이지일 때만 따로 센다)
+     */
+    private Page<ItemResp> getItemFields(String category, String location, Set<ItemField> fields, Pageable pageable) {
+        List<Object[]> rows = itemRepository.findFields(fields, category, location, pageable);
+        List<ItemResp> content = rows.stream()
+                .map(row -> fromItemColumns(row, 0, fields))
+                .toList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> rows.isEmpty()
+                ? countMatching(category, location)
+                : ((Number) rows.get(0)[10]).longValue());
+    }
+
+    private long countMatching(String category, String location) {
+        if (category != null && location != null) {
+            return itemRepository.countByCategoryAndLocation(category, location);
+        } else if (category != null) {
+            return itemRepository.countByCategory(category);
+        } else if (location != null) {
+            return itemRepository.countByLocation(location);
+        }
+        return itemRepository.count();
+    }
+
+    private static void addFacet(List<FacetCount> facets, Object[] row) {
+        long count = ((Number) row[2]).longValue();
+        // 다른 축 필터 때문에 0 이 된 값은 칩으로 보여줄 필요가 없다
+        if (count > 0) {
+            facets.add(new FacetCount((String) row[1], count));
+        }
+    }
+
+    /**
+     * 아이템 컬럼 행(offset 부터 id ~ updated_at)을 DTO 로 변환 (엔티티를 다시 읽지 않고, 고르지 않은 계산 필드는 건너뛴다)
+     */
+    private static ItemResp fromItemColumns(Object[] row, int offset, Set<ItemField> fields) {
+        ItemResp resp = new ItemResp();
+        resp.setId(((Number) row[offset]).longValue());
+        resp.setName((String) row[offset + 1]);
+        resp.setQuantity((BigDecimal) row[offset + 2]);
+        resp.setUnit((String) row[offset + 3]);
+        LocalDate expiryDate = row[offset + 4] != null ? toLocalDate(row[offset + 4]) : null;
+        resp.setExpiryDate(expiryDate);
+        if (expiryDate != null && fields.contains(ItemField.DAYS_UNTIL_EXPIRY)) {
+            // Item.getDaysUntilExpiry 와 같은 계산
+            resp.setDaysUntilExpiry(LocalDate.now().until(expiryDate).getDays());
+        }
+        resp.setCategory((String) row[offset + 5]);
+        resp.setLocation((String) row[offset + 6]);
+        resp.setMemo((String) row[offset + 7]);
+        resp.setCreatedAt(row[offset + 8] != null ? toInstant(row[offset + 8]) : null);
+        resp.setUpdatedAt(row[offset + 9] != null ? toInstant(row[offset + 9]) : null);
+        return resp.select(fields);
+    }
+
+    private static Instant toInstant(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toInstant();
+        }
+        if (value instanceof OffsetDateTime dateTime) {
+            return dateTime.toInstant();
+        }
+        return (Instant) value;
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof Date date) {
+            return date.toLocalDate();
+        }
+        return (LocalDate) value;
     }
 
     /**
@@ -221,13 +446,15 @@ public class ItemService {
      * 카테고리별 아이템 수 조회
      */
     public long countByCategory(String category) {
-        return itemRepository.countByCategory(category);
+        ItemColumnStore store = columnStore.getIfAvailable();
+        return store != null ? store.countByCategory(category) : itemRepository.countByCategory(category);
     }
 
     /**
      * 위치별 아이템 수 조회
      */
     public long countByLocation(String location) {
-        return itemRepository.countByLocation(location);
+        ItemColumnStore store = columnStore.getIfAvailable();
+        return store != null ? store.countByLocation(location) : itemRepository.countByLocation(location);
     }
 }
\ No newline at end of file
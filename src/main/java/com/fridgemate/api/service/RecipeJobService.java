@@ -0,0 +1,296 @@
+package com.fridgemate.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fridgemate.api.dto.recipe.MealPlanReq;
+import com.fridgemate.api.dto.recipe.RecipeJobReq;
+import com.fridgemate.api.dto.recipe.RecipeJobResp;
+import com.fridgemate.api.dto.recipe.RecipeSuggestionReq;
+import com.fridgemate.api.exception.JobQueueFullException;
+import com.fridgemate.api.exception.RecipeJobNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 오래 걸리는 추천 작업(식단 계획, LLM 호출 등)을 서블릿 스레드 밖에서 실행한다
+ *
+ * 작업은 스레드 수와 대기열 길이가 고정된 실행기에서 돌고, 대기열이 차면 즉시 거절한다.
+ * 결과는 작업 ID 로 조회하거나, 요청 시 지정한 로컬 URL 로 완료 시 POST 받는다.
+ * 대기 시간과 실행 시간은 Micrometer 타이머로 기록한다.
+ */
+@Service
+@Slf4j
+public class RecipeJobService {
+
+    private static final Duration CALLBACK_TIMEOUT = Duration.ofSeconds(5);
+
+    private final RecipeService recipeService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor executor;
+    private final Duration retention;
+    private final Counter rejected;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(CALLBACK_TIMEOUT)
+            .build();
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public RecipeJobService(RecipeService recipeService,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${recipe.jobs.threads:4}") int threads,
+                            @Value("${recipe.jobs.queue-capacity:100}") int queueCapacity,
+                            @Value("${recipe.jobs.retention-minutes:60}") long retentionMinutes) {
+        this.recipeService = recipeService;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.retention = Duration.ofMinutes(retentionMinutes);
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "recipe-job-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("recipe.jobs.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("대기 중인 추천 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("recipe.jobs.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("실행 중인 추천 작업 수")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("recipe.jobs.rejected")
+                .description("대기열이 가득 차 거절된 추천 작업 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 작업 접수 (대기열이 가득 차면 JobQueueFullException)
+     */
+    public RecipeJobResp submit(RecipeJobReq request) {
+        URI callback = parseCallback(request.getCallbackUrl());
+        evictExpired();
+
+        Job job = new Job(UUID.randomUUID().toString(), request.getType());
+        jobs.put(job.id, job);
+        // 접수 응답은 실행 스레드에 넘기기 전에 만든다 (빨리 끝난 작업이 접수 응답에 결과를 싣지 않게)
+        RecipeJobResp accepted = job.view();
+        try {
+            executor.execute(() -> run(job, request, callback));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            rejected.increment();
+            throw new JobQueueFullException("추천 작업 대기열이 가득 찼습니다. 잠시 후 다시 시도해 주세요.");
+        }
+        log.info("추천 작업 접수 - ID: {}, 종류: {}, 대기: {}", job.id, job.type, executor.getQueue().size());
+        return accepted;
+    }
+
+    /**
+     * 작업 상태/결과 조회
+     */
+    public RecipeJobResp get(String id) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            throw new RecipeJobNotFoundException("추천 작업을 찾을 수 없습니다. ID: " + id);
+        }
+        return job.view();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(Job job, RecipeJobReq request, URI callback) {
+        String type = job.type.name();
+        Timer.builder("recipe.jobs.queue.wait")
+                .description("추천 작업 대기열 대기 시간")
+                .tag("type", type)
+                .register(meterRegistry)
+                .record(System.nanoTime() - job.submittedNanos, TimeUnit.NANOSECONDS);
+
+        job.start();
+        long started = System.nanoTime();
+        Object result = null;
+        RuntimeException failure = null;
+        try {
+            result = execute(request);
+        } catch (RuntimeException e) {
+            failure = e;
+            log.error("추천 작업 실패 - ID: {}", job.id, e);
+        }
+        // 완료 상태를 보고 지표를 읽는 쪽이 빠진 기록을 보지 않도록 실행 시간을 먼저 기록한다
+        Timer.builder("recipe.jobs.run")
+                .description("추천 작업 실행 시간")
+                .tag("type", type)
+                .tag("outcome", failure == null ? "success" : "failure")
+                .register(meterRegistry)
+                .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        if (failure == null) {
+            job.succeed(result);
+        } else {
+            job.fail(failure.getMessage() != null ? failure.getMessage() : failure.getClass().getSimpleName());
+        }
+
+        if (callback != null) {
+            notifyCallback(job, callback);
+        }
+    }
+
+    private Object execute(RecipeJobReq request) {
+        return switch (request.getType()) {
+            case SUGGEST -> {
+                RecipeSuggestionReq suggestion = new RecipeSuggestionReq();
+                suggestion.setServings(request.getServings());
+                suggestion.setDiet(request.getDiet());
+                yield recipeService.suggestRecipes(suggestion);
+            }
+            case PLAN -> {
+                MealPlanReq plan = new MealPlanReq();
+                if (request.getMeals() != null) {
+                    plan.setMeals(request.getMeals());
+                }
+                plan.setServings(request.getServings());
+                plan.setDiet(request.getDiet());
+                yield recipeService.planMeals(plan);
+            }
+        };
+    }
+
+    private void notifyCallback(Job job, URI callback) {
+        try {
+            HttpRequest httpRequest = HttpRequest.newBuilder(callback)
+                    .timeout(CALLBACK_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(job.view())))
+                    .build();
+            httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        if (error != null) {
+                            log.warn("추천 작업 완료 알림 실패 - ID: {}, URL: {}, 원인: {}", job.id, callback, error.toString());
+                        } else if (response.statusCode() / 100 != 2) {
+                            log.warn("추천 작업 완료 알림 응답 오류 - ID: {}, HTTP {}", job.id, response.statusCode());
+                        }
+                    });
+        } catch (JsonProcessingException e) {
+            log.error("추천 작업 완료 알림 본문 생성 실패 - ID: {}", job.id, e);
+        }
+    }
+
+    /**
+     * 완료 알림 URL 검증 (외부 주소로 요청을 보내지 않도록 localhost / 루프백 IP 만 허용)
+     */
+    static URI parseCallback(String callbackUrl) {
+        if (!StringUtils.hasText(callbackUrl)) {
+            return null;
+        }
+        URI uri;
+        try {
+            uri = URI.create(callbackUrl.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("완료 알림 URL 형식이 올바르지 않습니다.");
+        }
+        String scheme = uri.getScheme();
+        String host = uri.getHost();
+        if (scheme == null || host == null
+                || !(scheme.equalsIgnoreCase("http") || scheme.equalsIgnoreCase("https"))
+                || !isLoopback(host)) {
+            throw new IllegalArgumentException("완료 알림 URL 은 로컬 주소(localhost)만 사용할 수 있습니다.");
+        }
+        return uri;
+    }
+
+    private static boolean isLoopback(String host) {
+        if (host.equalsIgnoreCase("localhost")) {
+            return true;
+        }
+        // IP 리터럴만 검사한다 (도메인 이름은 DNS 조회 결과가 바뀔 수 있으므로 허용하지 않음)
+        boolean literal = host.startsWith("[") || host.chars().allMatch(c -> Character.isDigit(c) || c == '.');
+        if (!literal) {
+            return false;
+        }
+        try {
+            return InetAddress.getByName(host).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+
+    private void evictExpired() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    private static class Job {
+        private final String id;
+        private final RecipeJobReq.Type type;
+        private final Instant submittedAt = Instant.now();
+        private final long submittedNanos = System.nanoTime();
+
+        private volatile RecipeJobResp.Status status = RecipeJobResp.Status.QUEUED;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile Object result;
+        private volatile String error;
+
+        Job(String id, RecipeJobReq.Type type) {
+            this.id = id;
+            this.type = type;
+        }
+
+        void start() {
+            startedAt = Instant.now();
+            status = RecipeJobResp.Status.RUNNING;
+        }
+
+        void succeed(Object result) {
+            this.result = result;
+            finishedAt = Instant.now();
+            status = RecipeJobResp.Status.SUCCEEDED;
+        }
+
+        void fail(String error) {
+            this.error = error;
+            finishedAt = Instant.now();
+            status = RecipeJobResp.Status.FAILED;
+        }
+
+        RecipeJobResp view() {
+            return RecipeJobResp.builder()
+                    .id(id)
+                    .type(type)
+                    .status(status)
+                    .submittedAt(submittedAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .result(result)
+                    .error(error)
+                    .build();
+        }
+    }
+}
@@ -1,213 +1,130 @@
 package com.fridgemate.api.service;
 
-import com.fridgemate.api.dto.ItemResp;
+import com.fridgemate.api.dto.recipe.IngredientUnlock;
+import com.fridgemate.api.dto.recipe.MealPlanReq;
+import com.fridgemate.api.dto.recipe.MealPlanResp;
 import com.fridgemate.api.dto.recipe.Recipe;
-import com.fridgemate.api.dto.recipe.RecipeIngredient;
 import com.fridgemate.api.dto.recipe.RecipeSuggestionReq;
 import com.fridgemate.api.dto.recipe.RecipeSuggestionResp;
+import com.fridgemate.api.service.recipe.CompositeRecommender;
+import com.fridgemate.api.service.recipe.CookableRecipeIndex;
+import com.fridgemate.api.service.recipe.LlmRecommender;
+import com.fridgemate.api.service.recipe.MealPlanner;
+import com.fridgemate.api.service.recipe.PantryState;
+import com.fridgemate.api.service.recipe.RecipeSuggestionCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.ArrayList;
+import java.io.IOException;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class RecipeService {
 
-    private final ItemService itemService;
+    private static final int MAX_SUGGESTIONS = 5;
+    private static final long STREAM_TIMEOUT_MS = 30_000;
+
+    private final PantryState pantryState;
+    private final CookableRecipeIndex cookableRecipeIndex;
+    private final RecipeSuggestionCache suggestionCache;
+    private final CompositeRecommender compositeRecommender;
+    private final MealPlanner mealPlanner;
+    private final Optional<LlmRecommender> llmRecommender;
 
     /**
      * 현재 재고 기반 레시피 추천
+     * 재고가 바뀌지 않았으면 캐시된 결과를 그대로 반환한다
      */
     public RecipeSuggestionResp suggestRecipes(RecipeSuggestionReq request) {
-        // 현재 재고가 있는 아이템들 조회
-        List<ItemResp> availableItems = itemService.getAvailableItems();
-
-        log.info("사용 가능한 재료 수: {}", availableItems.size());
-
-        // 간단한 레시피 매칭 로직 (실제로는 외부 API나 ML 모델 사용)
-        List<Recipe> suggestedRecipes = generateSimpleRecipes(availableItems, request);
-
-        return RecipeSuggestionResp.builder()
-                .availableIngredients(availableItems.size())
-                .suggestedRecipes(suggestedRecipes)
-                .build();
+        return suggestionCache.get(request, () -> computeSuggestions(request));
     }
 
     /**
-     * 간단한 레시피 생성 로직
-     * 실제 구현에서는 외부 레시피 API나 ML 모델을 사용
+     * 레시피 추천을 SSE 로 점진적으로 보낸다
+     *
+     * 1. rule: 규칙 기반 추천 결과 (미리 계산된 색인 순위라 앙상블 마감을 기다리지 않고 즉시 전송)
+     * 2. llm: LLM 이 켜져 있으면 스트리밍 응답에서 레시피가 완성될 때마다 하나씩
+     * 3. done: 종료
      */
-    private List<Recipe> generateSimpleRecipes(List<ItemResp> availableItems, RecipeSuggestionReq request) {
-        List<Recipe> recipes = new ArrayList<>();
-
-        // 카테고리별로 재료 분류
-        List<ItemResp> vegetables = filterByCategory(availableItems, "야채");
-        List<ItemResp> meat = filterByCategory(availableItems, "육류");
-        List<ItemResp> dairy = filterByCategory(availableItems, "유제품");
-        List<ItemResp> grains = filterByCategory(availableItems, "곡물");
-
-        // 볶음밥 레시피
-        if (!grains.isEmpty() && !vegetables.isEmpty()) {
-            recipes.add(createFriedRiceRecipe(grains, vegetables, meat));
+    public SseEmitter streamSuggestions(RecipeSuggestionReq request) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        if (!send(emitter, "rule", ruleSuggestions(request))) {
+            return emitter;
         }
 
-        // 샐러드 레시피
-        if (!vegetables.isEmpty()) {
-            recipes.add(createSaladRecipe(vegetables, dairy));
+        if (llmRecommender.isEmpty()) {
+            complete(emitter);
+            return emitter;
         }
 
-        // 스튜 레시피
-        if (!meat.isEmpty() && !vegetables.isEmpty()) {
-            recipes.add(createStewRecipe(meat, vegetables));
-        }
-
-        // 요청된 개수만큼 반환 (최대 10개)
-        //int maxRecipes = Math.min(request.getMaxRecipes() != null ? request.getMaxRecipes() : 5, 10);
-        return recipes.stream().limit(10).collect(Collectors.toList());
+        llmRecommender.get()
+                .streamAsync(pantryState.availableItems(), request, recipe -> send(emitter, "llm", recipe))
+                .thenRun(() -> complete(emitter));
+        return emitter;
     }
 
-    private List<ItemResp> filterByCategory(List<ItemResp> items, String category) {
-        return items.stream()
-                .filter(item -> category.equals(item.getCategory()))
-                .collect(Collectors.toList());
+    /**
+     * 하나만 더 사면 만들 수 있는 레시피가 많이 늘어나는 재료 추천
+     */
+    public List<IngredientUnlock> suggestUnlocks(double threshold, int limit, String diet) {
+        return cookableRecipeIndex.unlock(threshold, limit, diet);
     }
 
-    private Recipe createFriedRiceRecipe(List<ItemResp> grains, List<ItemResp> vegetables, List<ItemResp> meat) {
-        List<RecipeIngredient> ingredients = new ArrayList<>();
-
-        // 곡물 추가
-        if (!grains.isEmpty()) {
-            ItemResp grain = grains.get(0);
-            ingredients.add(RecipeIngredient.builder()
-                    .name(grain.getName())
-                    .amount("1")
-                    .unit("공기")
-                    .available(true)
-                    .build());
-        }
+    /**
+     * 임박 재고를 최대한 소진하는 끼니 계획
+     */
+    public MealPlanResp planMeals(MealPlanReq request) {
+        return mealPlanner.plan(request);
+    }
 
-        // 야채 추가
-        vegetables.stream().limit(2).forEach(vegetable -> {
-            ingredients.add(RecipeIngredient.builder()
-                    .name(vegetable.getName())
-                    .amount("100")
-                    .unit("g")
-                    .available(true)
-                    .build());
-        });
-
-        // 육류 추가 (있는 경우)
-        if (!meat.isEmpty()) {
-            ItemResp meatItem = meat.get(0);
-            ingredients.add(RecipeIngredient.builder()
-                    .name(meatItem.getName())
-                    .amount("50")
-                    .unit("g")
-                    .available(true)
-                    .build());
+    private RecipeSuggestionResp computeSuggestions(RecipeSuggestionReq request) {
+        if (compositeRecommender.sourceCount() <= 1) {
+            return ruleSuggestions(request);
         }
+        // 추천기가 여럿이면 동시에 돌려 합친다 (규칙 기반 출처는 앙상블 안에서도 색인 순위를 쓴다)
+        List<Recipe> suggestedRecipes = compositeRecommender.recommend(pantryState.availableItems(), request).stream()
+                .limit(MAX_SUGGESTIONS)
+                .toList();
+        return suggestionResp(suggestedRecipes);
+    }
 
-        return Recipe.builder()
-                .id(1L)
-                .name("간단 볶음밥")
-                .description("냉장고 재료로 만드는 간단한 볶음밥")
-                .cookingTime(15)
-                .difficulty("쉬움")
-                .servings(2)
-                .ingredients(ingredients)
-                .instructions(List.of(
-                        "밥을 준비하고 계란을 풀어둡니다.",
-                        "팬에 기름을 두르고 계란을 먼저 볶습니다.",
-                        "야채를 추가하여 볶습니다.",
-                        "밥을 넣고 함께 볶아 완성합니다."
-                ))
-                .build();
+    /**
+     * 규칙 기반 추천: 재고 변경 시 미리 갱신된 레시피 순위에서 상위만 읽는다
+     */
+    private RecipeSuggestionResp ruleSuggestions(RecipeSuggestionReq request) {
+        return suggestionResp(cookableRecipeIndex.rank(request, MAX_SUGGESTIONS));
     }
 
-    private Recipe createSaladRecipe(List<ItemResp> vegetables, List<ItemResp> dairy) {
-        List<RecipeIngredient> ingredients = new ArrayList<>();
-
-        // 야채 추가
-        vegetables.stream().limit(3).forEach(vegetable -> {
-            ingredients.add(RecipeIngredient.builder()
-                    .name(vegetable.getName())
-                    .amount("50")
-                    .unit("g")
-                    .available(true)
-                    .build());
-        });
-
-        // 유제품 추가 (있는 경우)
-        if (!dairy.isEmpty()) {
-            ItemResp dairyItem = dairy.get(0);
-            ingredients.add(RecipeIngredient.builder()
-                    .name(dairyItem.getName())
-                    .amount("2")
-                    .unit("큰술")
-                    .available(true)
-                    .build());
-        }
+    private RecipeSuggestionResp suggestionResp(List<Recipe> suggestedRecipes) {
+        int availableIngredients = pantryState.size();
+        log.info("사용 가능한 재료 수: {}", availableIngredients);
 
-        return Recipe.builder()
-                .id(2L)
-                .name("신선한 샐러드")
-                .description("신선한 야채로 만드는 건강 샐러드")
-                .cookingTime(10)
-                .difficulty("쉬움")
-                .servings(1)
-                .ingredients(ingredients)
-                .instructions(List.of(
-                        "야채를 깨끗이 씻어 준비합니다.",
-                        "적당한 크기로 자릅니다.",
-                        "드레싱과 함께 버무려 완성합니다."
-                ))
+        return RecipeSuggestionResp.builder()
+                .availableIngredients(availableIngredients)
+                .cookableRecipes(cookableRecipeIndex.cookableCount())
+                .suggestedRecipes(suggestedRecipes)
                 .build();
     }
 
-    private Recipe createStewRecipe(List<ItemResp> meat, List<ItemResp> vegetables) {
-        List<RecipeIngredient> ingredients = new ArrayList<>();
-
-        // 육류 추가
-        if (!meat.isEmpty()) {
-            ItemResp meatItem = meat.get(0);
-            ingredients.add(RecipeIngredient.builder()
-                    .name(meatItem.getName())
-                    .amount("200")
-                    .unit("g")
-                    .available(true)
-                    .build());
+    private static boolean send(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("SSE 전송 중단 - 이벤트: {}", name);
+            return false;
         }
+    }
 
-        // 야채 추가
-        vegetables.stream().limit(3).forEach(vegetable -> {
-            ingredients.add(RecipeIngredient.builder()
-                    .name(vegetable.getName())
-                    .amount("100")
-                    .unit("g")
-                    .available(true)
-                    .build());
-        });
-
-        return Recipe.builder()
-                .id(3L)
-                .name("푸짐한 스튜")
-                .description("고기와 야채로 만드는 든든한 스튜")
-                .cookingTime(45)
-                .difficulty("보통")
-                .servings(4)
-                .ingredients(ingredients)
-                .instructions(List.of(
-                        "고기를 적당한 크기로 자릅니다.",
-                        "야채도 큼직하게 자릅니다.",
-                        "냄비에 고기를 먼저 볶습니다.",
-                        "야채를 넣고 물을 부어 끓입니다.",
-                        "약불에서 30분간 끓여 완성합니다."
-                ))
-                .build();
+    private static void complete(SseEmitter emitter) {
+        if (send(emitter, "done", "")) {
+            emitter.complete();
+        }
     }
-}
\ No newline at end of file
+}
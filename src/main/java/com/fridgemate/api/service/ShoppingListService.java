@@ -0,0 +1,64 @@
+package com.fridgemate.api.service;
+
+import com.fridgemate.api.domain.RecipeBookmark;
+import com.fridgemate.api.dto.shopping.RecipeBookmarkReq;
+import com.fridgemate.api.dto.shopping.RecipeBookmarkResp;
+import com.fridgemate.api.dto.shopping.ShoppingListItem;
+import com.fridgemate.api.repository.RecipeBookmarkRepository;
+import com.fridgemate.api.service.recipe.ShoppingList;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ShoppingListService {
+
+    private final ShoppingList shoppingList;
+    private final RecipeBookmarkRepository bookmarkRepository;
+    private final ObjectProvider<CacheInvalidationBus> invalidationBus;
+
+    /**
+     * 장보기 목록 조회 (재고 변경/즐겨찾기 변경 시 증분 갱신된 목록을 읽기만 한다)
+     */
+    public List<ShoppingListItem> getShoppingList() {
+        return shoppingList.items();
+    }
+
+    /**
+     * 즐겨찾기 목록 조회
+     */
+    public List<RecipeBookmarkResp> getBookmarks() {
+        return bookmarkRepository.findAll().stream()
+                .map(RecipeBookmarkResp::from)
+                .toList();
+    }
+
+    /**
+     * 레시피 즐겨찾기 (이미 있으면 기존 항목 반환)
+     */
+    public RecipeBookmarkResp addBookmark(RecipeBookmarkReq request) {
+        String title = request.getTitle().trim();
+        if (!shoppingList.hasRecipe(title)) {
+            throw new IllegalArgumentException("카탈로그에 없는 레시피입니다: " + title);
+        }
+        RecipeBookmark bookmark = bookmarkRepository.findByTitle(title)
+                .orElseGet(() -> bookmarkRepository.save(new RecipeBookmark(title)));
+        shoppingList.addBookmark(title);
+        invalidationBus.ifAvailable(bus -> bus.publishBookmark(title, true));
+        return RecipeBookmarkResp.from(bookmark);
+    }
+
+    /**
+     * 즐겨찾기 삭제 (없는 ID 면 무시)
+     */
+    public void removeBookmark(Long id) {
+        bookmarkRepository.findById(id).ifPresent(bookmark -> {
+            bookmarkRepository.delete(bookmark);
+            shoppingList.removeBookmark(bookmark.getTitle());
+            invalidationBus.ifAvailable(bus -> bus.publishBookmark(bookmark.getTitle(), false));
+        });
+    }
+}
@@ -0,0 +1,139 @@
+package com.fridgemate.api.service;
+
+import com.fridgemate.api.dto.analytics.WasteBucket;
+import com.fridgemate.api.repository.WasteDailyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+/**
+ * 음식물 낭비 분석 (waste_daily 일별 집계 기반)
+ *
+ * 소비량은 ItemService.consumeItem 이 소비 트랜잭션 안에서 더하고, 만료량은 매일 밤 롤포워드가
+ * 전날까지 유통기한이 지난 남은 로트 수량을 더한다. 조회는 최근 1년치 일별 행(카테고리 수 × 365 이하)만
+ * 주/월 단위로 묶으므로 아이템이나 소비 이력이 늘어도 읽는 양이 일정하다.
+ * 만료량은 만료 시점에 남아 있던 양이며, 만료 후에 소비된 양은 소비량에만 더해진다.
+ * 롤포워드는 진행 위치 이후 날짜만 보므로, 이미 지난 날짜로 유통기한이 잡혀 들어오는 로트(지난 유통기한으로 등록·입고하거나
+ * 수정으로 로트를 갈아엎은 경우)는 ItemService 가 쓰는 트랜잭션 안에서 recordExpiredBehindMark 로 더한다.
+ * 수정 전 로트 중 이미 만료량으로 센 것이 있으면 수정은 정정으로 보고 다시 세지 않는다 (정정 폭은 반영되지 않는다).
+ */
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+public class WasteAnalyticsService {
+
+    /** 카테고리 없는 아이템의 집계 키 */
+    static final String NO_CATEGORY = "";
+
+    private final WasteDailyRepository wasteDailyRepository;
+    private final Clock clock;
+
+    public WasteAnalyticsService(WasteDailyRepository wasteDailyRepository) {
+        this(wasteDailyRepository, Clock.systemDefaultZone());
+    }
+
+    WasteAnalyticsService(WasteDailyRepository wasteDailyRepository, Clock clock) {
+        this.wasteDailyRepository = wasteDailyRepository;
+        this.clock = clock;
+    }
+
+    /**
+     * 집계 단위
+     */
+    public enum Period {
+        WEEK, MONTH;
+
+        public static Period from(String value) {
+            for (Period period : values()) {
+                if (period.name().equalsIgnoreCase(value)) {
+                    return period;
+                }
+            }
+            throw new IllegalArgumentException("지원하지 않는 집계 단위입니다: " + value + " (week, month)");
+        }
+
+        LocalDate start(LocalDate day) {
+            return this == WEEK
+                    ? day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                    : day.withDayOfMonth(1);
+        }
+    }
+
+    /**
+     * 최근 1년간 기간/카테고리별 낭비 집계 (첫 구간이 잘리지 않도록 1년 전이 속한 구간 시작일부터)
+     */
+    public List<WasteBucket> getWaste(Period period) {
+        LocalDate from = period.start(LocalDate.now(clock).minusYears(1));
+        return wasteDailyRepository.sumByBucket(period.name().toLowerCase(), from).stream()
+                .map(WasteAnalyticsService::toBucket)
+                .toList();
+    }
+
+    /**
+     * 소비량 누적 (소비 트랜잭션 안에서 호출)
+     */
+    @Transactional
+    public void recordConsumed(String category, BigDecimal amount) {
+        wasteDailyRepository.addConsumed(LocalDate.now(clock), category != null ? category : NO_CATEGORY, amount);
+    }
+
+    /**
+     * 롤포워드가 이미 지나간 날짜로 유통기한이 잡힌 로트를 만료량에 더한다 (로트를 쓰는 트랜잭션 안에서 호출)
+     * replacedExpiry 는 이번에 갈아엎은 로트의 가장 이른 유통기한 (새 로트를 더하기만 하면 null)
+     */
+    @Transactional
+    public void recordExpiredBehindMark(String category, LocalDate expiryDate, BigDecimal amount, LocalDate replacedExpiry) {
+        if (expiryDate == null || amount == null || amount.signum() <= 0
+                || !expiryDate.isBefore(LocalDate.now(clock))) {
+            return;
+        }
+        wasteDailyRepository.addExpiredBehindMark(expiryDate, category != null ? category : NO_CATEGORY, amount, replacedExpiry);
+    }
+
+    /**
+     * 전날까지 유통기한이 지난 남은 로트를 만료량으로 반영 (매일 밤)
+     * 진행 위치를 DB 에 두므로 며칠 건너뛰어도 다음 실행이 밀린 날짜를 모두 채우고, 여러 인스턴스가 돌아도 한 번만 더해진다
+     */
+    @Scheduled(cron = "${waste.rollup.cron:0 10 0 * * *}")
+    @Transactional
+    public void rollForwardExpired() {
+        LocalDate through = LocalDate.now(clock).minusDays(1);
+        wasteDailyRepository.lockExpiryMark();
+        Object[] result = wasteDailyRepository.rollForwardExpired(through).get(0);
+        long rows = ((Number) result[1]).longValue();
+        if (rows > 0) {
+            log.info("만료량 롤포워드: {} ~ {}, {} 행", toLocalDate(result[0]).plusDays(1), through, rows);
+        }
+    }
+
+    private static WasteBucket toBucket(Object[] row) {
+        BigDecimal consumed = (BigDecimal) row[2];
+        BigDecimal expired = (BigDecimal) row[3];
+        BigDecimal total = consumed.add(expired);
+        String category = (String) row[1];
+        return WasteBucket.builder()
+                .periodStart(toLocalDate(row[0]))
+                .category(NO_CATEGORY.equals(category) ? null : category)
+                .expiredQuantity(expired)
+                .consumedQuantity(consumed)
+                .wasteRate(total.signum() == 0 ? null : expired.divide(total, 3, RoundingMode.HALF_UP))
+                .build();
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof Date date) {
+            return date.toLocalDate();
+        }
+        return (LocalDate) value;
+    }
+}
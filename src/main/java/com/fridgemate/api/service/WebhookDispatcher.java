@@ -0,0 +1,276 @@
+package com.fridgemate.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fridgemate.api.config.ReplicaRoutingDataSource;
+import com.fridgemate.api.domain.ItemEvent;
+import com.fridgemate.api.repository.ItemEventRepository;
+import com.fridgemate.api.repository.WebhookCursorRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * item_events 아웃박스를 설정된 웹훅 URL 들로 배치 전달
+ *
+ * 엔드포인트마다 전달 커서(webhook_cursors)를 따로 두고, 커서 이후 이벤트를 batch-size 개씩 묶어 한 번에 POST 한다.
+ * 순서와 커서는 (기록한 트랜잭션 id, 이벤트 id) 이며, 진행 중인 트랜잭션보다 앞선 이벤트만 읽어 늦게 커밋된 이벤트를 건너뛰지 않는다.
+ * 엔드포인트당 동시에 보내는 배치 수는 max-concurrency 로 제한하고, 앞선 배치가 모두 성공한 지점까지만 커서를 전진한다.
+ * 실패하면 지수 백오프 후 커서 지점부터 다시 보내므로 전달은 최소 한 번(at-least-once)이며, 수신 측은 이벤트 id 로 중복을 거른다.
+ * 쓰기 경로는 아웃박스 한 행만 추가하고 전달은 이 스케줄 작업이 맡는다.
+ */
+@Component
+@Slf4j
+public class WebhookDispatcher {
+
+    private final ItemEventRepository eventRepository;
+    private final WebhookCursorRepository cursorRepository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final Duration timeout;
+    private final long backoffInitialMs;
+    private final long backoffMaxMs;
+    private final List<Endpoint> endpoints;
+    private final HttpClient httpClient;
+
+    public WebhookDispatcher(ItemEventRepository eventRepository,
+                             WebhookCursorRepository cursorRepository,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${webhook.endpoints:}") List<String> endpointUrls,
+                             @Value("${webhook.batch-size:100}") int batchSize,
+                             @Value("${webhook.max-concurrency:2}") int maxConcurrency,
+                             @Value("${webhook.timeout-ms:5000}") long timeoutMs,
+                             @Value("${webhook.backoff.initial-ms:1000}") long backoffInitialMs,
+                             @Value("${webhook.backoff.max-ms:60000}") long backoffMaxMs) {
+        this.eventRepository = eventRepository;
+        this.cursorRepository = cursorRepository;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = Math.max(1, batchSize);
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.backoffInitialMs = backoffInitialMs;
+        this.backoffMaxMs = backoffMaxMs;
+        this.endpoints = endpointUrls.stream()
+                .filter(StringUtils::hasText)
+                .map(url -> new Endpoint(URI.create(url.trim()), Math.max(1, maxConcurrency)))
+                .toList();
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    /**
+     * 엔드포인트별로 보낼 수 있는 만큼 배치를 내보낸다 (완료는 비동기로 처리)
+     */
+    @Scheduled(fixedDelayString = "${webhook.poll-interval-ms:500}")
+    public void dispatch() {
+        for (Endpoint endpoint : endpoints) {
+            try {
+                dispatch(endpoint);
+            } catch (RuntimeException e) {
+                log.error("웹훅 배치 준비 실패 - URL: {}", endpoint.uri, e);
+            }
+        }
+    }
+
+    private void dispatch(Endpoint endpoint) {
+        synchronized (endpoint) {
+            if (!endpoint.loaded) {
+                // 처음 보는 엔드포인트는 지금 이후 이벤트부터 받는다
+                endpoint.cursor = cursorRepository.findById(endpoint.key())
+                        .map(cursor -> new Position(cursor.getLastTxid(), cursor.getLastEventId()))
+                        .orElseGet(() -> {
+                            Position latest = eventRepository.findFirstByOrderByTxidDescIdDesc()
+                                    .map(Position::of)
+                                    .orElse(Position.START);
+                            cursorRepository.advance(endpoint.key(), latest.txid(), latest.eventId());
+                            return latest;
+                        });
+                endpoint.dispatched = endpoint.cursor;
+                endpoint.loaded = true;
+            }
+            if (System.currentTimeMillis() < endpoint.retryAt) {
+                return;
+            }
+        }
+
+        while (endpoint.permits.tryAcquire()) {
+            Batch batch;
+            String body;
+            synchronized (endpoint) {
+                // 가시성 판단(스냅숏 xmin)은 프라이머리의 트랜잭션 기준이어야 한다
+                Position after = endpoint.dispatched;
+                List<ItemEvent> events = ReplicaRoutingDataSource.onPrimary(
+                        () -> eventRepository.findReady(after.txid(), after.eventId(), batchSize));
+                if (events.isEmpty()) {
+                    endpoint.permits.release();
+                    return;
+                }
+                batch = new Batch(endpoint.generation, Position.of(events.get(events.size() - 1)), events.size());
+                body = toBody(events);
+                endpoint.pending.addLast(batch);
+                endpoint.dispatched = batch.last;
+            }
+            send(endpoint, batch, body);
+        }
+    }
+
+    private void send(Endpoint endpoint, Batch batch, String body) {
+        HttpRequest request = HttpRequest.newBuilder(endpoint.uri)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        long started = System.nanoTime();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    boolean success = error == null && response.statusCode() / 100 == 2;
+                    Timer.builder("webhook.delivery")
+                            .description("웹훅 배치 전달 시간")
+                            .tag("endpoint", endpoint.key())
+                            .tag("outcome", success ? "success" : "failure")
+                            .register(meterRegistry)
+                            .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                    if (success) {
+                        meterRegistry.counter("webhook.events.delivered", "endpoint", endpoint.key()).increment(batch.size);
+                    } else {
+                        log.warn("웹훅 전달 실패 - URL: {}, 원인: {}", endpoint.uri,
+                                error != null ? error.toString() : "HTTP " + response.statusCode());
+                    }
+                    complete(endpoint, batch, success);
+                });
+    }
+
+    /**
+     * 배치 완료 처리: 성공이면 앞에서부터 연속으로 끝난 배치까지 커서를 옮기고,
+     * 실패면 백오프를 걸고 커서 지점부터 다시 보내도록 되감는다 (그 사이 끝나는 이전 세대 배치는 무시)
+     */
+    private void complete(Endpoint endpoint, Batch batch, boolean success) {
+        Position advancedTo = null;
+        synchronized (endpoint) {
+            if (batch.generation == endpoint.generation) {
+                if (success) {
+                    batch.done = true;
+                    endpoint.failures = 0;
+                    while (!endpoint.pending.isEmpty() && endpoint.pending.peekFirst().done) {
+                        endpoint.cursor = endpoint.pending.pollFirst().last;
+                        advancedTo = endpoint.cursor;
+                    }
+                } else {
+                    endpoint.failures++;
+                    endpoint.retryAt = System.currentTimeMillis() + backoff(endpoint.failures);
+                    endpoint.generation++;
+                    endpoint.pending.clear();
+                    endpoint.dispatched = endpoint.cursor;
+                }
+            }
+        }
+        endpoint.permits.release();
+
+        if (advancedTo != null) {
+            try {
+                cursorRepository.advance(endpoint.key(), advancedTo.txid(), advancedTo.eventId());
+            } catch (RuntimeException e) {
+                // 다음 성공 때 다시 저장된다 (재시작 전까지는 메모리 커서로 진행)
+                log.warn("웹훅 커서 저장 실패 - URL: {}, 커서: {}", endpoint.uri, advancedTo, e);
+            }
+        }
+    }
+
+    /**
+     * 지수 백오프 (최대값 제한, ±20% 지터)
+     */
+    long backoff(int failures) {
+        long delay = backoffInitialMs << Math.min(failures - 1, 20);
+        delay = Math.min(delay, backoffMaxMs);
+        double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+        return (long) (delay * jitter);
+    }
+
+    private String toBody(List<ItemEvent> events) {
+        ObjectNode body = objectMapper.createObjectNode();
+        ArrayNode array = body.putArray("events");
+        for (ItemEvent event : events) {
+            ObjectNode node = array.addObject();
+            node.put("id", event.getId());
+            node.put("type", event.getType());
+            node.put("itemId", event.getItemId());
+            node.put("occurredAt", event.getCreatedAt() != null ? event.getCreatedAt().toString() : null);
+            try {
+                ObjectNode payload = (ObjectNode) objectMapper.readTree(event.getPayload());
+                node.set("before", payload.get("before"));
+                node.set("after", payload.get("after"));
+            } catch (JsonProcessingException | ClassCastException e) {
+                log.warn("이벤트 본문 해석 실패 - ID: {}", event.getId());
+            }
+        }
+        return body.toString();
+    }
+
+    private static class Endpoint {
+        private final URI uri;
+        private final Semaphore permits;
+        private final Deque<Batch> pending = new ArrayDeque<>();
+
+        private boolean loaded;
+        private Position cursor;
+        private Position dispatched;
+        private int generation;
+        private int failures;
+        private long retryAt;
+
+        Endpoint(URI uri, int maxConcurrency) {
+            this.uri = uri;
+            this.permits = new Semaphore(maxConcurrency);
+        }
+
+        String key() {
+            return uri.toString();
+        }
+    }
+
+    /**
+     * 전달 순서상의 위치 (기록한 트랜잭션 id, 이벤트 id)
+     */
+    private record Position(long txid, long eventId) {
+
+        static final Position START = new Position(0, 0);
+
+        static Position of(ItemEvent event) {
+            return new Position(event.getTxid(), event.getId());
+        }
+    }
+
+    private static class Batch {
+        private final int generation;
+        private final Position last;
+        private final int size;
+        private boolean done;
+
+        Batch(int generation, Position last, int size) {
+            this.generation = generation;
+            this.last = last;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.fridgemate.api.service.recipe;
+
+import com.fridgemate.api.domain.CatalogRecipe;
+import com.fridgemate.api.domain.CatalogRecipeIngredient;
+import com.fridgemate.api.domain.Ingredient;
+import com.fridgemate.api.domain.Item;
+import com.fridgemate.api.dto.recipe.Recipe;
+import com.fridgemate.api.dto.recipe.RecipeIngredient;
+import com.fridgemate.api.dto.recipe.RecipeSuggestionReq;
+import com.fridgemate.api.repository.CatalogRecipeRepository;
+import com.fridgemate.api.repository.IngredientRepository;
+import com.fridgemate.api.service.recipe.RuleBasedRecommender.Holding;
+import com.fridgemate.api.service.recipe.RuleBasedRecommender.RecipeTemplate;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * DB 레시피 카탈로그 기반 추천기
+ *
+ * 카탈로그 전체를 메모리에 올리지 않는다. 보유 재료를 재료 ID 로 바꾼 뒤
+ * recipes.ingredient_ids 의 GIN 인덱스 겹침(&&) 조회 한 번으로 후보 레시피만 가져오고,
+ * 후보만 규칙 기반 추천과 같은 방식으로 점수를 매긴다.
+ * 재료 사전(이름 → ID)과 단위 환산표는 레시피보다 훨씬 작으므로 시작 시 메모리에 올린다.
+ */
+@Component
+@ConditionalOnProperty(name = "recipe.catalog.source", havingValue = "db")
+@Slf4j
+public class CatalogRecommender implements Recommender {
+
+    static final int MAX_CANDIDATES = 500;
+
+    private final CatalogRecipeRepository recipeRepository;
+    private final IngredientRepository ingredientRepository;
+    private final RuleBasedRecommender ruleBasedRecommender;
+    private final RecipeCatalogImporter importer;
+    private final String region;
+
+    private volatile Vocabulary vocabulary;
+
+    public CatalogRecommender(CatalogRecipeRepository recipeRepository,
+                              IngredientRepository ingredientRepository,
+                              RuleBasedRecommender ruleBasedRecommender,
+                              RecipeCatalogImporter importer,
+                              @Value("${recipe.catalog.region:" + CatalogRecipe.DEFAULT_REGION + "}") String region) {
+        this.recipeRepository = recipeRepository;
+        this.ingredientRepository = ingredientRepository;
+        this.ruleBasedRecommender = ruleBasedRecommender;
+        this.importer = importer;
+        this.region = region;
+    }
+
+    @PostConstruct
+    public void init() {
+        importer.importIfEmpty();
+        reload();
+    }
+
+    /**
+     * 재료 사전과 단위 환산표를 다시 읽는다 (카탈로그 갱신 후 호출)
+     */
+    public synchronized void reload() {
+        Map<String, Long> ingredientIds = ingredientRepository.findAll().stream()
+                .collect(Collectors.toMap(Ingredient::getName, Ingredient::getId, (a, b) -> a));
+        IngredientMatcher matcher = new IngredientMatcher(ingredientIds.keySet(), ruleBasedRecommender.synonymGroups());
+
+        Map<String, List<String>> catalogUnits = new HashMap<>();
+        for (Object[] row : recipeRepository.findIngredientUnits()) {
+            catalogUnits.computeIfAbsent((String) row[0], key -> new ArrayList<>()).add((String) row[1]);
+        }
+        Map<String, UnitRegistry.IngredientUnits> configuredUnits = new HashMap<>();
+        ruleBasedRecommender.ingredientUnits().forEach((name, units) -> configuredUnits.put(matcher.catalogKey(name), units));
+
+        this.vocabulary = new Vocabulary(matcher, new UnitRegistry(configuredUnits, catalogUnits), ingredientIds);
+        log.info("DB 레시피 카탈로그 재료 사전 적재: {} 개", ingredientIds.size());
+    }
+
+    @Override
+    public List<Recipe> recommend(List<Item> availableItems, RecipeSuggestionReq request) {
+        Vocabulary vocabulary = this.vocabulary;
+
+        Map<String, Holding> holdings = RuleBasedRecommender.holdings(availableItems, vocabulary.matcher(), vocabulary.units());
+        List<Long> ingredientIds = holdings.keySet().stream()
+                .map(vocabulary.ingredientIds()::get)
+                .filter(Objects::nonNull)
+                .sorted()
+                .toList();
+        if (ingredientIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> candidateIds = recipeRepository.findCandidateIds(region, toArrayLiteral(ingredientIds), MAX_CANDIDATES);
+        if (candidateIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Recipe> recommendations = new ArrayList<>();
+        for (CatalogRecipe catalogRecipe : recipeRepository.findWithIngredientsByIdIn(candidateIds)) {
+            RecipeTemplate template = toTemplate(catalogRecipe, vocabulary.units());
+            if (!RuleBasedRecommender.matchesDiet(template, request.getDiet())) {
+                continue;
+            }
+            Recipe recipe = RuleBasedRecommender.evaluateRecipe(template, holdings, request);
+            if (recipe.getScore().signum() > 0) {
+                recipe.setId(catalogRecipe.getId());
+                recommendations.add(recipe);
+            }
+        }
+
+        return recommendations.stream()
+                .sorted(Comparator.comparing(Recipe::getScore).reversed().thenComparing(Recipe::getId))
+                .limit(RuleBasedRecommender.MAX_RECOMMENDATIONS)
+                .collect(Collectors.toList());
+    }
+
+    static RecipeTemplate toTemplate(CatalogRecipe catalogRecipe, UnitRegistry units) {
+        List<CatalogRecipeIngredient> rows = catalogRecipe.getIngredients();
+        RecipeTemplate template = new RecipeTemplate();
+        template.setTitle(catalogRecipe.getTitle());
+        template.setCategory(catalogRecipe.getCategory());
+        template.setDiet(catalogRecipe.getDiet());
+        template.setEstimatedTimeMin(catalogRecipe.getEstimatedTimeMin());
+        template.setSteps(List.of(catalogRecipe.getSteps()));
+
+        List<RecipeIngredient> ingredients = new ArrayList<>(rows.size());
+        template.ingredientKeys = new String[rows.size()];
+        template.requiredAmounts = new long[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            CatalogRecipeIngredient row = rows.get(i);
+            String key = row.getIngredient().getName();
+            ingredients.add(new RecipeIngredient(row.getName(),
+                    row.getAmount() != null ? row.getAmount().stripTrailingZeros().toPlainString() : "",
+                    row.getUnit(), false));
+            long required = units.toBase(key, row.getAmount(), row.getUnit());
+            template.ingredientKeys[i] = key;
+            // 환산할 수 없는 단위면 보유 여부만 본다
+            template.requiredAmounts[i] = required == UnitRegistry.UNKNOWN ? 0L : required;
+        }
+        template.setIngredients(ingredients);
+        return template;
+    }
+
+    private static String toArrayLiteral(List<Long> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(",", "{", "}"));
+    }
+
+    private record Vocabulary(IngredientMatcher matcher, UnitRegistry units, Map<String, Long> ingredientIds) {
+    }
+}
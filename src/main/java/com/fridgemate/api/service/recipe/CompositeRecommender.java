@@ -0,0 +1,161 @@
+package com.fridgemate.api.service.recipe;
+
+import com.fridgemate.api.domain.Item;
+import com.fridgemate.api.dto.recipe.Recipe;
+import com.fridgemate.api.dto.recipe.RecipeSuggestionReq;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * 등록된 모든 추천기를 한 번에 돌려 결과를 합치는 추천기
+ *
+ * 규칙 기반 출처는 RuleBasedRecommender 로 재고를 다시 훑지 않고, 재고 변경 때마다 갱신되는 CookableRecipeIndex 의 순위를 읽는다.
+ * 각 추천기를 가상 스레드에서 동시에 실행하고, 요청 하나에 하나의 마감 시간을 건다.
+ * 마감 시간까지 끝난 추천기의 결과만 모아 점수를 0 ~ 1 로 맞춘 뒤 제목 기준으로 중복을 합친다.
+ * 같은 레시피를 여러 추천기가 추천하면 가장 높은 점수를 쓰고, 동점이면 더 많이 추천된 쪽을 앞에 둔다.
+ */
+@Component
+@Slf4j
+public class CompositeRecommender implements Recommender {
+
+    private final Supplier<List<Recommender>> sources;
+    private final Duration deadline;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Autowired
+    public CompositeRecommender(ObjectProvider<Recommender> recommenders,
+                                CookableRecipeIndex cookableRecipeIndex,
+                                @Value("${ai.ensemble.timeout-ms:3500}") long timeoutMs) {
+        Recommender ruleSource = (items, request) -> cookableRecipeIndex.rank(request, RuleBasedRecommender.MAX_RECOMMENDATIONS);
+        this.sources = () -> Stream.concat(
+                        Stream.of(ruleSource),
+                        recommenders.orderedStream()
+                                .filter(recommender -> !(recommender instanceof CompositeRecommender)
+                                        && !(recommender instanceof RuleBasedRecommender)))
+                .toList();
+        this.deadline = Duration.ofMillis(timeoutMs);
+    }
+
+    CompositeRecommender(List<Recommender> recommenders, Duration deadline) {
+        this.sources = () -> recommenders;
+        this.deadline = deadline;
+    }
+
+    /**
+     * 합칠 대상 추천기 수 (하나뿐이면 앙상블할 필요가 없다)
+     */
+    public int sourceCount() {
+        return sources.get().size();
+    }
+
+    @Override
+    public List<Recipe> recommend(List<Item> availableItems, RecipeSuggestionReq request) {
+        List<Recommender> recommenders = sources.get();
+        List<CompletableFuture<List<Recipe>>> calls = recommenders.stream()
+                .map(recommender -> CompletableFuture.supplyAsync(() -> recommender.recommendForEnsemble(availableItems, request), executor))
+                .toList();
+
+        try {
+            CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new))
+                    .get(deadline.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // 마감 초과나 일부 실패는 끝난 결과만 쓴다
+            log.debug("추천기 일부가 마감 시간 안에 끝나지 않았거나 실패했습니다: {}", e.toString());
+        }
+
+        Map<String, Merged> merged = new LinkedHashMap<>();
+        for (int i = 0; i < calls.size(); i++) {
+            CompletableFuture<List<Recipe>> call = calls.get(i);
+            if (!call.isDone() || call.isCompletedExceptionally()) {
+                call.cancel(true);
+                log.warn("추천기 결과 제외 - {}", recommenders.get(i).getClass().getSimpleName());
+                continue;
+            }
+            List<Recipe> recipes = call.join();
+            if (recipes == null) {
+                continue;
+            }
+            BigDecimal scale = scaleOf(recipes);
+            for (Recipe recipe : recipes) {
+                String key = titleKey(recipe.getName());
+                if (key.isEmpty()) {
+                    continue;
+                }
+                BigDecimal score = normalize(recipe.getScore(), scale);
+                merged.computeIfAbsent(key, k -> new Merged()).add(recipe, score);
+            }
+        }
+
+        return merged.values().stream()
+                .sorted(Comparator.comparing((Merged m) -> m.score).reversed()
+                        .thenComparing(Comparator.comparingInt((Merged m) -> m.votes).reversed()))
+                .map(Merged::toRecipe)
+                .toList();
+    }
+
+    /**
+     * 추천기마다 점수 범위가 다르므로 최고점이 1 을 넘으면 최고점으로 나눈다 (0 ~ 100 점 척도 등)
+     */
+    private static BigDecimal scaleOf(List<Recipe> recipes) {
+        return recipes.stream()
+                .map(Recipe::getScore)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .filter(max -> max.compareTo(BigDecimal.ONE) > 0)
+                .orElse(BigDecimal.ONE);
+    }
+
+    private static BigDecimal normalize(BigDecimal score, BigDecimal scale) {
+        if (score == null || score.signum() < 0) {
+            return BigDecimal.ZERO.setScale(2);
+        }
+        return score.divide(scale, 2, RoundingMode.HALF_UP);
+    }
+
+    static String titleKey(String title) {
+        if (title == null) {
+            return "";
+        }
+        return Normalizer.normalize(title, Normalizer.Form.NFC)
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("[^\\p{L}\\p{N}]", "");
+    }
+
+    private static class Merged {
+        private Recipe best;
+        private BigDecimal score;
+        private int votes;
+
+        void add(Recipe recipe, BigDecimal normalizedScore) {
+            votes++;
+            if (best == null || normalizedScore.compareTo(score) > 0) {
+                best = recipe;
+                score = normalizedScore;
+            }
+        }
+
+        /**
+         * 원본은 LLM 응답 캐시나 규칙 색인이 들고 있을 수 있으므로 복사본에 합친 점수를 넣는다
+         */
+        Recipe toRecipe() {
+            return best.toBuilder().score(score).build();
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package com.fridgemate.api.service.recipe;
+
+import com.fridgemate.api.dto.recipe.IngredientUnlock;
+import com.fridgemate.api.dto.recipe.Recipe;
+import com.fridgemate.api.dto.recipe.RecipeIngredient;
+import com.fridgemate.api.dto.recipe.RecipeSuggestionReq;
+import com.fridgemate.api.event.ItemSnapshot;
+import com.fridgemate.api.service.recipe.RuleBasedRecommender.Holding;
+import com.fridgemate.api.service.recipe.RuleBasedRecommender.RecipeTemplate;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 레시피별 충족 재료 수를 재고 변경마다 증분 갱신하는 인덱스
+ *
+ * 재료 → (레시피, 재료 슬롯) 역색인을 두고, 아이템이 바뀌면 그 재료가 들어간 레시피만 다시 계산한다.
+ * 레시피는 일치율 내림차순으로 항상 정렬돼 있어서, 추천 시에는 앞에서부터 읽다가
+ * 남은 레시피의 최대 가능 점수가 상위 N개의 최저 점수보다 낮아지면 멈춘다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CookableRecipeIndex implements PantryListener {
+
+    private static final int UNLOCK_TITLE_LIMIT = 3;
+
+    private final RuleBasedRecommender ruleBasedRecommender;
+    private final PantryState pantryState;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 카탈로그 구조 (초기화 후 불변)
+    private List<RecipeTemplate> templates;
+    private IngredientMatcher matcher;
+    private UnitRegistry units;
+    private Map<String, Integer> ingredientIds;
+    private List<String> ingredientKeys;
+    private List<String> ingredientNames;
+    private int[][] postingRecipes;
+    private int[][] postingSlots;
+    private int[][] slotIngredients;
+    private long[][] requiredAmounts;
+
+    // 재고 상태
+    private List<Map<Long, Holding>> holders;
+    private long[] pantryAmounts;
+    private boolean[] unknownUnitHeld;
+    private LocalDate[] earliestExpiries;
+    private boolean[][] satisfied;
+    private int[] satisfiedCounts;
+    private int cookableCount;
+    private NavigableSet<Integer> ranking;
+
+    @PostConstruct
+    public void init() {
+        build(ruleBasedRecommender.templates(), ruleBasedRecommender.matcher(), ruleBasedRecommender.units());
+        pantryState.addListener(this);
+    }
+
+    /**
+     * 현재 재고 기준 상위 레시피 (점수 내림차순)
+     */
+    public List<Recipe> rank(RecipeSuggestionReq request, int limit) {
+        pantryState.fingerprint(); // 최초 호출 시 재고 적재
+        LocalDate freshnessLimit = LocalDate.now().plusDays(RuleBasedRecommender.FRESHNESS_DAYS);
+
+        lock.readLock().lock();
+        try {
+            PriorityQueue<Candidate> top = new PriorityQueue<>(
+                    Comparator.comparing(Candidate::score).thenComparing(Candidate::recipe, Comparator.reverseOrder()));
+
+            for (int recipe : ranking) {
+                int count = satisfiedCounts[recipe];
+                if (count == 0) {
+                    break;
+                }
+                int total = slotIngredients[recipe].length;
+                if (top.size() == limit) {
+                    // 남은 레시피는 일치율이 같거나 낮으므로 신선도 가점을 모두 받아도 못 넘으면 종료
+                    BigDecimal upperBound = RuleBasedRecommender.score(count, total, total);
+                    if (upperBound.compareTo(top.peek().score()) < 0) {
+                        break;
+                    }
+                }
+                if (!RuleBasedRecommender.matchesDiet(templates.get(recipe), request.getDiet())) {
+                    continue;
+                }
+
+                BigDecimal score = RuleBasedRecommender.score(count, total, freshCount(recipe, freshnessLimit));
+                top.add(new Candidate(recipe, score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<Candidate> ordered = new ArrayList<>(top);
+            ordered.sort(Comparator.comparing(Candidate::score).reversed().thenComparing(Candidate::recipe));
+            return ordered.stream()
+                    .map(candidate -> RuleBasedRecommender.toRecipe(
+                            templates.get(candidate.recipe()),
+                            satisfied[candidate.recipe()].clone(),
+                            candidate.score(),
+                            request))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 하나만 더 사면 완성되거나 일치율 기준을 넘는 레시피가 많은 재료 순위
+     *
+     * 재료별 카운터를 두고 역색인의 (재료, 레시피) 항목을 한 번만 훑는다.
+     * 아직 충족되지 않은 항목마다 "그 재료를 사면 충족 수가 하나 늘어난다"로 보고
+     * 완성/기준 통과 여부와 구매 후 점수를 해당 재료 카운터에 더한다.
+     */
+    public List<IngredientUnlock> unlock(double threshold, int limit, String diet) {
+        pantryState.fingerprint();
+
+        lock.readLock().lock();
+        try {
+            int ingredientCount = ingredientIds.size();
+            int[] completed = new int[ingredientCount];
+            int[] crossed = new int[ingredientCount];
+            BigDecimal[] gains = new BigDecimal[ingredientCount];
+            List<List<String>> completedTitles = new ArrayList<>(ingredientCount);
+
+            for (int id = 0; id < ingredientCount; id++) {
+                completedTitles.add(null);
+                int[] recipes = postingRecipes[id];
+                int[] slots = postingSlots[id];
+
+                for (int i = 0; i < recipes.length; i++) {
+                    int recipe = recipes[i];
+                    if (satisfied[recipe][slots[i]]
+                            || !RuleBasedRecommender.matchesDiet(templates.get(recipe), diet)) {
+                        continue;
+                    }
+
+                    int total = slotIngredients[recipe].length;
+                    int after = satisfiedCounts[recipe] + 1;
+                    boolean completes = after == total;
+                    boolean crosses = satisfiedCounts[recipe] < threshold * total && after >= threshold * total;
+                    if (!completes && !crosses) {
+                        continue;
+                    }
+
+                    BigDecimal weight = RuleBasedRecommender.score(after, total, 0);
+                    gains[id] = gains[id] == null ? weight : gains[id].add(weight);
+                    if (crosses) {
+                        crossed[id]++;
+                    }
+                    if (completes) {
+                        completed[id]++;
+                        if (completedTitles.get(id) == null) {
+                            completedTitles.set(id, new ArrayList<>(UNLOCK_TITLE_LIMIT));
+                        }
+                        if (completedTitles.get(id).size() < UNLOCK_TITLE_LIMIT) {
+                            completedTitles.get(id).add(templates.get(recipe).getTitle());
+                        }
+                    }
+                }
+            }
+
+            List<Integer> candidates = new ArrayList<>();
+            for (int id = 0; id < ingredientCount; id++) {
+                if (gains[id] != null) {
+                    candidates.add(id);
+                }
+            }
+            candidates.sort(Comparator.<Integer, BigDecimal>comparing(id -> gains[id]).reversed()
+                    .thenComparing(id -> -completed[id])
+                    .thenComparing(id -> id));
+
+            return candidates.stream()
+                    .limit(limit)
+                    .map(id -> IngredientUnlock.builder()
+                            .name(ingredientNames.get(id))
+                            .completedRecipes(completed[id])
+                            .thresholdRecipes(crossed[id])
+                            .gain(gains[id])
+                            .recipes(completedTitles.get(id) != null ? completedTitles.get(id) : List.of())
+                            .build())
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 모든 재료를 갖춘 레시피 수
+     */
+    public int cookableCount() {
+        pantryState.fingerprint();
+        lock.readLock().lock();
+        try {
+            return cookableCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onPantryReset(Collection<ItemSnapshot> items) {
+        lock.writeLock().lock();
+        try {
+            resetState();
+            for (ItemSnapshot item : items) {
+                update(null, item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onItemChanged(ItemSnapshot before, ItemSnapshot after) {
+        lock.writeLock().lock();
+        try {
+            update(before, after);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void build(List<RecipeTemplate> catalog, IngredientMatcher ingredientMatcher, UnitRegistry unitRegistry) {
+        templates = catalog;
+        matcher = ingredientMatcher;
+        units = unitRegistry;
+        ingredientIds = new HashMap<>();
+        ingredientKeys = new ArrayList<>();
+        ingredientNames = new ArrayList<>();
+        slotIngredients = new int[catalog.size()][];
+        requiredAmounts = new long[catalog.size()][];
+
+        List<List<int[]>> postings = new ArrayList<>();
+        for (int recipe = 0; recipe < catalog.size(); recipe++) {
+            RecipeTemplate template = catalog.get(recipe);
+            List<RecipeIngredient> ingredients = template.getIngredients();
+            slotIngredients[recipe] = new int[ingredients.size()];
+            requiredAmounts[recipe] = template.requiredAmounts.clone();
+
+            for (int slot = 0; slot < ingredients.size(); slot++) {
+                RecipeIngredient ingredient = ingredients.get(slot);
+                int id = ingredientIds.computeIfAbsent(template.ingredientKeys[slot], name -> {
+                    postings.add(new ArrayList<>());
+                    ingredientKeys.add(name);
+                    ingredientNames.add(ingredient.getName().trim());
+                    return postings.size() - 1;
+                });
+                slotIngredients[recipe][slot] = id;
+                postings.get(id).add(new int[]{recipe, slot});
+            }
+        }
+
+        postingRecipes = new int[postings.size()][];
+        postingSlots = new int[postings.size()][];
+        for (int id = 0; id < postings.size(); id++) {
+            List<int[]> list = postings.get(id);
+            postingRecipes[id] = list.stream().mapToInt(posting -> posting[0]).toArray();
+            postingSlots[id] = list.stream().mapToInt(posting -> posting[1]).toArray();
+        }
+
+        resetState();
+        log.info("레시피 역색인 구성: 레시피 {} 개, 재료 {} 종", catalog.size(), ingredientIds.size());
+    }
+
+    private void resetState() {
+        int ingredientCount = ingredientIds.size();
+        holders = new ArrayList<>(ingredientCount);
+        for (int id = 0; id < ingredientCount; id++) {
+            holders.add(new HashMap<>(2));
+        }
+        pantryAmounts = new long[ingredientCount];
+        unknownUnitHeld = new boolean[ingredientCount];
+        earliestExpiries = new LocalDate[ingredientCount];
+
+        satisfied = new boolean[templates.size()][];
+        satisfiedCounts = new int[templates.size()];
+        cookableCount = 0;
+        ranking = new TreeSet<>(this::compareRecipes);
+        for (int recipe = 0; recipe < templates.size(); recipe++) {
+            satisfied[recipe] = new boolean[slotIngredients[recipe].length];
+            if (slotIngredients[recipe].length > 0) {
+                ranking.add(recipe);
+            }
+        }
+    }
+
+    private void update(ItemSnapshot before, ItemSnapshot after) {
+        Integer beforeId = before != null ? ingredientId(before.getName()) : null;
+        Integer afterId = after != null ? ingredientId(after.getName()) : null;
+
+        if (beforeId != null) {
+            holders.get(beforeId).remove(before.getId());
+        }
+        if (afterId != null) {
+            // 재고가 바뀔 때 한 번만 기준 단위로 환산해 둔다
+            long amount = units.toBase(ingredientKeys.get(afterId), after.getQuantity(), after.getUnit());
+            holders.get(afterId).put(after.getId(), Holding.of(amount, after.getExpiryDate()));
+        }
+
+        if (beforeId != null) {
+            refreshIngredient(beforeId);
+        }
+        if (afterId != null && !afterId.equals(beforeId)) {
+            refreshIngredient(afterId);
+        }
+    }
+
+    private Integer ingredientId(String itemName) {
+        String key = matcher.match(itemName);
+        return key != null ? ingredientIds.get(key) : null;
+    }
+
+    /**
+     * 재료 하나의 보유량/최단 유통기한을 다시 집계하고, 그 재료를 쓰는 레시피의 충족 여부만 갱신한다
+     */
+    private void refreshIngredient(int id) {
+        Holding holding = holders.get(id).values().stream()
+                .reduce(Holding::plus)
+                .orElse(Holding.of(0L, null));
+        long held = holding.amount();
+        boolean unknown = holding.unknownUnit();
+        pantryAmounts[id] = held;
+        unknownUnitHeld[id] = unknown;
+        earliestExpiries[id] = holding.earliestExpiry();
+
+        int[] recipes = postingRecipes[id];
+        int[] slots = postingSlots[id];
+        for (int i = 0; i < recipes.length; i++) {
+            int recipe = recipes[i];
+            int slot = slots[i];
+            boolean nowSatisfied = RuleBasedRecommender.covers(held, unknown, requiredAmounts[recipe][slot]);
+            if (satisfied[recipe][slot] == nowSatisfied) {
+                continue;
+            }
+
+            int total = slotIngredients[recipe].length;
+            ranking.remove(recipe);
+            if (satisfiedCounts[recipe] == total) {
+                cookableCount--;
+            }
+            satisfied[recipe][slot] = nowSatisfied;
+            satisfiedCounts[recipe] += nowSatisfied ? 1 : -1;
+            if (satisfiedCounts[recipe] == total) {
+                cookableCount++;
+            }
+            ranking.add(recipe);
+        }
+    }
+
+    private int freshCount(int recipe, LocalDate freshnessLimit) {
+        int fresh = 0;
+        int[] ingredients = slotIngredients[recipe];
+        for (int slot = 0; slot < ingredients.length; slot++) {
+            LocalDate expiry = earliestExpiries[ingredients[slot]];
+            if (satisfied[recipe][slot] && expiry != null && !expiry.isAfter(freshnessLimit)) {
+                fresh++;
+            }
+        }
+        return fresh;
+    }
+
+    /**
+     * 일치율 내림차순, 같으면 카탈로그 순서
+     */
+    private int compareRecipes(int a, int b) {
+        long left = (long) satisfiedCounts[b] * slotIngredients[a].length;
+        long right = (long) satisfiedCounts[a] * slotIngredients[b].length;
+        int byRatio = Long.compare(left, right);
+        return byRatio != 0 ? byRatio : Integer.compare(a, b);
+    }
+
+    private record Candidate(int recipe, BigDecimal score) {
+    }
+}
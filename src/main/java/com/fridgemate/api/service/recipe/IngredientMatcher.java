@@ -0,0 +1,199 @@
+package com.fridgemate.api.service.recipe;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * 보유 재료 이름을 레시피 카탈로그의 재료 키로 매칭한다
+ *
+ * 1. 정규화: 소문자, 괄호 내용/수량 표기("500g", "2개") 및 공백·기호 제거
+ * 2. 동의어: 동의어 표로 대표 이름으로 바꾼다 (대파/쪽파 → 파, 달걀 → 계란)
+ * 3. 카탈로그에 같은 키가 있으면 그대로 사용
+ * 4. 없으면 카탈로그 재료명의 문자 2-gram 역색인에서 후보를 뽑고,
+ *    공유 gram 이 많은 상위 몇 개만 중심어 규칙/유사도로 검증한다
+ *
+ * 카탈로그 쪽 색인은 레시피를 로드할 때 한 번 만들고, 보유 재료 이름별 결과는 기억해 둔다.
+ */
+public class IngredientMatcher {
+
+    private static final Pattern BRACKETS = Pattern.compile("\\([^)]*\\)|\\[[^]]*]");
+    private static final Pattern QUANTITY = Pattern.compile(
+            "\\d+(?:[.,]\\d+)?\\s*(?:kg|mg|ml|g|l|개|팩|봉지|봉|병|캔|통|줄기|단|장|알|쪽|공기|컵|큰술|작은술)?");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]");
+
+    /**
+     * 중심어 앞에 붙어도 같은 재료로 보는 수식어 (크기/손질/산지/가공 상태).
+     * 양파 → 파, 고추장 → 고추처럼 다른 재료가 되는 앞말은 여기 없으므로 일치로 보지 않는다.
+     */
+    private static final List<String> MODIFIERS = List.of(
+            "다진", "깐", "통", "채썬", "썬", "손질", "냉동", "냉장", "생", "건", "말린", "삶은", "볶은", "훈제",
+            "햇", "국산", "수입", "유기농", "무농약", "대", "쪽", "실", "왕", "특", "양조", "진", "국", "흰", "저지방", "멸균");
+
+    private static final int MAX_CANDIDATES = 5;
+    private static final double MIN_SIMILARITY = 0.6;
+    private static final int MAX_MEMO_SIZE = 10_000;
+    private static final String NO_MATCH = "";
+
+    private final Map<String, String> synonyms;
+    private final Set<String> catalogKeys;
+    private final Map<String, int[]> gramIndex;
+    private final List<String> keysById;
+    private final Map<String, String> memo = new ConcurrentHashMap<>();
+
+    /**
+     * @param catalogNames 카탈로그 재료명 (원문)
+     * @param synonymGroups 대표 이름 → 별칭 목록
+     */
+    public IngredientMatcher(Collection<String> catalogNames, Map<String, List<String>> synonymGroups) {
+        this.synonyms = new HashMap<>();
+        synonymGroups.forEach((canonical, aliases) -> {
+            String key = normalize(canonical);
+            synonyms.put(key, key);
+            aliases.forEach(alias -> synonyms.put(normalize(alias), key));
+        });
+
+        this.catalogKeys = new LinkedHashSet<>();
+        catalogNames.forEach(name -> {
+            String key = catalogKey(name);
+            if (!key.isEmpty()) {
+                catalogKeys.add(key);
+            }
+        });
+
+        this.keysById = new ArrayList<>(catalogKeys);
+        Map<String, List<Integer>> postings = new HashMap<>();
+        for (int id = 0; id < keysById.size(); id++) {
+            for (String gram : grams(keysById.get(id))) {
+                postings.computeIfAbsent(gram, g -> new ArrayList<>()).add(id);
+            }
+        }
+        this.gramIndex = new HashMap<>();
+        postings.forEach((gram, ids) -> gramIndex.put(gram, ids.stream().distinct().mapToInt(Integer::intValue).toArray()));
+    }
+
+    /**
+     * 카탈로그 재료명의 키 (정규화 + 동의어)
+     */
+    public String catalogKey(String ingredientName) {
+        String normalized = normalize(ingredientName);
+        return synonyms.getOrDefault(normalized, normalized);
+    }
+
+    /**
+     * 보유 재료 이름에 해당하는 카탈로그 재료 키 (없으면 null)
+     */
+    public String match(String itemName) {
+        if (itemName == null) {
+            return null;
+        }
+        String cached = memo.get(itemName);
+        if (cached == null) {
+            cached = Objects.requireNonNullElse(resolve(itemName), NO_MATCH);
+            if (memo.size() >= MAX_MEMO_SIZE) {
+                memo.clear();
+            }
+            memo.put(itemName, cached);
+        }
+        return cached.isEmpty() ? null : cached;
+    }
+
+    private String resolve(String itemName) {
+        String key = catalogKey(itemName);
+        if (key.isEmpty()) {
+            return null;
+        }
+        if (catalogKeys.contains(key)) {
+            return key;
+        }
+
+        // 후보 생성: 공유 gram 수 집계
+        Map<Integer, Integer> shared = new HashMap<>();
+        Set<String> queryGrams = grams(key);
+        for (String gram : queryGrams) {
+            int[] ids = gramIndex.get(gram);
+            if (ids != null) {
+                for (int id : ids) {
+                    shared.merge(id, 1, Integer::sum);
+                }
+            }
+        }
+        if (shared.isEmpty()) {
+            return null;
+        }
+
+        // 상위 후보만 검증
+        return shared.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(MAX_CANDIDATES)
+                .map(entry -> {
+                    String candidate = keysById.get(entry.getKey());
+                    return Map.entry(candidate, similarity(key, queryGrams, candidate, entry.getValue()));
+                })
+                .filter(entry -> entry.getValue() >= MIN_SIMILARITY)
+                .max(Map.Entry.<String, Double>comparingByValue().thenComparing(entry -> entry.getKey().length()))
+                .map(Map.Entry::getKey)
+                .orElse(null);
+    }
+
+    /**
+     * 한국어 복합 명사는 뒤쪽이 중심어이므로, 카탈로그 이름 앞에 알려진 수식어만 붙은 경우 일치로 본다 (실파 → 파, 다진마늘 → 마늘).
+     * 카탈로그 이름을 품은 다른 복합어는 불일치이고, 그 외(띄어쓰기/오타 차이)에는 2-gram Dice 계수를 쓴다.
+     */
+    private static double similarity(String query, Set<String> queryGrams, String candidate, int sharedGrams) {
+        if (query.endsWith(candidate) && isModifiers(query.substring(0, query.length() - candidate.length()))) {
+            return 1.0;
+        }
+        if (query.contains(candidate)) {
+            // 수식어가 아닌 말이 붙은 복합어는 다른 재료다 (고추장, 간장게장)
+            return 0.0;
+        }
+        int candidateGrams = grams(candidate).size();
+        return 2.0 * sharedGrams / (queryGrams.size() + candidateGrams);
+    }
+
+    /**
+     * 앞말이 수식어만으로 이루어졌는지 (국산다진 처럼 여러 개가 이어져도 된다)
+     */
+    static boolean isModifiers(String prefix) {
+        if (prefix.isEmpty()) {
+            return false;
+        }
+        boolean[] reachable = new boolean[prefix.length() + 1];
+        reachable[0] = true;
+        for (int i = 0; i < prefix.length(); i++) {
+            if (!reachable[i]) {
+                continue;
+            }
+            for (String modifier : MODIFIERS) {
+                if (prefix.startsWith(modifier, i)) {
+                    reachable[i + modifier.length()] = true;
+                }
+            }
+        }
+        return reachable[prefix.length()];
+    }
+
+    /**
+     * 앞뒤 경계 문자를 붙인 문자 2-gram (한 글자 이름도 색인되도록)
+     */
+    static Set<String> grams(String key) {
+        String padded = "^" + key + "$";
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 2 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 2));
+        }
+        return grams;
+    }
+
+    static String normalize(String raw) {
+        if (raw == null) {
+            return "";
+        }
+        String text = Normalizer.normalize(raw, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+        text = BRACKETS.matcher(text).replaceAll(" ");
+        text = QUANTITY.matcher(text).replaceAll(" ");
+        return NON_WORD.matcher(text).replaceAll("");
+    }
+}
@@ -1,78 +1,406 @@
 package com.fridgemate.api.service.recipe;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fridgemate.api.domain.Item;
 import com.fridgemate.api.dto.recipe.Recipe;
+import com.fridgemate.api.dto.recipe.RecipeIngredient;
 import com.fridgemate.api.dto.recipe.RecipeSuggestionReq;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * LLM 기반 레시피 추천기
- * 현재는 기본 구현만 제공하고, 실제 LLM 호출 부분은 TODO로 남겨둠
+ *
+ * 비동기 HTTP 호출에 요청별 마감 시간을 걸고, 서킷 브레이커와 동시 호출 수 제한(벌크헤드)으로 보호한다.
+ * 마감 초과, 브레이커 열림, 동시 호출 초과, 응답 오류 시에는 규칙 기반 추천으로 대체하므로
+ * 추천 응답 시간은 LLM 제공자가 아니라 마감 시간에 묶인다.
+ * 정상 응답은 보유 재료를 정규화한 키로 디스크 캐시에 남겨 비슷한 냉장고의 요청에 재사용한다.
  */
 @Component
 @ConditionalOnProperty(name = "ai.provider", havingValue = "llm")
 @Slf4j
 public class LlmRecommender implements Recommender {
 
-    @Value("${ai.llm.api-key:}")
-    private String apiKey;
-    
-    @Value("${ai.llm.base-url:}")
-    private String baseUrl;
+    private final RuleBasedRecommender fallback;
+    private final LlmResponseCache responseCache;
+    private final ObjectMapper objectMapper;
+    private final String apiKey;
+    private final String baseUrl;
+    private final String model;
+    private final Duration deadline;
+    private final Duration streamDeadline;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final HttpClient httpClient;
+    /** 스트림 읽기와 완료 처리(대체 추천 포함)를 돌리는 실행기 (JDK 의 orTimeout 스케줄러 스레드를 붙잡지 않게) */
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public LlmRecommender(RuleBasedRecommender fallback,
+                          LlmResponseCache responseCache,
+                          ObjectMapper objectMapper,
+                          @Value("${ai.llm.api-key:}") String apiKey,
+                          @Value("${ai.llm.base-url:}") String baseUrl,
+                          @Value("${ai.llm.model:gpt-4o-mini}") String model,
+                          @Value("${ai.llm.timeout-ms:3000}") long timeoutMs,
+                          @Value("${ai.llm.stream-timeout-ms:20000}") long streamTimeoutMs,
+                          @Value("${ai.llm.max-concurrent-calls:4}") int maxConcurrentCalls,
+                          @Value("${ai.llm.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                          @Value("${ai.llm.circuit-breaker.open-seconds:30}") long openSeconds) {
+        this.fallback = fallback;
+        this.responseCache = responseCache;
+        this.objectMapper = objectMapper;
+        this.apiKey = apiKey;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.model = model;
+        this.deadline = Duration.ofMillis(timeoutMs);
+        this.streamDeadline = Duration.ofMillis(streamTimeoutMs);
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, Duration.ofSeconds(openSeconds));
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(deadline)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
 
     @Override
     public List<Recipe> recommend(List<Item> availableItems, RecipeSuggestionReq request) {
+        return recommendAsync(availableItems, request).join();
+    }
+
+    /**
+     * 앙상블용 추천: LLM 결과를 못 얻으면 규칙 기반 결과 대신 빈 목록을 반환한다
+     * (규칙 기반 결과는 앙상블이 따로 넣으므로 대체 결과까지 넣으면 같은 출처가 두 표가 된다)
+     */
+    @Override
+    public List<Recipe> recommendForEnsemble(List<Item> availableItems, RecipeSuggestionReq request) {
+        return recommendAsync(availableItems, request, List::of).join();
+    }
+
+    /**
+     * 마감 시간 안에 끝나는 비동기 추천 (실패 시 규칙 기반 결과로 완료된다)
+     */
+    public CompletableFuture<List<Recipe>> recommendAsync(List<Item> availableItems, RecipeSuggestionReq request) {
+        return recommendAsync(availableItems, request, () -> fallback.recommend(availableItems, request));
+    }
+
+    private CompletableFuture<List<Recipe>> recommendAsync(List<Item> availableItems, RecipeSuggestionReq request,
+                                                           Supplier<List<Recipe>> fallbackResult) {
         log.info("LLM 레시피 추천 요청 - 보유 재료 수: {}", availableItems.size());
-        
+
         if (apiKey.isEmpty()) {
-            log.warn("LLM API 키가 설정되지 않았습니다. 기본 레시피를 반환합니다.");
-            return getDefaultRecipes();
+            log.warn("LLM API 키가 설정되지 않았습니다. 규칙 기반 추천으로 대체합니다.");
+            return CompletableFuture.completedFuture(fallbackResult.get());
         }
 
+        String cacheKey = LlmResponseCache.canonicalKey(availableItems, request,
+                fallback.matcher(), fallback.units(), LocalDate.now());
+        Optional<List<Recipe>> cached = responseCache.get(cacheKey);
+        if (cached.isPresent()) {
+            log.info("LLM 캐시 적중 - 레시피 수: {}", cached.get().size());
+            return CompletableFuture.completedFuture(cached.get());
+        }
+
+        if (!acquireCall()) {
+            return CompletableFuture.completedFuture(fallbackResult.get());
+        }
+
+        CompletableFuture<HttpResponse<String>> exchange;
         try {
-            // TODO: 실제 LLM API 호출 구현
-            return callLlmApi(availableItems, request);
-        } catch (Exception e) {
-            log.error("LLM API 호출 실패, 기본 레시피로 대체", e);
-            return getDefaultRecipes();
+            exchange = callLlmApi(availableItems, request);
+        } catch (RuntimeException e) {
+            bulkhead.release();
+            circuitBreaker.recordFailure();
+            log.error("LLM API 호출 실패, 규칙 기반 추천으로 대체", e);
+            return CompletableFuture.completedFuture(fallbackResult.get());
+        }
+        // 허가는 HTTP 교환 자체가 끝날 때 반납한다 (마감 초과 시에는 교환을 중단시킨 뒤에야 자리가 빈다)
+        exchange.whenComplete((response, error) -> bulkhead.release());
+        CompletableFuture<List<Recipe>> call = exchange.thenApply(response -> {
+            if (response.statusCode() / 100 != 2) {
+                throw new IllegalStateException("LLM API 응답 오류: HTTP " + response.statusCode());
+            }
+            return parseResponse(response.body(), request);
+        });
+
+        return call.orTimeout(deadline.toMillis(), TimeUnit.MILLISECONDS)
+                .handleAsync((recipes, error) -> {
+                    if (error == null) {
+                        circuitBreaker.recordSuccess();
+                        responseCache.put(cacheKey, recipes);
+                        return recipes;
+                    }
+                    // 파생 단계가 아니라 sendAsync 의 퓨처를 취소해야 HTTP 교환이 중단된다
+                    exchange.cancel(true);
+                    circuitBreaker.recordFailure();
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    log.error("LLM API 호출 실패({}), 규칙 기반 추천으로 대체", cause.toString());
+                    return fallbackResult.get();
+                }, executor);
+    }
+
+    /**
+     * 스트리밍 응답에서 레시피가 하나 완성될 때마다 onRecipe 로 넘긴다
+     *
+     * 규칙 기반 결과는 호출자가 먼저 보냈다고 보고, 실패 시에는 대체 추천 없이 지금까지 보낸 것으로 끝낸다.
+     * onRecipe 가 false 를 반환하면(받는 쪽이 끊김) 읽기를 멈춘다. 끝까지 받은 응답만 캐시에 남긴다.
+     * 반환값은 넘긴 레시피 목록이며 항상 정상 완료된다.
+     */
+    public CompletableFuture<List<Recipe>> streamAsync(List<Item> availableItems, RecipeSuggestionReq request,
+                                                       Predicate<Recipe> onRecipe) {
+        if (apiKey.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+
+        String cacheKey = LlmResponseCache.canonicalKey(availableItems, request,
+                fallback.matcher(), fallback.units(), LocalDate.now());
+        Optional<List<Recipe>> cached = responseCache.get(cacheKey);
+        if (cached.isPresent()) {
+            for (Recipe recipe : cached.get()) {
+                if (!onRecipe.test(recipe)) {
+                    break;
+                }
+            }
+            return CompletableFuture.completedFuture(cached.get());
+        }
+
+        if (!acquireCall()) {
+            return CompletableFuture.completedFuture(List.of());
         }
+
+        List<Recipe> emitted = new CopyOnWriteArrayList<>();
+        AtomicBoolean abandoned = new AtomicBoolean();
+        AtomicBoolean expired = new AtomicBoolean();
+        AtomicReference<Stream<String>> body = new AtomicReference<>();
+        HttpRequest httpRequest = chatRequest(buildPrompt(availableItems, request), true, streamDeadline);
+
+        CompletableFuture<HttpResponse<Stream<String>>> exchange =
+                httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofLines());
+        CompletableFuture<List<Recipe>> call = exchange
+                .thenApplyAsync(response -> {
+                    body.set(response.body());
+                    try (Stream<String> lines = response.body()) {
+                        if (expired.get()) {
+                            // 마감 처리가 본문을 보기 전에 끝났으면 여기서 닫고 그만 읽는다
+                            throw new IllegalStateException("LLM 스트리밍 마감 초과");
+                        }
+                        if (response.statusCode() / 100 != 2) {
+                            throw new IllegalStateException("LLM API 응답 오류: HTTP " + response.statusCode());
+                        }
+                        RecipeStreamParser parser = new RecipeStreamParser();
+                        Iterator<String> iterator = lines.iterator();
+                        while (iterator.hasNext()) {
+                            String content = deltaContent(iterator.next());
+                            if (content == null) {
+                                break;
+                            }
+                            for (String json : parser.feed(content)) {
+                                Recipe recipe = toRecipe(readTree(json), request);
+                                emitted.add(recipe);
+                                if (!onRecipe.test(recipe)) {
+                                    abandoned.set(true);
+                                    return List.copyOf(emitted);
+                                }
+                            }
+                        }
+                    }
+                    return List.copyOf(emitted);
+                }, executor);
+        // 스트리밍은 헤더를 받은 뒤에도 본문을 읽는 동안 교환이 이어지므로, 본문 읽기까지 끝나야 허가를 반납한다
+        call.whenComplete((recipes, error) -> bulkhead.release());
+
+        return call.orTimeout(streamDeadline.toMillis(), TimeUnit.MILLISECONDS)
+                .handleAsync((recipes, error) -> {
+                    if (error == null) {
+                        circuitBreaker.recordSuccess();
+                        if (!abandoned.get()) {
+                            responseCache.put(cacheKey, recipes);
+                        }
+                        return recipes;
+                    }
+                    // 헤더 전이면 교환을 취소하고, 본문을 읽는 중이면 본문을 닫아 읽기 단계를 끝낸다
+                    expired.set(true);
+                    exchange.cancel(true);
+                    Stream<String> open = body.get();
+                    if (open != null) {
+                        open.close();
+                    }
+                    circuitBreaker.recordFailure();
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    log.error("LLM 스트리밍 실패({}), 받은 레시피 {}개로 종료", cause.toString(), emitted.size());
+                    return List.copyOf(emitted);
+                }, executor);
     }
 
-    private List<Recipe> callLlmApi(List<Item> availableItems, RecipeSuggestionReq request) {
-        // TODO: 실제 LLM API 호출 로직 구현
-        // 1. 보유 재료 목록을 프롬프트로 구성
-        // 2. LLM API 호출 (OpenAI, Claude, etc.)
-        // 3. 응답을 Recipe 객체로 파싱
-        // 4. 점수 계산 및 정렬
-        
+    /**
+     * 서킷 브레이커와 동시 호출 한도를 통과하면 true (통과하면 호출이 끝날 때 허가를 반납해야 한다)
+     */
+    private boolean acquireCall() {
+        if (!circuitBreaker.tryAcquire()) {
+            log.warn("LLM 서킷 브레이커 열림, 규칙 기반 추천으로 대체");
+            return false;
+        }
+        if (!bulkhead.tryAcquire()) {
+            // 호출하지 않았으므로 시험 호출 자리만 돌려준다 (성공으로도 실패로도 치지 않음)
+            circuitBreaker.releaseTrial();
+            log.warn("LLM 동시 호출 한도 초과, 규칙 기반 추천으로 대체");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * SSE 한 줄에서 내용 조각을 꺼낸다 (스트림 종료 시 null, 내용이 없으면 빈 문자열)
+     */
+    private String deltaContent(String line) {
+        if (!line.startsWith("data:")) {
+            return "";
+        }
+        String data = line.substring(5).trim();
+        if (data.equals("[DONE]")) {
+            return null;
+        }
+        return readTree(data).path("choices").path(0).path("delta").path("content").asText("");
+    }
+
+    private JsonNode readTree(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (IOException e) {
+            throw new IllegalStateException("LLM 응답 파싱 실패", e);
+        }
+    }
+
+    CircuitBreaker.State circuitState() {
+        return circuitBreaker.getState();
+    }
+
+    /**
+     * HTTP 교환 퓨처를 그대로 반환한다 (취소하면 교환이 중단된다)
+     */
+    private CompletableFuture<HttpResponse<String>> callLlmApi(List<Item> availableItems, RecipeSuggestionReq request) {
         log.info("LLM API 호출 - BaseURL: {}, 재료 수: {}", baseUrl, availableItems.size());
-        
+
         String prompt = buildPrompt(availableItems, request);
         log.debug("LLM 프롬프트: {}", prompt);
-        
-        // 실제 구현 예시:
-        // String response = httpClient.post(baseUrl + "/v1/chat/completions")
-        //     .header("Authorization", "Bearer " + apiKey)
-        //     .body(buildRequestBody(prompt))
-        //     .execute();
-        // return parseResponse(response);
-        
-        // 현재는 모의 응답 반환
-        return getDefaultRecipes();
-    }
-
-    private String buildPrompt(List<Item> availableItems, RecipeSuggestionReq request) {
+
+        HttpRequest httpRequest = chatRequest(prompt, false, deadline);
+
+        return httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest chatRequest(String prompt, boolean stream, Duration timeout) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/v1/chat/completions"))
+                .timeout(timeout)
+                .header("Authorization", "Bearer " + apiKey)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(buildRequestBody(prompt, stream)))
+                .build();
+    }
+
+    private String buildRequestBody(String prompt, boolean stream) {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("model", model);
+        body.put("temperature", 0.3);
+        body.put("stream", stream);
+        ObjectNode message = body.putArray("messages").addObject();
+        message.put("role", "user");
+        message.put("content", prompt);
+        return body.toString();
+    }
+
+    /**
+     * chat completions 응답에서 레시피 JSON 을 꺼내 Recipe 목록으로 변환한다
+     */
+    List<Recipe> parseResponse(String responseBody, RecipeSuggestionReq request) {
+        try {
+            JsonNode root = objectMapper.readTree(responseBody);
+            String content = root.path("choices").path(0).path("message").path("content").asText("");
+            JsonNode recipes = objectMapper.readTree(stripCodeFence(content)).path("recipes");
+
+            List<Recipe> result = new ArrayList<>();
+            for (JsonNode node : recipes) {
+                result.add(toRecipe(node, request));
+            }
+            result.sort(Comparator.comparing(Recipe::getScore, Comparator.nullsLast(Comparator.reverseOrder())));
+            return result;
+        } catch (IOException e) {
+            throw new IllegalStateException("LLM 응답 파싱 실패", e);
+        }
+    }
+
+    Recipe toRecipe(JsonNode node, RecipeSuggestionReq request) {
+        List<RecipeIngredient> ingredients = new ArrayList<>();
+        node.path("used").forEach(used -> ingredients.add(toIngredient(used, true)));
+        node.path("missing").forEach(missing -> ingredients.add(toIngredient(missing, false)));
+
+        List<String> steps = new ArrayList<>();
+        node.path("steps").forEach(step -> steps.add(step.asText()));
+
+        return Recipe.builder()
+                .name(node.path("title").asText())
+                .score(node.hasNonNull("score") ? node.get("score").decimalValue() : BigDecimal.ZERO)
+                .cookingTime(node.path("estimated_time_min").asInt(0))
+                .servings(request.getServings() != null ? request.getServings() : 1)
+                .ingredients(ingredients)
+                .instructions(steps)
+                .build();
+    }
+
+    private static RecipeIngredient toIngredient(JsonNode node, boolean available) {
+        return new RecipeIngredient(
+                node.path("name").asText(),
+                node.path("amount").asText(),
+                node.path("unit").asText(),
+                available
+        );
+    }
+
+    private static String stripCodeFence(String content) {
+        String trimmed = content.trim();
+        if (trimmed.startsWith("```")) {
+            int start = trimmed.indexOf('\n');
+            int end = trimmed.lastIndexOf("```");
+            if (start >= 0 && end > start) {
+                return trimmed.substring(start + 1, end);
+            }
+        }
+        return trimmed;
+    }
+
+    String buildPrompt(List<Item> availableItems, RecipeSuggestionReq request) {
         StringBuilder prompt = new StringBuilder();
         prompt.append("냉장고에 다음 재료들이 있습니다:\n");
-        
+
         for (Item item : availableItems) {
             prompt.append("- ").append(item.getName())
                   .append(" ").append(item.getQuantity())
@@ -82,17 +410,17 @@ public class LlmRecommender implements Recommender {
             }
             prompt.append("\n");
         }
-        
+
         prompt.append("\n이 재료들로 만들 수 있는 레시피 3-5개를 추천해주세요.");
-        
+
         if (request.getServings() != null) {
             prompt.append(" ").append(request.getServings()).append("인분으로 조리법을 알려주세요.");
         }
-        
+
         if (request.getDiet() != null) {
             prompt.append(" ").append(request.getDiet()).append(" 식단에 맞는 레시피로 부탁합니다.");
         }
-        
+
         prompt.append("\n\n응답은 다음 JSON 형식으로 해주세요:\n");
         prompt.append("{\n");
         prompt.append("  \"recipes\": [\n");
@@ -106,24 +434,7 @@ public class LlmRecommender implements Recommender {
         prompt.append("    }\n");
         prompt.append("  ]\n");
         prompt.append("}\n");
-        
-        return prompt.toString();
-    }
 
-    private List<Recipe> getDefaultRecipes() {
-        // LLM을 사용할 수 없을 때 반환할 기본 레시피
-//        Recipe defaultRecipe = new Recipe();
-//        defaultRecipe.setTitle("LLM 추천 레시피 (준비 중)");
-//        defaultRecipe.setScore(new BigDecimal("0.5"));
-//        defaultRecipe.setUsed(new ArrayList<>());
-//        defaultRecipe.setMissing(new ArrayList<>());
-//        defaultRecipe.setSteps(Arrays.asList(
-//            "LLM 기반 레시피 추천 기능을 준비 중입니다.",
-//            "현재는 규칙 기반 추천을 이용해주세요."
-//        ));
-//        defaultRecipe.setEstimatedTimeMin(0);
-//
-//        return Arrays.asList(defaultRecipe);
-        return null;
+        return prompt.toString();
     }
 }
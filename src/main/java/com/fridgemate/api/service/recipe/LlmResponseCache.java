@@ -0,0 +1,424 @@
+package com.fridgemate.api.service.recipe;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fridgemate.api.domain.Item;
+import com.fridgemate.api.dto.recipe.Recipe;
+import com.fridgemate.api.dto.recipe.RecipeSuggestionReq;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LLM 레시피 응답 캐시
+ *
+ * 보유 재료를 정규화한 키(재료 키, 수량 구간, 유통기한 구간, 인분, 식단)로 응답을 저장해
+ * 거의 같은 냉장고에서 오는 요청은 LLM 을 호출하지 않는다.
+ * 응답은 로컬 디스크의 추가 전용(JSON Lines) 로그에 쓰고, 메모리에는 키 → 로그 위치 색인만 둔다.
+ * 재시작 시 로그를 한 번 읽어 색인을 복구하고, 색인은 LRU + TTL 로 정리한다.
+ * 로그에 죽은 레코드가 살아 있는 레코드보다 많아지면 살아 있는 것만 새 파일로 옮긴다.
+ *
+ * 조회는 동시 색인과 위치 지정 읽기(FileChannel.read(buffer, position))만 쓰므로 잠금을 잡지 않는다.
+ * 추가 기록, 축출, 정리는 writeLock 하나로 직렬화해 조회가 디스크 기록이나 정리를 기다리지 않는다.
+ */
+@Component
+@ConditionalOnProperty(name = "ai.provider", havingValue = "llm")
+@Slf4j
+public class LlmResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final Path logFile;
+    private final Duration ttl;
+    private final int maxEntries;
+    private final Clock clock;
+
+    /** 키 → 로그 위치 */
+    private final ConcurrentHashMap<String, Slot> index = new ConcurrentHashMap<>();
+    /** LRU 순서용 접근 번호 (시계보다 촘촘해 같은 밀리초 안의 접근도 구분한다) */
+    private final AtomicLong accessTicks = new AtomicLong();
+    private final AtomicLong liveBytes = new AtomicLong();
+    private final Object writeLock = new Object();
+
+    /** 현재 로그 파일 (읽기용 채널) */
+    private volatile Segment segment;
+    /** 직전 정리 전 파일 (그 위치를 들고 있던 조회가 끝날 수 있도록 다음 정리 때 닫는다) */
+    private Segment retired;
+    private long fileBytes;
+
+    @Autowired
+    public LlmResponseCache(ObjectMapper objectMapper,
+                            @Value("${ai.llm.cache.path:./data/llm-cache.jsonl}") String path,
+                            @Value("${ai.llm.cache.ttl-hours:72}") long ttlHours,
+                            @Value("${ai.llm.cache.max-entries:10000}") int maxEntries) {
+        this(objectMapper, Path.of(path), Duration.ofHours(ttlHours), maxEntries, Clock.systemDefaultZone());
+    }
+
+    LlmResponseCache(ObjectMapper objectMapper, Path logFile, Duration ttl, int maxEntries, Clock clock) {
+        this.objectMapper = objectMapper;
+        this.logFile = logFile;
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        load();
+    }
+
+    /**
+     * 캐시된 응답 (없거나 만료되면 빈 값)
+     */
+    public Optional<List<Recipe>> get(String key) {
+        Slot slot = index.get(key);
+        if (slot == null) {
+            return Optional.empty();
+        }
+        if (isExpired(slot)) {
+            remove(key, slot);
+            return Optional.empty();
+        }
+        try {
+            List<Recipe> recipes = read(slot).recipes();
+            slot.lastAccess = accessTicks.incrementAndGet();
+            return Optional.of(recipes);
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("LLM 캐시 레코드 읽기 실패 - 키: {}", key, e);
+            remove(key, slot);
+            return Optional.empty();
+        }
+    }
+
+    public void put(String key, List<Recipe> recipes) {
+        byte[] line;
+        try {
+            line = (objectMapper.writeValueAsString(new CacheRecord(key, clock.millis(), recipes)) + "\n")
+                    .getBytes(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.warn("LLM 캐시 직렬화 실패 - 키: {}", key, e);
+            return;
+        }
+        synchronized (writeLock) {
+            try {
+                Segment current = segment;
+                long offset = fileBytes;
+                ByteBuffer buffer = ByteBuffer.wrap(line);
+                while (buffer.hasRemaining()) {
+                    current.writer().write(buffer, offset + buffer.position());
+                }
+                fileBytes = offset + line.length;
+                Slot previous = index.put(key, new Slot(current, offset, line.length, clock.millis(), accessTicks.incrementAndGet()));
+                if (previous != null) {
+                    liveBytes.addAndGet(-previous.length);
+                }
+                liveBytes.addAndGet(line.length);
+                evict();
+                compactIfNeeded();
+            } catch (IOException e) {
+                log.warn("LLM 캐시 기록 실패 - 키: {}", key, e);
+            }
+        }
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    @PreDestroy
+    public void close() {
+        synchronized (writeLock) {
+            closeQuietly(retired);
+            closeQuietly(segment);
+            retired = null;
+        }
+    }
+
+    /**
+     * 보유 재료와 요청 조건을 정규화한 캐시 키
+     *
+     * 재료 이름은 카탈로그 키로 바꾸고 같은 키끼리 수량을 합친다. 수량은 기준 단위로 환산한 뒤
+     * 2의 거듭제곱 구간으로, 유통기한은 남은 일수 구간으로 묶는다.
+     */
+    static String canonicalKey(List<Item> items, RecipeSuggestionReq request,
+                               IngredientMatcher matcher, UnitRegistry units, LocalDate today) {
+        Map<String, long[]> amounts = new TreeMap<>();
+        Map<String, Long> nearestExpiry = new HashMap<>();
+        Set<String> unitless = new TreeSet<>();
+
+        for (Item item : items) {
+            String key = matcher.catalogKey(item.getName());
+            if (key.isEmpty()) {
+                continue;
+            }
+            long base = units.toBase(key, item.getQuantity(), item.getUnit());
+            if (base == UnitRegistry.UNKNOWN) {
+                unitless.add(key + "/" + UnitRegistry.normalizeUnit(item.getUnit()) + ":" + bucket(item.getQuantity()));
+            } else {
+                amounts.computeIfAbsent(key, k -> new long[1])[0] += base;
+            }
+            if (item.getExpiryDate() != null) {
+                long days = ChronoUnit.DAYS.between(today, item.getExpiryDate());
+                nearestExpiry.merge(key, days, Math::min);
+            }
+        }
+
+        StringBuilder canonical = new StringBuilder();
+        canonical.append("servings=").append(request.getServings() != null ? request.getServings() : 1)
+                .append(";diet=").append(request.getDiet() != null ? request.getDiet().trim().toLowerCase(Locale.ROOT) : "");
+        amounts.forEach((key, amount) -> canonical.append(';').append(key).append(':')
+                .append(bucket(BigDecimal.valueOf(amount[0]).movePointLeft(3)))
+                .append('@').append(expiryBucket(nearestExpiry.get(key))));
+        unitless.forEach(entry -> canonical.append(';').append(entry));
+        return sha256(canonical.toString());
+    }
+
+    /**
+     * 수량 구간 (1 이하, 2, 4, 8 ... 로 올림)
+     */
+    static long bucket(BigDecimal quantity) {
+        if (quantity == null || quantity.compareTo(BigDecimal.ONE) <= 0) {
+            return 1;
+        }
+        long ceil = quantity.setScale(0, RoundingMode.CEILING).longValueExact();
+        return Long.highestOneBit(ceil - 1) << 1;
+    }
+
+    static String expiryBucket(Long days) {
+        if (days == null) {
+            return "none";
+        }
+        if (days < 0) {
+            return "expired";
+        }
+        if (days <= 1) {
+            return "1d";
+        }
+        if (days <= 3) {
+            return "3d";
+        }
+        if (days <= 7) {
+            return "7d";
+        }
+        return "later";
+    }
+
+    private void load() {
+        long offset = 0;
+        try {
+            if (logFile.getParent() != null) {
+                Files.createDirectories(logFile.getParent());
+            }
+            segment = Segment.open(logFile);
+            try (BufferedReader reader = Files.newBufferedReader(logFile, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int length = line.getBytes(StandardCharsets.UTF_8).length + 1;
+                    try {
+                        CacheRecord record = objectMapper.readValue(line, CacheRecord.class);
+                        Slot previous = index.put(record.key(),
+                                new Slot(segment, offset, length, record.storedAt(), accessTicks.incrementAndGet()));
+                        if (previous != null) {
+                            liveBytes.addAndGet(-previous.length);
+                        }
+                        liveBytes.addAndGet(length);
+                    } catch (IOException e) {
+                        // 기록 도중 중단된 마지막 줄 등은 건너뛴다
+                        log.warn("LLM 캐시 로그의 손상된 레코드를 건너뜁니다 - 위치: {}", offset);
+                    }
+                    offset += length;
+                }
+            }
+            offset = terminateLastLine();
+            index.forEach((key, slot) -> {
+                if (isExpired(slot)) {
+                    remove(key, slot);
+                }
+            });
+            evict();
+            log.info("LLM 캐시 로드 완료 - 항목 수: {}", index.size());
+        } catch (IOException e) {
+            log.warn("LLM 캐시 로그를 읽지 못했습니다. 빈 캐시로 시작합니다 - 경로: {}", logFile, e);
+            index.clear();
+            liveBytes.set(0);
+        }
+        fileBytes = offset;
+    }
+
+    /**
+     * 마지막 줄이 줄바꿈 없이 끊겼으면 줄바꿈으로 닫고 실제 파일 크기를 반환한다
+     * (다음 기록이 끊긴 줄에 붙지 않고 새 줄에서 시작하며, 다음 적재 때는 끊긴 줄만 건너뛴다)
+     */
+    private long terminateLastLine() throws IOException {
+        long size = segment.writer().size();
+        if (size == 0) {
+            return 0;
+        }
+        ByteBuffer last = ByteBuffer.allocate(1);
+        if (segment.reader().read(last, size - 1) == 1 && last.get(0) == '\n') {
+            return size;
+        }
+        ByteBuffer newline = ByteBuffer.wrap(new byte[]{'\n'});
+        while (newline.hasRemaining()) {
+            segment.writer().write(newline, size);
+        }
+        return size + 1;
+    }
+
+    private CacheRecord read(Slot slot) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(slot.length);
+        while (buffer.hasRemaining()) {
+            if (slot.segment.reader().read(buffer, slot.offset + buffer.position()) < 0) {
+                throw new EOFException("LLM 캐시 레코드가 잘렸습니다");
+            }
+        }
+        return objectMapper.readValue(new String(buffer.array(), StandardCharsets.UTF_8).trim(), CacheRecord.class);
+    }
+
+    private boolean isExpired(Slot slot) {
+        return clock.millis() - slot.storedAt > ttl.toMillis();
+    }
+
+    private void remove(String key, Slot slot) {
+        if (index.remove(key, slot)) {
+            liveBytes.addAndGet(-slot.length);
+        }
+    }
+
+    /**
+     * 한도를 넘은 만큼 가장 오래 안 쓴 항목부터 뺀다 (writeLock 안에서 호출, 기록 한 번에 보통 한 개)
+     */
+    private void evict() {
+        while (index.size() > maxEntries) {
+            Map.Entry<String, Slot> eldest = Collections.min(index.entrySet(),
+                    Comparator.comparingLong(entry -> entry.getValue().lastAccess));
+            remove(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    /**
+     * 로그의 절반 이상이 죽은 레코드면 살아 있는 레코드만 새 파일로 옮긴다 (writeLock 안에서 호출)
+     * 옮기는 동안 조회는 이전 파일의 위치로 계속 읽고, 옮긴 뒤 색인 항목을 새 위치로 바꾼다.
+     */
+    private void compactIfNeeded() throws IOException {
+        if (fileBytes < 64 * 1024 || liveBytes.get() * 2 > fileBytes) {
+            return;
+        }
+        Path compacted = logFile.resolveSibling(logFile.getFileName() + ".compact");
+        List<Relocation> relocations = new ArrayList<>(index.size());
+        long offset = 0;
+        try (FileChannel target = FileChannel.open(compacted, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Map.Entry<String, Slot> entry : index.entrySet()) {
+                Slot slot = entry.getValue();
+                ByteBuffer buffer = ByteBuffer.allocate(slot.length);
+                while (buffer.hasRemaining()) {
+                    if (slot.segment.reader().read(buffer, slot.offset + buffer.position()) < 0) {
+                        throw new EOFException("LLM 캐시 레코드가 잘렸습니다");
+                    }
+                }
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    target.write(buffer, offset + buffer.position());
+                }
+                relocations.add(new Relocation(entry.getKey(), slot, offset));
+                offset += slot.length;
+            }
+        }
+        Files.move(compacted, logFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        Segment next = Segment.open(logFile);
+        long live = 0;
+        for (Relocation relocation : relocations) {
+            Slot slot = relocation.from();
+            Slot moved = new Slot(next, relocation.offset(), slot.length, slot.storedAt, slot.lastAccess);
+            // 옮기는 사이 만료로 빠진 항목은 되살리지 않는다
+            if (index.replace(relocation.key(), slot, moved)) {
+                live += slot.length;
+            }
+        }
+        closeQuietly(retired);
+        retired = segment;
+        segment = next;
+        fileBytes = offset;
+        liveBytes.set(live);
+    }
+
+    private static void closeQuietly(Segment segment) {
+        if (segment == null) {
+            return;
+        }
+        try {
+            segment.reader().close();
+            segment.writer().close();
+        } catch (IOException e) {
+            log.debug("LLM 캐시 파일 닫기 실패", e);
+        }
+    }
+
+    private static String sha256(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 로그 파일 하나 (조회용 채널과 기록용 채널)
+     */
+    private record Segment(FileChannel reader, FileChannel writer) {
+
+        static Segment open(Path file) throws IOException {
+            FileChannel writer = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            return new Segment(FileChannel.open(file, StandardOpenOption.READ), writer);
+        }
+    }
+
+    private record Relocation(String key, Slot from, long offset) {
+    }
+
+    /**
+     * 레코드 위치 (lastAccess 만 조회 때 바뀐다)
+     */
+    private static final class Slot {
+
+        final Segment segment;
+        final long offset;
+        final int length;
+        final long storedAt;
+        volatile long lastAccess;
+
+        Slot(Segment segment, long offset, int length, long storedAt, long lastAccess) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+            this.storedAt = storedAt;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    record CacheRecord(String key, long storedAt, List<Recipe> recipes) {
+    }
+}
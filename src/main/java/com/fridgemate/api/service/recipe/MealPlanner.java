@@ -0,0 +1,500 @@
+package com.fridgemate.api.service.recipe;
+
+import com.fridgemate.api.dto.recipe.MealPlanReq;
+import com.fridgemate.api.dto.recipe.MealPlanResp;
+import com.fridgemate.api.dto.recipe.PlannedMeal;
+import com.fridgemate.api.dto.recipe.RecipeSuggestionReq;
+import com.fridgemate.api.event.ItemSnapshot;
+import com.fridgemate.api.service.recipe.RuleBasedRecommender.RecipeTemplate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 유통기한이 임박한 재고를 최대한 소진하는 식단 계획기
+ *
+ * 레시피 N개를 고르되, 고른 레시피들의 필요량 합이 재고를 넘지 않아야 한다 (한 레시피가 쓴 재고는
+ * 다른 레시피가 쓸 수 없다). 재료마다 재고를 유통기한 순으로 쓴다고 보면 소진되는 양은 고른 레시피 집합에만
+ * 달려 있으므로, 목적 함수는 "재료별 사용량 → 임박 재고 소진 가치" 의 합이다.
+ *
+ * 정확한 최적해는 배낭 문제류라 비싸므로 탐색은 휴리스틱으로 한다.
+ * 1. 탐욕: 한계 가치가 가장 큰 레시피부터 하나씩 추가
+ * 2. 지역 탐색: 고른 레시피 하나를 안 고른 레시피로 바꿔서 나아지면 교체, 더 나아지지 않을 때까지 반복
+ * 시작점을 달리한 여러 탐색(첫 번째는 순수 탐욕, 나머지는 점수에 잡음을 섞은 탐욕)을 fork/join 으로
+ * 나눠 돌리고 가장 좋은 계획을 고른다. 모든 탐색은 시간 예산이 지나면 그때까지의 결과를 낸다.
+ */
+@Component
+@Slf4j
+public class MealPlanner {
+
+    /** 이 일수 안에 유통기한이 끝나는 재고를 임박 재고로 본다 (일주일 계획) */
+    static final int HORIZON_DAYS = 7;
+
+    private static final int DEFAULT_MEALS = 7;
+    private static final double EPSILON = 1e-9;
+
+    private final RuleBasedRecommender ruleBasedRecommender;
+    private final PantryState pantryState;
+    private final Duration timeBudget;
+
+    @Autowired
+    public MealPlanner(RuleBasedRecommender ruleBasedRecommender,
+                       PantryState pantryState,
+                       @Value("${recipe.plan.time-budget-ms:300}") long timeBudgetMs) {
+        this.ruleBasedRecommender = ruleBasedRecommender;
+        this.pantryState = pantryState;
+        this.timeBudget = Duration.ofMillis(timeBudgetMs);
+    }
+
+    /**
+     * 현재 재고로 식단 계획
+     */
+    public MealPlanResp plan(MealPlanReq request) {
+        return plan(pantryState.snapshot(), request, LocalDate.now());
+    }
+
+    MealPlanResp plan(Collection<ItemSnapshot> pantry, MealPlanReq request, LocalDate today) {
+        int meals = request.getMeals() != null ? request.getMeals() : DEFAULT_MEALS;
+        int servings = request.getServings() != null && request.getServings() > 1 ? request.getServings() : 1;
+
+        Problem problem = Problem.build(ruleBasedRecommender.templates(), ruleBasedRecommender.matcher(),
+                ruleBasedRecommender.units(), pantry, servings, request.getDiet(), today);
+
+        long deadline = System.nanoTime() + timeBudget.toNanos();
+        int searches = Math.max(2, ForkJoinPool.getCommonPoolParallelism() * 2);
+        Plan best = ForkJoinPool.commonPool().invoke(new SearchTask(problem, meals, 0, searches, deadline));
+        log.info("식단 계획 - 후보 레시피: {}, 선택: {}, 소진 가치: {}", problem.size(), best.chosen.size(), best.total);
+
+        return toResponse(problem, best, request, servings);
+    }
+
+    private static MealPlanResp toResponse(Problem problem, Plan plan, MealPlanReq request, int servings) {
+        RecipeSuggestionReq recipeRequest = new RecipeSuggestionReq();
+        recipeRequest.setServings(servings);
+        recipeRequest.setDiet(request.getDiet());
+
+        // 빈 상태에서 고른 레시피를 한계 가치 순으로 다시 쌓아 끼니 순서와 레시피별 기여를 정한다
+        Plan replay = new Plan(problem);
+        List<Integer> remaining = new ArrayList<>(plan.chosen);
+        List<PlannedMeal> meals = new ArrayList<>();
+        while (!remaining.isEmpty()) {
+            int bestIndex = 0;
+            double bestGain = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < remaining.size(); i++) {
+                double gain = replay.gain(remaining.get(i));
+                if (gain > bestGain + EPSILON) {
+                    bestGain = gain;
+                    bestIndex = i;
+                }
+            }
+            int recipe = remaining.remove(bestIndex);
+            List<String> expiringItems = replay.expiringItemsTouchedBy(recipe);
+            replay.add(recipe);
+
+            RecipeTemplate template = problem.templates[recipe];
+            boolean[] satisfied = new boolean[template.getIngredients().size()];
+            Arrays.fill(satisfied, true);
+            BigDecimal value = decimal(bestGain);
+            meals.add(PlannedMeal.builder()
+                    .order(meals.size() + 1)
+                    .recipe(RuleBasedRecommender.toRecipe(template, satisfied, value, recipeRequest))
+                    .expiringValue(value)
+                    .expiringItems(expiringItems)
+                    .build());
+        }
+
+        return MealPlanResp.builder()
+                .meals(meals)
+                .totalExpiringValue(decimal(replay.total))
+                .leftoverExpiringItems(replay.leftoverExpiringItems())
+                .candidateRecipes(problem.size())
+                .build();
+    }
+
+    private static BigDecimal decimal(double value) {
+        return BigDecimal.valueOf(Math.max(0.0, value)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * 시작점 [from, to) 구간을 반으로 나눠 탐색하고 더 나은 계획을 고른다
+     */
+    private static class SearchTask extends RecursiveTask<Plan> {
+        private final Problem problem;
+        private final int meals;
+        private final int from;
+        private final int to;
+        private final long deadline;
+
+        SearchTask(Problem problem, int meals, int from, int to, long deadline) {
+            this.problem = problem;
+            this.meals = meals;
+            this.from = from;
+            this.to = to;
+            this.deadline = deadline;
+        }
+
+        @Override
+        protected Plan compute() {
+            if (to - from == 1) {
+                return search(problem, meals, from, deadline);
+            }
+            int mid = (from + to) >>> 1;
+            SearchTask left = new SearchTask(problem, meals, from, mid, deadline);
+            left.fork();
+            Plan right = new SearchTask(problem, meals, mid, to, deadline).compute();
+            Plan leftPlan = left.join();
+            return leftPlan.isBetterThan(right) ? leftPlan : right;
+        }
+    }
+
+    static Plan search(Problem problem, int meals, long seed, long deadline) {
+        Plan plan = new Plan(problem);
+        SplittableRandom random = seed == 0 ? null : new SplittableRandom(seed);
+        fill(plan, meals, random);
+
+        boolean improved = true;
+        while (improved && System.nanoTime() < deadline) {
+            improved = false;
+            for (int slot = 0; slot < plan.chosen.size() && System.nanoTime() < deadline; slot++) {
+                int current = plan.chosen.get(slot);
+                plan.remove(current);
+                int best = current;
+                double bestGain = plan.gain(current);
+                for (int candidate = 0; candidate < problem.size(); candidate++) {
+                    if (plan.selected[candidate] || candidate == current) {
+                        continue;
+                    }
+                    double gain = plan.gain(candidate);
+                    if (gain > bestGain + EPSILON) {
+                        best = candidate;
+                        bestGain = gain;
+                    }
+                }
+                plan.add(best, slot);
+                if (best != current) {
+                    improved = true;
+                }
+            }
+            // 교체로 재고가 풀리면 빈 끼니를 더 채울 수 있다
+            fill(plan, meals, null);
+        }
+        return plan;
+    }
+
+    /**
+     * 끼니 수가 찰 때까지 한계 가치가 가장 큰 레시피를 추가 (random 이 있으면 점수에 잡음을 섞는다)
+     */
+    private static void fill(Plan plan, int meals, SplittableRandom random) {
+        Problem problem = plan.problem;
+        while (plan.chosen.size() < meals) {
+            int best = -1;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int candidate = 0; candidate < problem.size(); candidate++) {
+                if (plan.selected[candidate]) {
+                    continue;
+                }
+                double gain = plan.gain(candidate);
+                if (Double.isNaN(gain)) {
+                    continue;
+                }
+                double score = random == null ? gain : gain * (0.5 + random.nextDouble()) + random.nextDouble() * EPSILON;
+                if (score > bestScore + EPSILON) {
+                    best = candidate;
+                    bestScore = score;
+                }
+            }
+            if (best < 0) {
+                return;
+            }
+            plan.add(best, plan.chosen.size());
+        }
+    }
+
+    /**
+     * 탐색 대상 (재료별 재고 묶음과 후보 레시피의 재료별 필요량, 모두 기준 단위 고정소수점)
+     */
+    static class Problem {
+        final RecipeTemplate[] templates;
+        final int[][] recipeKeys;
+        final long[][] recipeNeeds;
+
+        final long[][] lotAmounts;
+        final double[][] lotWeights;
+        final String[][] lotNames;
+        final long[] capacity;
+        final boolean[] unknownHeld;
+        final double[] unknownWeight;
+        final List<List<String>> unknownExpiringNames;
+
+        private Problem(RecipeTemplate[] templates, int[][] recipeKeys, long[][] recipeNeeds,
+                        long[][] lotAmounts, double[][] lotWeights, String[][] lotNames, long[] capacity,
+                        boolean[] unknownHeld, double[] unknownWeight, List<List<String>> unknownExpiringNames) {
+            this.templates = templates;
+            this.recipeKeys = recipeKeys;
+            this.recipeNeeds = recipeNeeds;
+            this.lotAmounts = lotAmounts;
+            this.lotWeights = lotWeights;
+            this.lotNames = lotNames;
+            this.unknownHeld = unknownHeld;
+            this.unknownWeight = unknownWeight;
+            this.unknownExpiringNames = unknownExpiringNames;
+            this.capacity = capacity;
+        }
+
+        int size() {
+            return templates.length;
+        }
+
+        static Problem build(List<RecipeTemplate> catalog, IngredientMatcher matcher, UnitRegistry units,
+                             Collection<ItemSnapshot> pantry, int servings, String diet, LocalDate today) {
+            Map<String, Integer> keyIds = new HashMap<>();
+            List<List<Lot>> lots = new ArrayList<>();
+            List<Boolean> unknownHeld = new ArrayList<>();
+            List<Double> unknownWeight = new ArrayList<>();
+            List<List<String>> unknownNames = new ArrayList<>();
+
+            for (ItemSnapshot item : pantry) {
+                String key = matcher.match(item.getName());
+                if (key == null || !item.isAvailable()) {
+                    continue;
+                }
+                long days = item.getExpiryDate() != null ? ChronoUnit.DAYS.between(today, item.getExpiryDate()) : Long.MAX_VALUE;
+                if (days < 0) {
+                    // 이미 지난 재고는 계획에 쓰지 않는다
+                    continue;
+                }
+                double weight = days <= HORIZON_DAYS ? (HORIZON_DAYS + 1 - days) / (double) (HORIZON_DAYS + 1) : 0.0;
+
+                int id = keyIds.computeIfAbsent(key, k -> {
+                    lots.add(new ArrayList<>());
+                    unknownHeld.add(false);
+                    unknownWeight.add(0.0);
+                    unknownNames.add(new ArrayList<>());
+                    return lots.size() - 1;
+                });
+                long amount = units.toBase(key, item.getQuantity(), item.getUnit());
+                if (amount == UnitRegistry.UNKNOWN) {
+                    // 양을 알 수 없는 재고는 한 번이라도 쓰면 소진된 것으로 본다
+                    unknownHeld.set(id, true);
+                    unknownWeight.set(id, Math.max(unknownWeight.get(id), weight));
+                    if (weight > 0) {
+                        unknownNames.get(id).add(item.getName());
+                    }
+                } else if (amount > 0) {
+                    lots.get(id).add(new Lot(amount, weight, item.getExpiryDate(), item.getName()));
+                }
+            }
+
+            int keyCount = lots.size();
+            long[][] lotAmounts = new long[keyCount][];
+            double[][] lotWeights = new double[keyCount][];
+            String[][] lotNames = new String[keyCount][];
+            long[] capacity = new long[keyCount];
+            for (int key = 0; key < keyCount; key++) {
+                List<Lot> sorted = lots.get(key);
+                sorted.sort(Comparator.comparing(Lot::expiryDate, Comparator.nullsLast(Comparator.naturalOrder())));
+                lotAmounts[key] = sorted.stream().mapToLong(Lot::amount).toArray();
+                lotWeights[key] = sorted.stream().mapToDouble(Lot::weight).toArray();
+                lotNames[key] = sorted.stream().map(Lot::name).toArray(String[]::new);
+                capacity[key] = Arrays.stream(lotAmounts[key]).sum();
+            }
+
+            List<RecipeTemplate> candidates = new ArrayList<>();
+            List<int[]> candidateKeys = new ArrayList<>();
+            List<long[]> candidateNeeds = new ArrayList<>();
+            candidate:
+            for (RecipeTemplate template : catalog) {
+                if (!RuleBasedRecommender.matchesDiet(template, diet)) {
+                    continue;
+                }
+                Map<Integer, Long> needs = new LinkedHashMap<>();
+                for (int i = 0; i < template.ingredientKeys.length; i++) {
+                    Integer id = keyIds.get(template.ingredientKeys[i]);
+                    if (id == null) {
+                        continue candidate;
+                    }
+                    needs.merge(id, Math.multiplyExact(template.requiredAmounts[i], (long) servings), Long::sum);
+                }
+                for (Map.Entry<Integer, Long> need : needs.entrySet()) {
+                    int id = need.getKey();
+                    boolean held = unknownHeld.get(id) || (capacity[id] > 0 && need.getValue() <= capacity[id]);
+                    if (!held) {
+                        continue candidate;
+                    }
+                }
+                candidates.add(template);
+                candidateKeys.add(needs.keySet().stream().mapToInt(Integer::intValue).toArray());
+                candidateNeeds.add(needs.values().stream().mapToLong(Long::longValue).toArray());
+            }
+
+            boolean[] unknown = new boolean[keyCount];
+            double[] unknownWeights = new double[keyCount];
+            for (int key = 0; key < keyCount; key++) {
+                unknown[key] = unknownHeld.get(key);
+                unknownWeights[key] = unknownWeight.get(key);
+            }
+            return new Problem(candidates.toArray(RecipeTemplate[]::new),
+                    candidateKeys.toArray(int[][]::new), candidateNeeds.toArray(long[][]::new),
+                    lotAmounts, lotWeights, lotNames, capacity, unknown, unknownWeights, unknownNames);
+        }
+
+        /**
+         * 재료 하나를 consumed 만큼 유통기한 순으로 썼을 때 소진되는 임박 재고 가치
+         * (재고 묶음별 가중치 x 소진 비율의 합)
+         */
+        double value(int key, long consumed, int uses) {
+            double value = uses > 0 ? unknownWeight[key] : 0.0;
+            long remaining = consumed;
+            long[] amounts = lotAmounts[key];
+            for (int lot = 0; lot < amounts.length && remaining > 0; lot++) {
+                long taken = Math.min(remaining, amounts[lot]);
+                value += lotWeights[key][lot] * taken / amounts[lot];
+                remaining -= taken;
+            }
+            return value;
+        }
+
+        /**
+         * 레시피 집합의 소진 가치 (재고를 넘으면 NaN)
+         */
+        double evaluate(Collection<Integer> recipes) {
+            Plan plan = new Plan(this);
+            for (int recipe : recipes) {
+                if (Double.isNaN(plan.gain(recipe))) {
+                    return Double.NaN;
+                }
+                plan.add(recipe, plan.chosen.size());
+            }
+            return plan.total;
+        }
+    }
+
+    private record Lot(long amount, double weight, LocalDate expiryDate, String name) {
+    }
+
+    /**
+     * 탐색 중인 계획 (고른 레시피와 재료별 누적 사용량)
+     */
+    static class Plan {
+        final Problem problem;
+        final List<Integer> chosen = new ArrayList<>();
+        final boolean[] selected;
+        final long[] consumed;
+        final int[] uses;
+        double total;
+
+        Plan(Problem problem) {
+            this.problem = problem;
+            this.selected = new boolean[problem.size()];
+            this.consumed = new long[problem.capacity.length];
+            this.uses = new int[problem.capacity.length];
+        }
+
+        /**
+         * 레시피를 추가했을 때 늘어나는 가치 (재고가 모자라면 NaN)
+         */
+        double gain(int recipe) {
+            int[] keys = problem.recipeKeys[recipe];
+            long[] needs = problem.recipeNeeds[recipe];
+            double gain = 0.0;
+            for (int i = 0; i < keys.length; i++) {
+                int key = keys[i];
+                long after = consumed[key] + needs[i];
+                if (!problem.unknownHeld[key] && after > problem.capacity[key]) {
+                    return Double.NaN;
+                }
+                gain += problem.value(key, after, uses[key] + 1) - problem.value(key, consumed[key], uses[key]);
+            }
+            return gain;
+        }
+
+        void add(int recipe) {
+            add(recipe, chosen.size());
+        }
+
+        void add(int recipe, int slot) {
+            total += gain(recipe);
+            apply(recipe, 1);
+            chosen.add(slot, recipe);
+        }
+
+        void remove(int recipe) {
+            apply(recipe, -1);
+            chosen.remove(Integer.valueOf(recipe));
+            total -= gain(recipe);
+        }
+
+        private void apply(int recipe, int sign) {
+            int[] keys = problem.recipeKeys[recipe];
+            long[] needs = problem.recipeNeeds[recipe];
+            for (int i = 0; i < keys.length; i++) {
+                consumed[keys[i]] += sign * needs[i];
+                uses[keys[i]] += sign;
+            }
+            selected[recipe] = sign > 0;
+        }
+
+        boolean isBetterThan(Plan other) {
+            if (Math.abs(total - other.total) > EPSILON) {
+                return total > other.total;
+            }
+            return chosen.size() > other.chosen.size();
+        }
+
+        /**
+         * 레시피를 추가하면 새로 쓰게 되는 임박 재고 이름
+         */
+        List<String> expiringItemsTouchedBy(int recipe) {
+            Set<String> names = new LinkedHashSet<>();
+            int[] keys = problem.recipeKeys[recipe];
+            long[] needs = problem.recipeNeeds[recipe];
+            for (int i = 0; i < keys.length; i++) {
+                int key = keys[i];
+                if (uses[key] == 0) {
+                    names.addAll(problem.unknownExpiringNames.get(key));
+                }
+                long start = consumed[key];
+                long end = start + needs[i];
+                long offset = 0;
+                for (int lot = 0; lot < problem.lotAmounts[key].length; lot++) {
+                    long lotEnd = offset + problem.lotAmounts[key][lot];
+                    if (lotEnd > start && offset < end && problem.lotWeights[key][lot] > 0) {
+                        names.add(problem.lotNames[key][lot]);
+                    }
+                    offset = lotEnd;
+                }
+            }
+            return List.copyOf(names);
+        }
+
+        /**
+         * 계획대로 써도 남는 임박 재고 이름
+         */
+        List<String> leftoverExpiringItems() {
+            List<String> names = new ArrayList<>();
+            for (int key = 0; key < consumed.length; key++) {
+                if (uses[key] == 0) {
+                    names.addAll(problem.unknownExpiringNames.get(key));
+                }
+                long offset = 0;
+                for (int lot = 0; lot < problem.lotAmounts[key].length; lot++) {
+                    offset += problem.lotAmounts[key][lot];
+                    if (offset > consumed[key] && problem.lotWeights[key][lot] > 0) {
+                        names.add(problem.lotNames[key][lot]);
+                    }
+                }
+            }
+            return names;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.fridgemate.api.service.recipe;
+
+import com.fridgemate.api.event.ItemSnapshot;
+
+import java.util.Collection;
+
+/**
+ * 보유 재료 상태 변경 수신자
+ * PantryState 의 잠금 안에서 순서대로 호출되므로 구현체는 빠르게 반환해야 한다
+ */
+public interface PantryListener {
+
+    /**
+     * 보유 재료 전체가 (재)적재됨
+     */
+    void onPantryReset(Collection<ItemSnapshot> items);
+
+    /**
+     * 아이템 하나가 바뀜 (보유 재료에 새로 들어오면 before 가, 빠지면 after 가 null)
+     */
+    void onItemChanged(ItemSnapshot before, ItemSnapshot after);
+}
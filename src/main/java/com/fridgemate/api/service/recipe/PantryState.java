@@ -0,0 +1,173 @@
+package com.fridgemate.api.service.recipe;
+
+import com.fridgemate.api.config.ReplicaRoutingDataSource;
+import com.fridgemate.api.domain.Item;
+import com.fridgemate.api.event.ItemChangedEvent;
+import com.fridgemate.api.event.ItemSnapshot;
+import com.fridgemate.api.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 레시피 추천용 보유 재료(수량 > 0) 상태
+ *
+ * 처음 조회될 때 DB 에서 한 번 적재하고, 이후에는 ItemChangedEvent 로 아이템 단위 갱신만 한다.
+ * 지문(fingerprint)은 아이템별 해시의 합이라 순서와 무관하며, 아이템 하나가 바뀌면
+ * 그 아이템의 기여분만 빼고 더해서 O(1) 로 유지된다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PantryState {
+
+    private final ItemRepository itemRepository;
+
+    private final Map<Long, ItemSnapshot> items = new HashMap<>();
+    private final List<PantryListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile boolean loaded;
+    private volatile long fingerprint;
+
+    /**
+     * 현재 보유 재료 집합의 지문
+     */
+    public long fingerprint() {
+        ensureLoaded();
+        return fingerprint;
+    }
+
+    /**
+     * 보유 재료 아이템 수
+     */
+    public synchronized int size() {
+        ensureLoaded();
+        return items.size();
+    }
+
+    /**
+     * 현재 보유 재료 복사본
+     */
+    public synchronized List<ItemSnapshot> snapshot() {
+        ensureLoaded();
+        return List.copyOf(items.values());
+    }
+
+    /**
+     * 현재 보유 재료를 추천기 입력용 Item 으로 (DB 를 다시 읽지 않는다, 저장용 엔티티 아님)
+     */
+    public List<Item> availableItems() {
+        return snapshot().stream()
+                .map(snapshot -> {
+                    Item item = Item.builder()
+                            .name(snapshot.getName())
+                            .quantity(snapshot.getQuantity())
+                            .unit(snapshot.getUnit())
+                            .expiryDate(snapshot.getExpiryDate())
+                            .category(snapshot.getCategory())
+                            .location(snapshot.getLocation())
+                            .build();
+                    item.setId(snapshot.getId());
+                    return item;
+                })
+                .toList();
+    }
+
+    /**
+     * 변경 수신자 등록 (이미 적재된 상태면 현재 재료로 바로 초기화해 준다)
+     */
+    public synchronized void addListener(PantryListener listener) {
+        listeners.add(listener);
+        if (loaded) {
+            listener.onPantryReset(items.values());
+        }
+    }
+
+    /**
+     * 적재된 상태를 버린다 (다음 조회 때 DB 에서 다시 적재하고 수신자들도 다시 초기화된다)
+     */
+    public synchronized void invalidate() {
+        loaded = false;
+    }
+
+    /**
+     * 커밋된 아이템 변경을 반영한다
+     * 변경 후 상태로 덮어쓰는 방식이라 초기 적재와 겹쳐 같은 이벤트가 두 번 적용돼도 결과가 같다
+     * 적재 여부는 잠금 안에서 확인한다: 적재 중(스냅샷을 읽는 동안) 커밋된 변경은 적재가 끝날 때까지 기다렸다가 반영된다
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onItemChanged(ItemChangedEvent event) {
+        if (!loaded) {
+            // 아직 적재 전이면 첫 조회 시 DB 에서 커밋 후 상태를 읽는다
+            return;
+        }
+        apply(event.getItemId(), event.getAfter());
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            items.clear();
+            fingerprint = 0L;
+            // 복제 지연만큼 놓친 변경은 이벤트로도 채워지지 않으므로 primary 에서 적재한다
+            ReplicaRoutingDataSource.onPrimary(itemRepository::findAvailableItems)
+                    .forEach(item -> apply(item.getId(), ItemSnapshot.of(item)));
+            listeners.forEach(listener -> listener.onPantryReset(items.values()));
+            loaded = true;
+            log.info("보유 재료 상태 적재: {} 개", items.size());
+        }
+    }
+
+    private void apply(Long itemId, ItemSnapshot after) {
+        ItemSnapshot next = after != null && after.isAvailable() ? after : null;
+        ItemSnapshot previous = next != null ? items.put(itemId, next) : items.remove(itemId);
+
+        long delta = hash(next) - hash(previous);
+        if (delta != 0L) {
+            fingerprint += delta;
+            if (loaded) {
+                listeners.forEach(listener -> listener.onItemChanged(previous, next));
+            }
+        }
+    }
+
+    /**
+     * 추천 결과에 영향을 주는 필드만으로 만든 64비트 해시 (null 은 0)
+     */
+    static long hash(ItemSnapshot item) {
+        if (item == null) {
+            return 0L;
+        }
+        long h = mix(item.getId() != null ? item.getId() : 0L);
+        h = mix(h ^ Objects.hashCode(item.getName()));
+        h = mix(h ^ quantityHash(item.getQuantity()));
+        h = mix(h ^ Objects.hashCode(item.getUnit()));
+        h = mix(h ^ Objects.hashCode(item.getExpiryDate()));
+        h = mix(h ^ Objects.hashCode(item.getCategory()));
+        return h;
+    }
+
+    private static int quantityHash(BigDecimal quantity) {
+        // 10 과 10.000 이 같은 해시가 되도록 정규화
+        return quantity == null ? 0 : quantity.stripTrailingZeros().hashCode();
+    }
+
+    private static long mix(long z) {
+        // SplitMix64 finalizer
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,62 @@
+package com.fridgemate.api.service.recipe;
+
+import com.fridgemate.api.domain.CatalogRecipe;
+import com.fridgemate.api.domain.CatalogRecipeIngredient;
+import com.fridgemate.api.domain.Ingredient;
+import com.fridgemate.api.dto.recipe.RecipeIngredient;
+import com.fridgemate.api.repository.CatalogRecipeRepository;
+import com.fridgemate.api.repository.IngredientRepository;
+import com.fridgemate.api.service.recipe.RuleBasedRecommender.RecipeTemplate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * DB 카탈로그가 비어 있으면 번들 recipes.json 을 기본 지역 카탈로그로 적재한다
+ */
+@Component
+@ConditionalOnProperty(name = "recipe.catalog.source", havingValue = "db")
+@RequiredArgsConstructor
+@Slf4j
+public class RecipeCatalogImporter {
+
+    private final CatalogRecipeRepository recipeRepository;
+    private final IngredientRepository ingredientRepository;
+    private final RuleBasedRecommender ruleBasedRecommender;
+
+    @Transactional
+    public int importIfEmpty() {
+        if (recipeRepository.count() > 0) {
+            return 0;
+        }
+
+        IngredientMatcher matcher = ruleBasedRecommender.matcher();
+        Map<String, Ingredient> ingredients = new HashMap<>();
+        int imported = 0;
+        for (RecipeTemplate template : ruleBasedRecommender.templates()) {
+            CatalogRecipe recipe = new CatalogRecipe();
+            recipe.setTitle(template.getTitle());
+            recipe.setCategory(template.getCategory());
+            recipe.setDiet(template.getDiet());
+            recipe.setEstimatedTimeMin(template.getEstimatedTimeMin());
+            recipe.setSteps(template.getSteps() != null ? template.getSteps().toArray(String[]::new) : new String[0]);
+
+            for (RecipeIngredient ingredient : template.getIngredients()) {
+                String key = matcher.catalogKey(ingredient.getName());
+                Ingredient entry = ingredients.computeIfAbsent(key, k -> ingredientRepository.findByName(k)
+                        .orElseGet(() -> ingredientRepository.save(new Ingredient(k))));
+                recipe.addIngredient(new CatalogRecipeIngredient(entry, ingredient.getName(),
+                        RuleBasedRecommender.requiredAmount(ingredient), ingredient.getUnit()));
+            }
+            recipeRepository.save(recipe);
+            imported++;
+        }
+        log.info("레시피 카탈로그 DB 적재: {} 개", imported);
+        return imported;
+    }
+}
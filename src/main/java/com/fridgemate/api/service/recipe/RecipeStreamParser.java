@@ -0,0 +1,72 @@
+package com.fridgemate.api.service.recipe;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 스트리밍으로 조금씩 도착하는 LLM 응답 본문에서 레시피 객체를 하나씩 잘라낸다
+ *
+ * 응답은 {"recipes": [ {...}, {...} ]} 형태이므로, 최상위 객체 안 배열의 원소 객체가
+ * 닫히는 순간 그 객체의 JSON 텍스트를 돌려준다. 문자열 안의 괄호와 이스케이프는 무시하고,
+ * 코드 펜스(```json) 같은 바깥 텍스트는 괄호가 아니므로 자연히 건너뛴다.
+ */
+class RecipeStreamParser {
+
+    private final StringBuilder nesting = new StringBuilder();
+    private final StringBuilder current = new StringBuilder();
+    private boolean capturing;
+    private boolean inString;
+    private boolean escaped;
+
+    /**
+     * 새로 도착한 조각을 읽고, 이번 조각에서 완성된 레시피 객체들을 반환
+     */
+    List<String> feed(String chunk) {
+        List<String> completed = new ArrayList<>();
+        for (int i = 0; i < chunk.length(); i++) {
+            char c = chunk.charAt(i);
+            if (capturing) {
+                current.append(c);
+            }
+
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+
+            switch (c) {
+                case '"' -> inString = true;
+                case '{', '[' -> {
+                    if (c == '{' && !capturing && isRecipeArray()) {
+                        capturing = true;
+                        current.setLength(0);
+                        current.append(c);
+                    }
+                    nesting.append(c);
+                }
+                case '}', ']' -> {
+                    if (!nesting.isEmpty()) {
+                        nesting.setLength(nesting.length() - 1);
+                    }
+                    if (c == '}' && capturing && isRecipeArray()) {
+                        completed.add(current.toString());
+                        capturing = false;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        return completed;
+    }
+
+    private boolean isRecipeArray() {
+        return nesting.length() == 2 && nesting.charAt(0) == '{' && nesting.charAt(1) == '[';
+    }
+}
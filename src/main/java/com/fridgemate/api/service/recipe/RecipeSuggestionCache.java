@@ -0,0 +1,62 @@
+package com.fridgemate.api.service.recipe;
+
+import com.fridgemate.api.dto.recipe.RecipeSuggestionReq;
+import com.fridgemate.api.dto.recipe.RecipeSuggestionResp;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 레시피 추천 결과 캐시
+ *
+ * 키는 (보유 재료 지문, 날짜, 인분, 식단) 이다. 재고가 바뀌면 지문이 바뀌므로 이전 결과는
+ * 더 이상 조회되지 않고, 지문 변경을 처음 감지한 시점에 한꺼번에 비운다.
+ * 유통기한 임박 가점이 오늘 날짜에 의존하기 때문에 날짜도 키에 포함한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RecipeSuggestionCache {
+
+    private static final int MAX_ENTRIES = 256;
+
+    private final PantryState pantryState;
+
+    private final Map<Key, RecipeSuggestionResp> entries = new ConcurrentHashMap<>();
+    private volatile long currentFingerprint;
+
+    public RecipeSuggestionResp get(RecipeSuggestionReq request, Supplier<RecipeSuggestionResp> loader) {
+        long fingerprint = pantryState.fingerprint();
+        if (fingerprint != currentFingerprint) {
+            entries.clear();
+            currentFingerprint = fingerprint;
+        }
+
+        Key key = new Key(fingerprint, LocalDate.now().toEpochDay(), request.getServings(), normalizeDiet(request.getDiet()));
+        RecipeSuggestionResp cached = entries.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        RecipeSuggestionResp computed = loader.get();
+        if (entries.size() >= MAX_ENTRIES) {
+            entries.clear();
+        }
+        // 계산 중에 재고가 바뀌었으면 저장하지 않는다
+        if (pantryState.fingerprint() == fingerprint) {
+            entries.put(key, computed);
+        }
+        return computed;
+    }
+
+    private static String normalizeDiet(String diet) {
+        return diet == null || diet.isBlank() ? null : diet.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Key(long fingerprint, long epochDay, Integer servings, String diet) {
+    }
+}
@@ -19,4 +19,12 @@ public interface Recommender {
      * @return 추천 레시피 목록 (점수 순으로 정렬)
      */
     List<Recipe> recommend(List<Item> availableItems, RecipeSuggestionReq request);
+
+    /**
+     * 앙상블(CompositeRecommender)에 넣을 추천 결과
+     * 자기 결과를 못 내 다른 추천기 결과로 대신하는 구현은 빈 목록을 반환해, 같은 출처가 두 번 세지지 않게 한다
+     */
+    default List<Recipe> recommendForEnsemble(List<Item> availableItems, RecipeSuggestionReq request) {
+        return recommend(availableItems, request);
+    }
 }
@@ -16,6 +16,7 @@ import jakarta.annotation.PostConstruct;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -24,8 +25,19 @@ import java.util.stream.Collectors;
 @Slf4j
 public class RuleBasedRecommender implements Recommender {
 
+    static final int MAX_RECOMMENDATIONS = 5;
+    static final int FRESHNESS_DAYS = 3;
+
+    private static final BigDecimal MATCH_WEIGHT = new BigDecimal("0.7");
+    private static final BigDecimal FRESHNESS_STEP = new BigDecimal("0.1");
+    private static final BigDecimal MAX_FRESHNESS = new BigDecimal("0.3");
+
     private final ObjectMapper objectMapper;
     private List<RecipeTemplate> recipeTemplates;
+    private Map<String, List<String>> synonymGroups = Map.of();
+    private Map<String, UnitRegistry.IngredientUnits> ingredientUnits = Map.of();
+    private volatile IngredientMatcher ingredientMatcher;
+    private volatile UnitRegistry unitRegistry;
 
     @PostConstruct
     public void loadRecipes() {
@@ -40,6 +52,89 @@ public class RuleBasedRecommender implements Recommender {
             log.error("레시피 데이터 로드 실패", e);
             this.recipeTemplates = new ArrayList<>();
         }
+
+        try {
+            ClassPathResource resource = new ClassPathResource("ingredient-synonyms.json");
+            this.synonymGroups = objectMapper.readValue(
+                resource.getInputStream(),
+                new TypeReference<Map<String, List<String>>>() {}
+            );
+        } catch (IOException e) {
+            log.error("재료 동의어 데이터 로드 실패", e);
+            this.synonymGroups = Map.of();
+        }
+
+        try {
+            ClassPathResource resource = new ClassPathResource("ingredient-units.json");
+            this.ingredientUnits = objectMapper.readValue(
+                resource.getInputStream(),
+                new TypeReference<Map<String, UnitRegistry.IngredientUnits>>() {}
+            );
+        } catch (IOException e) {
+            log.error("재료 단위 환산 데이터 로드 실패", e);
+            this.ingredientUnits = Map.of();
+        }
+
+        compile();
+    }
+
+    /**
+     * 보유 재료 이름 → 카탈로그 재료 키 매처 (카탈로그 로드 시 색인 구성)
+     */
+    IngredientMatcher matcher() {
+        if (ingredientMatcher == null) {
+            compile();
+        }
+        return ingredientMatcher;
+    }
+
+    /**
+     * 재료별 단위 환산표 (카탈로그 로드 시 구성)
+     */
+    UnitRegistry units() {
+        if (unitRegistry == null) {
+            compile();
+        }
+        return unitRegistry;
+    }
+
+    /**
+     * 매처/환산표를 만들고, 템플릿 재료마다 카탈로그 키와 기준 단위 필요량을 미리 계산해 둔다
+     */
+    private synchronized void compile() {
+        List<String> names = recipeTemplates.stream()
+                .flatMap(template -> template.getIngredients().stream())
+                .map(RecipeIngredient::getName)
+                .toList();
+        IngredientMatcher matcher = new IngredientMatcher(names, synonymGroups);
+
+        Map<String, List<String>> catalogUnits = new LinkedHashMap<>();
+        for (RecipeTemplate template : recipeTemplates) {
+            for (RecipeIngredient ingredient : template.getIngredients()) {
+                catalogUnits.computeIfAbsent(matcher.catalogKey(ingredient.getName()), key -> new ArrayList<>())
+                        .add(ingredient.getUnit());
+            }
+        }
+        Map<String, UnitRegistry.IngredientUnits> configuredUnits = new HashMap<>();
+        ingredientUnits.forEach((name, units) -> configuredUnits.put(matcher.catalogKey(name), units));
+        UnitRegistry registry = new UnitRegistry(configuredUnits, catalogUnits);
+
+        for (RecipeTemplate template : recipeTemplates) {
+            List<RecipeIngredient> ingredients = template.getIngredients();
+            template.ingredientKeys = new String[ingredients.size()];
+            template.requiredAmounts = new long[ingredients.size()];
+            for (int i = 0; i < ingredients.size(); i++) {
+                RecipeIngredient ingredient = ingredients.get(i);
+                String key = matcher.catalogKey(ingredient.getName());
+                long required = registry.toBase(key, requiredAmount(ingredient), ingredient.getUnit());
+                template.ingredientKeys[i] = key;
+                // 환산할 수 없는 단위면 보유 여부만 본다
+                template.requiredAmounts[i] = required == UnitRegistry.UNKNOWN ? 0L : required;
+            }
+        }
+
+        this.unitRegistry = registry;
+        this.ingredientMatcher = matcher;
     }
 
     @Override
@@ -49,25 +144,18 @@ public class RuleBasedRecommender implements Recommender {
             return new ArrayList<>();
         }
 
-        // 보유 재료를 맵으로 변환 (이름을 키로)
-        Map<String, Item> availableItemMap = availableItems.stream()
-                .collect(Collectors.toMap(
-                    item -> item.getName().toLowerCase().trim(),
-                    item -> item,
-                    (existing, replacement) -> existing
-                ));
+        // 보유 재료를 카탈로그 재료 키별로 한 번만 집계해 두고 모든 템플릿이 같이 읽는다
+        Map<String, Holding> holdings = holdings(availableItems, matcher(), units());
 
         List<Recipe> recommendations = new ArrayList<>();
 
         for (RecipeTemplate template : recipeTemplates) {
             // 식단 타입 필터링
-            if (StringUtils.hasText(request.getDiet()) && 
-                !template.getDiet().equalsIgnoreCase(request.getDiet()) &&
-                !"일반".equals(template.getDiet())) {
+            if (!matchesDiet(template, request.getDiet())) {
                 continue;
             }
 
-            Recipe recipe = evaluateRecipe(template, availableItemMap, request);
+            Recipe recipe = evaluateRecipe(template, holdings, request);
             if (recipe.getScore().compareTo(BigDecimal.ZERO) > 0) {
                 recommendations.add(recipe);
             }
@@ -76,77 +164,158 @@ public class RuleBasedRecommender implements Recommender {
         // 점수 순으로 정렬하고 상위 5개만 반환
         return recommendations.stream()
                 .sorted((r1, r2) -> r2.getScore().compareTo(r1.getScore()))
-                .limit(5)
+                .limit(MAX_RECOMMENDATIONS)
                 .collect(Collectors.toList());
     }
 
-    private Recipe evaluateRecipe(RecipeTemplate template, Map<String, Item> availableItems, RecipeSuggestionReq request) {
-        List<RecipeIngredient> usedIngredients = new ArrayList<>();
-        List<RecipeIngredient> missingIngredients = new ArrayList<>();
-        
-        int totalIngredients = template.getIngredients().size();
+    /**
+     * 재료 동의어 표 (대표 이름 → 별칭)
+     */
+    Map<String, List<String>> synonymGroups() {
+        return synonymGroups;
+    }
+
+    /**
+     * 재료별 단위 환산 설정 (ingredient-units.json, 원문 재료명 기준)
+     */
+    Map<String, UnitRegistry.IngredientUnits> ingredientUnits() {
+        return ingredientUnits;
+    }
+
+    /**
+     * 로드된 레시피 템플릿 (인덱스 구성용)
+     */
+    List<RecipeTemplate> templates() {
+        return recipeTemplates;
+    }
+
+    /**
+     * 보유 재료를 카탈로그 재료 키별 기준 단위 보유량/최단 유통기한으로 집계한다 (매칭되지 않는 재료는 제외)
+     * 아이템마다 환산은 한 번만 하고, 레시피 평가는 이 집계만 읽는다
+     */
+    static Map<String, Holding> holdings(List<Item> availableItems, IngredientMatcher matcher, UnitRegistry units) {
+        Map<String, Holding> holdings = new HashMap<>();
+        for (Item item : availableItems) {
+            String key = matcher.match(item.getName());
+            if (key != null) {
+                Holding holding = Holding.of(units.toBase(key, item.getQuantity(), item.getUnit()), item.getExpiryDate());
+                holdings.merge(key, holding, Holding::plus);
+            }
+        }
+        return holdings;
+    }
+
+    /**
+     * 카탈로그 재료 키별 보유 집계로 레시피 하나를 평가한다
+     */
+    static Recipe evaluateRecipe(RecipeTemplate template, Map<String, Holding> holdings, RecipeSuggestionReq request) {
+        List<RecipeIngredient> ingredients = template.getIngredients();
+        boolean[] satisfied = new boolean[ingredients.size()];
         int availableIngredientCount = 0;
-        BigDecimal freshnessBonus = BigDecimal.ZERO;
+        int freshCount = 0;
+        LocalDate freshnessLimit = LocalDate.now().plusDays(FRESHNESS_DAYS);
 
         // 각 재료별로 보유 여부 확인
-        for (RecipeIngredient ingredient : template.getIngredients()) {
-            String ingredientName = ingredient.getName().toLowerCase().trim();
-            Item availableItem = availableItems.get(ingredientName);
-
-            if (availableItem != null && availableItem.getQuantity().compareTo(BigDecimal.valueOf(Integer.parseInt(ingredient.getAmount()))) >= 0) {
+        for (int i = 0; i < ingredients.size(); i++) {
+            Holding holding = holdings.get(template.ingredientKeys[i]);
+            if (holding != null && covers(holding.amount(), holding.unknownUnit(), template.requiredAmounts[i])) {
                 // 보유 재료
-                usedIngredients.add(ingredient);
+                satisfied[i] = true;
                 availableIngredientCount++;
-                
+
                 // 신선도 보너스 계산 (유통기한 임박할수록 가점)
-                if (availableItem.getExpiryDate() != null && availableItem.isExpiringSoon(3)) {
-                    freshnessBonus = freshnessBonus.add(new BigDecimal("0.1"));
+                if (holding.earliestExpiry() != null && !holding.earliestExpiry().isAfter(freshnessLimit)) {
+                    freshCount++;
                 }
-            } else {
-                // 부족한 재료
-                missingIngredients.add(ingredient);
             }
         }
 
-        // 점수 계산: (보유재료 일치율 * 0.7) + (신선도 가중치 * 0.3)
-        BigDecimal matchRatio = BigDecimal.valueOf(availableIngredientCount)
-                .divide(BigDecimal.valueOf(totalIngredients), 2, RoundingMode.HALF_UP);
-        
-        BigDecimal freshnessWeight = freshnessBonus.min(new BigDecimal("0.3")); // 최대 0.3점
-        BigDecimal totalScore = matchRatio.multiply(new BigDecimal("0.7"))
-                .add(freshnessWeight);
-
-        // 인분 수에 따른 재료량 조정
-        if (request.getServings() != null && request.getServings() > 1) {
-            BigDecimal servingMultiplier = BigDecimal.valueOf(request.getServings());
-            usedIngredients = adjustIngredientAmounts(usedIngredients, servingMultiplier);
-            missingIngredients = adjustIngredientAmounts(missingIngredients, servingMultiplier);
+        BigDecimal totalScore = score(availableIngredientCount, ingredients.size(), freshCount);
+        return toRecipe(template, satisfied, totalScore, request);
+    }
+
+    /**
+     * 점수 계산: (보유재료 일치율 * 0.7) + (임박 재료당 0.1, 최대 0.3)
+     */
+    static BigDecimal score(int availableCount, int totalCount, int freshCount) {
+        if (totalCount == 0) {
+            return BigDecimal.ZERO;
         }
+        BigDecimal matchRatio = BigDecimal.valueOf(availableCount)
+                .divide(BigDecimal.valueOf(totalCount), 2, RoundingMode.HALF_UP);
 
-//        return new Recipe(
-//            template.getTitle(),
-//            totalScore,
-//            usedIngredients,
-//            missingIngredients,
-//            template.getSteps(),
-//            template.getEstimatedTimeMin()
-//        );
-        return null;
+        BigDecimal freshnessWeight = FRESHNESS_STEP.multiply(BigDecimal.valueOf(freshCount))
+                .min(MAX_FRESHNESS); // 최대 0.3점
+        return matchRatio.multiply(MATCH_WEIGHT).add(freshnessWeight);
     }
 
-    private List<RecipeIngredient> adjustIngredientAmounts(List<RecipeIngredient> ingredients, BigDecimal multiplier) {
-        return ingredients.stream()
-                .map(ingredient -> new RecipeIngredient(
+    /**
+     * 템플릿과 재료별 보유 여부로 응답용 레시피를 만든다 (인분 수에 따라 재료량 조정)
+     */
+    static Recipe toRecipe(RecipeTemplate template, boolean[] satisfied, BigDecimal score, RecipeSuggestionReq request) {
+        BigDecimal servingMultiplier = request.getServings() != null && request.getServings() > 1
+                ? BigDecimal.valueOf(request.getServings())
+                : BigDecimal.ONE;
+
+        List<RecipeIngredient> ingredients = new ArrayList<>(satisfied.length);
+        for (int i = 0; i < satisfied.length; i++) {
+            RecipeIngredient ingredient = template.getIngredients().get(i);
+            ingredients.add(new RecipeIngredient(
                     ingredient.getName(),
-                    ingredient.getAmount(),
+                    requiredAmount(ingredient).multiply(servingMultiplier).stripTrailingZeros().toPlainString(),
                     ingredient.getUnit(),
-                        true
-                ))
-                .collect(Collectors.toList());
+                    satisfied[i]
+            ));
+        }
+
+        return Recipe.builder()
+                .name(template.getTitle())
+                .cookingTime(template.getEstimatedTimeMin() != null ? template.getEstimatedTimeMin() : 0)
+                .servings(request.getServings() != null ? request.getServings() : 1)
+                .ingredients(ingredients)
+                .instructions(template.getSteps())
+                .score(score)
+                .build();
+    }
+
+    /**
+     * 보유량이 필요량 이상인지 (기준 단위 고정소수점 비교)
+     * 단위를 환산할 수 없는 재고가 있으면 양은 알 수 없으므로 보유한 것으로 본다
+     */
+    static boolean covers(long heldAmount, boolean unknownUnitHeld, long requiredAmount) {
+        return unknownUnitHeld || (heldAmount > 0 && heldAmount >= requiredAmount);
+    }
+
+    static boolean matchesDiet(RecipeTemplate template, String diet) {
+        return !StringUtils.hasText(diet)
+                || diet.equalsIgnoreCase(template.getDiet())
+                || "일반".equals(template.getDiet());
+    }
+
+    static BigDecimal requiredAmount(RecipeIngredient ingredient) {
+        return StringUtils.hasText(ingredient.getAmount()) ? new BigDecimal(ingredient.getAmount().trim()) : BigDecimal.ZERO;
+    }
+
+    /**
+     * 카탈로그 재료 키 하나의 보유 집계 (기준 단위 보유량, 환산할 수 없는 재고 여부, 최단 유통기한)
+     */
+    record Holding(long amount, boolean unknownUnit, LocalDate earliestExpiry) {
+
+        static Holding of(long amount, LocalDate expiryDate) {
+            boolean unknown = amount == UnitRegistry.UNKNOWN;
+            return new Holding(unknown ? 0L : amount, unknown, expiryDate);
+        }
+
+        Holding plus(Holding other) {
+            LocalDate earliest = earliestExpiry == null
+                    || (other.earliestExpiry != null && other.earliestExpiry.isBefore(earliestExpiry))
+                    ? other.earliestExpiry : earliestExpiry;
+            return new Holding(amount + other.amount, unknownUnit || other.unknownUnit, earliest);
+        }
     }
 
     // 내부 템플릿 클래스
-    private static class RecipeTemplate {
+    static class RecipeTemplate {
         private String title;
         private List<RecipeIngredient> ingredients;
         private List<String> steps;
@@ -154,6 +323,10 @@ public class RuleBasedRecommender implements Recommender {
         private String category;
         private String diet;
 
+        // 카탈로그 로드 시 계산 (재료별 카탈로그 키, 기준 단위 필요량)
+        String[] ingredientKeys;
+        long[] requiredAmounts;
+
         // Getters and Setters
         public String getTitle() { return title; }
         public void setTitle(String title) { this.title = title; }
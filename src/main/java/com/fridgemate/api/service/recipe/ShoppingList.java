@@ -0,0 +1,429 @@
+package com.fridgemate.api.service.recipe;
+
+import com.fridgemate.api.config.ReplicaRoutingDataSource;
+import com.fridgemate.api.domain.RecipeBookmark;
+import com.fridgemate.api.dto.shopping.ShoppingListItem;
+import com.fridgemate.api.event.ItemChangedEvent;
+import com.fridgemate.api.event.ItemSnapshot;
+import com.fridgemate.api.repository.ItemRepository;
+import com.fridgemate.api.repository.RecipeBookmarkRepository;
+import com.fridgemate.api.service.recipe.RuleBasedRecommender.RecipeTemplate;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 재고 부족 아이템 + 즐겨찾기 레시피의 부족 재료로 만든 장보기 목록 (증분 유지)
+ *
+ * 재료별로 즐겨찾기 레시피 필요량 합과 보유량을 기준 단위로 들고 있다가, 재고나 즐겨찾기가 바뀌면
+ * 영향받는 재료만 다시 판정해 부족 재료 집합을 고친다. 재고 부족 아이템도 재료 키별로 묶어 두므로
+ * 조회는 목록 크기에만 비례한다. 같은 재료는 재고 부족과 레시피 부족이 한 항목으로 합쳐진다.
+ */
+@Component
+@Slf4j
+public class ShoppingList implements PantryListener {
+
+    private final RuleBasedRecommender ruleBasedRecommender;
+    private final PantryState pantryState;
+    private final ItemRepository itemRepository;
+    private final RecipeBookmarkRepository bookmarkRepository;
+    private final double lowStockThreshold;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean loaded;
+
+    // 카탈로그 구조 (초기화 후 불변)
+    private List<RecipeTemplate> templates;
+    private IngredientMatcher matcher;
+    private UnitRegistry units;
+    private Map<String, Integer> recipeIds;
+    private Map<String, Integer> ingredientIds;
+    private List<String> ingredientKeys;
+    private List<String> ingredientNames;
+    private int[][] slotIngredients;
+
+    // 보유량 (PantryState 로부터)
+    private List<Map<Long, Long>> holders;
+    private long[] heldAmounts;
+    private boolean[] unknownUnitHeld;
+
+    // 즐겨찾기 레시피 필요량
+    private final Set<Integer> bookmarked = new HashSet<>();
+    private long[] requiredAmounts;
+    private List<Set<Integer>> requiringRecipes;
+    private final NavigableSet<Integer> missing = new TreeSet<>();
+
+    // 재고 부족 아이템 (재료 키별)
+    private final Map<String, Map<Long, ItemSnapshot>> lowStock = new LinkedHashMap<>();
+    private final Map<Long, String> lowStockKeys = new HashMap<>();
+
+    public ShoppingList(RuleBasedRecommender ruleBasedRecommender,
+                        PantryState pantryState,
+                        ItemRepository itemRepository,
+                        RecipeBookmarkRepository bookmarkRepository,
+                        @Value("${shopping.low-stock-threshold:5}") double lowStockThreshold) {
+        this.ruleBasedRecommender = ruleBasedRecommender;
+        this.pantryState = pantryState;
+        this.itemRepository = itemRepository;
+        this.bookmarkRepository = bookmarkRepository;
+        this.lowStockThreshold = lowStockThreshold;
+    }
+
+    @PostConstruct
+    public void init() {
+        build(ruleBasedRecommender.templates(), ruleBasedRecommender.matcher(), ruleBasedRecommender.units());
+        pantryState.addListener(this);
+    }
+
+    /**
+     * 현재 장보기 목록 (레시피 부족 재료 → 재고 부족만 해당하는 재료 순)
+     */
+    public List<ShoppingListItem> items() {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            List<ShoppingListItem> result = new ArrayList<>(missing.size() + lowStock.size());
+            for (int id : missing) {
+                String key = ingredientKeys.get(id);
+                long shortfall = requiredAmounts[id] - heldAmounts[id];
+                result.add(ShoppingListItem.builder()
+                        .name(ingredientNames.get(id))
+                        .missingAmount(requiredAmounts[id] > 0 ? fromBase(shortfall) : null)
+                        .unit(units.baseUnit(key))
+                        .lowStock(lowStock.containsKey(key))
+                        .currentQuantity(lowStock.containsKey(key) ? lowStockQuantity(key) : null)
+                        .recipes(requiringRecipes.get(id).stream().map(recipe -> templates.get(recipe).getTitle()).toList())
+                        .build());
+            }
+            for (Map.Entry<String, Map<Long, ItemSnapshot>> entry : lowStock.entrySet()) {
+                Integer id = ingredientIds.get(entry.getKey());
+                if (id != null && missing.contains(id)) {
+                    continue;
+                }
+                ItemSnapshot first = entry.getValue().values().iterator().next();
+                boolean convertible = id != null;
+                result.add(ShoppingListItem.builder()
+                        .name(convertible ? ingredientNames.get(id) : first.getName().trim())
+                        .unit(convertible ? units.baseUnit(entry.getKey()) : first.getUnit())
+                        .lowStock(true)
+                        .currentQuantity(lowStockQuantity(entry.getKey()))
+                        .recipes(List.of())
+                        .build());
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 카탈로그에 있는 레시피 이름인지
+     */
+    public boolean hasRecipe(String title) {
+        return recipeIds.containsKey(title);
+    }
+
+    /**
+     * 즐겨찾기 추가 반영 (DB 저장 후 호출)
+     */
+    public void addBookmark(String title) {
+        Integer recipe = recipeIds.get(title);
+        if (recipe == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            // 적재 여부는 잠금 안에서 본다 (적재 중이면 끝날 때까지 기다렸다가 반영, 중복 반영은 무시된다)
+            if (loaded) {
+                applyBookmark(recipe, true);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 즐겨찾기 삭제 반영 (DB 삭제 후 호출)
+     */
+    public void removeBookmark(String title) {
+        Integer recipe = recipeIds.get(title);
+        if (recipe == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                applyBookmark(recipe, false);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 즐겨찾기와 재고 부족 목록을 버린다 (다음 조회 때 DB 에서 다시 적재)
+     */
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            for (Integer recipe : List.copyOf(bookmarked)) {
+                applyBookmark(recipe, false);
+            }
+            lowStock.clear();
+            lowStockKeys.clear();
+            loaded = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onPantryReset(Collection<ItemSnapshot> items) {
+        lock.writeLock().lock();
+        try {
+            resetHoldings();
+            for (ItemSnapshot item : items) {
+                updateHolding(null, item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onItemChanged(ItemSnapshot before, ItemSnapshot after) {
+        lock.writeLock().lock();
+        try {
+            updateHolding(before, after);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 커밋된 아이템 변경으로 재고 부족 목록을 고친다 (수량 0 아이템도 포함되므로 PantryState 와 따로 받는다)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemEvent(ItemChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            // 적재 여부는 잠금 안에서 본다: 적재 중(재고 부족 목록을 읽는 동안) 커밋된 변경은 적재가 끝난 뒤 반영된다
+            if (!loaded) {
+                // 아직 적재 전이면 첫 조회 시 DB 에서 커밋 후 상태를 읽는다
+                return;
+            }
+            updateLowStock(event.getItemId(), event.getAfter());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        // PantryState 잠금 안에서 이쪽 잠금을 잡으므로, 반대 순서가 되지 않게 먼저 적재해 둔다
+        pantryState.fingerprint();
+
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            // 복제 지연만큼 놓친 변경은 이벤트로도 채워지지 않으므로 primary 에서 적재한다
+            for (RecipeBookmark bookmark : ReplicaRoutingDataSource.onPrimary(bookmarkRepository::findAll)) {
+                Integer recipe = recipeIds.get(bookmark.getTitle());
+                if (recipe != null) {
+                    applyBookmark(recipe, true);
+                }
+            }
+            ReplicaRoutingDataSource.onPrimary(() -> itemRepository.findLowStockItems(lowStockThreshold))
+                    .forEach(item -> updateLowStock(item.getId(), ItemSnapshot.of(item)));
+            loaded = true;
+            log.info("장보기 목록 적재: 즐겨찾기 레시피 {} 개, 재고 부족 {} 개", bookmarked.size(), lowStockKeys.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void build(List<RecipeTemplate> catalog, IngredientMatcher ingredientMatcher, UnitRegistry unitRegistry) {
+        templates = catalog;
+        matcher = ingredientMatcher;
+        units = unitRegistry;
+        recipeIds = new HashMap<>();
+        ingredientIds = new HashMap<>();
+        ingredientKeys = new ArrayList<>();
+        ingredientNames = new ArrayList<>();
+        slotIngredients = new int[catalog.size()][];
+
+        for (int recipe = 0; recipe < catalog.size(); recipe++) {
+            RecipeTemplate template = catalog.get(recipe);
+            recipeIds.putIfAbsent(template.getTitle(), recipe);
+            slotIngredients[recipe] = new int[template.ingredientKeys.length];
+            for (int slot = 0; slot < template.ingredientKeys.length; slot++) {
+                String name = template.getIngredients().get(slot).getName().trim();
+                slotIngredients[recipe][slot] = ingredientIds.computeIfAbsent(template.ingredientKeys[slot], key -> {
+                    ingredientKeys.add(key);
+                    ingredientNames.add(name);
+                    return ingredientKeys.size() - 1;
+                });
+            }
+        }
+
+        requiredAmounts = new long[ingredientKeys.size()];
+        requiringRecipes = new ArrayList<>(ingredientKeys.size());
+        for (int id = 0; id < ingredientKeys.size(); id++) {
+            requiringRecipes.add(new LinkedHashSet<>());
+        }
+        resetHoldings();
+    }
+
+    private void resetHoldings() {
+        int ingredientCount = ingredientKeys.size();
+        holders = new ArrayList<>(ingredientCount);
+        for (int id = 0; id < ingredientCount; id++) {
+            holders.add(new HashMap<>(2));
+        }
+        heldAmounts = new long[ingredientCount];
+        unknownUnitHeld = new boolean[ingredientCount];
+        missing.clear();
+        for (int id = 0; id < ingredientCount; id++) {
+            refreshMissing(id);
+        }
+    }
+
+    private void applyBookmark(int recipe, boolean add) {
+        if (add ? !bookmarked.add(recipe) : !bookmarked.remove(recipe)) {
+            return;
+        }
+        long[] required = templates.get(recipe).requiredAmounts;
+        int[] ingredients = slotIngredients[recipe];
+        for (int slot = 0; slot < ingredients.length; slot++) {
+            int id = ingredients[slot];
+            requiredAmounts[id] += add ? required[slot] : -required[slot];
+            if (add) {
+                requiringRecipes.get(id).add(recipe);
+            } else {
+                requiringRecipes.get(id).remove(recipe);
+            }
+            refreshMissing(id);
+        }
+    }
+
+    private void updateHolding(ItemSnapshot before, ItemSnapshot after) {
+        Integer beforeId = before != null ? ingredientId(before.getName()) : null;
+        Integer afterId = after != null ? ingredientId(after.getName()) : null;
+
+        if (beforeId != null) {
+            holders.get(beforeId).remove(before.getId());
+        }
+        if (afterId != null) {
+            holders.get(afterId).put(after.getId(),
+                    units.toBase(ingredientKeys.get(afterId), after.getQuantity(), after.getUnit()));
+        }
+
+        if (beforeId != null) {
+            refreshHeld(beforeId);
+        }
+        if (afterId != null && !afterId.equals(beforeId)) {
+            refreshHeld(afterId);
+        }
+    }
+
+    private void refreshHeld(int id) {
+        long held = 0L;
+        boolean unknown = false;
+        for (long amount : holders.get(id).values()) {
+            if (amount == UnitRegistry.UNKNOWN) {
+                unknown = true;
+            } else {
+                held += amount;
+            }
+        }
+        heldAmounts[id] = held;
+        unknownUnitHeld[id] = unknown;
+        refreshMissing(id);
+    }
+
+    /**
+     * 즐겨찾기 레시피들이 함께 쓰는 양을 보유량이 못 채우면 부족 재료
+     */
+    private void refreshMissing(int id) {
+        boolean shortage = !requiringRecipes.get(id).isEmpty()
+                && !RuleBasedRecommender.covers(heldAmounts[id], unknownUnitHeld[id], requiredAmounts[id]);
+        if (shortage) {
+            missing.add(id);
+        } else {
+            missing.remove(id);
+        }
+    }
+
+    private void updateLowStock(Long itemId, ItemSnapshot after) {
+        String previousKey = lowStockKeys.remove(itemId);
+        if (previousKey != null) {
+            Map<Long, ItemSnapshot> group = lowStock.get(previousKey);
+            group.remove(itemId);
+            if (group.isEmpty()) {
+                lowStock.remove(previousKey);
+            }
+        }
+        // findLowStockItems 와 같은 기준
+        if (after != null && after.getQuantity() != null
+                && after.getQuantity().compareTo(BigDecimal.valueOf(lowStockThreshold)) <= 0) {
+            String key = lowStockKey(after.getName());
+            lowStock.computeIfAbsent(key, k -> new LinkedHashMap<>()).put(itemId, after);
+            lowStockKeys.put(itemId, key);
+        }
+    }
+
+    /**
+     * 재고 부족 아이템 보유량 합 (카탈로그 재료면 기준 단위, 아니면 단위가 모두 같을 때만)
+     */
+    private BigDecimal lowStockQuantity(String key) {
+        Collection<ItemSnapshot> group = lowStock.get(key).values();
+        if (ingredientIds.containsKey(key)) {
+            long total = 0L;
+            for (ItemSnapshot item : group) {
+                long amount = units.toBase(key, item.getQuantity(), item.getUnit());
+                if (amount == UnitRegistry.UNKNOWN) {
+                    return null;
+                }
+                total += amount;
+            }
+            return fromBase(total);
+        }
+        String unit = null;
+        BigDecimal total = BigDecimal.ZERO;
+        for (ItemSnapshot item : group) {
+            String normalized = UnitRegistry.normalizeUnit(item.getUnit());
+            if (unit != null && !unit.equals(normalized)) {
+                return null;
+            }
+            unit = normalized;
+            total = total.add(item.getQuantity());
+        }
+        return total.stripTrailingZeros();
+    }
+
+    private String lowStockKey(String itemName) {
+        String key = matcher.match(itemName);
+        return key != null ? key : IngredientMatcher.normalize(itemName);
+    }
+
+    private Integer ingredientId(String itemName) {
+        String key = matcher.match(itemName);
+        return key != null ? ingredientIds.get(key) : null;
+    }
+
+    private static BigDecimal fromBase(long amount) {
+        return BigDecimal.valueOf(amount).divide(UnitRegistry.SCALE, 3, RoundingMode.HALF_UP).stripTrailingZeros();
+    }
+}
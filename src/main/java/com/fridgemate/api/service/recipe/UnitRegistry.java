@@ -0,0 +1,139 @@
+package com.fridgemate.api.service.recipe;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+
+/**
+ * 재료별 단위 환산표
+ *
+ * 수량은 재료의 기준 단위 x 1000 (소수 셋째 자리까지 표현하는 고정소수점 long) 으로 바꿔 비교한다.
+ * 일반 단위(g/kg, ml/L/큰술/컵, 개)는 같은 차원끼리 환산하고, 병·통·단처럼 재료마다 크기가 다른 단위는
+ * ingredient-units.json 의 재료별 환산 계수를 쓴다. 환산표는 카탈로그를 로드할 때 재료마다 미리 만들어 둔다.
+ */
+public class UnitRegistry {
+
+    /** 환산할 수 없는 단위 */
+    public static final long UNKNOWN = Long.MIN_VALUE;
+
+    static final BigDecimal SCALE = BigDecimal.valueOf(1000);
+
+    private enum Dimension { MASS, VOLUME, COUNT }
+
+    private record GenericUnit(Dimension dimension, BigDecimal factor) {
+    }
+
+    private static final Map<String, GenericUnit> GENERIC_UNITS = Map.ofEntries(
+            Map.entry("mg", new GenericUnit(Dimension.MASS, new BigDecimal("0.001"))),
+            Map.entry("g", new GenericUnit(Dimension.MASS, BigDecimal.ONE)),
+            Map.entry("kg", new GenericUnit(Dimension.MASS, new BigDecimal("1000"))),
+            Map.entry("근", new GenericUnit(Dimension.MASS, new BigDecimal("600"))),
+            Map.entry("ml", new GenericUnit(Dimension.VOLUME, BigDecimal.ONE)),
+            Map.entry("l", new GenericUnit(Dimension.VOLUME, new BigDecimal("1000"))),
+            Map.entry("작은술", new GenericUnit(Dimension.VOLUME, new BigDecimal("5"))),
+            Map.entry("큰술", new GenericUnit(Dimension.VOLUME, new BigDecimal("15"))),
+            Map.entry("컵", new GenericUnit(Dimension.VOLUME, new BigDecimal("200"))),
+            Map.entry("개", new GenericUnit(Dimension.COUNT, BigDecimal.ONE))
+    );
+
+    private static final Map<String, String> UNIT_ALIASES = Map.of(
+            "cc", "ml",
+            "밀리리터", "ml",
+            "리터", "l",
+            "그램", "g",
+            "킬로그램", "kg",
+            "tsp", "작은술",
+            "tbsp", "큰술",
+            "스푼", "큰술"
+    );
+
+    private final Map<String, Conversion> conversions = new HashMap<>();
+
+    /**
+     * @param ingredientUnits 재료 키 → (기준 단위, 추가 단위별 기준 단위 환산 계수)
+     * @param catalogUnits 재료 키 → 레시피에서 쓰는 단위들 (첫 번째를 기본 기준 단위로 사용)
+     */
+    public UnitRegistry(Map<String, IngredientUnits> ingredientUnits, Map<String, List<String>> catalogUnits) {
+        Set<String> keys = new LinkedHashSet<>(catalogUnits.keySet());
+        keys.addAll(ingredientUnits.keySet());
+
+        for (String key : keys) {
+            IngredientUnits configured = ingredientUnits.get(key);
+            String base = configured != null && configured.getBase() != null
+                    ? normalizeUnit(configured.getBase())
+                    : catalogUnits.getOrDefault(key, List.of()).stream().findFirst().map(UnitRegistry::normalizeUnit).orElse("");
+            conversions.put(key, compile(base, configured));
+        }
+    }
+
+    /**
+     * 수량을 재료 기준 단위의 고정소수점 값으로 환산 (환산 불가 시 UNKNOWN)
+     */
+    public long toBase(String ingredientKey, BigDecimal amount, String unit) {
+        if (amount == null) {
+            return UNKNOWN;
+        }
+        Conversion conversion = conversions.get(ingredientKey);
+        if (conversion == null) {
+            return UNKNOWN;
+        }
+        BigDecimal factor = conversion.factors().get(normalizeUnit(unit));
+        if (factor == null) {
+            return UNKNOWN;
+        }
+        return amount.multiply(factor).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    /**
+     * 재료의 기준 단위
+     */
+    public String baseUnit(String ingredientKey) {
+        Conversion conversion = conversions.get(ingredientKey);
+        return conversion != null ? conversion.baseUnit() : null;
+    }
+
+    private static Conversion compile(String base, IngredientUnits configured) {
+        Map<String, BigDecimal> factors = new HashMap<>();
+        factors.put(base, SCALE);
+
+        GenericUnit baseGeneric = GENERIC_UNITS.get(base);
+        if (baseGeneric != null) {
+            GENERIC_UNITS.forEach((unit, generic) -> {
+                if (generic.dimension() == baseGeneric.dimension()) {
+                    factors.put(unit, generic.factor().multiply(SCALE).divide(baseGeneric.factor(), 6, RoundingMode.HALF_UP));
+                }
+            });
+        }
+
+        if (configured != null && configured.getUnits() != null) {
+            configured.getUnits().forEach((unit, perUnit) ->
+                    factors.put(normalizeUnit(unit), perUnit.multiply(SCALE)));
+        }
+        return new Conversion(base, Map.copyOf(factors));
+    }
+
+    static String normalizeUnit(String unit) {
+        if (unit == null) {
+            return "";
+        }
+        String normalized = unit.trim().toLowerCase(Locale.ROOT).replace(" ", "");
+        return UNIT_ALIASES.getOrDefault(normalized, normalized);
+    }
+
+    private record Conversion(String baseUnit, Map<String, BigDecimal> factors) {
+    }
+
+    /**
+     * ingredient-units.json 항목
+     */
+    public static class IngredientUnits {
+        private String base;
+        private Map<String, BigDecimal> units;
+
+        public String getBase() { return base; }
+        public void setBase(String base) { this.base = base; }
+
+        public Map<String, BigDecimal> getUnits() { return units; }
+        public void setUnits(Map<String, BigDecimal> units) { this.units = units; }
+    }
+}
@@ -0,0 +1,45 @@
+-- 레시피 카탈로그 테이블
+
+-- 재료 사전 (name 은 정규화된 재료 키: 소문자, 공백 제거, 동의어는 대표 이름)
+CREATE TABLE ingredients (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(100) NOT NULL UNIQUE
+);
+
+-- 레시피
+CREATE TABLE recipes (
+    id BIGSERIAL PRIMARY KEY,
+    region VARCHAR(20) NOT NULL DEFAULT 'default',
+    title VARCHAR(200) NOT NULL,
+    category VARCHAR(30),
+    diet VARCHAR(30),
+    estimated_time_min INTEGER,
+    steps TEXT[] NOT NULL DEFAULT '{}',
+    -- recipe_ingredients 의 재료 ID 목록 (보유 재료와 겹치는 레시피를 GIN 인덱스로 찾기 위한 비정규화 컬럼)
+    ingredient_ids BIGINT[] NOT NULL DEFAULT '{}',
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+-- 레시피 재료
+CREATE TABLE recipe_ingredients (
+    id BIGSERIAL PRIMARY KEY,
+    recipe_id BIGINT NOT NULL REFERENCES recipes(id) ON DELETE CASCADE,
+    ingredient_id BIGINT NOT NULL REFERENCES ingredients(id),
+    position INTEGER NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    amount NUMERIC(15,3),
+    unit VARCHAR(20)
+);
+
+-- 인덱스 생성
+CREATE INDEX idx_recipes_ingredient_ids ON recipes USING GIN (ingredient_ids);
+CREATE INDEX idx_recipes_region ON recipes(region);
+CREATE INDEX idx_recipe_ingredients_recipe ON recipe_ingredients(recipe_id, position);
+CREATE INDEX idx_recipe_ingredients_ingredient ON recipe_ingredients(ingredient_id);
+
+-- 업데이트 트리거
+CREATE TRIGGER update_recipes_updated_at
+    BEFORE UPDATE ON recipes
+    FOR EACH ROW
+    EXECUTE FUNCTION update_updated_at();
@@ -0,0 +1,8 @@
+-- 레시피 즐겨찾기 (장보기 목록에 부족한 재료를 올릴 레시피)
+
+-- title 은 카탈로그 레시피 이름 (번들 카탈로그와 DB 카탈로그 모두 같은 이름을 쓴다)
+CREATE TABLE recipe_bookmarks (
+    id BIGSERIAL PRIMARY KEY,
+    title VARCHAR(200) NOT NULL UNIQUE,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
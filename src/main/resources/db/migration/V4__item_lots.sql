@@ -0,0 +1,24 @@
+-- 재고 로트 (같은 아이템을 여러 번 구매한 묶음별 수량/유통기한)
+
+-- Item 엔티티에는 있지만 V1 에서 빠진 구매일 컬럼
+ALTER TABLE items ADD COLUMN IF NOT EXISTS purchase_date DATE;
+UPDATE items SET purchase_date = created_at::date WHERE purchase_date IS NULL;
+
+-- items.quantity 는 로트 수량 합, items.expiry_date 는 남은 로트 중 가장 이른 유통기한으로 유지한다
+CREATE TABLE item_lots (
+    id BIGSERIAL PRIMARY KEY,
+    item_id BIGINT NOT NULL REFERENCES items(id) ON DELETE CASCADE,
+    quantity NUMERIC(15,3) NOT NULL CHECK (quantity >= 0),
+    expiry_date DATE,
+    purchase_date DATE NOT NULL DEFAULT CURRENT_DATE,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+-- 다 쓴 로트(수량 0)는 남겨 두되 소비/유통기한 조회는 남은 로트만 본다
+CREATE INDEX idx_item_lots_item_expiry ON item_lots(item_id, expiry_date) WHERE quantity > 0;
+
+-- 기존 아이템은 현재 수량/유통기한으로 로트 하나씩
+INSERT INTO item_lots (item_id, quantity, expiry_date, purchase_date)
+SELECT id, quantity, expiry_date, purchase_date
+FROM items
+WHERE quantity > 0;
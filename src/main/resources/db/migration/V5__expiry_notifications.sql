@@ -0,0 +1,15 @@
+-- 유통기한 알림 아웃박스 (만료 스위퍼가 쓰고, 알림 발송기가 읽어 published_at 을 채운다)
+
+CREATE TABLE expiry_notifications (
+    id BIGSERIAL PRIMARY KEY,
+    item_id BIGINT NOT NULL REFERENCES items(id) ON DELETE CASCADE,
+    item_name VARCHAR(100) NOT NULL,
+    kind VARCHAR(20) NOT NULL,           -- EXPIRING | EXPIRED
+    expiry_date DATE NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    published_at TIMESTAMPTZ
+);
+
+-- 같은 아이템/유통기한/종류 알림은 한 번만 (여러 인스턴스가 같은 행을 처리해도 중복되지 않는다)
+CREATE UNIQUE INDEX uq_expiry_notifications_item ON expiry_notifications(item_id, expiry_date, kind);
+CREATE INDEX idx_expiry_notifications_unpublished ON expiry_notifications(id) WHERE published_at IS NULL;
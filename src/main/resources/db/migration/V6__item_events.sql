@@ -0,0 +1,18 @@
+-- 재고 변경 이벤트 아웃박스 (ItemService 변경과 같은 트랜잭션에서 기록) + 웹훅 엔드포인트별 전달 커서
+
+CREATE TABLE item_events (
+    id BIGSERIAL PRIMARY KEY,
+    item_id BIGINT NOT NULL,              -- 삭제 이벤트도 남도록 FK 를 두지 않는다
+    type VARCHAR(20) NOT NULL,            -- CREATED | UPDATED | CONSUMED | RESTOCKED | DELETED
+    payload JSONB NOT NULL,               -- {"before": {...}, "after": {...}}
+    -- 트랜잭션 시작 시각 (NOW()) 이므로, 늦게 커밋된 작은 id 를 놓치지 않도록 발송기는 일정 시간 지난 행만 읽는다
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX idx_item_events_created ON item_events(created_at);
+
+CREATE TABLE webhook_cursors (
+    endpoint VARCHAR(500) PRIMARY KEY,
+    last_event_id BIGINT NOT NULL,        -- 이 id 까지는 전달 완료
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
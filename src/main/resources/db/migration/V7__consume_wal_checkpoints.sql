@@ -0,0 +1,10 @@
+-- 소비 write-behind 체크포인트: WAL(노드)별, 아이템별로 DB 에 반영 완료된 마지막 WAL 순번
+-- 합친 소비량 반영과 같은 트랜잭션에서 올리므로, 재시작 시 이 순번 이후 기록만 다시 반영하면 중복 없이 복구된다
+
+CREATE TABLE consume_wal_checkpoints (
+    wal_id VARCHAR(100) NOT NULL,
+    item_id BIGINT NOT NULL,              -- 삭제된 아이템의 체크포인트도 남도록 FK 를 두지 않는다
+    last_seq BIGINT NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (wal_id, item_id)
+);
@@ -0,0 +1,22 @@
+-- 음식물 낭비 분석용 일별 집계 (카테고리별 소비량 / 소비되지 못하고 만료된 양)
+-- 소비량은 소비 트랜잭션에서, 만료량은 매일 밤 롤포워드 작업이 더하므로 조회 시 이력을 훑지 않는다
+
+CREATE TABLE waste_daily (
+    day DATE NOT NULL,
+    category VARCHAR(30) NOT NULL,        -- 카테고리 없는 아이템은 ''
+    consumed_quantity NUMERIC(15,3) NOT NULL DEFAULT 0,
+    expired_quantity NUMERIC(15,3) NOT NULL DEFAULT 0,
+    PRIMARY KEY (day, category)
+);
+
+-- 롤포워드 진행 위치: last_day 까지의 만료분은 이미 waste_daily 에 반영됨
+CREATE TABLE waste_rollups (
+    name VARCHAR(30) PRIMARY KEY,
+    last_day DATE NOT NULL
+);
+
+-- 첫 롤포워드가 지난 1년 동안 만료된 채 남아 있는 로트를 채워 넣도록 1년 전부터 시작한다
+INSERT INTO waste_rollups (name, last_day) VALUES ('expiry', CURRENT_DATE - 366);
+
+-- 롤포워드는 유통기한 범위로 남은 로트를 찾는다
+CREATE INDEX idx_item_lots_expiry ON item_lots(expiry_date) WHERE quantity > 0;
@@ -0,0 +1,14 @@
+-- 웹훅 발송을 커밋 가시성에 묶는다: 이벤트마다 기록한 트랜잭션 id(xid8 을 bigint 로)를 남기고,
+-- 발송기는 스냅숏 xmin 보다 작은 xid 의 행만 (txid, id) 순으로 읽는다 (대기 시간으로 늦은 커밋을 기다리지 않는다)
+-- 이미 있는 행과 커서는 이 마이그레이션의 트랜잭션 id 로 채워 기존 커서 위치를 그대로 잇는다
+
+ALTER TABLE item_events ADD COLUMN txid BIGINT;
+UPDATE item_events SET txid = pg_current_xact_id()::text::bigint;
+ALTER TABLE item_events
+    ALTER COLUMN txid SET DEFAULT pg_current_xact_id()::text::bigint,
+    ALTER COLUMN txid SET NOT NULL;
+
+CREATE INDEX idx_item_events_txid ON item_events(txid, id);
+
+ALTER TABLE webhook_cursors ADD COLUMN last_txid BIGINT NOT NULL DEFAULT 0;
+UPDATE webhook_cursors SET last_txid = pg_current_xact_id()::text::bigint;
@@ -0,0 +1,161 @@
+package com.fridgemate.api.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.servlet.http.Cookie;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica1;
+
+    @Mock
+    private DataSource replica2;
+
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        routing = new ReplicaRoutingDataSource(primary, List.of(replica1, replica2), 1000);
+        routing.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReplicaRoutingDataSource.unpin();
+    }
+
+    private static void lag(DataSource replica, double seconds) throws SQLException {
+        lag(replica, seconds, false);
+    }
+
+    private static void lag(DataSource replica, double seconds, boolean unknown) throws SQLException {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(replica.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenReturn(seconds);
+        when(resultSet.wasNull()).thenReturn(unknown);
+    }
+
+    private List<Object> route(int times) {
+        return IntStream.range(0, times).mapToObj(i -> routing.determineCurrentLookupKey()).toList();
+    }
+
+    @Test
+    @DisplayName("읽기 전용 트랜잭션은 건강한 복제본들에 번갈아 보내고, 쓰기는 primary 로 보낸다")
+    void route_BalancesReadOnlyAcrossReplicas() throws SQLException {
+        lag(replica1, 0);
+        lag(replica2, 0.2);
+        routing.checkReplicas();
+
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(route(4)).containsOnly("replica-1", "replica-2").contains("replica-1", "replica-2");
+        assertThat(routing.lagMillis("replica-2")).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("지연이 허용치를 넘거나 연결이 안 되는 복제본은 빼고, 모두 빠지면 primary 에서 읽는다")
+    void route_FallsBackWhenReplicasLagOrFail() throws SQLException {
+        lag(replica1, 5);
+        when(replica2.getConnection()).thenThrow(new SQLException("connection refused"));
+        routing.checkReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(route(3)).containsOnly(ReplicaRoutingDataSource.PRIMARY);
+        assertThat(routing.isHealthy("replica-1")).isFalse();
+        assertThat(routing.lagMillis("replica-2")).isEqualTo(-1);
+
+        reset(replica1);
+        lag(replica1, 0.5);
+        routing.checkReplicas();
+        assertThat(route(3)).containsOnly("replica-1");
+    }
+
+    @Test
+    @DisplayName("WAL 수신이 끊겨 지연을 알 수 없는 복제본은 뺀다")
+    void route_ExcludesReplicaWithoutWalReceiver() throws SQLException {
+        lag(replica1, 0, true);
+        lag(replica2, 0);
+        routing.checkReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(route(3)).containsOnly("replica-2");
+        assertThat(routing.isHealthy("replica-1")).isFalse();
+        assertThat(routing.lagMillis("replica-1")).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("primary 에 고정된 스레드는 읽기 전용이어도 primary 에서 읽고, onPrimary 는 이전 고정 상태를 복원한다")
+    void route_PinnedThreadReadsPrimary() throws SQLException {
+        lag(replica1, 0);
+        lag(replica2, 0);
+        routing.checkReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        Object inside = ReplicaRoutingDataSource.onPrimary(routing::determineCurrentLookupKey);
+        assertThat(inside).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+        assertThat(routing.determineCurrentLookupKey()).isNotEqualTo(ReplicaRoutingDataSource.PRIMARY);
+
+        ReplicaRoutingDataSource.pinToPrimary();
+        ReplicaRoutingDataSource.onPrimary(() -> null);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    @DisplayName("쓰기 요청은 쿠키로 고정 기간을 알려 주고, 기간 안의 다음 읽기 요청은 primary 로 고정된다")
+    void readYourWrites_PinsClientAfterWrite() {
+        ReadYourWritesInterceptor interceptor = new ReadYourWritesInterceptor(5000);
+
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        interceptor.preHandle(new MockHttpServletRequest("POST", "/api/items"), writeResponse, null);
+        assertThat(ReplicaRoutingDataSource.isPinnedToPrimary()).isTrue();
+        interceptor.afterCompletion(null, null, null, null);
+        assertThat(ReplicaRoutingDataSource.isPinnedToPrimary()).isFalse();
+
+        Cookie cookie = writeResponse.getCookie(ReadYourWritesInterceptor.COOKIE_NAME);
+        assertThat(cookie).isNotNull();
+        assertThat(Long.parseLong(cookie.getValue())).isGreaterThan(System.currentTimeMillis());
+
+        MockHttpServletRequest read = new MockHttpServletRequest("GET", "/api/items");
+        read.setCookies(cookie);
+        interceptor.preHandle(read, new MockHttpServletResponse(), null);
+        assertThat(ReplicaRoutingDataSource.isPinnedToPrimary()).isTrue();
+        interceptor.afterCompletion(null, null, null, null);
+
+        MockHttpServletRequest expired = new MockHttpServletRequest("GET", "/api/items");
+        expired.setCookies(new Cookie(ReadYourWritesInterceptor.COOKIE_NAME, String.valueOf(System.currentTimeMillis() - 1)));
+        interceptor.preHandle(expired, new MockHttpServletResponse(), null);
+        assertThat(ReplicaRoutingDataSource.isPinnedToPrimary()).isFalse();
+    }
+}
@@ -1,8 +1,12 @@
 package com.fridgemate.api.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fridgemate.api.dto.FacetCount;
 import com.fridgemate.api.dto.ItemCreateReq;
+import com.fridgemate.api.dto.ItemField;
 import com.fridgemate.api.dto.ItemResp;
+import com.fridgemate.api.dto.ItemSearchResp;
+import com.fridgemate.api.service.ItemNameSuggester;
 import com.fridgemate.api.service.ItemService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,14 +14,18 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -31,6 +39,9 @@ class ItemControllerTest {
     @MockBean
     private ItemService itemService;
 
+    @MockBean
+    private ItemNameSuggester itemNameSuggester;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -122,4 +133,67 @@ class ItemControllerTest {
         mockMvc.perform(delete("/api/items/1"))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    @DisplayName("이름 자동완성 API")
+    void suggestNames_Success() throws Exception {
+        // Given
+        when(itemNameSuggester.suggest("계", 5)).thenReturn(List.of("계란", "계피"));
+
+        // When & Then
+        mockMvc.perform(get("/api/items/suggest-names").param("prefix", "계").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value("계란"))
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    @DisplayName("패싯 검색 API")
+    void searchItems_Success() throws Exception {
+        // Given
+        ItemSearchResp result = ItemSearchResp.builder()
+                .content(List.of(testItemResp))
+                .page(0)
+                .size(20)
+                .totalElements(1)
+                .totalPages(1)
+                .categories(List.of(new FacetCount("유제품", 1), new FacetCount("채소", 3)))
+                .locations(List.of(new FacetCount("냉장", 1)))
+                .build();
+        when(itemService.searchItems(eq("계"), eq(null), eq("냉장"), eq(null), eq("created"), eq("desc"), eq(ItemField.ALL), any()))
+                .thenReturn(result);
+
+        // When & Then
+        mockMvc.perform(get("/api/items/search").param("keyword", "계").param("location", "냉장"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("계란"))
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.categories[1].value").value("채소"))
+                .andExpect(jsonPath("$.categories[1].count").value(3));
+    }
+
+    @Test
+    @DisplayName("재고 목록 조회 API - 고른 필드만 응답")
+    void getItems_SparseFields() throws Exception {
+        // Given
+        ItemResp sparse = testItemResp.select(EnumSet.of(ItemField.ID, ItemField.NAME, ItemField.QUANTITY));
+        when(itemService.getItems(eq(null), eq(null), eq("created"), eq("desc"),
+                eq(EnumSet.of(ItemField.ID, ItemField.NAME, ItemField.QUANTITY)), any()))
+                .thenReturn(new PageImpl<>(List.of(sparse), PageRequest.of(0, 20), 1));
+
+        // When & Then
+        mockMvc.perform(get("/api/items").param("fields", "name,quantity"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.content[0].name").value("계란"))
+                .andExpect(jsonPath("$.content[0].memo").doesNotExist())
+                .andExpect(jsonPath("$.content[0].daysUntilExpiry").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("재고 목록 조회 API - 선택할 수 없는 필드")
+    void getItems_UnknownField() throws Exception {
+        mockMvc.perform(get("/api/items").param("fields", "name,password"))
+                .andExpect(status().isBadRequest());
+    }
 }
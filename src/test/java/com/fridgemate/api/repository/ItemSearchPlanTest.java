@@ -0,0 +1,110 @@
+package com.fridgemate.api.repository;
+
+import com.fridgemate.api.dto.ItemField;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.data.domain.Sort;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 조건 조합별 검색 SQL(/api/items/search 가 실행하는 패싯 쿼리)의 결과 페이지가 해당 인덱스를 타는지
+ * 실제 Postgres 실행 계획으로 확인한다 (패싯 수는 자기 축 필터를 빼고 세므로 인덱스 대상이 아니다)
+ *
+ * Flyway 마이그레이션이 적용된 로컬 DB 가 필요하다 (PLAN_CHECK_DB_URL, PLAN_CHECK_DB_USER, PLAN_CHECK_DB_PASSWORD).
+ * 한 트랜잭션 안에서 아이템을 채우고 ANALYZE 한 뒤 EXPLAIN 만 하고 롤백하므로 DB 에 남는 것은 없다.
+ */
+@EnabledIfEnvironmentVariable(named = "PLAN_CHECK_DB_URL", matches = ".+")
+class ItemSearchPlanTest {
+
+    private static final Pattern PARAMETER = Pattern.compile("(?<!:):([a-zA-Z]+)");
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void seed() throws SQLException {
+        connection = DriverManager.getConnection(System.getenv("PLAN_CHECK_DB_URL"),
+                System.getenv("PLAN_CHECK_DB_USER"), System.getenv("PLAN_CHECK_DB_PASSWORD"));
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            // 카테고리 200 종, 위치 50 곳, 유통기한 2년에 고르게 퍼진 5만 개
+            statement.execute("""
+                    INSERT INTO items (name, quantity, unit, expiry_date, category, location)
+                    SELECT 'plan-item-' || g, 1, '개', CURRENT_DATE + (g % 730), 'cat-' || (g % 200), 'loc-' || (g % 50)
+                    FROM generate_series(1, 50000) g
+                    """);
+            statement.execute("ANALYZE items");
+        }
+    }
+
+    @AfterAll
+    static void rollback() throws SQLException {
+        if (connection != null) {
+            connection.rollback();
+            connection.close();
+        }
+    }
+
+    @ParameterizedTest(name = "category={0}, location={1}, expiring={2}")
+    @DisplayName("결과 페이지가 주어진 조건의 인덱스를 탄다")
+    @CsvSource({
+            "true,  false, false, idx_items_category",
+            "false, true,  false, idx_items_location",
+            "false, false, true,  idx_items_expiry",
+            "true,  true,  false, idx_items_category|idx_items_location",
+            "true,  false, true,  idx_items_category|idx_items_expiry",
+            "false, true,  true,  idx_items_location|idx_items_expiry",
+            "true,  true,  true,  idx_items_category|idx_items_location|idx_items_expiry"
+    })
+    void facetSearch_UsesIndexForEachFilterCombination(boolean category, boolean location, boolean expiring,
+                                                  String expectedIndexes) throws SQLException {
+        String sql = ItemSearchRepositoryImpl.facetSql(false, category, location, expiring, ItemField.ALL,
+                Sort.by("createdAt"));
+
+        String plan = explain(sql);
+
+        assertThat(plan).as(plan).containsPattern(expectedIndexes);
+    }
+
+    private static String explain(String sql) throws SQLException {
+        List<String> names = new ArrayList<>();
+        Matcher matcher = PARAMETER.matcher(sql);
+        StringBuilder jdbcSql = new StringBuilder();
+        while (matcher.find()) {
+            names.add(matcher.group(1));
+            matcher.appendReplacement(jdbcSql, "?");
+        }
+        matcher.appendTail(jdbcSql);
+
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + jdbcSql)) {
+            for (int i = 0; i < names.size(); i++) {
+                switch (names.get(i)) {
+                    case "category" -> statement.setString(i + 1, "cat-7");
+                    case "location" -> statement.setString(i + 1, "loc-7");
+                    case "expiringDate" -> statement.setObject(i + 1, LocalDate.now().plusDays(3));
+                    case "limit" -> statement.setInt(i + 1, 20);
+                    case "offset" -> statement.setLong(i + 1, 0);
+                    default -> throw new IllegalStateException("알 수 없는 파라미터: " + names.get(i));
+                }
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        }
+    }
+}
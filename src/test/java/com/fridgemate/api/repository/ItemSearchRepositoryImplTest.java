@@ -0,0 +1,95 @@
+package com.fridgemate.api.repository;
+
+import com.fridgemate.api.dto.ItemField;
+import com.fridgemate.api.repository.ItemSearchRepositoryImpl.Kind;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemSearchRepositoryImplTest {
+
+    @Test
+    @DisplayName("없는 필터는 SQL 에서 빼고, 패싯 수는 자기 축 필터만 빼고 센다")
+    void facetSql_OmitsAbsentFiltersAndExcludesOwnAxis() {
+        String sql = ItemSearchRepositoryImpl.facetSql(false, true, false, true, ItemField.ALL, Sort.by("name"));
+
+        assertThat(sql).doesNotContain(":keyword", ":location")
+                .contains("SELECT i.category, i.location FROM items i WHERE i.expiry_date <= :expiringDate")
+                // 카테고리 칩은 위치 필터(없음)만, 위치 칩은 카테고리 필터만
+                .contains("THEN COUNT(*) FILTER (WHERE TRUE)")
+                .contains("WHEN GROUPING(b.location) = 0 THEN COUNT(*) FILTER (WHERE b.category = :category)")
+                .contains("GROUP BY GROUPING SETS ((b.category), (b.location), ())")
+                .contains("ORDER BY i.name ASC, i.id");
+    }
+
+    @Test
+    @DisplayName("정렬은 허용한 필드만 컬럼 이름으로 바꿔 붙인다")
+    void facetSql_WhitelistsSortColumns() {
+        String sql = ItemSearchRepositoryImpl.facetSql(true, false, false, false, ItemField.ALL,
+                Sort.by(Sort.Order.desc("expiryDate"), Sort.Order.asc("quantity")));
+
+        assertThat(sql).contains("FROM items i WHERE LOWER(i.name) LIKE :keyword ESCAPE '\\'")
+                .contains("ORDER BY i.expiry_date DESC, i.quantity ASC, i.id");
+        assertThatThrownBy(() -> ItemSearchRepositoryImpl.facetSql(false, false, false, false, ItemField.ALL,
+                Sort.by("name; DROP TABLE items")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("결과 페이지는 주어진 조건을 모두 items 스캔의 WHERE 에 넣는다")
+    void facetSql_PushesFiltersIntoPageScan() {
+        String unfiltered = ItemSearchRepositoryImpl.facetSql(false, false, false, false, ItemField.parse("name"),
+                Sort.by("createdAt")).replaceAll("\\s+", " ");
+        String filtered = ItemSearchRepositoryImpl.facetSql(false, true, true, true, ItemField.ALL,
+                Sort.by(Sort.Direction.DESC, "name")).replaceAll("\\s+", " ");
+
+        assertThat(unfiltered)
+                .contains("i.updated_at, ROW_NUMBER() OVER (ORDER BY i.created_at ASC, i.id) AS position FROM items i ORDER BY")
+                .doesNotContain("i.memo");
+        assertThat(filtered)
+                .contains("FROM items i WHERE i.expiry_date <= :expiringDate AND i.category = :category "
+                        + "AND i.location = :location ORDER BY i.name DESC, i.id LIMIT :limit OFFSET :offset")
+                .doesNotContain("FROM base b WHERE");
+    }
+
+    @Test
+    @DisplayName("같은 모양의 요청은 만들어 둔 SQL 을 그대로 쓰고, 잘못된 정렬은 기억하지 않는다")
+    void sql_CachesPerShape() {
+        ItemSearchRepositoryImpl repository = new ItemSearchRepositoryImpl();
+        ItemSearchRepositoryImpl.Shape shape =
+                new ItemSearchRepositoryImpl.Shape(Kind.PAGE, false, true, false, false, ItemField.ALL, Sort.by("name"));
+
+        String first = repository.sql(shape);
+        String second = repository.sql(
+                new ItemSearchRepositoryImpl.Shape(Kind.PAGE, false, true, false, false, ItemField.ALL, Sort.by("name")));
+        repository.sql(new ItemSearchRepositoryImpl.Shape(Kind.FACETS, false, true, false, false, ItemField.ALL, Sort.by("name")));
+        assertThatThrownBy(() -> repository.sql(
+                new ItemSearchRepositoryImpl.Shape(Kind.PAGE, false, false, false, false, ItemField.ALL, Sort.by("memo"))))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(second).isSameAs(first);
+        assertThat(repository.cachedShapes()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("고르지 않은 필드는 컬럼을 읽지 않고 타입만 맞춘 NULL 로 채운다")
+    void pageSql_ReadsOnlySelectedColumns() {
+        Set<ItemField> fields = ItemField.parse("name,quantity");
+
+        assertThat(ItemSearchRepositoryImpl.pageSql(true, false, fields, Sort.by("name")))
+                .isEqualTo("SELECT i.id, i.name, i.quantity, CAST(NULL AS VARCHAR), CAST(NULL AS DATE), "
+                        + "CAST(NULL AS VARCHAR), CAST(NULL AS VARCHAR), CAST(NULL AS TEXT), CAST(NULL AS TIMESTAMPTZ), "
+                        + "CAST(NULL AS TIMESTAMPTZ), COUNT(*) OVER () FROM items i WHERE i.category = :category "
+                        + "ORDER BY i.name ASC, i.id LIMIT :limit OFFSET :offset");
+
+        // 남은 일수만 골라도 계산에 쓸 유통기한은 읽는다
+        assertThat(ItemSearchRepositoryImpl.itemColumns("p", ItemField.parse("daysUntilExpiry")))
+                .startsWith("p.id, CAST(NULL AS VARCHAR), CAST(NULL AS NUMERIC), CAST(NULL AS VARCHAR), p.expiry_date,");
+        assertThat(ItemSearchRepositoryImpl.facetSql(false, false, false, false, fields, Sort.by("name")))
+                .doesNotContain("i.memo", "p.memo");
+    }
+}
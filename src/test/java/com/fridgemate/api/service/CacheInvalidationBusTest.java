@@ -0,0 +1,128 @@
+package com.fridgemate.api.service;
+
+import com.fridgemate.api.domain.Item;
+import com.fridgemate.api.event.ItemChangedEvent;
+import com.fridgemate.api.event.ItemSnapshot;
+import com.fridgemate.api.repository.ItemRepository;
+import com.fridgemate.api.service.recipe.PantryState;
+import com.fridgemate.api.service.recipe.ShoppingList;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationBusTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private PantryState pantryState;
+
+    @Mock
+    private ShoppingList shoppingList;
+
+    @Mock
+    private ObjectProvider<ItemColumnStore> columnStore;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CacheInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        bus = new CacheInvalidationBus(jdbcTemplate, new DataSourceProperties(), itemRepository,
+                pantryState, shoppingList, columnStore, meterRegistry, "fridgemate_cache", 5000, 30000);
+    }
+
+    @Test
+    @DisplayName("재고 변경마다 노드 id 를 붙인 짧은 알림을 보낸다")
+    void onItemChanged_NotifiesWithCompactPayload() {
+        bus.onItemChanged(new ItemChangedEvent(ItemChangedEvent.Type.CONSUMED, 42L, null, null));
+
+        verify(jdbcTemplate).query(eq("SELECT pg_notify(?, ?)"), ArgumentMatchers.<ResultSetExtractor<Object>>any(),
+                eq("fridgemate_cache"), eq(bus.nodeId() + "|item|42"));
+        assertThat(meterRegistry.get("cache.invalidation.published").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("다른 노드의 재고 알림은 DB 에서 다시 읽어 로컬 캐시에 반영한다")
+    void handle_RefreshesItemFromDatabase() {
+        Item egg = Item.builder().name("계란").quantity(new BigDecimal("3")).unit("개").build();
+        egg.setId(7L);
+        when(itemRepository.findById(7L)).thenReturn(Optional.of(egg));
+
+        bus.handle("other|item|7");
+
+        ArgumentCaptor<ItemChangedEvent> captor = ArgumentCaptor.forClass(ItemChangedEvent.class);
+        verify(pantryState).onItemChanged(captor.capture());
+        verify(shoppingList).onItemEvent(captor.getValue());
+        assertThat(captor.getValue().getAfter()).isEqualTo(ItemSnapshot.of(egg));
+        assertThat(meterRegistry.get("cache.invalidation.received").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("삭제된 아이템은 빠진 것으로 반영하고, 즐겨찾기 알림은 장보기 목록에 넘긴다")
+    void handle_DeletedItemAndBookmarks() {
+        when(itemRepository.findById(9L)).thenReturn(Optional.empty());
+
+        bus.handle("other|item|9");
+        bus.handle("other|bookmark+|계란볶음밥");
+        bus.handle("other|bookmark-|우유|계란찜");
+
+        ArgumentCaptor<ItemChangedEvent> captor = ArgumentCaptor.forClass(ItemChangedEvent.class);
+        verify(pantryState).onItemChanged(captor.capture());
+        assertThat(captor.getValue().getType()).isEqualTo(ItemChangedEvent.Type.DELETED);
+        assertThat(captor.getValue().getAfter()).isNull();
+        verify(shoppingList).addBookmark("계란볶음밥");
+        verify(shoppingList).removeBookmark("우유|계란찜");
+    }
+
+    @Test
+    @DisplayName("자기 노드가 보낸 알림과 형식이 틀린 알림은 무시한다")
+    void handle_IgnoresOwnAndMalformed() {
+        bus.handle(bus.nodeId() + "|item|1");
+        bus.handle("garbage");
+        bus.handle("other|unknown|1");
+
+        verifyNoInteractions(itemRepository, pantryState, shoppingList);
+        assertThat(meterRegistry.get("cache.invalidation.received").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("재동기화는 보유 재료 상태와 장보기 목록을 모두 버린다")
+    void resync_InvalidatesLocalCaches() {
+        bus.resync();
+
+        verify(pantryState).invalidate();
+        verify(shoppingList).invalidate();
+        assertThat(meterRegistry.get("cache.invalidation.resyncs").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("LISTEN 에 쓸 수 없는 채널 이름은 거부한다")
+    void constructor_RejectsUnsafeChannel() {
+        assertThatThrownBy(() -> new CacheInvalidationBus(jdbcTemplate, new DataSourceProperties(), itemRepository,
+                pantryState, shoppingList, columnStore, meterRegistry, "cache; DROP TABLE items", 5000, 30000))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,194 @@
+package com.fridgemate.api.service;
+
+import com.fridgemate.api.domain.ConsumeWalCheckpoint;
+import com.fridgemate.api.dto.ConsumeReq;
+import com.fridgemate.api.dto.ItemResp;
+import com.fridgemate.api.event.ItemChangedEvent;
+import com.fridgemate.api.repository.ConsumeWalCheckpointRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConsumeWriteBehindTest {
+
+    @Mock
+    private ItemService itemService;
+
+    @Mock
+    private ConsumeWalCheckpointRepository checkpointRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path dir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private Path walFile;
+
+    @BeforeEach
+    void setUp() {
+        walFile = dir.resolve("consume.wal");
+    }
+
+    private ConsumeWriteBehind writeBehind(long compactBytes) {
+        ConsumeWriteBehind writeBehind = new ConsumeWriteBehind(itemService, checkpointRepository,
+                new TransactionTemplate(transactionManager), meterRegistry, "node-a", walFile.toString(), true, compactBytes);
+        writeBehind.recover();
+        return writeBehind;
+    }
+
+    private static ItemResp item(String quantity) {
+        ItemResp resp = new ItemResp();
+        resp.setId(1L);
+        resp.setName("우유");
+        resp.setQuantity(new BigDecimal(quantity));
+        resp.setUnit("ml");
+        return resp;
+    }
+
+    private static ConsumeWalCheckpoint checkpoint(long itemId, long lastSeq) {
+        ConsumeWalCheckpoint.Key key = new ConsumeWalCheckpoint.Key();
+        ReflectionTestUtils.setField(key, "walId", "node-a");
+        ReflectionTestUtils.setField(key, "itemId", itemId);
+        ConsumeWalCheckpoint checkpoint = new ConsumeWalCheckpoint();
+        ReflectionTestUtils.setField(checkpoint, "id", key);
+        ReflectionTestUtils.setField(checkpoint, "lastSeq", lastSeq);
+        return checkpoint;
+    }
+
+    @Test
+    @DisplayName("잦은 소비를 메모리 잔량으로 검증해 바로 응답하고, 반영은 아이템당 한 번으로 합친다")
+    void consume_CoalescesIntoSingleUpdate() throws IOException {
+        when(itemService.getItem(1L)).thenReturn(item("1000"));
+        when(itemService.consumeItem(eq(1L), any())).thenReturn(item("700"));
+        ConsumeWriteBehind writeBehind = writeBehind(1 << 20);
+
+        for (int i = 0; i < 30; i++) {
+            writeBehind.consume(1L, BigDecimal.TEN);
+        }
+        assertThat(writeBehind.consume(1L, new BigDecimal("0.5")).getQuantity())
+                .isEqualByComparingTo("699.5");
+        assertThatThrownBy(() -> writeBehind.consume(1L, new BigDecimal("700")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("재고가 부족합니다");
+        assertThat(Files.readAllLines(walFile)).hasSize(31);
+
+        writeBehind.flush();
+
+        ArgumentCaptor<ConsumeReq> captor = ArgumentCaptor.forClass(ConsumeReq.class);
+        verify(itemService, times(1)).consumeItem(eq(1L), captor.capture());
+        assertThat(captor.getValue().getAmount()).isEqualByComparingTo("300.5");
+        verify(checkpointRepository).advance("node-a", 1L, 31L);
+        verify(transactionManager).commit(any());
+        assertThat(meterRegistry.get("consume.write-behind.accepted").counter().count()).isEqualTo(31.0);
+        assertThat(meterRegistry.get("consume.write-behind.flushed").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("재시작하면 체크포인트 이후 WAL 기록만 다시 반영한다")
+    void recover_ReplaysOnlyRecordsAfterCheckpoint() throws IOException {
+        // 마지막 줄은 기록 도중 끊긴 (응답하지 않은) 요청
+        Files.writeString(walFile, "1 1 10\n2 1 20\n3 1 5\n4 2 7\n5 2 1.5\n6 1 3\n7 2");
+        when(checkpointRepository.findByIdWalId("node-a")).thenReturn(List.of(checkpoint(1L, 2L)));
+        when(itemService.consumeItem(anyLong(), any())).thenReturn(item("100"));
+
+        ConsumeWriteBehind writeBehind = writeBehind(1 << 20);
+        writeBehind.flush();
+
+        ArgumentCaptor<ConsumeReq> captor = ArgumentCaptor.forClass(ConsumeReq.class);
+        verify(itemService).consumeItem(eq(1L), captor.capture());
+        assertThat(captor.getValue().getAmount()).isEqualByComparingTo("8");
+        verify(itemService).consumeItem(eq(2L), argThat(request -> request.getAmount().compareTo(new BigDecimal("8.5")) == 0));
+        verify(checkpointRepository).advance("node-a", 1L, 6L);
+        verify(checkpointRepository).advance("node-a", 2L, 5L);
+    }
+
+    @Test
+    @DisplayName("반영에 실패하면 다음 주기에 같은 양을 다시 반영하고, 반영된 기록은 WAL 정리 때 빠진다")
+    void flush_RetriesAfterFailureAndCompacts() throws IOException {
+        when(itemService.getItem(1L)).thenReturn(item("100"));
+        when(itemService.consumeItem(eq(1L), any()))
+                .thenThrow(new IllegalStateException("연결 끊김"))
+                .thenReturn(item("70"));
+        ConsumeWriteBehind writeBehind = writeBehind(0);
+
+        writeBehind.consume(1L, new BigDecimal("20"));
+        writeBehind.flush();
+        verify(transactionManager).rollback(any());
+        assertThat(Files.readAllLines(walFile)).containsExactly("1 1 20");
+
+        writeBehind.consume(1L, new BigDecimal("10"));
+        writeBehind.flush();
+
+        verify(itemService).consumeItem(eq(1L), argThat(request -> request.getAmount().compareTo(new BigDecimal("30")) == 0));
+        verify(checkpointRepository).advance("node-a", 1L, 2L);
+        assertThat(Files.readAllLines(walFile)).isEmpty();
+
+        // 다음 소비 번호는 정리 후에도 이어진다
+        writeBehind.consume(1L, BigDecimal.ONE);
+        assertThat(Files.readAllLines(walFile)).containsExactly("3 1 1");
+    }
+
+    @Test
+    @DisplayName("다른 경로로 재고가 먼저 줄어 합친 소비량을 다 뺄 수 없으면 남은 만큼만 뺀다")
+    void flush_ClampsToRemainingStock() {
+        when(itemService.getItem(1L)).thenReturn(item("50"), item("4"));
+        when(itemService.consumeItem(eq(1L), argThat(request -> request.getAmount().compareTo(new BigDecimal("30")) == 0)))
+                .thenThrow(new IllegalArgumentException("재고가 부족합니다. 현재 재고: 4 ml"));
+        when(itemService.consumeItem(eq(1L), argThat(request -> request.getAmount().compareTo(new BigDecimal("4")) == 0)))
+                .thenReturn(item("0"));
+        ConsumeWriteBehind writeBehind = writeBehind(1 << 20);
+
+        writeBehind.consume(1L, new BigDecimal("30"));
+        writeBehind.flush();
+
+        verify(checkpointRepository).advance("node-a", 1L, 1L);
+        assertThatThrownBy(() -> writeBehind.consume(1L, BigDecimal.ONE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("반영이 커밋된 직후의 소비는 반영 중인 양을 두 번 빼지 않는다")
+    void consume_DuringFlushCommitDoesNotDoubleCount() {
+        ConsumeWriteBehind[] holder = new ConsumeWriteBehind[1];
+        ItemResp[] consumedDuringCommit = new ItemResp[1];
+        when(itemService.getItem(1L)).thenReturn(item("100"), item("70"));
+        when(itemService.consumeItem(eq(1L), any())).thenAnswer(invocation -> {
+            // 커밋 이벤트가 반영 결과를 돌려받기 전에 오고, 그 사이 다른 요청이 소비한다
+            holder[0].onItemChanged(new ItemChangedEvent(ItemChangedEvent.Type.CONSUMED, 1L, null, null));
+            consumedDuringCommit[0] = holder[0].consume(1L, new BigDecimal("60"));
+            return item("70");
+        });
+        ConsumeWriteBehind writeBehind = writeBehind(1 << 20);
+        holder[0] = writeBehind;
+
+        writeBehind.consume(1L, new BigDecimal("30"));
+        writeBehind.flush();
+
+        assertThat(consumedDuringCommit[0].getQuantity()).isEqualByComparingTo("10");
+        // 반영이 끝난 뒤에는 커밋된 수량을 다시 읽는다 (70 - 아직 반영 안 된 60)
+        assertThat(writeBehind.consume(1L, BigDecimal.ONE).getQuantity()).isEqualByComparingTo("9");
+        verify(itemService, times(2)).getItem(1L);
+    }
+}
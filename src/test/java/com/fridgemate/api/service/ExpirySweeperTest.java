@@ -0,0 +1,128 @@
+package com.fridgemate.api.service;
+
+import com.fridgemate.api.repository.ExpiryNotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpirySweeperTest {
+
+    @Mock
+    private ExpiryNotificationRepository notificationRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Clock clock = Clock.fixed(Instant.parse("2025-03-01T00:00:00Z"), ZoneId.of("UTC"));
+
+    private ExpirySweeper sweeper;
+
+    @AfterEach
+    void tearDown() {
+        if (sweeper != null) {
+            sweeper.shutdown();
+        }
+    }
+
+    private ExpirySweeper sweeper(int concurrency) {
+        sweeper = new ExpirySweeper(notificationRepository, new TransactionTemplate(transactionManager),
+                meterRegistry, 3, 2, concurrency, clock);
+        return sweeper;
+    }
+
+    private static List<Object[]> chunk(Long lastId, long claimed, long recorded) {
+        return List.<Object[]>of(new Object[]{lastId, claimed, recorded});
+    }
+
+    @Test
+    @DisplayName("청크 마지막 id 를 다음 커서로 넘기고, 빈 청크가 나오면 멈춘다")
+    void sweep_PagesByKeyset() {
+        LocalDate today = LocalDate.of(2025, 3, 1);
+        when(notificationRepository.claimAndRecord(eq(0L), eq(today), eq(today.plusDays(3)), eq(2)))
+                .thenReturn(chunk(7L, 2, 2));
+        when(notificationRepository.claimAndRecord(eq(7L), any(), any(), anyInt()))
+                .thenReturn(chunk(12L, 2, 1));
+        when(notificationRepository.claimAndRecord(eq(12L), any(), any(), anyInt()))
+                .thenReturn(chunk(null, 0, 0));
+
+        sweeper(1).sweep();
+
+        verify(notificationRepository, times(3)).claimAndRecord(anyLong(), any(), any(), anyInt());
+        verify(transactionManager, times(3)).commit(any());
+        assertThat(meterRegistry.get("expiry.sweep.items").counter().count()).isEqualTo(4.0);
+        assertThat(meterRegistry.get("expiry.sweep.notifications").counter().count()).isEqualTo(3.0);
+        assertThat(meterRegistry.get("expiry.sweep.duration").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("작업자마다 각자 커서로 처음부터 잡는다 (겹치는 행은 SKIP LOCKED 가 나눠 준다)")
+    void sweep_RunsConfiguredWorkers() {
+        when(notificationRepository.claimAndRecord(anyLong(), any(), any(), anyInt()))
+                .thenReturn(chunk(null, 0, 0));
+
+        sweeper(3).sweep();
+
+        verify(notificationRepository, times(3)).claimAndRecord(eq(0L), any(), any(), anyInt());
+        assertThat(sweeper.lag()).isEqualTo(Duration.ZERO);
+        assertThat(meterRegistry.get("expiry.sweep.lag.seconds").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("스윕이 실패하면 마지막 완료 시각을 갱신하지 않아 지연이 계속 늘어난다")
+    void sweep_FailureKeepsLag() {
+        MutableClock mutableClock = new MutableClock(clock.instant());
+        sweeper = new ExpirySweeper(notificationRepository, new TransactionTemplate(transactionManager),
+                meterRegistry, 3, 2, 1, mutableClock);
+        when(notificationRepository.claimAndRecord(anyLong(), any(), any(), anyInt()))
+                .thenThrow(new IllegalStateException("연결 끊김"));
+
+        mutableClock.now = mutableClock.now.plus(Duration.ofMinutes(5));
+        assertThatCode(() -> sweeper.sweep()).doesNotThrowAnyException();
+
+        verify(transactionManager).rollback(any());
+        assertThat(sweeper.lag()).isEqualTo(Duration.ofMinutes(5));
+        assertThat(meterRegistry.get("expiry.sweep.lag.seconds").gauge().value()).isEqualTo(300.0);
+    }
+
+    private static class MutableClock extends Clock {
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.fridgemate.api.service;
+
+import com.fridgemate.api.domain.Item;
+import com.fridgemate.api.dto.ItemResp;
+import com.fridgemate.api.event.ItemChangedEvent;
+import com.fridgemate.api.repository.ItemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemColumnStoreTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ItemColumnStore store;
+    private List<Item> items;
+
+    @BeforeEach
+    void setUp() {
+        items = new ArrayList<>(List.of(
+                item(1L, "우유", "1.5", 3, "유제품", "냉장"),
+                item(2L, "계란", "10", 10, "유제품", "냉장"),
+                item(3L, "대파", "0", 1, "채소", "냉장"),
+                item(4L, "라면", "5", null, null, "실온"),
+                item(5L, "양파", "2.25", 30, "채소", "실온")));
+        store = new ItemColumnStore(itemRepository, meterRegistry);
+    }
+
+    private static Item item(Long id, String name, String quantity, Integer expiresInDays, String category, String location) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setQuantity(new BigDecimal(quantity));
+        item.setUnit("개");
+        item.setExpiryDate(expiresInDays != null ? LocalDate.now().plusDays(expiresInDays) : null);
+        item.setCategory(category);
+        item.setLocation(location);
+        item.setCreatedAt(Instant.ofEpochMilli(1_000L * id));
+        item.setUpdatedAt(Instant.ofEpochMilli(1_000L * id));
+        return item;
+    }
+
+    private static List<Long> ids(List<ItemResp> items) {
+        return items.stream().map(ItemResp::getId).toList();
+    }
+
+    @Test
+    @DisplayName("필터, 정렬, 페이징을 DB 조회와 같은 순서로 처리한다 (NULL 은 가장 큰 값)")
+    void getItems_FiltersSortsAndPages() {
+        when(itemRepository.findAll()).thenReturn(items);
+
+        Page<ItemResp> page = store.getItems(null, null, PageRequest.of(0, 3, Sort.by("expiryDate")));
+        assertThat(ids(page.getContent())).containsExactly(3L, 1L, 2L);
+        assertThat(page.getTotalElements()).isEqualTo(5);
+
+        Page<ItemResp> last = store.getItems(null, null, PageRequest.of(1, 3, Sort.by("expiryDate")));
+        assertThat(ids(last.getContent())).containsExactly(5L, 4L);
+
+        Page<ItemResp> desc = store.getItems(null, "냉장", PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "quantity")));
+        assertThat(ids(desc.getContent())).containsExactly(2L, 1L, 3L);
+
+        assertThat(store.getItems("채소", "실온", PageRequest.of(0, 10)).getContent())
+                .singleElement()
+                .satisfies(resp -> {
+                    assertThat(resp.getName()).isEqualTo("양파");
+                    assertThat(resp.getQuantity()).isEqualByComparingTo("2.25");
+                    assertThat(resp.getDaysUntilExpiry()).isEqualTo(items.get(4).getDaysUntilExpiry());
+                });
+        assertThat(store.getItems("과일", null, PageRequest.of(0, 10)).getContent()).isEmpty();
+        verify(itemRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("유통기한 임박, 재고 부족, 보유 재료, 통계를 컬럼 스캔으로 계산한다")
+    void scans_MatchRepositoryQueries() {
+        when(itemRepository.findAll()).thenReturn(items);
+
+        assertThat(ids(store.getExpiringItems(LocalDate.now().plusDays(10)))).containsExactly(1L, 2L);
+        assertThat(ids(store.getLowStockItems(2.0))).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(ids(store.getLowStockItems(2.25))).contains(5L);
+        assertThat(ids(store.getAvailableItems())).containsExactlyInAnyOrder(1L, 2L, 4L, 5L);
+        assertThat(store.getCategories()).containsExactly("유제품", "채소");
+        assertThat(store.getLocations()).containsExactly("냉장", "실온");
+        assertThat(store.countByCategory("채소")).isEqualTo(2);
+        assertThat(store.countByLocation("창고")).isZero();
+
+        List<Object[]> stats = store.getCategoryStats();
+        assertThat(stats).hasSize(2);
+        assertThat(stats.get(0)[0]).isEqualTo("유제품");
+        assertThat(stats.get(0)[1]).isEqualTo(2L);
+        assertThat((BigDecimal) stats.get(0)[2]).isEqualByComparingTo("11.5");
+    }
+
+    @Test
+    @DisplayName("커밋된 변경은 해당 행만 다시 읽어 반영하고, 삭제된 행은 빠진다")
+    void onItemChanged_RefreshesSingleRow() {
+        when(itemRepository.findAll()).thenReturn(items);
+        assertThat(store.getAvailableItems()).hasSize(4);
+
+        Item restocked = item(3L, "대파", "2", 5, "채소", "냉장");
+        Item created = item(6L, "사과", "3", 14, "과일", "냉장");
+        when(itemRepository.findById(3L)).thenReturn(Optional.of(restocked));
+        when(itemRepository.findById(6L)).thenReturn(Optional.of(created));
+        when(itemRepository.findById(1L)).thenReturn(Optional.empty());
+
+        store.onItemChanged(new ItemChangedEvent(ItemChangedEvent.Type.RESTOCKED, 3L, null, null));
+        store.onItemChanged(new ItemChangedEvent(ItemChangedEvent.Type.CREATED, 6L, null, null));
+        store.onItemChanged(new ItemChangedEvent(ItemChangedEvent.Type.DELETED, 1L, null, null));
+
+        assertThat(ids(store.getAvailableItems())).containsExactlyInAnyOrder(2L, 3L, 4L, 5L, 6L);
+        assertThat(store.getCategories()).containsExactly("과일", "유제품", "채소");
+        assertThat(ids(store.getItems(null, "냉장", PageRequest.of(0, 10, Sort.by("name"))).getContent()))
+                .containsExactly(2L, 3L, 6L);
+        assertThat(meterRegistry.get("inventory.columnar.rows").gauge().value()).isEqualTo(5.0);
+        verify(itemRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("적재하는 사이 커밋된 변경도 적재가 끝난 뒤 반영한다")
+    void refresh_DuringLoadIsApplied() throws Exception {
+        Item restocked = item(3L, "대파", "2", 5, "채소", "냉장");
+        when(itemRepository.findById(3L)).thenReturn(Optional.of(restocked));
+        Thread committer = new Thread(() -> store.refresh(3L));
+        // 전체 목록은 변경 전 상태를 읽고, 그 사이 다른 트랜잭션이 대파를 채운다
+        when(itemRepository.findAll()).thenAnswer(invocation -> {
+            committer.start();
+            return items;
+        });
+
+        store.getAvailableItems();
+        committer.join(5_000);
+
+        assertThat(ids(store.getAvailableItems())).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L);
+        verify(itemRepository).findById(3L);
+    }
+
+    @Test
+    @DisplayName("적재 전 변경은 무시하고, 무효화하면 다음 조회 때 다시 적재한다")
+    void invalidate_ReloadsOnNextRead() {
+        store.onItemChanged(new ItemChangedEvent(ItemChangedEvent.Type.UPDATED, 1L, null, null));
+        verify(itemRepository, never()).findById(any());
+
+        when(itemRepository.findAll()).thenReturn(items);
+        assertThat(store.getAvailableItems()).hasSize(4);
+
+        store.invalidate();
+        when(itemRepository.findAll()).thenReturn(items.subList(0, 2));
+        assertThat(store.getAvailableItems()).hasSize(2);
+        verify(itemRepository, times(2)).findAll();
+    }
+}
@@ -0,0 +1,46 @@
+package com.fridgemate.api.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fridgemate.api.event.ItemChangedEvent;
+import com.fridgemate.api.event.ItemSnapshot;
+import com.fridgemate.api.repository.ItemEventRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemEventOutboxTest {
+
+    @Mock
+    private ItemEventRepository eventRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    @DisplayName("변경 전/후 상태를 JSON 으로 담아 아웃박스에 기록한다")
+    void onItemChanged_AppendsEvent() throws Exception {
+        ItemEventOutbox outbox = new ItemEventOutbox(eventRepository, objectMapper);
+        ItemSnapshot before = new ItemSnapshot(1L, "우유", new BigDecimal("2"), "L", LocalDate.of(2025, 3, 1), "유제품", "냉장");
+        ItemSnapshot after = new ItemSnapshot(1L, "우유", new BigDecimal("1.5"), "L", LocalDate.of(2025, 3, 1), "유제품", "냉장");
+
+        outbox.onItemChanged(new ItemChangedEvent(ItemChangedEvent.Type.CONSUMED, 1L, before, after));
+
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(eventRepository).append(eq(1L), eq("CONSUMED"), payload.capture());
+        JsonNode json = objectMapper.readTree(payload.getValue());
+        assertThat(json.get("before").get("quantity").decimalValue()).isEqualByComparingTo("2");
+        assertThat(json.get("after").get("quantity").decimalValue()).isEqualByComparingTo("1.5");
+        assertThat(json.get("after").get("expiryDate").isNull()).isFalse();
+    }
+}
@@ -0,0 +1,127 @@
+package com.fridgemate.api.service;
+
+import com.fridgemate.api.event.ItemChangedEvent;
+import com.fridgemate.api.event.ItemSnapshot;
+import com.fridgemate.api.repository.CatalogRecipeRepository;
+import com.fridgemate.api.repository.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemNameSuggesterTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private CatalogRecipeRepository catalogRecipeRepository;
+
+    @InjectMocks
+    private ItemNameSuggester suggester;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(itemRepository.countByName()).thenReturn(List.of(
+                new Object[]{"닭가슴살", 2L},
+                new Object[]{"다시마", 1L},
+                new Object[]{"돼지고기", 1L}));
+        lenient().when(catalogRecipeRepository.countIngredientNames()).thenReturn(List.of(
+                new Object[]{"달걀", 3L},
+                new Object[]{"닭다리", 12L},
+                new Object[]{"Dashi", 1L}));
+    }
+
+    private static ItemChangedEvent created(String name) {
+        ItemSnapshot after = new ItemSnapshot(99L, name, BigDecimal.ONE, "개", null, null, null);
+        return new ItemChangedEvent(ItemChangedEvent.Type.CREATED, 99L, null, after);
+    }
+
+    @Test
+    @DisplayName("자모 분해는 겹모음과 겹받침을 입력 순서대로 나눈다")
+    void jamo_DecomposesCompoundJamo() {
+        assertThat(ItemNameSuggester.jamo("닭")).isEqualTo("ㄷㅏㄹㄱ");
+        assertThat(ItemNameSuggester.jamo("돼지 고기")).isEqualTo("ㄷㅗㅐㅈㅣㄱㅗㄱㅣ");
+        assertThat(ItemNameSuggester.jamo("ㄺ")).isEqualTo("ㄹㄱ");
+        assertThat(ItemNameSuggester.jamo("Milk")).isEqualTo("milk");
+    }
+
+    @Test
+    @DisplayName("입력 중인 음절로도 찾고, 점수 높은 순으로 돌려준다")
+    void suggest_MatchesPartialSyllablesByScore() {
+        // 닭다리 12, 닭가슴살 2×5=10, 다시마 5, 달걀 3
+        assertThat(suggester.suggest("다", 10)).containsExactly("닭다리", "닭가슴살", "다시마", "달걀");
+        assertThat(suggester.suggest("달", 10)).containsExactly("닭다리", "닭가슴살", "달걀");
+        assertThat(suggester.suggest("닭가", 10)).containsExactly("닭가슴살");
+        assertThat(suggester.suggest("ㄷ", 2)).containsExactly("닭다리", "닭가슴살");
+        assertThat(suggester.suggest("도", 10)).containsExactly("돼지고기");
+        assertThat(suggester.suggest("DA", 10)).containsExactly("Dashi");
+        assertThat(suggester.suggest("우", 10)).isEmpty();
+        assertThat(suggester.suggest(" ", 10)).isEmpty();
+        verify(itemRepository, times(1)).countByName();
+    }
+
+    @Test
+    @DisplayName("색인을 적재하는 사이 커밋된 이름도 색인에 들어간다")
+    void onItemChanged_DuringLoadIsApplied() throws Exception {
+        Thread committer = new Thread(() -> suggester.onItemChanged(created("우유")));
+        // 이름 빈도를 읽는 사이 다른 트랜잭션이 새 아이템을 커밋한다
+        when(itemRepository.countByName()).thenAnswer(invocation -> {
+            committer.start();
+            return List.<Object[]>of(new Object[]{"닭가슴살", 2L});
+        });
+
+        assertThat(suggester.suggest("우", 10)).isEmpty();
+        committer.join(5_000);
+
+        assertThat(suggester.suggest("우", 10)).containsExactly("우유");
+    }
+
+    @Test
+    @DisplayName("아이템이 만들어지면 해당 경로만 갱신해 새 이름이 바로 나오고 순위도 오른다")
+    void onItemChanged_UpdatesIncrementally() {
+        suggester.onItemChanged(created("우유"));
+        verify(itemRepository, never()).countByName();
+
+        assertThat(suggester.suggest("다", 10)).first().isEqualTo("닭다리");
+        suggester.onItemChanged(created("우유"));
+        suggester.onItemChanged(created("다시마"));
+        suggester.onItemChanged(created("다시마"));
+
+        assertThat(suggester.suggest("우", 10)).containsExactly("우유");
+        assertThat(suggester.suggest("다", 10)).startsWith("다시마", "닭다리");
+
+        ItemSnapshot before = new ItemSnapshot(99L, "우유", BigDecimal.ONE, "개", null, null, null);
+        ItemSnapshot after = new ItemSnapshot(99L, "우유", BigDecimal.TEN, "개", null, null, null);
+        suggester.onItemChanged(new ItemChangedEvent(ItemChangedEvent.Type.UPDATED, 99L, before, after));
+        suggester.onItemChanged(created("우엉"));
+        assertThat(suggester.suggest("우", 10)).containsExactly("우엉", "우유");
+    }
+
+    @Test
+    @DisplayName("노드마다 상위 목록은 최대 개수만 유지한다")
+    void suggest_KeepsTopSuggestionsPerNode() {
+        List<Object[]> names = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            names.add(new Object[]{"사과" + (char) ('a' + i % 26) + i, (long) i});
+        }
+        when(itemRepository.countByName()).thenReturn(names);
+        when(catalogRecipeRepository.countIngredientNames()).thenReturn(List.of());
+
+        List<String> suggestions = suggester.suggest("사", 20);
+
+        assertThat(suggestions).hasSize(ItemNameSuggester.MAX_SUGGESTIONS);
+        assertThat(suggestions.get(0)).isEqualTo("사과d29");
+    }
+}
@@ -2,9 +2,14 @@ package com.fridgemate.api.service;
 
 import com.fridgemate.api.domain.Item;
 import com.fridgemate.api.dto.ConsumeReq;
+import com.fridgemate.api.dto.FacetCount;
 import com.fridgemate.api.dto.ItemCreateReq;
+import com.fridgemate.api.dto.ItemField;
+import com.fridgemate.api.dto.ItemLotCreateReq;
 import com.fridgemate.api.dto.ItemResp;
+import com.fridgemate.api.dto.ItemSearchResp;
 import com.fridgemate.api.exception.ItemNotFoundException;
+import com.fridgemate.api.repository.ItemLotRepository;
 import com.fridgemate.api.repository.ItemRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,14 +18,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +44,18 @@ class ItemServiceTest {
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private ItemLotRepository itemLotRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ObjectProvider<ItemColumnStore> columnStore;
+
+    @Mock
+    private WasteAnalyticsService wasteAnalyticsService;
+
     @InjectMocks
     private ItemService itemService;
 
@@ -78,6 +105,8 @@ class ItemServiceTest {
         request.setAmount(new BigDecimal("3"));
 
         when(itemRepository.findById(1L)).thenReturn(Optional.of(testItem));
+        when(itemLotRepository.consumeEarliestExpiring(1L, new BigDecimal("3")))
+                .thenReturn(List.<Object[]>of(new Object[]{new BigDecimal("10"), new BigDecimal("7"), testItem.getExpiryDate(), 1L}));
         when(itemRepository.save(any(Item.class))).thenReturn(testItem);
 
         // When
@@ -87,6 +116,70 @@ class ItemServiceTest {
         assertThat(result).isNotNull();
         assertThat(testItem.getQuantity()).isEqualTo(new BigDecimal("7"));
         verify(itemRepository).save(testItem);
+        verify(wasteAnalyticsService).recordConsumed("유제품", new BigDecimal("3"));
+    }
+
+    @Test
+    @DisplayName("재고 소비 - 가장 이른 로트를 다 쓰면 다음 로트 유통기한으로 바뀐다")
+    void consumeItem_AdvancesExpiryToNextLot() {
+        // Given
+        LocalDate nextLotExpiry = LocalDate.now().plusDays(14);
+        ConsumeReq request = new ConsumeReq();
+        request.setAmount(new BigDecimal("4"));
+
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(testItem));
+        when(itemLotRepository.consumeEarliestExpiring(1L, new BigDecimal("4")))
+                .thenReturn(List.<Object[]>of(new Object[]{new BigDecimal("10"), new BigDecimal("6"), java.sql.Date.valueOf(nextLotExpiry), 2L}));
+        when(itemRepository.save(any(Item.class))).thenReturn(testItem);
+
+        // When
+        itemService.consumeItem(1L, request);
+
+        // Then
+        assertThat(testItem.getQuantity()).isEqualByComparingTo("6");
+        assertThat(testItem.getExpiryDate()).isEqualTo(nextLotExpiry);
+    }
+
+    @Test
+    @DisplayName("재고 소비 실패 - 로트 잠금 후 남은 수량이 부족")
+    void consumeItem_LotsDepletedConcurrently() {
+        // Given
+        ConsumeReq request = new ConsumeReq();
+        request.setAmount(new BigDecimal("5"));
+
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(testItem));
+        when(itemLotRepository.consumeEarliestExpiring(1L, new BigDecimal("5")))
+                .thenReturn(List.<Object[]>of(new Object[]{new BigDecimal("2"), new BigDecimal("-3"), null, 0L}));
+
+        // When & Then
+        assertThatThrownBy(() -> itemService.consumeItem(1L, request))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("재고가 부족합니다");
+        verify(itemRepository, never()).save(any(Item.class));
+        verify(wasteAnalyticsService, never()).recordConsumed(any(), any());
+    }
+
+    @Test
+    @DisplayName("로트 입고 - 수량을 더하고 더 이른 유통기한을 대표 유통기한으로 쓴다")
+    void receiveLot_AddsLot() {
+        // Given
+        LocalDate sooner = LocalDate.now().plusDays(2);
+        ItemLotCreateReq request = new ItemLotCreateReq();
+        request.setQuantity(new BigDecimal("6"));
+        request.setExpiryDate(sooner);
+
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(testItem));
+        when(itemRepository.save(any(Item.class))).thenReturn(testItem);
+
+        // When
+        ItemResp result = itemService.receiveLot(1L, request);
+
+        // Then
+        assertThat(result.getQuantity()).isEqualByComparingTo("16");
+        assertThat(result.getExpiryDate()).isEqualTo(sooner);
+        assertThat(testItem.getLots()).hasSize(1);
+        assertThat(testItem.getLots().get(0).getPurchaseDate()).isEqualTo(LocalDate.now());
+        verify(wasteAnalyticsService).recordExpiredBehindMark(testItem.getCategory(), sooner, new BigDecimal("6"), null);
     }
 
     @Test
@@ -131,4 +224,77 @@ class ItemServiceTest {
         assertThat(result.get(0).getName()).isEqualTo("계란");
         verify(itemRepository).findExpiringItems(any(LocalDate.class));
     }
+
+    @Test
+    @DisplayName("패싯 검색 - 한 번의 조회 결과를 아이템 페이지와 칩별 수로 나눈다")
+    void searchItems_SplitsRowsIntoPageAndFacets() {
+        // Given
+        Instant createdAt = Instant.parse("2025-01-01T00:00:00Z");
+        when(itemRepository.searchWithFacets(eq("계"), eq(null), eq("냉장"), eq(null), eq(ItemField.ALL), any(Pageable.class))).thenReturn(List.of(
+                new Object[]{"category", "유제품", 3L, null, null, null, null, null, null, null, null, null, null},
+                new Object[]{"category", null, 1L, null, null, null, null, null, null, null, null, null, null},
+                new Object[]{"category", "채소", 0L, null, null, null, null, null, null, null, null, null, null},
+                new Object[]{"location", "냉장", 3L, null, null, null, null, null, null, null, null, null, null},
+                new Object[]{"location", "실온", 2L, null, null, null, null, null, null, null, null, null, null},
+                new Object[]{"total", null, 3L, null, null, null, null, null, null, null, null, null, null},
+                new Object[]{"item", null, null, 1L, "계란", new BigDecimal("10.000"), "개",
+                        java.sql.Date.valueOf(LocalDate.now().plusDays(7)), "유제품", "냉장", null,
+                        java.sql.Timestamp.from(createdAt), createdAt.atOffset(java.time.ZoneOffset.UTC)}));
+
+        // When
+        ItemSearchResp result = itemService.searchItems(" 계 ", null, "냉장", null, "name", "asc", ItemField.ALL, PageRequest.of(0, 2));
+
+        // Then
+        assertThat(result.getContent()).singleElement().satisfies(item -> {
+            assertThat(item.getName()).isEqualTo("계란");
+            assertThat(item.getDaysUntilExpiry()).isEqualTo(7);
+            assertThat(item.getCreatedAt()).isEqualTo(createdAt);
+            assertThat(item.getUpdatedAt()).isEqualTo(createdAt);
+        });
+        assertThat(result.getTotalElements()).isEqualTo(3);
+        assertThat(result.getTotalPages()).isEqualTo(2);
+        assertThat(result.getCategories()).extracting(FacetCount::getValue).containsExactly("유제품", null);
+        assertThat(result.getLocations()).extracting(FacetCount::getCount).containsExactly(3L, 2L);
+        verify(itemRepository).searchWithFacets(eq("계"), eq(null), eq("냉장"), eq(null), eq(ItemField.ALL),
+                argThat(pageable -> pageable.getSort().equals(Sort.by(Sort.Direction.ASC, "name"))));
+    }
+
+    @Test
+    @DisplayName("목록 조회 - 필드를 고르면 해당 컬럼만 읽고 계산 필드도 건너뛴다")
+    void getItems_SelectedFieldsOnly() {
+        // Given
+        Set<ItemField> fields = ItemField.parse("name,quantity");
+        when(columnStore.getIfAvailable()).thenReturn(null);
+        when(itemRepository.findFields(eq(fields), eq("유제품"), eq(null), any(Pageable.class))).thenReturn(List.<Object[]>of(
+                new Object[]{1L, "계란", new BigDecimal("10.000"), null, null, null, null, null, null, null, 3L}));
+
+        // When
+        Page<ItemResp> result = itemService.getItems("유제품", null, "name", "asc", fields, PageRequest.of(0, 1));
+
+        // Then
+        assertThat(result.getTotalElements()).isEqualTo(3);
+        assertThat(result.getContent()).singleElement().satisfies(item -> {
+            assertThat(item).isInstanceOf(ItemResp.Sparse.class);
+            assertThat(item.getName()).isEqualTo("계란");
+            assertThat(item.getDaysUntilExpiry()).isNull();
+        });
+        verify(itemRepository, never()).findByCategory(any(), any(Pageable.class));
+        verify(itemRepository, never()).countByCategory(any());
+    }
+
+    @Test
+    @DisplayName("목록 조회 - 필드를 고르고 범위를 벗어난 페이지면 따로 센다")
+    void getItems_SelectedFieldsCountsWhenPageEmpty() {
+        // Given
+        Set<ItemField> fields = ItemField.parse("name");
+        when(itemRepository.findFields(eq(fields), eq(null), eq("냉장"), any(Pageable.class))).thenReturn(List.of());
+        when(itemRepository.countByLocation("냉장")).thenReturn(4L);
+
+        // When
+        Page<ItemResp> result = itemService.getItems(null, "냉장", null, null, fields, PageRequest.of(5, 10));
+
+        // Then
+        assertThat(result.getContent()).isEmpty();
+        assertThat(result.getTotalElements()).isEqualTo(4);
+    }
 }
@@ -0,0 +1,153 @@
+package com.fridgemate.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fridgemate.api.dto.recipe.MealPlanReq;
+import com.fridgemate.api.dto.recipe.MealPlanResp;
+import com.fridgemate.api.dto.recipe.RecipeJobReq;
+import com.fridgemate.api.dto.recipe.RecipeJobResp;
+import com.fridgemate.api.exception.JobQueueFullException;
+import com.fridgemate.api.exception.RecipeJobNotFoundException;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecipeJobServiceTest {
+
+    @Mock
+    private RecipeService recipeService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RecipeJobService jobService;
+
+    @BeforeEach
+    void setUp() {
+        jobService = new RecipeJobService(recipeService, objectMapper, meterRegistry, 1, 1, 60);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobService.shutdown();
+    }
+
+    private static RecipeJobReq planRequest() {
+        RecipeJobReq request = new RecipeJobReq();
+        request.setType(RecipeJobReq.Type.PLAN);
+        request.setMeals(3);
+        return request;
+    }
+
+    private RecipeJobResp awaitFinished(String id) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            RecipeJobResp job = jobService.get(id);
+            if (job.getStatus() == RecipeJobResp.Status.SUCCEEDED || job.getStatus() == RecipeJobResp.Status.FAILED) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("작업이 끝나지 않았습니다: " + id);
+    }
+
+    @Test
+    @DisplayName("작업을 즉시 접수하고 완료 후 결과를 조회한다")
+    void submit_RunsInBackground() throws Exception {
+        MealPlanResp plan = MealPlanResp.builder().meals(List.of()).totalExpiringValue(BigDecimal.ZERO).build();
+        when(recipeService.planMeals(any(MealPlanReq.class))).thenReturn(plan);
+
+        RecipeJobResp submitted = jobService.submit(planRequest());
+        RecipeJobResp finished = awaitFinished(submitted.getId());
+
+        assertThat(submitted.getStatus()).isEqualTo(RecipeJobResp.Status.QUEUED);
+        assertThat(finished.getStatus()).isEqualTo(RecipeJobResp.Status.SUCCEEDED);
+        assertThat(finished.getResult()).isSameAs(plan);
+        verify(recipeService).planMeals(argThat(req -> req.getMeals() == 3));
+        assertThat(meterRegistry.get("recipe.jobs.queue.wait").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("recipe.jobs.run").tag("outcome", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("실행 스레드와 대기열이 모두 차면 거절한다")
+    void submit_RejectsWhenQueueFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        when(recipeService.planMeals(any(MealPlanReq.class))).thenAnswer(invocation -> {
+            running.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return MealPlanResp.builder().build();
+        });
+
+        jobService.submit(planRequest());
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        jobService.submit(planRequest());
+
+        assertThatThrownBy(() -> jobService.submit(planRequest()))
+                .isInstanceOf(JobQueueFullException.class);
+        assertThat(meterRegistry.get("recipe.jobs.rejected").counter().count()).isEqualTo(1.0);
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("완료 시 로컬 URL 로 결과를 POST 한다")
+    void submit_NotifiesLocalCallback() throws Exception {
+        AtomicReference<String> received = new AtomicReference<>();
+        CountDownLatch delivered = new CountDownLatch(1);
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/hook", exchange -> {
+            received.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+            delivered.countDown();
+        });
+        server.start();
+        try {
+            when(recipeService.planMeals(any(MealPlanReq.class))).thenThrow(new IllegalStateException("계획 실패"));
+            RecipeJobReq request = planRequest();
+            request.setCallbackUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/hook");
+
+            RecipeJobResp submitted = jobService.submit(request);
+
+            assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(received.get()).contains(submitted.getId()).contains("FAILED").contains("계획 실패");
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    @DisplayName("외부 주소 완료 알림 URL 은 거절한다")
+    void submit_RejectsRemoteCallback() {
+        RecipeJobReq request = planRequest();
+        request.setCallbackUrl("http://example.com/hook");
+
+        assertThatThrownBy(() -> jobService.submit(request)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(RecipeJobService.parseCallback("http://localhost:9000/hook")).isNotNull();
+        assertThatThrownBy(() -> RecipeJobService.parseCallback("http://10.0.0.1/hook"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("없는 작업 ID 는 예외")
+    void get_NotFound() {
+        assertThatThrownBy(() -> jobService.get("missing")).isInstanceOf(RecipeJobNotFoundException.class);
+    }
+}
@@ -0,0 +1,104 @@
+package com.fridgemate.api.service;
+
+import com.fridgemate.api.dto.analytics.WasteBucket;
+import com.fridgemate.api.repository.WasteDailyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WasteAnalyticsServiceTest {
+
+    @Mock
+    private WasteDailyRepository wasteDailyRepository;
+
+    private WasteAnalyticsService service;
+
+    @BeforeEach
+    void setUp() {
+        // 2025-03-12 (수)
+        Clock clock = Clock.fixed(LocalDate.of(2025, 3, 12).atStartOfDay(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+        service = new WasteAnalyticsService(wasteDailyRepository, clock);
+    }
+
+    @Test
+    @DisplayName("주 단위 조회는 1년 전이 속한 주의 월요일부터 집계하고 낭비율을 계산한다")
+    void getWaste_WeeklyBuckets() {
+        when(wasteDailyRepository.sumByBucket("week", LocalDate.of(2024, 3, 11))).thenReturn(List.of(
+                new Object[]{Date.valueOf("2025-03-03"), "", new BigDecimal("3"), new BigDecimal("1")},
+                new Object[]{Date.valueOf("2025-03-03"), "유제품", new BigDecimal("0"), new BigDecimal("0")}));
+
+        List<WasteBucket> buckets = service.getWaste(WasteAnalyticsService.Period.WEEK);
+
+        assertThat(buckets).hasSize(2);
+        assertThat(buckets.get(0).getPeriodStart()).isEqualTo(LocalDate.of(2025, 3, 3));
+        assertThat(buckets.get(0).getCategory()).isNull();
+        assertThat(buckets.get(0).getExpiredQuantity()).isEqualByComparingTo("1");
+        assertThat(buckets.get(0).getWasteRate()).isEqualByComparingTo("0.25");
+        assertThat(buckets.get(1).getCategory()).isEqualTo("유제품");
+        assertThat(buckets.get(1).getWasteRate()).isNull();
+    }
+
+    @Test
+    @DisplayName("월 단위 조회는 1년 전이 속한 달의 1일부터 집계하고, 알 수 없는 단위는 거부한다")
+    void getWaste_MonthlyBucketsAndUnknownPeriod() {
+        when(wasteDailyRepository.sumByBucket("month", LocalDate.of(2024, 3, 1))).thenReturn(List.of());
+
+        assertThat(service.getWaste(WasteAnalyticsService.Period.from("Month"))).isEmpty();
+        assertThatThrownBy(() -> WasteAnalyticsService.Period.from("day"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("지원하지 않는 집계 단위");
+    }
+
+    @Test
+    @DisplayName("소비량은 오늘 날짜로, 카테고리가 없으면 빈 키로 누적한다")
+    void recordConsumed_UsesTodayAndBlankCategory() {
+        service.recordConsumed(null, new BigDecimal("2"));
+        service.recordConsumed("채소", BigDecimal.ONE);
+
+        verify(wasteDailyRepository).addConsumed(LocalDate.of(2025, 3, 12), "", new BigDecimal("2"));
+        verify(wasteDailyRepository).addConsumed(LocalDate.of(2025, 3, 12), "채소", BigDecimal.ONE);
+    }
+
+    @Test
+    @DisplayName("지난 유통기한으로 들어온 로트만 진행 위치 뒤 만료량으로 넘기고, 오늘 이후 유통기한은 롤포워드에 맡긴다")
+    void recordExpiredBehindMark_OnlyPastExpiry() {
+        service.recordExpiredBehindMark(null, LocalDate.of(2025, 3, 1), new BigDecimal("2"), null);
+        service.recordExpiredBehindMark("채소", LocalDate.of(2025, 3, 11), BigDecimal.ONE, LocalDate.of(2025, 3, 5));
+        service.recordExpiredBehindMark("채소", LocalDate.of(2025, 3, 12), BigDecimal.ONE, null);
+        service.recordExpiredBehindMark("채소", null, BigDecimal.ONE, null);
+        service.recordExpiredBehindMark("채소", LocalDate.of(2025, 3, 1), BigDecimal.ZERO, null);
+
+        verify(wasteDailyRepository).addExpiredBehindMark(LocalDate.of(2025, 3, 1), "", new BigDecimal("2"), null);
+        verify(wasteDailyRepository).addExpiredBehindMark(LocalDate.of(2025, 3, 11), "채소", BigDecimal.ONE, LocalDate.of(2025, 3, 5));
+        verifyNoMoreInteractions(wasteDailyRepository);
+    }
+
+    @Test
+    @DisplayName("야간 롤포워드는 전날까지 만료분을 반영한다")
+    void rollForwardExpired_ThroughYesterday() {
+        when(wasteDailyRepository.rollForwardExpired(LocalDate.of(2025, 3, 11)))
+                .thenReturn(List.<Object[]>of(new Object[]{Date.valueOf("2025-03-08"), 4L}));
+
+        service.rollForwardExpired();
+
+        // 진행 위치를 먼저 잠가야 롤포워드 쿼리가 잠금 대기 중 커밋된 로트까지 본다
+        InOrder inOrder = inOrder(wasteDailyRepository);
+        inOrder.verify(wasteDailyRepository).lockExpiryMark();
+        inOrder.verify(wasteDailyRepository).rollForwardExpired(LocalDate.of(2025, 3, 11));
+    }
+}
@@ -0,0 +1,233 @@
+package com.fridgemate.api.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fridgemate.api.domain.ItemEvent;
+import com.fridgemate.api.repository.ItemEventRepository;
+import com.fridgemate.api.repository.WebhookCursorRepository;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WebhookDispatcherTest {
+
+    @Mock
+    private ItemEventRepository eventRepository;
+
+    @Mock
+    private WebhookCursorRepository cursorRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<ItemEvent> outbox = new ArrayList<>();
+    /** 아직 커밋하지 않은 트랜잭션 id (가장 작은 값이 스냅숏 xmin) */
+    private final Set<Long> running = new HashSet<>();
+    private final List<JsonNode> received = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private volatile int failFirst;
+    private volatile CountDownLatch hold;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serverExecutor = Executors.newFixedThreadPool(4);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext("/hook", exchange -> {
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            int number = requests.incrementAndGet();
+            try {
+                if (hold != null) {
+                    hold.await(5, TimeUnit.SECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (number <= failFirst) {
+                exchange.sendResponseHeaders(500, -1);
+            } else {
+                received.add(objectMapper.readTree(body));
+                exchange.sendResponseHeaders(204, -1);
+            }
+            exchange.close();
+        });
+        server.start();
+
+        lenient().when(cursorRepository.findById(anyString())).thenReturn(Optional.empty());
+        lenient().when(eventRepository.findFirstByOrderByTxidDescIdDesc()).thenReturn(Optional.empty());
+        lenient().when(eventRepository.findReady(anyLong(), anyLong(), anyInt())).thenAnswer(invocation -> {
+            long afterTxid = invocation.getArgument(0);
+            long afterId = invocation.getArgument(1);
+            int limit = invocation.getArgument(2);
+            synchronized (outbox) {
+                long xmin = running.stream().min(Long::compare).orElse(Long.MAX_VALUE);
+                return outbox.stream()
+                        .filter(event -> event.getTxid() < xmin)
+                        .filter(event -> event.getTxid() > afterTxid || (event.getTxid() == afterTxid && event.getId() > afterId))
+                        .sorted(Comparator.comparing(ItemEvent::getTxid).thenComparing(ItemEvent::getId))
+                        .limit(limit)
+                        .toList();
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    private WebhookDispatcher dispatcher(int batchSize, int maxConcurrency) {
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/hook";
+        return new WebhookDispatcher(eventRepository, cursorRepository, objectMapper, meterRegistry,
+                List.of(url), batchSize, maxConcurrency, 2000, 10, 50);
+    }
+
+    private void record(long count) {
+        synchronized (outbox) {
+            long start = outbox.size();
+            LongStream.rangeClosed(start + 1, start + count).forEach(id -> append(id, id));
+        }
+    }
+
+    private void append(long id, long txid) {
+        synchronized (outbox) {
+            outbox.add(new ItemEvent(id, txid, 100 + id, "CONSUMED",
+                    "{\"before\":{\"quantity\":2},\"after\":{\"quantity\":1}}", Instant.now()));
+        }
+    }
+
+    private List<Long> deliveredIds() {
+        synchronized (received) {
+            return received.stream()
+                    .flatMap(body -> StreamSupport.stream(body.get("events").spliterator(), false))
+                    .map(event -> event.get("id").asLong())
+                    .toList();
+        }
+    }
+
+    private static void awaitUntil(BooleanSupplier condition, Runnable tick) throws InterruptedException {
+        for (int i = 0; i < 300 && !condition.getAsBoolean(); i++) {
+            tick.run();
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).as("조건 대기 시간 초과").isTrue();
+    }
+
+    @Test
+    @DisplayName("커서 이후 이벤트를 배치로 묶어 순서대로 보내고 커서를 전진한다")
+    void dispatch_BatchesEventsAndAdvancesCursor() throws Exception {
+        WebhookDispatcher dispatcher = dispatcher(2, 1);
+        record(5);
+
+        awaitUntil(() -> deliveredIds().size() == 5, dispatcher::dispatch);
+
+        assertThat(deliveredIds()).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(received).allSatisfy(body -> assertThat(body.get("events").size()).isLessThanOrEqualTo(2));
+        assertThat(received.get(0).get("events").get(0).get("after").get("quantity").asInt()).isEqualTo(1);
+        verify(cursorRepository, timeout(2000)).advance(anyString(), eq(5L), eq(5L));
+        assertThat(meterRegistry.get("webhook.events.delivered").counter().count()).isEqualTo(5.0);
+    }
+
+    @Test
+    @DisplayName("실패하면 백오프 후 커서 지점부터 다시 보낸다")
+    void dispatch_RetriesAfterFailure() throws Exception {
+        failFirst = 1;
+        WebhookDispatcher dispatcher = dispatcher(10, 1);
+        record(3);
+
+        awaitUntil(() -> deliveredIds().size() == 3, dispatcher::dispatch);
+
+        assertThat(requests.get()).isEqualTo(2);
+        assertThat(deliveredIds()).containsExactly(1L, 2L, 3L);
+        verify(cursorRepository, timeout(2000)).advance(anyString(), eq(3L), eq(3L));
+        assertThat(meterRegistry.get("webhook.delivery").tag("outcome", "failure").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("엔드포인트당 동시에 보내는 배치 수를 제한한다")
+    void dispatch_LimitsConcurrencyPerEndpoint() throws Exception {
+        hold = new CountDownLatch(1);
+        WebhookDispatcher dispatcher = dispatcher(1, 2);
+        record(5);
+
+        dispatcher.dispatch();
+        awaitUntil(() -> requests.get() == 2, () -> { });
+        dispatcher.dispatch();
+        Thread.sleep(50);
+        assertThat(requests.get()).isEqualTo(2);
+
+        hold.countDown();
+        awaitUntil(() -> deliveredIds().size() == 5, dispatcher::dispatch);
+        assertThat(deliveredIds()).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L);
+        verify(cursorRepository, timeout(2000)).advance(anyString(), eq(5L), eq(5L));
+    }
+
+    @Test
+    @DisplayName("오래 열린 트랜잭션이 늦게 커밋한 작은 id 도 건너뛰지 않는다")
+    void dispatch_WaitsForLongTransactions() throws Exception {
+        WebhookDispatcher dispatcher = dispatcher(10, 1);
+        synchronized (outbox) {
+            // 트랜잭션 10 이 id 1 을 기록하고 열린 채로, 트랜잭션 11 이 id 2 를 기록하고 먼저 커밋한다
+            running.add(10L);
+            append(1, 10);
+            append(2, 11);
+        }
+
+        for (int i = 0; i < 5; i++) {
+            dispatcher.dispatch();
+            Thread.sleep(10);
+        }
+        assertThat(requests.get()).isZero();
+
+        synchronized (outbox) {
+            running.remove(10L);
+        }
+        awaitUntil(() -> deliveredIds().size() == 2, dispatcher::dispatch);
+
+        assertThat(deliveredIds()).containsExactly(1L, 2L);
+        verify(cursorRepository, timeout(2000)).advance(anyString(), eq(11L), eq(2L));
+    }
+
+    @Test
+    @DisplayName("백오프는 지수로 늘어나되 최대값을 넘지 않는다")
+    void backoff_GrowsExponentiallyWithCap() {
+        WebhookDispatcher dispatcher = dispatcher(1, 1);
+
+        assertThat(dispatcher.backoff(1)).isBetween(8L, 12L);
+        assertThat(dispatcher.backoff(3)).isBetween(32L, 48L);
+        assertThat(dispatcher.backoff(30)).isBetween(40L, 60L);
+    }
+}
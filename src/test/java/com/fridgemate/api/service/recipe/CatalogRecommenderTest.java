@@ -0,0 +1,160 @@
+package com.fridgemate.api.service.recipe;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fridgemate.api.domain.CatalogRecipe;
+import com.fridgemate.api.domain.CatalogRecipeIngredient;
+import com.fridgemate.api.domain.Ingredient;
+import com.fridgemate.api.domain.Item;
+import com.fridgemate.api.dto.recipe.Recipe;
+import com.fridgemate.api.dto.recipe.RecipeIngredient;
+import com.fridgemate.api.dto.recipe.RecipeSuggestionReq;
+import com.fridgemate.api.repository.CatalogRecipeRepository;
+import com.fridgemate.api.repository.IngredientRepository;
+import com.fridgemate.api.service.recipe.RuleBasedRecommender.RecipeTemplate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogRecommenderTest {
+
+    @Mock
+    private CatalogRecipeRepository recipeRepository;
+
+    @Mock
+    private IngredientRepository ingredientRepository;
+
+    @Mock
+    private RecipeCatalogImporter importer;
+
+    private RuleBasedRecommender ruleBasedRecommender;
+    private CatalogRecommender recommender;
+    private Map<Long, CatalogRecipe> catalog;
+    private List<String> queriedLiterals;
+
+    @BeforeEach
+    void setUp() {
+        ruleBasedRecommender = new RuleBasedRecommender(new ObjectMapper());
+        ruleBasedRecommender.loadRecipes();
+
+        // 번들 카탈로그를 DB 에 적재한 것과 같은 엔티티를 만든다
+        Map<String, Ingredient> ingredients = new LinkedHashMap<>();
+        catalog = new LinkedHashMap<>();
+        List<Object[]> units = new ArrayList<>();
+        long recipeId = 1;
+        for (RecipeTemplate template : ruleBasedRecommender.templates()) {
+            CatalogRecipe recipe = new CatalogRecipe();
+            ReflectionTestUtils.setField(recipe, "id", recipeId);
+            recipe.setTitle(template.getTitle());
+            recipe.setDiet(template.getDiet());
+            recipe.setEstimatedTimeMin(template.getEstimatedTimeMin());
+            recipe.setSteps(template.getSteps().toArray(String[]::new));
+            for (RecipeIngredient ingredient : template.getIngredients()) {
+                String key = ruleBasedRecommender.matcher().catalogKey(ingredient.getName());
+                Ingredient entry = ingredients.computeIfAbsent(key, k -> {
+                    Ingredient created = new Ingredient(k);
+                    ReflectionTestUtils.setField(created, "id", (long) ingredients.size() + 1);
+                    return created;
+                });
+                recipe.addIngredient(new CatalogRecipeIngredient(entry, ingredient.getName(),
+                        RuleBasedRecommender.requiredAmount(ingredient), ingredient.getUnit()));
+                units.add(new Object[]{key, ingredient.getUnit()});
+            }
+            catalog.put(recipeId++, recipe);
+        }
+
+        when(ingredientRepository.findAll()).thenReturn(List.copyOf(ingredients.values()));
+        when(recipeRepository.findIngredientUnits()).thenReturn(units);
+
+        // GIN 겹침 조회 흉내: 재료 ID 가 하나라도 겹치는 레시피
+        queriedLiterals = new ArrayList<>();
+        lenient().when(recipeRepository.findCandidateIds(eq("default"), anyString(), anyInt())).thenAnswer(invocation -> {
+            String literal = invocation.getArgument(1);
+            queriedLiterals.add(literal);
+            Set<Long> ids = new HashSet<>();
+            for (String id : literal.substring(1, literal.length() - 1).split(",")) {
+                ids.add(Long.parseLong(id));
+            }
+            return catalog.values().stream()
+                    .filter(recipe -> Arrays.stream(recipe.getIngredientIds()).anyMatch(ids::contains))
+                    .map(CatalogRecipe::getId)
+                    .toList();
+        });
+        lenient().when(recipeRepository.findWithIngredientsByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(catalog::get).toList();
+        });
+
+        recommender = new CatalogRecommender(recipeRepository, ingredientRepository, ruleBasedRecommender, importer, "default");
+        recommender.init();
+    }
+
+    private static Item item(String name, String quantity, String unit, int expiresInDays) {
+        Item item = Item.builder().name(name).quantity(new BigDecimal(quantity)).unit(unit).build();
+        item.setExpiryDate(LocalDate.now().plusDays(expiresInDays));
+        return item;
+    }
+
+    @Test
+    @DisplayName("후보 조회 결과만 평가해도 규칙 기반 추천과 결과가 같다")
+    void recommend_MatchesRuleBasedRecommender() {
+        List<Item> pantry = List.of(
+                item("달걀", "10", "개", 2),
+                item("햇반", "2", "공기", 1),
+                item("대파", "2", "줄기", 5),
+                item("식용유", "1", "병", 100),
+                item("간장", "1", "병", 300),
+                item("양파", "3", "개", 10)
+        );
+        RecipeSuggestionReq request = new RecipeSuggestionReq();
+        request.setServings(2);
+
+        List<Recipe> expected = ruleBasedRecommender.recommend(pantry, request);
+        List<Recipe> actual = recommender.recommend(pantry, request);
+
+        assertThat(actual).extracting(Recipe::getName, Recipe::getScore)
+                .containsExactlyElementsOf(expected.stream().map(r -> tuple(r.getName(), r.getScore())).toList());
+        assertThat(actual).allSatisfy(recipe -> assertThat(recipe.getId()).isNotNull());
+        verify(importer).importIfEmpty();
+    }
+
+    @Test
+    @DisplayName("카탈로그에 없는 재료만 있으면 조회하지 않는다")
+    void recommend_SkipsQueryWithoutKnownIngredients() {
+        List<Recipe> recipes = recommender.recommend(List.of(item("두리안", "1", "개", 3)), new RecipeSuggestionReq());
+
+        assertThat(recipes).isEmpty();
+        assertThat(queriedLiterals).isEmpty();
+        verify(recipeRepository, never()).findCandidateIds(anyString(), anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("재료 목록만 바꿔도 GIN 조회용 재료 ID 가 바로 바뀐다 (저장 콜백을 기다리지 않는다)")
+    void catalogRecipe_SyncsIngredientIdsOnCollectionChange() {
+        CatalogRecipe recipe = catalog.get(1L);
+        Ingredient durian = new Ingredient("두리안");
+        ReflectionTestUtils.setField(durian, "id", 999L);
+        CatalogRecipeIngredient added = new CatalogRecipeIngredient(durian, "두리안", BigDecimal.ONE, "개");
+
+        recipe.addIngredient(added);
+        assertThat(recipe.getIngredientIds()).contains(999L);
+
+        recipe.removeIngredient(added);
+        assertThat(recipe.getIngredientIds()).doesNotContain(999L);
+        assertThat(recipe.getIngredients()).extracting(CatalogRecipeIngredient::getPosition)
+                .containsExactlyElementsOf(IntStream.range(0, recipe.getIngredients().size()).boxed().toList());
+    }
+}
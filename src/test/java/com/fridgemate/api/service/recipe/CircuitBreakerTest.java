@@ -0,0 +1,90 @@
+package com.fridgemate.api.service.recipe;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+    private MutableClock clock;
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        breaker = new CircuitBreaker(2, Duration.ofSeconds(30), clock);
+    }
+
+    private void openAndWait() {
+        breaker.recordFailure();
+        breaker.recordFailure();
+        assertThat(breaker.tryAcquire()).isFalse();
+        clock.instant = START.plusSeconds(31);
+    }
+
+    @Test
+    @DisplayName("열린 뒤 시간이 지나면 시험 호출 한 번만 허용하고, 성공하면 닫힌다")
+    void halfOpen_AllowsSingleTrial() {
+        openAndWait();
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+        breaker.recordSuccess();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("호출하지 않고 돌려준 시험 자리는 브레이커를 닫지 않는다")
+    void releaseTrial_KeepsHalfOpen() {
+        openAndWait();
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.releaseTrial();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.recordFailure();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    @DisplayName("호출하지 않고 돌려준 허가는 연속 실패 횟수를 지우지 않는다")
+    void releaseTrial_KeepsFailureCount() {
+        breaker.recordFailure();
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.releaseTrial();
+        breaker.recordFailure();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        Instant instant = START;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
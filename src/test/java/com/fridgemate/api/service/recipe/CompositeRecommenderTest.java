@@ -0,0 +1,105 @@
+package com.fridgemate.api.service.recipe;
+
+import com.fridgemate.api.domain.Item;
+import com.fridgemate.api.dto.recipe.Recipe;
+import com.fridgemate.api.dto.recipe.RecipeSuggestionReq;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CompositeRecommenderTest {
+
+    private final List<Item> pantry = List.of(Item.builder().name("계란").quantity(new BigDecimal("10")).unit("개").build());
+    private final RecipeSuggestionReq request = new RecipeSuggestionReq();
+
+    private static Recipe recipe(String name, String score) {
+        return Recipe.builder().name(name).score(new BigDecimal(score)).build();
+    }
+
+    private static Recommender returning(Recipe... recipes) {
+        return (items, request) -> List.of(recipes);
+    }
+
+    @Test
+    @DisplayName("제목이 같은 레시피는 합치고 점수 척도를 맞춘다")
+    void recommend_MergesByTitleWithNormalizedScores() {
+        Recommender rule = returning(recipe("계란볶음밥", "0.70"), recipe("계란말이", "0.50"));
+        Recommender hundredScale = returning(recipe("계란 말이", "90"), recipe("계란국", "45"));
+
+        List<Recipe> recipes = new CompositeRecommender(List.of(rule, hundredScale), Duration.ofSeconds(1))
+                .recommend(pantry, request);
+
+        assertThat(recipes).extracting(Recipe::getName, Recipe::getScore).containsExactly(
+                tuple("계란 말이", new BigDecimal("1.00")),
+                tuple("계란볶음밥", new BigDecimal("0.70")),
+                tuple("계란국", new BigDecimal("0.50")));
+    }
+
+    @Test
+    @DisplayName("합친 점수는 복사본에만 넣고 추천기가 돌려준 원본 레시피는 바꾸지 않는다")
+    void recommend_DoesNotMutateSourceRecipes() {
+        Recipe cached = recipe("계란국", "90");
+
+        List<Recipe> recipes = new CompositeRecommender(List.of(returning(cached)), Duration.ofSeconds(1))
+                .recommend(pantry, request);
+
+        assertThat(recipes).singleElement().satisfies(recipe -> {
+            assertThat(recipe).isNotSameAs(cached);
+            assertThat(recipe.getScore()).isEqualTo(new BigDecimal("1.00"));
+        });
+        assertThat(cached.getScore()).isEqualTo(new BigDecimal("90"));
+    }
+
+    @Test
+    @DisplayName("앙상블용 결과를 써서, 다른 추천기 결과로 대신한 출처는 표를 더하지 않는다")
+    void recommend_UsesEnsembleResults() {
+        Recommender rule = returning(recipe("계란말이", "0.70"), recipe("계란국", "0.70"));
+        Recommender fallingBack = new Recommender() {
+            @Override
+            public List<Recipe> recommend(List<Item> items, RecipeSuggestionReq request) {
+                return List.of(recipe("계란국", "0.70"));
+            }
+
+            @Override
+            public List<Recipe> recommendForEnsemble(List<Item> items, RecipeSuggestionReq request) {
+                return List.of();
+            }
+        };
+
+        List<Recipe> recipes = new CompositeRecommender(List.of(rule, fallingBack), Duration.ofSeconds(1))
+                .recommend(pantry, request);
+
+        // 계란국이 두 표를 받았다면 동점에서 앞섰을 것
+        assertThat(recipes).extracting(Recipe::getName).containsExactly("계란말이", "계란국");
+    }
+
+    @Test
+    @DisplayName("마감 시간을 넘긴 추천기와 실패한 추천기는 빼고 끝난 결과만 반환한다")
+    void recommend_ReturnsWhatFinishedInTime() {
+        Recommender fast = returning(recipe("계란국", "0.60"));
+        Recommender slow = (items, request) -> {
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return List.of(recipe("느린 레시피", "1.00"));
+        };
+        Recommender failing = (items, request) -> {
+            throw new IllegalStateException("실패");
+        };
+
+        long started = System.nanoTime();
+        List<Recipe> recipes = new CompositeRecommender(List.of(fast, slow, failing), Duration.ofMillis(200))
+                .recommend(pantry, request);
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        assertThat(elapsedMs).isLessThan(2_000);
+        assertThat(recipes).extracting(Recipe::getName).containsExactly("계란국");
+    }
+}
@@ -0,0 +1,200 @@
+package com.fridgemate.api.service.recipe;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fridgemate.api.domain.Item;
+import com.fridgemate.api.dto.recipe.IngredientUnlock;
+import com.fridgemate.api.dto.recipe.Recipe;
+import com.fridgemate.api.dto.recipe.RecipeIngredient;
+import com.fridgemate.api.dto.recipe.RecipeSuggestionReq;
+import com.fridgemate.api.event.ItemChangedEvent;
+import com.fridgemate.api.event.ItemSnapshot;
+import com.fridgemate.api.repository.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CookableRecipeIndexTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private RuleBasedRecommender recommender;
+    private PantryState pantryState;
+    private CookableRecipeIndex index;
+    private List<Item> pantry;
+    private RecipeSuggestionReq request;
+
+    @BeforeEach
+    void setUp() {
+        recommender = new RuleBasedRecommender(new ObjectMapper());
+        recommender.loadRecipes();
+
+        pantry = new ArrayList<>(List.of(
+                item(1L, "계란", "10", "개", 2),
+                item(2L, "밥", "2", "공기", 1),
+                item(3L, "간장", "1", "큰술", 300),
+                item(4L, "식용유", "1", "큰술", 100)
+        ));
+        when(itemRepository.findAvailableItems()).thenAnswer(invocation -> List.copyOf(pantry));
+
+        pantryState = new PantryState(itemRepository);
+        index = new CookableRecipeIndex(recommender, pantryState);
+        index.init();
+
+        request = new RecipeSuggestionReq();
+    }
+
+    @Test
+    @DisplayName("인덱스 순위가 전체 평가 결과와 같다")
+    void rank_MatchesFullEvaluation() {
+        assertSameRanking();
+    }
+
+    @Test
+    @DisplayName("재료가 추가/소비/삭제될 때 해당 레시피만 갱신된다")
+    void rank_FollowsPantryChanges() {
+        assertSameRanking();
+
+        Item greenOnion = item(5L, "대파", "2", "줄기", 5);
+        pantry.add(greenOnion);
+        change(ItemChangedEvent.Type.CREATED, null, ItemSnapshot.of(greenOnion));
+        assertSameRanking();
+        assertThat(index.cookableCount()).isGreaterThanOrEqualTo(1);
+
+        Item egg = pantry.get(0);
+        ItemSnapshot before = ItemSnapshot.of(egg);
+        egg.consume(new BigDecimal("9"));
+        change(ItemChangedEvent.Type.CONSUMED, before, ItemSnapshot.of(egg));
+        assertSameRanking();
+
+        Item rice = pantry.remove(1);
+        change(ItemChangedEvent.Type.DELETED, ItemSnapshot.of(rice), null);
+        assertSameRanking();
+    }
+
+    @Test
+    @DisplayName("식단 필터 적용")
+    void rank_DietFilter() {
+        request.setDiet("채식");
+        assertSameRanking();
+    }
+
+    @Test
+    @DisplayName("하나만 더 사면 완성되는 레시피의 재료를 추천")
+    void unlock_SuggestsMissingIngredient() {
+        // 계란볶음밥은 대파만 없다
+        List<IngredientUnlock> unlocks = index.unlock(0.7, 5, null);
+
+        assertThat(unlocks).isNotEmpty();
+        IngredientUnlock greenOnion = unlocks.stream()
+                .filter(unlock -> unlock.getName().equals("대파"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(greenOnion.getCompletedRecipes()).isGreaterThanOrEqualTo(1);
+        assertThat(greenOnion.getRecipes()).contains("계란볶음밥");
+        assertThat(unlocks).extracting(IngredientUnlock::getName).doesNotContain("계란", "밥");
+    }
+
+    @Test
+    @DisplayName("한 레시피의 두 슬롯에 쓰인 재료는 소비/삭제 후 다시 들어와도 충족 수가 대칭으로 오르내린다")
+    void rank_SameIngredientInTwoSlots() {
+        // 계란을 두 슬롯(3개, 1개)에 쓰는 레시피 하나짜리 카탈로그
+        RuleBasedRecommender.RecipeTemplate template = new RuleBasedRecommender.RecipeTemplate();
+        template.setTitle("계란말이");
+        template.setDiet("일반");
+        template.setIngredients(List.of(
+                new RecipeIngredient("계란", "3", "개", false),
+                new RecipeIngredient("대파", "1", "줄기", false),
+                new RecipeIngredient("계란", "1", "개", false)));
+        recommender = new RuleBasedRecommender(new ObjectMapper());
+        ReflectionTestUtils.setField(recommender, "recipeTemplates", List.of(template));
+        pantry = new ArrayList<>(List.of(item(1L, "계란", "5", "개", 2), item(2L, "대파", "2", "줄기", 5)));
+        pantryState = new PantryState(itemRepository);
+        index = new CookableRecipeIndex(recommender, pantryState);
+        index.init();
+
+        assertSameRanking();
+        assertThat(index.cookableCount()).isEqualTo(1);
+
+        // 2개만 남으면 3개 슬롯만 빠진다
+        Item egg = pantry.get(0);
+        ItemSnapshot before = ItemSnapshot.of(egg);
+        egg.consume(new BigDecimal("3"));
+        change(ItemChangedEvent.Type.CONSUMED, before, ItemSnapshot.of(egg));
+        assertSameRanking();
+        assertThat(index.cookableCount()).isZero();
+        assertThat(index.rank(request, 5)).singleElement()
+                .extracting(recipe -> recipe.getIngredients().stream().map(RecipeIngredient::isAvailable).toList())
+                .isEqualTo(List.of(false, true, true));
+
+        // 삭제하면 두 슬롯이 모두 빠지고, 다시 들어오면 처음 상태로 돌아온다
+        pantry.remove(egg);
+        change(ItemChangedEvent.Type.DELETED, ItemSnapshot.of(egg), null);
+        assertSameRanking();
+        assertThat(index.rank(request, 5)).singleElement()
+                .extracting(Recipe::getScore)
+                .isEqualTo(RuleBasedRecommender.score(1, 3, 0));
+
+        Item restocked = item(3L, "계란", "5", "개", 2);
+        pantry.add(restocked);
+        change(ItemChangedEvent.Type.CREATED, null, ItemSnapshot.of(restocked));
+        assertSameRanking();
+        assertThat(index.cookableCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("이름을 바꿔 다른 재료가 되면 이전 재료 레시피에서 빠지고 새 재료 레시피에 더해진다")
+    void rank_RenameMovesItemBetweenIngredients() {
+        Item egg = pantry.get(0);
+        ItemSnapshot before = ItemSnapshot.of(egg);
+        egg.updateItem("대파", null, new BigDecimal("2"), "줄기", egg.getExpiryDate(), null);
+        change(ItemChangedEvent.Type.UPDATED, before, ItemSnapshot.of(egg));
+        assertSameRanking();
+
+        // 계란볶음밥은 이제 대파 대신 계란만 없다
+        List<IngredientUnlock> unlocks = index.unlock(0.7, 5, null);
+        assertThat(unlocks).extracting(IngredientUnlock::getName).contains("계란").doesNotContain("대파");
+        assertThat(unlocks.stream().filter(unlock -> unlock.getName().equals("계란")).findFirst().orElseThrow()
+                .getRecipes()).contains("계란볶음밥");
+
+        ItemSnapshot renamed = ItemSnapshot.of(egg);
+        egg.updateItem("계란", null, new BigDecimal("10"), "개", egg.getExpiryDate(), null);
+        change(ItemChangedEvent.Type.UPDATED, renamed, ItemSnapshot.of(egg));
+        assertSameRanking();
+        assertThat(index.unlock(0.7, 5, null)).extracting(IngredientUnlock::getName)
+                .contains("대파").doesNotContain("계란");
+    }
+
+    private void assertSameRanking() {
+        List<Recipe> expected = recommender.recommend(pantry, request);
+        List<Recipe> actual = index.rank(request, RuleBasedRecommender.MAX_RECOMMENDATIONS);
+
+        assertThat(actual).extracting(Recipe::getName).containsExactlyElementsOf(expected.stream().map(Recipe::getName).toList());
+        assertThat(actual).extracting(Recipe::getScore).containsExactlyElementsOf(expected.stream().map(Recipe::getScore).toList());
+    }
+
+    private void change(ItemChangedEvent.Type type, ItemSnapshot before, ItemSnapshot after) {
+        Long id = before != null ? before.getId() : after.getId();
+        pantryState.onItemChanged(new ItemChangedEvent(type, id, before, after));
+    }
+
+    private static Item item(Long id, String name, String quantity, String unit, int expiresInDays) {
+        Item item = Item.builder().name(name).quantity(new BigDecimal(quantity)).unit(unit).build();
+        item.setId(id);
+        item.setExpiryDate(LocalDate.now().plusDays(expiresInDays));
+        return item;
+    }
+}
@@ -0,0 +1,76 @@
+package com.fridgemate.api.service.recipe;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class IngredientMatcherTest {
+
+    private IngredientMatcher matcher;
+
+    @BeforeEach
+    void setUp() {
+        matcher = new IngredientMatcher(
+                List.of("파", "계란", "닭가슴살", "양파", "간장", "토마토소스", "고추", "마늘"),
+                Map.of(
+                        "파", List.of("대파", "쪽파"),
+                        "계란", List.of("달걀")
+                ));
+    }
+
+    @Test
+    @DisplayName("동의어는 대표 이름으로 매칭")
+    void match_Synonym() {
+        assertThat(matcher.match("대파")).isEqualTo("파");
+        assertThat(matcher.match("달걀")).isEqualTo("계란");
+        assertThat(matcher.catalogKey("쪽파")).isEqualTo("파");
+    }
+
+    @Test
+    @DisplayName("수량/괄호/공백 표기를 제거하고 매칭")
+    void match_NormalizesQuantityAndSpacing() {
+        assertThat(matcher.match("닭가슴살 500g")).isEqualTo("닭가슴살");
+        assertThat(matcher.match("닭 가슴살(냉동)")).isEqualTo("닭가슴살");
+        assertThat(matcher.match(" 계란 10개 ")).isEqualTo("계란");
+    }
+
+    @Test
+    @DisplayName("카탈로그 이름으로 끝나는 복합 명사는 n-gram 후보 검증으로 매칭")
+    void match_CompoundNoun() {
+        assertThat(matcher.match("실파")).isEqualTo("파");
+        assertThat(matcher.match("양조간장")).isEqualTo("간장");
+        assertThat(matcher.match("토마토 소스")).isEqualTo("토마토소스");
+        assertThat(matcher.match("국산 다진 마늘")).isEqualTo("마늘");
+    }
+
+    @Test
+    @DisplayName("카탈로그 이름으로 끝나거나 포함해도 앞말이 수식어가 아니면 다른 재료")
+    void match_DifferentIngredientWithSameHead() {
+        IngredientMatcher withoutOnion = new IngredientMatcher(List.of("파", "고추", "간장"), Map.of());
+
+        assertThat(withoutOnion.match("양파")).isNull();
+        assertThat(withoutOnion.match("고추장")).isNull();
+        assertThat(withoutOnion.match("고춧가루")).isNull();
+        assertThat(withoutOnion.match("파프리카")).isNull();
+        assertThat(withoutOnion.match("간장게장")).isNull();
+        assertThat(withoutOnion.match("대파")).isEqualTo("파");
+    }
+
+    @Test
+    @DisplayName("카탈로그에 정확히 있는 이름이 우선")
+    void match_ExactWins() {
+        assertThat(matcher.match("양파")).isEqualTo("양파");
+    }
+
+    @Test
+    @DisplayName("관련 없는 이름은 매칭되지 않음")
+    void match_NoMatch() {
+        assertThat(matcher.match("아이스크림")).isNull();
+        assertThat(matcher.match("")).isNull();
+    }
+}
@@ -0,0 +1,222 @@
+package com.fridgemate.api.service.recipe;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fridgemate.api.domain.Item;
+import com.fridgemate.api.dto.recipe.Recipe;
+import com.fridgemate.api.dto.recipe.RecipeSuggestionReq;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LlmRecommenderTest {
+
+    private static final String RECIPE_CONTENT = """
+            ```json
+            {"recipes":[
+              {"title":"계란말이","score":0.6,"used":[{"name":"계란","amount":3,"unit":"개"}],"missing":[],"steps":["풀기","말기"],"estimated_time_min":10},
+              {"title":"계란국","score":0.9,"used":[{"name":"계란","amount":2,"unit":"개"}],"missing":[{"name":"대파","amount":1,"unit":"줄기"}],"steps":["끓이기"],"estimated_time_min":15}
+            ]}
+            ```""";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger hits = new AtomicInteger();
+
+    @TempDir
+    Path cacheDir;
+
+    private HttpServer server;
+    private volatile int status = 200;
+    private volatile long delayMs = 0;
+
+    private RuleBasedRecommender fallback;
+    private List<Item> pantry;
+    private RecipeSuggestionReq request;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/chat/completions", exchange -> {
+            hits.incrementAndGet();
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8).contains("\"stream\":true")) {
+                exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+                exchange.sendResponseHeaders(status, 0);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    // 레시피 객체가 여러 조각에 걸쳐 나뉘어 오도록 잘라 보낸다
+                    for (int i = 0; i < RECIPE_CONTENT.length(); i += 7) {
+                        String piece = RECIPE_CONTENT.substring(i, Math.min(RECIPE_CONTENT.length(), i + 7));
+                        String chunk = objectMapper.createObjectNode().set("choices", objectMapper.createArrayNode()
+                                .add(objectMapper.createObjectNode().set("delta",
+                                        objectMapper.createObjectNode().put("content", piece)))).toString();
+                        out.write(("data: " + chunk + "\n\n").getBytes(StandardCharsets.UTF_8));
+                    }
+                    out.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+                } catch (IOException ignored) {
+                    // 클라이언트가 먼저 끊은 경우
+                }
+                return;
+            }
+            byte[] body = objectMapper.writeValueAsBytes(objectMapper.createObjectNode()
+                    .set("choices", objectMapper.createArrayNode().add(objectMapper.createObjectNode()
+                            .set("message", objectMapper.createObjectNode().put("content", RECIPE_CONTENT)))));
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            } catch (IOException ignored) {
+                // 클라이언트가 먼저 끊은 경우
+            }
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        fallback = new RuleBasedRecommender(objectMapper);
+        fallback.loadRecipes();
+
+        Item egg = Item.builder().name("계란").quantity(new BigDecimal("10")).unit("개").build();
+        egg.setExpiryDate(LocalDate.now().plusDays(5));
+        pantry = List.of(egg, Item.builder().name("밥").quantity(new BigDecimal("2")).unit("공기").build());
+        request = new RecipeSuggestionReq();
+        request.setServings(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private LlmRecommender recommender(long timeoutMs, int failureThreshold) {
+        LlmResponseCache cache = new LlmResponseCache(objectMapper, cacheDir.resolve("llm-cache.jsonl"),
+                Duration.ofHours(1), 100, Clock.systemDefaultZone());
+        return new LlmRecommender(fallback, cache, objectMapper, "test-key",
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/",
+                "test-model", timeoutMs, 5000, 2, failureThreshold, 60);
+    }
+
+    @Test
+    @DisplayName("LLM 응답을 점수순 레시피로 변환한다")
+    void recommend_ParsesResponse() {
+        List<Recipe> recipes = recommender(2000, 3).recommend(pantry, request);
+
+        assertThat(recipes).extracting(Recipe::getName).containsExactly("계란국", "계란말이");
+        Recipe first = recipes.get(0);
+        assertThat(first.getCookingTime()).isEqualTo(15);
+        assertThat(first.getServings()).isEqualTo(2);
+        assertThat(first.getInstructions()).containsExactly("끓이기");
+        assertThat(first.getIngredients()).extracting("name", "available")
+                .containsExactly(tuple("계란", true), tuple("대파", false));
+    }
+
+    @Test
+    @DisplayName("마감 시간을 넘기면 규칙 기반 추천으로 대체한다")
+    void recommend_FallsBackOnDeadline() {
+        delayMs = 2000;
+        LlmRecommender llm = recommender(200, 3);
+
+        long started = System.nanoTime();
+        List<Recipe> recipes = llm.recommend(pantry, request);
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        assertThat(elapsedMs).isLessThan(1500);
+        assertThat(recipes).extracting(Recipe::getName)
+                .containsExactlyElementsOf(fallback.recommend(pantry, request).stream().map(Recipe::getName).toList());
+    }
+
+    @Test
+    @DisplayName("동시 호출 한도가 찬 동안에는 응답이 없는 호출이 자리를 지키고 다음 호출은 거절된다")
+    void recommend_RejectsWhileBulkheadSaturated() throws Exception {
+        delayMs = 3000;
+        LlmRecommender llm = recommender(10_000, 3);
+
+        CompletableFuture<List<Recipe>> first = llm.recommendAsync(pantry, request);
+        CompletableFuture<List<Recipe>> second = llm.recommendAsync(pantry, request);
+        long waitUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (hits.get() < 2 && System.nanoTime() < waitUntil) {
+            Thread.sleep(10);
+        }
+        assertThat(hits.get()).isEqualTo(2);
+
+        CompletableFuture<List<Recipe>> third = llm.recommendAsync(pantry, request);
+
+        assertThat(third).isDone();
+        assertThat(third.join()).isNotEmpty();
+        assertThat(first).isNotDone();
+        assertThat(second).isNotDone();
+        assertThat(hits.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("앙상블용 호출은 실패 시 규칙 기반 결과로 대신하지 않고 빈 목록을 반환한다")
+    void recommendForEnsemble_ReturnsEmptyOnFallback() {
+        status = 500;
+        LlmRecommender llm = recommender(2000, 3);
+
+        assertThat(llm.recommendForEnsemble(pantry, request)).isEmpty();
+        assertThat(llm.recommend(pantry, request)).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("연속 실패 시 브레이커가 열려 더 이상 호출하지 않는다")
+    void recommend_OpensCircuitAfterFailures() {
+        status = 500;
+        LlmRecommender llm = recommender(2000, 2);
+
+        llm.recommend(pantry, request);
+        llm.recommend(pantry, request);
+        assertThat(llm.circuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        List<Recipe> recipes = llm.recommend(pantry, request);
+
+        assertThat(hits.get()).isEqualTo(2);
+        assertThat(recipes).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("같은 냉장고의 두 번째 요청은 캐시에서 응답한다")
+    void recommend_ServesRepeatFromCache() {
+        List<Recipe> first = recommender(2000, 3).recommend(pantry, request);
+        List<Recipe> second = recommender(2000, 3).recommend(pantry, request);
+
+        assertThat(hits.get()).isEqualTo(1);
+        assertThat(second).extracting(Recipe::getName).containsExactlyElementsOf(
+                first.stream().map(Recipe::getName).toList());
+    }
+
+    @Test
+    @DisplayName("스트리밍 응답에서 레시피가 완성될 때마다 넘긴다")
+    void streamAsync_EmitsRecipesAsParsed() {
+        List<String> received = new CopyOnWriteArrayList<>();
+
+        List<Recipe> recipes = recommender(2000, 3)
+                .streamAsync(pantry, request, recipe -> received.add(recipe.getName()))
+                .join();
+
+        assertThat(received).containsExactly("계란말이", "계란국");
+        assertThat(recipes).extracting(Recipe::getName).containsExactlyElementsOf(received);
+        assertThat(recipes.get(1).getIngredients()).extracting("name").containsExactly("계란", "대파");
+    }
+}
@@ -0,0 +1,166 @@
+package com.fridgemate.api.service.recipe;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fridgemate.api.domain.Item;
+import com.fridgemate.api.dto.recipe.Recipe;
+import com.fridgemate.api.dto.recipe.RecipeSuggestionReq;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LlmResponseCacheTest {
+
+    @TempDir
+    Path dir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LocalDate today = LocalDate.of(2025, 1, 10);
+
+    private RuleBasedRecommender recommender;
+    private Path logFile;
+
+    @BeforeEach
+    void setUp() {
+        recommender = new RuleBasedRecommender(objectMapper);
+        recommender.loadRecipes();
+        logFile = dir.resolve("cache.jsonl");
+    }
+
+    private String key(List<Item> items) {
+        return LlmResponseCache.canonicalKey(items, new RecipeSuggestionReq(), recommender.matcher(), recommender.units(), today);
+    }
+
+    private static Item item(String name, String quantity, String unit, LocalDate expiryDate) {
+        Item item = Item.builder().name(name).quantity(new BigDecimal(quantity)).unit(unit).build();
+        item.setExpiryDate(expiryDate);
+        return item;
+    }
+
+    private static List<Recipe> recipes(String name) {
+        return List.of(Recipe.builder().name(name).score(new BigDecimal("0.80")).ingredients(List.of()).instructions(List.of("조리")).build());
+    }
+
+    @Test
+    @DisplayName("거의 같은 냉장고는 같은 키가 된다")
+    void canonicalKey_IgnoresSmallDifferences() {
+        String a = key(List.of(item("달걀", "10", "개", today.plusDays(10)), item("대파", "3", "줄기", null)));
+        String b = key(List.of(item("대파 (국산)", "4", "줄기", null), item("계란", "12", "개", today.plusDays(9))));
+        String expiring = key(List.of(item("계란", "10", "개", today.plusDays(1)), item("대파", "3", "줄기", null)));
+        String more = key(List.of(item("계란", "1", "판", today.plusDays(10)), item("대파", "3", "줄기", null)));
+
+        assertThat(a).isEqualTo(b);
+        assertThat(a).isNotEqualTo(expiring);
+        assertThat(a).isNotEqualTo(more);
+    }
+
+    @Test
+    @DisplayName("재시작 후에도 로그에서 색인을 복구한다")
+    void get_SurvivesRestart() {
+        LlmResponseCache cache = new LlmResponseCache(objectMapper, logFile, Duration.ofHours(1), 10, Clock.systemUTC());
+        cache.put("a", recipes("계란국"));
+        cache.put("b", recipes("볶음밥"));
+        cache.put("a", recipes("계란말이"));
+
+        LlmResponseCache reopened = new LlmResponseCache(objectMapper, logFile, Duration.ofHours(1), 10, Clock.systemUTC());
+
+        assertThat(reopened.size()).isEqualTo(2);
+        assertThat(reopened.get("a")).get().extracting(list -> list.get(0).getName()).isEqualTo("계란말이");
+        assertThat(reopened.get("b")).get().extracting(list -> list.get(0).getScore()).isEqualTo(new BigDecimal("0.80"));
+    }
+
+    @Test
+    @DisplayName("만료된 항목과 가장 오래 안 쓴 항목은 제거된다")
+    void get_EvictsExpiredAndLeastRecentlyUsed() throws Exception {
+        MutableClock clock = new MutableClock();
+        LlmResponseCache cache = new LlmResponseCache(objectMapper, logFile, Duration.ofHours(1), 2, clock);
+        cache.put("a", recipes("계란국"));
+        cache.put("b", recipes("볶음밥"));
+        cache.get("a");
+        cache.put("c", recipes("김치찌개"));
+
+        assertThat(cache.get("b")).isEmpty();
+        assertThat(cache.get("a")).isPresent();
+
+        clock.advance(Duration.ofHours(2));
+        assertThat(cache.get("a")).isEmpty();
+        assertThat(Files.readAllLines(logFile)).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("손상된 마지막 줄은 건너뛴다")
+    void load_SkipsTornRecord() throws Exception {
+        LlmResponseCache cache = new LlmResponseCache(objectMapper, logFile, Duration.ofHours(1), 10, Clock.systemUTC());
+        cache.put("a", recipes("계란국"));
+        Files.writeString(logFile, "{\"key\":\"b\",\"stor", StandardOpenOption.APPEND);
+
+        LlmResponseCache reopened = new LlmResponseCache(objectMapper, logFile, Duration.ofHours(1), 10, Clock.systemUTC());
+
+        assertThat(reopened.get("a")).isPresent();
+        assertThat(reopened.get("b")).isEmpty();
+
+        // 끊긴 줄 뒤의 새 기록은 다음 재시작에도 살아남는다
+        reopened.put("c", recipes("김치찌개"));
+        reopened.close();
+        LlmResponseCache again = new LlmResponseCache(objectMapper, logFile, Duration.ofHours(1), 10, Clock.systemUTC());
+        assertThat(again.get("c")).get().extracting(list -> list.get(0).getName()).isEqualTo("김치찌개");
+        assertThat(again.get("a")).isPresent();
+        assertThat(Files.readString(logFile)).doesNotContain("\0");
+    }
+
+    @Test
+    @DisplayName("죽은 레코드가 많아지면 정리하고, 정리 후에도 조회와 재시작이 새 위치를 쓴다")
+    void put_CompactsAndKeepsServingReads() throws Exception {
+        LlmResponseCache cache = new LlmResponseCache(objectMapper, logFile, Duration.ofHours(1), 10, Clock.systemUTC());
+        String padding = "가".repeat(2_000);
+        cache.put("b", recipes("볶음밥"));
+        for (int i = 0; i < 40; i++) {
+            cache.put("a", recipes("계란국 " + i + padding));
+        }
+
+        assertThat(Files.size(logFile)).isLessThan(64 * 1024);
+        assertThat(cache.get("a")).get().extracting(list -> list.get(0).getName()).isEqualTo("계란국 39" + padding);
+        assertThat(cache.get("b")).get().extracting(list -> list.get(0).getName()).isEqualTo("볶음밥");
+
+        cache.close();
+        LlmResponseCache reopened = new LlmResponseCache(objectMapper, logFile, Duration.ofHours(1), 10, Clock.systemUTC());
+        assertThat(reopened.size()).isEqualTo(2);
+        assertThat(reopened.get("b")).isPresent();
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-10T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
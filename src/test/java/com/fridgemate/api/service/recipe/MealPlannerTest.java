@@ -0,0 +1,116 @@
+package com.fridgemate.api.service.recipe;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fridgemate.api.dto.recipe.MealPlanReq;
+import com.fridgemate.api.dto.recipe.MealPlanResp;
+import com.fridgemate.api.dto.recipe.PlannedMeal;
+import com.fridgemate.api.event.ItemSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MealPlannerTest {
+
+    private final LocalDate today = LocalDate.of(2025, 3, 1);
+
+    private RuleBasedRecommender recommender;
+    private MealPlanner planner;
+    private List<ItemSnapshot> pantry;
+
+    @BeforeEach
+    void setUp() {
+        recommender = new RuleBasedRecommender(new ObjectMapper());
+        recommender.loadRecipes();
+        planner = new MealPlanner(recommender, mock(PantryState.class), 500);
+
+        pantry = List.of(
+                item(1L, "계란", "6", "개", 1),
+                item(2L, "우유", "300", "ml", 2),
+                item(3L, "밥", "3", "공기", 20),
+                item(4L, "대파", "2", "줄기", 3),
+                item(5L, "식용유", "1", "병", 200),
+                item(6L, "간장", "1", "병", 200),
+                item(7L, "마늘", "6", "쪽", 10),
+                item(8L, "양파", "2", "개", 4),
+                item(9L, "당근", "3", "개", 5)
+        );
+    }
+
+    private ItemSnapshot item(Long id, String name, String quantity, String unit, int expiresInDays) {
+        return new ItemSnapshot(id, name, new BigDecimal(quantity), unit, today.plusDays(expiresInDays), null, null);
+    }
+
+    private static MealPlanReq request(int meals) {
+        MealPlanReq request = new MealPlanReq();
+        request.setMeals(meals);
+        return request;
+    }
+
+    @Test
+    @DisplayName("고른 레시피들의 필요량 합이 재고를 넘지 않는다")
+    void plan_RespectsSharedQuantities() {
+        MealPlanResp plan = planner.plan(pantry, request(7), today);
+
+        // 계란 6개로는 계란 3개 이상 레시피 둘까지만 가능
+        int eggs = plan.getMeals().stream()
+                .map(PlannedMeal::getRecipe)
+                .flatMap(recipe -> recipe.getIngredients().stream())
+                .filter(ingredient -> ingredient.getName().equals("계란"))
+                .mapToInt(ingredient -> Integer.parseInt(ingredient.getAmount()))
+                .sum();
+        assertThat(eggs).isLessThanOrEqualTo(6);
+        assertThat(plan.getMeals()).isNotEmpty();
+        assertThat(plan.getMeals().get(0).getExpiringItems()).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("작은 카탈로그에서는 전수 탐색 최적값과 같다")
+    void plan_MatchesExhaustiveSearch() {
+        MealPlanner.Problem problem = MealPlanner.Problem.build(recommender.templates(), recommender.matcher(),
+                recommender.units(), pantry, 1, null, today);
+
+        for (int meals = 1; meals <= 4; meals++) {
+            double best = 0.0;
+            for (int mask = 0; mask < (1 << problem.size()); mask++) {
+                if (Integer.bitCount(mask) > meals) {
+                    continue;
+                }
+                List<Integer> recipes = new ArrayList<>();
+                for (int recipe = 0; recipe < problem.size(); recipe++) {
+                    if ((mask & (1 << recipe)) != 0) {
+                        recipes.add(recipe);
+                    }
+                }
+                double value = problem.evaluate(recipes);
+                if (!Double.isNaN(value)) {
+                    best = Math.max(best, value);
+                }
+            }
+
+            MealPlanResp plan = planner.plan(pantry, request(meals), today);
+            assertThat(plan.getTotalExpiringValue().doubleValue()).as("끼니 수 %d", meals).isCloseTo(best, within(0.01));
+        }
+    }
+
+    @Test
+    @DisplayName("유통기한이 지난 재고는 계획에 쓰지 않는다")
+    void plan_IgnoresExpiredStock() {
+        List<ItemSnapshot> expired = List.of(
+                new ItemSnapshot(1L, "계란", new BigDecimal("10"), "개", today.minusDays(1), null, null),
+                new ItemSnapshot(2L, "우유", new BigDecimal("500"), "ml", today.plusDays(1), null, null)
+        );
+
+        MealPlanResp plan = planner.plan(expired, request(3), today);
+
+        assertThat(plan.getMeals()).isEmpty();
+        assertThat(plan.getLeftoverExpiringItems()).containsExactly("우유");
+    }
+}
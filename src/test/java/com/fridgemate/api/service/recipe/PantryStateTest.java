@@ -0,0 +1,136 @@
+package com.fridgemate.api.service.recipe;
+
+import com.fridgemate.api.domain.Item;
+import com.fridgemate.api.event.ItemChangedEvent;
+import com.fridgemate.api.event.ItemSnapshot;
+import com.fridgemate.api.repository.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PantryStateTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @InjectMocks
+    private PantryState pantryState;
+
+    private Item egg;
+    private Item rice;
+
+    @BeforeEach
+    void setUp() {
+        egg = Item.builder().name("계란").quantity(new BigDecimal("5")).unit("개").build();
+        egg.setId(1L);
+        rice = Item.builder().name("밥").quantity(new BigDecimal("2")).unit("공기").build();
+        rice.setId(2L);
+    }
+
+    @Test
+    @DisplayName("지문은 아이템 순서와 무관")
+    void fingerprint_OrderIndependent() {
+        when(itemRepository.findAvailableItems()).thenReturn(List.of(egg, rice));
+        long forward = pantryState.fingerprint();
+
+        PantryState other = new PantryState(itemRepository);
+        when(itemRepository.findAvailableItems()).thenReturn(List.of(rice, egg));
+
+        assertThat(other.fingerprint()).isEqualTo(forward);
+    }
+
+    @Test
+    @DisplayName("소비로 수량이 바뀌면 지문이 바뀌고, 되돌리면 원래 지문으로 돌아온다")
+    void fingerprint_TracksQuantityChanges() {
+        when(itemRepository.findAvailableItems()).thenReturn(List.of(egg, rice));
+        long initial = pantryState.fingerprint();
+        ItemSnapshot original = ItemSnapshot.of(egg);
+
+        egg.consume(new BigDecimal("2"));
+        pantryState.onItemChanged(new ItemChangedEvent(ItemChangedEvent.Type.CONSUMED, 1L, original, ItemSnapshot.of(egg)));
+        assertThat(pantryState.fingerprint()).isNotEqualTo(initial);
+
+        pantryState.onItemChanged(new ItemChangedEvent(ItemChangedEvent.Type.UPDATED, 1L, ItemSnapshot.of(egg), original));
+        assertThat(pantryState.fingerprint()).isEqualTo(initial);
+        verify(itemRepository, times(1)).findAvailableItems();
+    }
+
+    @Test
+    @DisplayName("수량이 0이 되면 보유 재료에서 빠진다")
+    void fingerprint_ZeroQuantityRemovesItem() {
+        when(itemRepository.findAvailableItems()).thenReturn(List.of(egg, rice));
+        pantryState.fingerprint();
+
+        ItemSnapshot before = ItemSnapshot.of(egg);
+        egg.consume(new BigDecimal("5"));
+        pantryState.onItemChanged(new ItemChangedEvent(ItemChangedEvent.Type.CONSUMED, 1L, before, ItemSnapshot.of(egg)));
+
+        PantryState riceOnly = new PantryState(itemRepository);
+        when(itemRepository.findAvailableItems()).thenReturn(List.of(rice));
+        assertThat(pantryState.fingerprint()).isEqualTo(riceOnly.fingerprint());
+    }
+
+    @Test
+    @DisplayName("같은 이벤트가 두 번 적용돼도 결과가 같다")
+    void onItemChanged_Idempotent() {
+        when(itemRepository.findAvailableItems()).thenReturn(List.of(egg, rice));
+        pantryState.fingerprint();
+
+        ItemSnapshot before = ItemSnapshot.of(rice);
+        rice.setQuantity(new BigDecimal("3"));
+        ItemChangedEvent event = new ItemChangedEvent(ItemChangedEvent.Type.UPDATED, 2L, before, ItemSnapshot.of(rice));
+        pantryState.onItemChanged(event);
+        long once = pantryState.fingerprint();
+        pantryState.onItemChanged(event);
+
+        assertThat(pantryState.fingerprint()).isEqualTo(once);
+    }
+
+    @Test
+    @DisplayName("무효화하면 다음 조회 때 DB 에서 다시 적재한다")
+    void invalidate_ReloadsOnNextRead() {
+        when(itemRepository.findAvailableItems()).thenReturn(List.of(egg, rice));
+        long initial = pantryState.fingerprint();
+
+        pantryState.invalidate();
+        when(itemRepository.findAvailableItems()).thenReturn(List.of(rice));
+
+        assertThat(pantryState.fingerprint()).isNotEqualTo(initial);
+        assertThat(pantryState.size()).isEqualTo(1);
+        verify(itemRepository, times(2)).findAvailableItems();
+    }
+
+    @Test
+    @DisplayName("적재 중에 커밋된 변경은 버리지 않고 적재가 끝난 뒤 반영한다")
+    void onItemChanged_DuringLoadIsApplied() throws Exception {
+        ItemSnapshot before = ItemSnapshot.of(rice);
+        rice.setQuantity(new BigDecimal("3"));
+        ItemChangedEvent event = new ItemChangedEvent(ItemChangedEvent.Type.UPDATED, 2L, before, ItemSnapshot.of(rice));
+        Thread committer = new Thread(() -> pantryState.onItemChanged(event));
+
+        // 스냅샷은 변경 전 상태를 읽고, 그 사이 다른 트랜잭션이 커밋된다
+        Item staleRice = Item.builder().name("밥").quantity(new BigDecimal("2")).unit("공기").build();
+        staleRice.setId(2L);
+        when(itemRepository.findAvailableItems()).thenAnswer(invocation -> {
+            committer.start();
+            return List.of(egg, staleRice);
+        });
+        pantryState.fingerprint();
+        committer.join(5_000);
+
+        PantryState fresh = new PantryState(itemRepository);
+        doReturn(List.of(egg, rice)).when(itemRepository).findAvailableItems();
+        assertThat(pantryState.fingerprint()).isEqualTo(fresh.fingerprint());
+    }
+}
@@ -11,11 +11,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -34,17 +36,17 @@ class RuleBasedRecommenderTest {
     @BeforeEach
     void setUp() {
         // 보유 재료 준비
-        Item egg = new Item("계란", new BigDecimal("5"), "개");
+        Item egg = Item.builder().name("계란").quantity(new BigDecimal("5")).unit("개").build();
         egg.setExpiryDate(LocalDate.now().plusDays(2)); // 임박한 유통기한
         egg.setCategory("유제품");
         egg.setLocation("냉장");
 
-        Item rice = new Item("밥", new BigDecimal("2"), "공기");
+        Item rice = Item.builder().name("밥").quantity(new BigDecimal("2")).unit("공기").build();
         rice.setExpiryDate(LocalDate.now().plusDays(1));
         rice.setCategory("곡물");
         rice.setLocation("냉장");
 
-        Item onion = new Item("양파", new BigDecimal("3"), "개");
+        Item onion = Item.builder().name("양파").quantity(new BigDecimal("3")).unit("개").build();
         onion.setExpiryDate(LocalDate.now().plusDays(10));
         onion.setCategory("채소");
         onion.setLocation("실온");
@@ -56,7 +58,7 @@ class RuleBasedRecommenderTest {
         request.setServings(2);
         
         // 빈 레시피 템플릿으로 초기화
-        recommender.recipeTemplates = new ArrayList<>();
+        ReflectionTestUtils.setField(recommender, "recipeTemplates", new ArrayList<>());
     }
 
     @Test
@@ -95,4 +97,34 @@ class RuleBasedRecommenderTest {
         // 실제 레시피 데이터가 로드되지 않으므로 빈 결과 예상
         assertThat(result).isEmpty();
     }
+
+    @Test
+    @DisplayName("보유 재료는 카탈로그 재료 키별로 기준 단위 합계와 최단 유통기한으로 한 번에 집계한다")
+    void holdings_AggregatesPerCatalogKey() {
+        // Given
+        IngredientMatcher matcher = new IngredientMatcher(List.of("닭가슴살", "파"), Map.of());
+        UnitRegistry units = new UnitRegistry(Map.of(), Map.of(
+                matcher.catalogKey("닭가슴살"), List.of("g"),
+                matcher.catalogKey("파"), List.of("줄기")));
+        LocalDate sooner = LocalDate.now().plusDays(1);
+
+        Item breast = Item.builder().name("닭가슴살").quantity(new BigDecimal("0.5")).unit("kg").build();
+        breast.setExpiryDate(LocalDate.now().plusDays(5));
+        Item moreBreast = Item.builder().name("닭가슴살").quantity(new BigDecimal("200")).unit("g").build();
+        moreBreast.setExpiryDate(sooner);
+        Item scallion = Item.builder().name("파").quantity(BigDecimal.ONE).unit("g").build();
+        Item carrot = Item.builder().name("당근").quantity(BigDecimal.ONE).unit("개").build();
+
+        // When
+        Map<String, RuleBasedRecommender.Holding> holdings =
+                RuleBasedRecommender.holdings(List.of(breast, moreBreast, scallion, carrot), matcher, units);
+
+        // Then
+        assertThat(holdings).hasSize(2);
+        assertThat(holdings.get(matcher.catalogKey("닭가슴살")))
+                .isEqualTo(new RuleBasedRecommender.Holding(700_000L, false, sooner));
+        // 환산할 수 없는 재고는 양 대신 보유 표시만 남긴다
+        assertThat(holdings.get(matcher.catalogKey("파")))
+                .isEqualTo(new RuleBasedRecommender.Holding(0L, true, null));
+    }
 }
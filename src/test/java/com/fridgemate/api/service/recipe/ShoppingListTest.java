@@ -0,0 +1,172 @@
+package com.fridgemate.api.service.recipe;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fridgemate.api.domain.Item;
+import com.fridgemate.api.domain.RecipeBookmark;
+import com.fridgemate.api.dto.shopping.ShoppingListItem;
+import com.fridgemate.api.event.ItemChangedEvent;
+import com.fridgemate.api.event.ItemSnapshot;
+import com.fridgemate.api.repository.ItemRepository;
+import com.fridgemate.api.repository.RecipeBookmarkRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ShoppingListTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private RecipeBookmarkRepository bookmarkRepository;
+
+    private PantryState pantryState;
+    private ShoppingList shoppingList;
+
+    private Item egg;
+    private Item rice;
+    private Item onion;
+    private Item durian;
+
+    @BeforeEach
+    void setUp() {
+        RuleBasedRecommender recommender = new RuleBasedRecommender(new ObjectMapper());
+        recommender.loadRecipes();
+        pantryState = new PantryState(itemRepository);
+        shoppingList = new ShoppingList(recommender, pantryState, itemRepository, bookmarkRepository, 1);
+        shoppingList.init();
+
+        egg = item(1L, "계란", "2", "개");
+        rice = item(2L, "밥", "5", "공기");
+        onion = item(3L, "양파", "0.5", "개");
+        durian = item(4L, "두리안", "0", "개");
+        when(itemRepository.findAvailableItems()).thenReturn(List.of(egg, rice, onion));
+        when(itemRepository.findLowStockItems(1)).thenReturn(List.of(onion, durian));
+        when(bookmarkRepository.findAll()).thenReturn(List.of(
+                new RecipeBookmark("계란볶음밥"), new RecipeBookmark("우유계란찜")));
+    }
+
+    private static Item item(Long id, String name, String quantity, String unit) {
+        Item item = Item.builder().name(name).quantity(new BigDecimal(quantity)).unit(unit).build();
+        item.setId(id);
+        return item;
+    }
+
+    private Map<String, ShoppingListItem> byName() {
+        return shoppingList.items().stream()
+                .collect(Collectors.toMap(ShoppingListItem::getName, Function.identity()));
+    }
+
+    private void change(Item item, String quantity) {
+        ItemSnapshot before = ItemSnapshot.of(item);
+        item.setQuantity(new BigDecimal(quantity));
+        ItemChangedEvent event = new ItemChangedEvent(ItemChangedEvent.Type.UPDATED, item.getId(), before, ItemSnapshot.of(item));
+        pantryState.onItemChanged(event);
+        shoppingList.onItemEvent(event);
+    }
+
+    @Test
+    @DisplayName("즐겨찾기 레시피들이 함께 쓰는 양에서 보유량을 뺀 만큼 올리고, 재고 부족 아이템을 합친다")
+    void items_MergesBookmarksAndLowStock() {
+        Map<String, ShoppingListItem> list = byName();
+
+        // 계란: 볶음밥 2개 + 계란찜 3개 - 보유 2개
+        assertThat(list.get("계란").getMissingAmount()).isEqualByComparingTo("3");
+        assertThat(list.get("계란").getRecipes()).containsExactlyInAnyOrder("계란볶음밥", "우유계란찜");
+        assertThat(list.get("우유").getMissingAmount()).isEqualByComparingTo("200");
+        assertThat(list.get("우유").getUnit()).isEqualTo("ml");
+        assertThat(list).doesNotContainKey("밥");
+
+        assertThat(list.get("양파").isLowStock()).isTrue();
+        assertThat(list.get("양파").getCurrentQuantity()).isEqualByComparingTo("0.5");
+        assertThat(list.get("양파").getRecipes()).isEmpty();
+        assertThat(list.get("두리안").isLowStock()).isTrue();
+    }
+
+    @Test
+    @DisplayName("재고 변경과 즐겨찾기 해제가 목록에 바로 반영된다")
+    void items_UpdatesIncrementally() {
+        shoppingList.items();
+
+        change(egg, "10");
+        shoppingList.removeBookmark("우유계란찜");
+        Map<String, ShoppingListItem> list = byName();
+
+        assertThat(list).doesNotContainKeys("계란", "우유");
+        assertThat(list).containsKey("대파");
+
+        change(onion, "3");
+        assertThat(byName()).doesNotContainKey("양파");
+        verify(itemRepository, times(1)).findLowStockItems(1);
+        verify(bookmarkRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("재고 부족이면서 레시피에도 부족한 재료는 한 항목으로 합친다")
+    void items_DeduplicatesSameIngredient() {
+        shoppingList.items();
+
+        change(egg, "1");
+        List<ShoppingListItem> eggs = shoppingList.items().stream()
+                .filter(entry -> entry.getName().equals("계란"))
+                .toList();
+
+        assertThat(eggs).hasSize(1);
+        assertThat(eggs.get(0).isLowStock()).isTrue();
+        assertThat(eggs.get(0).getCurrentQuantity()).isEqualByComparingTo("1");
+        assertThat(eggs.get(0).getMissingAmount()).isEqualByComparingTo("4");
+    }
+
+    @Test
+    @DisplayName("무효화하면 다른 노드가 바꾼 즐겨찾기와 재고를 DB 에서 다시 읽는다")
+    void invalidate_ReloadsFromDatabase() {
+        shoppingList.items();
+
+        when(bookmarkRepository.findAll()).thenReturn(List.of(new RecipeBookmark("계란볶음밥")));
+        when(itemRepository.findLowStockItems(1)).thenReturn(List.of(durian));
+        pantryState.invalidate();
+        shoppingList.invalidate();
+        Map<String, ShoppingListItem> list = byName();
+
+        // 계란: 볶음밥 2개 - 보유 2개
+        assertThat(list).doesNotContainKeys("계란", "우유", "양파");
+        assertThat(list).containsKeys("대파", "두리안");
+        verify(bookmarkRepository, times(2)).findAll();
+    }
+
+    @Test
+    @DisplayName("적재 중에 커밋된 재고 변경과 즐겨찾기는 버리지 않고 적재가 끝난 뒤 반영한다")
+    void changesDuringLoad_AreApplied() throws Exception {
+        Item restockedOnion = item(3L, "양파", "4", "개");
+        Thread committer = new Thread(() -> {
+            shoppingList.onItemEvent(new ItemChangedEvent(ItemChangedEvent.Type.RESTOCKED, 3L,
+                    ItemSnapshot.of(onion), ItemSnapshot.of(restockedOnion)));
+            shoppingList.removeBookmark("우유계란찜");
+        });
+        // 재고 부족 목록을 읽는 사이 다른 트랜잭션이 양파를 채우고 즐겨찾기를 해제한다
+        when(itemRepository.findLowStockItems(1)).thenAnswer(invocation -> {
+            committer.start();
+            return List.of(onion, durian);
+        });
+
+        shoppingList.items();
+        committer.join(5_000);
+
+        Map<String, ShoppingListItem> items = byName();
+        assertThat(items.get("양파")).isNull();
+        assertThat(items.values()).noneMatch(item -> item.getRecipes().contains("우유계란찜"));
+    }
+}
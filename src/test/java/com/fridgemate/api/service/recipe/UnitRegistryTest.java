@@ -0,0 +1,64 @@
+package com.fridgemate.api.service.recipe;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class UnitRegistryTest {
+
+    private UnitRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        UnitRegistry.IngredientUnits garlic = new UnitRegistry.IngredientUnits();
+        garlic.setBase("쪽");
+        garlic.setUnits(Map.of("통", new BigDecimal("6")));
+
+        UnitRegistry.IngredientUnits oil = new UnitRegistry.IngredientUnits();
+        oil.setBase("ml");
+        oil.setUnits(Map.of("병", new BigDecimal("900")));
+
+        registry = new UnitRegistry(
+                Map.of("마늘", garlic, "식용유", oil),
+                Map.of(
+                        "닭가슴살", List.of("g"),
+                        "파", List.of("줄기"),
+                        "식용유", List.of("큰술")
+                ));
+    }
+
+    @Test
+    @DisplayName("같은 차원의 일반 단위는 기준 단위로 환산")
+    void toBase_GenericUnits() {
+        assertThat(registry.toBase("닭가슴살", new BigDecimal("0.5"), "kg")).isEqualTo(500_000L);
+        assertThat(registry.toBase("닭가슴살", new BigDecimal("200"), "g")).isEqualTo(200_000L);
+        assertThat(registry.toBase("식용유", BigDecimal.ONE, "큰술")).isEqualTo(15_000L);
+    }
+
+    @Test
+    @DisplayName("재료별 환산 계수 적용")
+    void toBase_IngredientSpecificUnits() {
+        assertThat(registry.toBase("마늘", BigDecimal.ONE, "통")).isEqualTo(6_000L);
+        assertThat(registry.toBase("식용유", BigDecimal.ONE, "병")).isEqualTo(900_000L);
+    }
+
+    @Test
+    @DisplayName("소수 필요량은 고정소수점으로 보존")
+    void toBase_FractionalAmount() {
+        assertThat(registry.toBase("파", new BigDecimal("0.5"), "줄기")).isEqualTo(500L);
+    }
+
+    @Test
+    @DisplayName("환산할 수 없는 단위")
+    void toBase_Unknown() {
+        assertThat(registry.toBase("파", BigDecimal.ONE, "g")).isEqualTo(UnitRegistry.UNKNOWN);
+        assertThat(registry.toBase("닭가슴살", BigDecimal.ONE, "ml")).isEqualTo(UnitRegistry.UNKNOWN);
+        assertThat(registry.toBase("없는재료", BigDecimal.ONE, "g")).isEqualTo(UnitRegistry.UNKNOWN);
+    }
+}